@@ -0,0 +1,258 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests for {@link PrimitiveDataCellList} and the compact list and set cells created by
+ * {@link CollectionCellFactory}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PrimitiveDataCellListTest {
+
+    /** Compact and cell based lists must be indistinguishable. */
+    @Test
+    public void testListCellEquality() {
+        final double[] values = {1.5, -2.0, Double.NaN, 1.5};
+        final List<DataCell> cells = new ArrayList<>();
+        for (final double d : values) {
+            cells.add(new DoubleCell(d));
+        }
+        final ListCell fromCells = CollectionCellFactory.createListCell(cells);
+        final ListCell fromArray = CollectionCellFactory.createDoubleListCell(values);
+        assertEquals(fromCells, fromArray);
+        assertEquals(fromCells.hashCode(), fromArray.hashCode());
+        assertEquals(DoubleCell.TYPE, fromArray.getElementType());
+        assertEquals(ListCell.getCollectionType(DoubleCell.TYPE), fromArray.getType());
+        assertEquals(values.length, fromArray.size());
+        assertEquals(new DoubleCell(-2.0), fromArray.get(1));
+        assertEquals(cells.toString(), fromArray.toString());
+
+        assertEquals(CollectionCellFactory.createListCell(Arrays.asList(new IntCell(3), new IntCell(4))),
+            CollectionCellFactory.createIntListCell(new int[]{3, 4}));
+        assertEquals(CollectionCellFactory.createListCell(Arrays.asList(new LongCell(3), new LongCell(4))),
+            CollectionCellFactory.createLongListCell(new long[]{3, 4}));
+        assertEquals(CollectionCellFactory.createListCell(Arrays.asList(new StringCell("a"), new StringCell("b"))),
+            CollectionCellFactory.createStringListCell(new String[]{"a", "b"}));
+    }
+
+    /** Only non-empty lists of a single supported cell class are stored compactly. */
+    @Test
+    public void testCompactionApplicability() {
+        assertNotNull(PrimitiveDataCellList.create(Arrays.asList(new IntCell(1), new IntCell(2))));
+        assertNull(PrimitiveDataCellList.create(Arrays.asList(new IntCell(1), new LongCell(2))));
+        assertNull(PrimitiveDataCellList.create(Arrays.asList(new IntCell(1), DataType.getMissingCell())));
+        assertNull(PrimitiveDataCellList.create(new ArrayList<DataCell>()));
+    }
+
+    /**
+     * Tests the bulk serialization format.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Test
+    public void testWriteAndReadValues() throws IOException {
+        final List<DataCell> cells =
+            Arrays.asList(new StringCell("x"), new StringCell(""), new StringCell("\u00e4\u00f6\u00fc"));
+        final PrimitiveDataCellList list = PrimitiveDataCellList.create(cells);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            list.writeValues(out);
+        }
+        final PrimitiveDataCellList read =
+            PrimitiveDataCellList.readValues(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(cells, read);
+        assertEquals(StringCell.TYPE, read.getElementType());
+    }
+
+    /** Compact sets must keep the set semantics of their elements. */
+    @Test
+    public void testSetCell() {
+        final List<DataCell> cells = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            cells.add(new LongCell(i % 100));
+        }
+        final SetCell set = CollectionCellFactory.createSetCell(cells);
+        assertEquals(100, set.size());
+        assertEquals(LongCell.TYPE, set.getElementType());
+        assertTrue(set.contains(new LongCell(42)));
+        assertFalse(set.contains(new LongCell(100)));
+        assertFalse(set.contains(new IntCell(42)));
+
+        final List<DataCell> reversed = new ArrayList<>();
+        for (int i = 99; i >= 0; i--) {
+            reversed.add(new LongCell(i));
+        }
+        final SetCell reversedSet = CollectionCellFactory.createSetCell(reversed);
+        assertEquals(set, reversedSet);
+        assertEquals(set.hashCode(), reversedSet.hashCode());
+    }
+
+    /**
+     * Outputs other than tables of the current container version must get the cell based layout, which can also be
+     * read by previous versions.
+     *
+     * @throws IOException if serialization fails
+     */
+    @Test
+    public void testCellLayoutForOtherOutputs() throws IOException {
+        final List<DataCell> cells = Arrays.asList(new IntCell(3), new IntCell(1), new IntCell(2));
+        final BlobSupportDataCellList list = BlobSupportDataCellList.create(cells);
+        final RecordingOutput listOut = new RecordingOutput();
+        list.serialize(listOut);
+        listOut.close();
+        assertEquals("List must start with its size", cells.size(), listOut.readInt());
+        assertEquals(cells, listOut.m_cells);
+        assertEquals(list, BlobSupportDataCellList.deserialize(listOut.createInput()));
+
+        final BlobSupportDataCellSet set = BlobSupportDataCellSet.create(cells);
+        final RecordingOutput setOut = new RecordingOutput();
+        set.serialize(setOut);
+        setOut.close();
+        assertEquals("Set must start with its size", cells.size(), setOut.readInt());
+        assertEquals(cells, setOut.m_cells);
+        assertEquals(set, BlobSupportDataCellSet.deserialize(setOut.createInput()));
+    }
+
+    /**
+     * Tests that compact lists and sets written into a table are read back unchanged.
+     *
+     * @throws Exception if writing or reading the table fails
+     */
+    @Test
+    public void testTableRoundTrip() throws Exception {
+        final DataTableSpec spec = new DataTableSpec(new String[]{"list", "set"},
+            new DataType[]{ListCell.getCollectionType(DoubleCell.TYPE), SetCell.getCollectionType(StringCell.TYPE)});
+        final List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new DefaultRow(RowKey.createRowKey((long)i),
+                CollectionCellFactory.createDoubleListCell(new double[]{i, i / 2.0, -i}),
+                CollectionCellFactory.createSetCell(Arrays.asList(new StringCell("a" + i), new StringCell("b")))));
+        }
+        // keep no rows in memory so that the cells are serialized
+        final DataContainer container = new DataContainer(spec, true, 0);
+        for (final DataRow row : rows) {
+            container.addRowToTable(row);
+        }
+        container.close();
+        final List<DataRow> read = new ArrayList<>();
+        for (final DataRow row : container.getTable()) {
+            read.add(row);
+        }
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i).getCell(0), read.get(i).getCell(0));
+            assertEquals(rows.get(i).getCell(1), read.get(i).getCell(1));
+        }
+    }
+
+    /** Output that records the written cells instead of serializing them. */
+    private static final class RecordingOutput extends DataOutputStream implements DataCellDataOutput {
+        private final List<DataCell> m_cells = new ArrayList<>();
+
+        RecordingOutput() {
+            super(new ByteArrayOutputStream());
+        }
+
+        @Override
+        public void writeDataCell(final DataCell cell) throws IOException {
+            m_cells.add(cell);
+        }
+
+        int readInt() throws IOException {
+            return createInput().readInt();
+        }
+
+        DataCellDataInput createInput() {
+            final Iterator<DataCell> cells = m_cells.iterator();
+            final class RecordedInput extends DataInputStream implements DataCellDataInput {
+                RecordedInput() {
+                    super(new ByteArrayInputStream(((ByteArrayOutputStream)out).toByteArray()));
+                }
+
+                @Override
+                public DataCell readDataCell() throws IOException {
+                    return cells.next();
+                }
+            }
+            return new RecordedInput();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.container.BlobDataCell.BlobAddress;
+
+/**
+ * Test cases for the class <code>BlobCache</code>.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BlobCacheTest {
+
+    private static final long KB = 1024L;
+
+    /** Tests put/get and the hit/miss statistics. */
+    @Test
+    public void testPutGet() {
+        final BlobCache cache = new BlobCache(1024 * KB);
+        final BlobAddress address = createAddress(1, 0, 0);
+        assertNull("Empty cache returned a blob", cache.get(1, address));
+        final TestBlobCell cell = new TestBlobCell(0);
+        cache.put(1, address, cell, 10 * KB);
+        assertSame("Blob not returned from cache", cell, cache.get(1, createAddress(1, 0, 0)));
+        assertEquals("Unexpected hit count", 1, cache.getHitCount());
+        assertEquals("Unexpected miss count", 1, cache.getMissCount());
+        assertEquals("Unexpected cache weight", 10 * KB, cache.getWeightInBytes());
+    }
+
+    /** Buffer IDs are not unique across workflows, the owner must be part of the key. */
+    @Test
+    public void testDifferentOwnersSameAddress() {
+        final BlobCache cache = new BlobCache(1024 * KB);
+        final TestBlobCell cell1 = new TestBlobCell(1);
+        final TestBlobCell cell2 = new TestBlobCell(2);
+        cache.put(1, createAddress(1, 0, 0), cell1, KB);
+        cache.put(2, createAddress(1, 0, 0), cell2, KB);
+        assertSame("Wrong blob for owner 1", cell1, cache.get(1, createAddress(1, 0, 0)));
+        assertSame("Wrong blob for owner 2", cell2, cache.get(2, createAddress(1, 0, 0)));
+
+        cache.invalidate(1);
+        assertNull("Invalidated blob still in cache", cache.get(1, createAddress(1, 0, 0)));
+        assertSame("Blob of other owner was invalidated", cell2, cache.get(2, createAddress(1, 0, 0)));
+        assertEquals("Unexpected cache weight", KB, cache.getWeightInBytes());
+    }
+
+    /** Tests that the cache is bounded by bytes and evicts least recently used blobs first. */
+    @Test
+    public void testSizeBoundedEviction() {
+        final BlobCache cache = new BlobCache(100 * KB);
+        final TestBlobCell hot = new TestBlobCell(-1);
+        cache.put(1, createAddress(1, 0, 0), hot, 10 * KB);
+        for (int i = 1; i <= 50; i++) {
+            cache.put(1, createAddress(1, 0, i), new TestBlobCell(i), 10 * KB);
+            assertNotNull("Recently used blob evicted", cache.get(1, createAddress(1, 0, 0)));
+            assertTrue("Cache exceeds capacity: " + cache.getWeightInBytes(),
+                cache.getWeightInBytes() <= cache.getCapacityInBytes());
+        }
+        assertSame("Hot blob evicted", hot, cache.get(1, createAddress(1, 0, 0)));
+        assertNull("Old blob not evicted", cache.get(1, createAddress(1, 0, 1)));
+        assertTrue("No evictions recorded", cache.getEvictionCount() > 0);
+    }
+
+    /** Blobs larger than a fraction of the capacity are not cached at all. */
+    @Test
+    public void testLargeBlobRejected() {
+        final BlobCache cache = new BlobCache(100 * KB);
+        cache.put(1, createAddress(1, 0, 0), new TestBlobCell(0), 5 * KB);
+        cache.put(1, createAddress(1, 0, 1), new TestBlobCell(1), 60 * KB);
+        assertNull("Large blob was cached", cache.get(1, createAddress(1, 0, 1)));
+        assertNotNull("Small blob was evicted", cache.get(1, createAddress(1, 0, 0)));
+        assertEquals("Unexpected rejected count", 1, cache.getRejectedCount());
+    }
+
+    /** A cache with capacity 0 is disabled. */
+    @Test
+    public void testDisabledCache() {
+        final BlobCache cache = new BlobCache(0);
+        cache.put(1, createAddress(1, 0, 0), new TestBlobCell(0), KB);
+        assertNull("Disabled cache returned blob", cache.get(1, createAddress(1, 0, 0)));
+        assertEquals("Disabled cache holds data", 0, cache.size());
+    }
+
+    private static BlobAddress createAddress(final int bufferID, final int column, final int index) {
+        BlobAddress address = new BlobAddress(bufferID, column, false);
+        address.setIndexOfBlobInColumn(index);
+        return address;
+    }
+
+    /** Minimal blob cell. */
+    @SuppressWarnings("serial")
+    private static final class TestBlobCell extends BlobDataCell {
+
+        private final int m_value;
+
+        TestBlobCell(final int value) {
+            m_value = value;
+        }
+
+        @Override
+        protected boolean equalsDataCell(final DataCell dc) {
+            return ((TestBlobCell)dc).m_value == m_value;
+        }
+
+        @Override
+        public int hashCode() {
+            return m_value;
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(m_value);
+        }
+    }
+}
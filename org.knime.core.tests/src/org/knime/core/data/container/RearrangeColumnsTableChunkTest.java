@@ -0,0 +1,239 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests the chunked execution of {@link AbstractCellFactory} instances with batch processing enabled
+ * ({@link AbstractCellFactory#setBatchSize(int)}) in {@link RearrangeColumnsTable}, sequentially and in parallel.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RearrangeColumnsTableChunkTest {
+
+    private static final DataTableSpec SPEC =
+        new DataTableSpec(new String[]{"value"}, new DataType[]{IntCell.TYPE});
+
+    private ExecutionContext m_exec;
+
+    /** Doubles the input value and records the size of each chunk it is called with. */
+    private static class DoublingFactory extends AbstractCellFactory {
+        private final List<Integer> m_chunkSizes = Collections.synchronizedList(new ArrayList<>());
+
+        DoublingFactory(final int batchSize) {
+            super(new DataColumnSpecCreator("doubled", IntCell.TYPE).createSpec());
+            setBatchSize(batchSize);
+        }
+
+        @Override
+        public DataCell[] getCells(final DataRow row) {
+            return new DataCell[]{new IntCell(2 * ((IntValue)row.getCell(0)).getIntValue())};
+        }
+
+        @Override
+        public DataCell[][] getCells(final DataRow[] rows) {
+            m_chunkSizes.add(rows.length);
+            return super.getCells(rows);
+        }
+    }
+
+    /**
+     * Creates the execution context.
+     *
+     * @throws Exception if the node can't be created
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Before
+    public void setUp() throws Exception {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Tests sequential chunked execution: chunks in table order, the last one smaller.
+     *
+     * @throws Exception if execution fails
+     */
+    @Test
+    public void testSequentialChunks() throws Exception {
+        final DoublingFactory factory = new DoublingFactory(4);
+        assertResult(10, factory);
+        assertEquals("Unexpected chunks", Arrays.asList(4, 4, 2), factory.m_chunkSizes);
+    }
+
+    /**
+     * Tests parallel chunked execution: the result keeps the row order, the chunks cover all rows and only the last
+     * one is smaller.
+     *
+     * @throws Exception if execution fails
+     */
+    @Test
+    public void testParallelChunks() throws Exception {
+        final DoublingFactory factory = new DoublingFactory(3);
+        factory.setParallelProcessing(true, 4, 16);
+        assertResult(1000, factory);
+        final List<Integer> chunkSizes = new ArrayList<>(factory.m_chunkSizes);
+        assertEquals("Unexpected number of chunks", 334, chunkSizes.size());
+        assertEquals("Unexpected number of chunks of size 3", 333, Collections.frequency(chunkSizes, 3));
+        assertEquals("Unexpected number of chunks of size 1", 1, Collections.frequency(chunkSizes, 1));
+    }
+
+    /**
+     * Tests that an empty table is processed without any chunk, sequentially and in parallel.
+     *
+     * @throws Exception if execution fails
+     */
+    @Test
+    public void testEmptyTable() throws Exception {
+        final DoublingFactory sequential = new DoublingFactory(4);
+        assertResult(0, sequential);
+        assertTrue("No chunk expected", sequential.m_chunkSizes.isEmpty());
+
+        final DoublingFactory parallel = new DoublingFactory(4);
+        parallel.setParallelProcessing(true, 2, 4);
+        assertResult(0, parallel);
+        assertTrue("No chunk expected", parallel.m_chunkSizes.isEmpty());
+    }
+
+    /**
+     * Tests that a factory returning fewer rows than the chunk has fails sequentially.
+     *
+     * @throws Exception if execution fails otherwise
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testChunkLengthMismatchSequential() throws Exception {
+        m_exec.createColumnRearrangeTable(createTable(10), createRearranger(new TruncatingFactory()), m_exec);
+    }
+
+    /**
+     * Tests that a factory returning fewer rows than the chunk has fails in parallel.
+     *
+     * @throws Exception if execution fails otherwise
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testChunkLengthMismatchParallel() throws Exception {
+        final TruncatingFactory factory = new TruncatingFactory();
+        factory.setParallelProcessing(true, 2, 4);
+        m_exec.createColumnRearrangeTable(createTable(10), createRearranger(factory), m_exec);
+    }
+
+    /** Returns the cells of all but the last row of a chunk. */
+    private static final class TruncatingFactory extends DoublingFactory {
+        TruncatingFactory() {
+            super(4);
+        }
+
+        @Override
+        public DataCell[][] getCells(final DataRow[] rows) {
+            final DataCell[][] cells = super.getCells(rows);
+            return Arrays.copyOf(cells, cells.length - 1);
+        }
+    }
+
+    private void assertResult(final int rowCount, final AbstractCellFactory factory) throws Exception {
+        final BufferedDataTable result =
+            m_exec.createColumnRearrangeTable(createTable(rowCount), createRearranger(factory), m_exec);
+        assertEquals("Unexpected row count", rowCount, result.size());
+        int i = 0;
+        for (final DataRow row : result) {
+            assertEquals("Unexpected row order", RowKey.createRowKey((long)i), row.getKey());
+            assertEquals(new IntCell(i), row.getCell(0));
+            assertEquals(new IntCell(2 * i), row.getCell(1));
+            i++;
+        }
+        assertEquals("Unexpected number of rows", rowCount, i);
+    }
+
+    private static ColumnRearranger createRearranger(final AbstractCellFactory factory) {
+        final ColumnRearranger rearranger = new ColumnRearranger(SPEC);
+        rearranger.append(factory);
+        return rearranger;
+    }
+
+    private BufferedDataTable createTable(final int rowCount) {
+        final BufferedDataContainer container = m_exec.createDataContainer(SPEC);
+        for (int i = 0; i < rowCount; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DefaultTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests for {@link RowKeyDuplicateScan}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class RowKeyDuplicateScanTest {
+
+    private static DataTable table(final String... keys) {
+        final DataRow[] rows = new DataRow[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            rows[i] = new DefaultRow(keys[i], new DataCell[0]);
+        }
+        return new DefaultTable(rows, new DataTableSpec());
+    }
+
+    private static String[] keys(final String prefix, final int from, final int to, final String suffix) {
+        return IntStream.range(from, to).mapToObj(i -> prefix + i + suffix).toArray(String[]::new);
+    }
+
+    private static void check(final DataTable... tables) throws CanceledExecutionException {
+        final long[] sizes = new long[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            for (@SuppressWarnings("unused") DataRow row : tables[i]) {
+                sizes[i]++;
+            }
+        }
+        new RowKeyDuplicateScan(new ExecutionMonitor(), tables, sizes).check();
+    }
+
+    private static void assertDuplicate(final String expectedMessage, final DataTable... tables)
+        throws CanceledExecutionException {
+        try {
+            check(tables);
+            fail("Duplicate not detected, expected: " + expectedMessage);
+        } catch (IllegalArgumentException e) {
+            assertEquals(expectedMessage, e.getMessage());
+        }
+    }
+
+    /** Tables with consecutive keys are compared by their ranges. */
+    @Test
+    public void testSequentialKeys() throws CanceledExecutionException {
+        check(table(keys("Row", 0, 100, "")), table(keys("Row", 100, 200, "")), table());
+        check(table(keys("Row", 0, 100, "#0")), table(keys("Row", 0, 100, "#1")));
+        // leading zeros make a different key
+        check(table(keys("Row", 0, 10, "")), table("Row01"));
+        assertDuplicate("Duplicate row key \"Row150\" in table with index 2", table(keys("Row", 0, 100, "")),
+            table(keys("Row", 150, 250, "")), table(keys("Row", 100, 160, "")));
+    }
+
+    /** Mixed tables are compared by fingerprints and verified by value. */
+    @Test
+    public void testArbitraryKeys() throws CanceledExecutionException {
+        check(table("a", "b", "c"), table(keys("Row", 0, 1000, "")), table("Row1000", "x"));
+        assertDuplicate("Duplicate row key \"Row5\" in table with index 1", table(keys("Row", 0, 10, "")),
+            table("foo", "Row5", "bar"));
+        assertDuplicate("Duplicate row key \"b\" in table with index 0", table("a", "b", "c", "b"));
+        assertDuplicate("Duplicate row key \"c\" in table with index 2", table("a", "b"), table("c"),
+            table("d", "c"));
+    }
+}
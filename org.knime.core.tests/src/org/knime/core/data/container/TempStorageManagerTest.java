@@ -0,0 +1,127 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.knime.core.data.container.TempStorageManager.Account;
+import org.knime.core.node.workflow.NodeID;
+
+/**
+ * Test cases for the class <code>TempStorageManager</code>.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class TempStorageManagerTest {
+
+    private static final NodeID WORKFLOW = new NodeID(NodeID.ROOTID, 1);
+
+    private static final NodeID NODE_1 = new NodeID(WORKFLOW, 1);
+
+    private static final NodeID NODE_2 = new NodeID(WORKFLOW, 2);
+
+    /** Tests the accounting per node, workflow and in total. */
+    @Test
+    public void testAccounting() throws IOException {
+        TempStorageManager manager = new TempStorageManager(TempStorageManager.UNLIMITED,
+            TempStorageManager.UNLIMITED, TempStorageManager.UNLIMITED);
+        Account a1 = manager.createAccount(NODE_1, WORKFLOW, "Node 1");
+        Account a2 = manager.createAccount(NODE_1, WORKFLOW, "Node 1");
+        Account b = manager.createAccount(NODE_2, WORKFLOW, "Node 2");
+        Account unassigned = manager.createAccount(null, null, null);
+        a1.setBytes(100);
+        a1.setBytes(300);
+        a2.setBytes(50);
+        b.setBytes(1000);
+        unassigned.setBytes(1);
+        assertEquals("Unexpected node usage", 350, manager.getNodeUsage(NODE_1));
+        assertEquals("Unexpected node usage", 1000, manager.getNodeUsage(NODE_2));
+        assertEquals("Unexpected workflow usage", 1350, manager.getWorkflowUsage(WORKFLOW));
+        assertEquals("Unexpected total usage", 1351, manager.getTotalUsage());
+
+        a1.release();
+        a2.release();
+        assertEquals("Usage not released", 0, manager.getNodeUsage(NODE_1));
+        assertFalse("Released node still listed", manager.getNodeUsages().containsKey(NODE_1));
+        assertEquals("Unexpected workflow usage", 1000, manager.getWorkflowUsage(WORKFLOW));
+        assertEquals("Unexpected total usage", 1001, manager.getTotalUsage());
+    }
+
+    /** Tests that node and workflow quotas are enforced with a meaningful message. */
+    @Test
+    public void testQuotas() throws IOException {
+        TempStorageManager manager = new TempStorageManager(1000, 1500, TempStorageManager.UNLIMITED);
+        Account a = manager.createAccount(NODE_1, WORKFLOW, "Node 1");
+        Account b = manager.createAccount(NODE_2, WORKFLOW, "Node 2");
+        a.setBytes(1000);
+        try {
+            a.setBytes(1001);
+            fail("Node quota not enforced");
+        } catch (IOException e) {
+            assertTrue("Node name not in message: " + e.getMessage(), e.getMessage().contains("Node 1"));
+        }
+        assertEquals("Usage must be recorded even if quota is exceeded", 1001, manager.getNodeUsage(NODE_1));
+        b.checkQuotas(); // quota of other node doesn't matter
+        try {
+            b.setBytes(600);
+            fail("Workflow quota not enforced");
+        } catch (IOException e) {
+            assertTrue("Not a workflow quota message: " + e.getMessage(), e.getMessage().startsWith("Workflow"));
+        }
+        a.release();
+        b.checkQuotas();
+    }
+
+}
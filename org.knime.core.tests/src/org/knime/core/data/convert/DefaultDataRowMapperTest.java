@@ -0,0 +1,272 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.convert;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.IntValue;
+import org.knime.core.data.MissingCell;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.convert.datacell.JavaToDataCellConverter;
+import org.knime.core.data.convert.datacell.JavaToDataCellConverterFactory;
+import org.knime.core.data.convert.java.DataCellToJavaConverter;
+import org.knime.core.data.convert.java.DataCellToJavaConverterFactory;
+import org.knime.core.data.convert.map.ConsumptionPath;
+import org.knime.core.data.convert.map.DefaultDataRowConsumer;
+import org.knime.core.data.convert.map.DefaultDataRowProducer;
+import org.knime.core.data.convert.map.Destination;
+import org.knime.core.data.convert.map.ProductionPath;
+import org.knime.core.data.convert.map.SimpleCellValueConsumerFactory;
+import org.knime.core.data.convert.map.SimpleCellValueProducerFactory;
+import org.knime.core.data.convert.map.Source;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.filestore.FileStoreFactory;
+
+/**
+ * Tests how {@link DefaultDataRowConsumer} and {@link DefaultDataRowProducer} create and reuse stateful converters.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DefaultDataRowMapperTest {
+
+    /** Parameters addressing a column. */
+    private static final class TestParameters
+        implements Destination.ConsumerParameters<TestDestination>, Source.ProducerParameters<TestSource> {
+        private final int m_column;
+
+        TestParameters(final int column) {
+            m_column = column;
+        }
+    }
+
+    /** Collects the consumed values per row. */
+    private static final class TestDestination implements Destination<String> {
+        private final List<Object[]> m_rows = new ArrayList<>();
+    }
+
+    /** Provides the current row of values. */
+    private static final class TestSource implements Source<String> {
+        private Integer[] m_row;
+    }
+
+    /**
+     * Converter factory whose converters add the number of conversions done by that converter instance to the value,
+     * which makes it visible if converters are shared between columns or recreated per row.
+     */
+    private static final class CountingToJavaFactory implements DataCellToJavaConverterFactory<IntValue, Integer> {
+        private final AtomicInteger m_created = new AtomicInteger();
+
+        @Override
+        public DataCellToJavaConverter<IntValue, Integer> create() {
+            m_created.incrementAndGet();
+            final int[] count = {0};
+            return value -> value.getIntValue() + 100 * ++count[0];
+        }
+
+        @Override
+        public Class<?> getDestinationType() {
+            return Integer.class;
+        }
+
+        @Override
+        public Class<? extends IntValue> getSourceType() {
+            return IntValue.class;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return getClass().getName();
+        }
+    }
+
+    /** Same as {@link CountingToJavaFactory} for the opposite direction. */
+    private static final class CountingToCellFactory implements JavaToDataCellConverterFactory<Integer> {
+        private final AtomicInteger m_created = new AtomicInteger();
+
+        @Override
+        public JavaToDataCellConverter<Integer> create(final FileStoreFactory fileStoreFactory) {
+            m_created.incrementAndGet();
+            final int[] count = {0};
+            return value -> new IntCell(value + 100 * ++count[0]);
+        }
+
+        @Override
+        public DataType getDestinationType() {
+            return IntCell.TYPE;
+        }
+
+        @Override
+        public Class<?> getSourceType() {
+            return Integer.class;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return getClass().getName();
+        }
+    }
+
+    private final SimpleCellValueConsumerFactory<TestDestination, Integer, String, TestParameters> m_consumer =
+        new SimpleCellValueConsumerFactory<>(Integer.class, "INT", (d, v, p) -> {
+            d.m_rows.get(d.m_rows.size() - 1)[p.m_column] = v;
+        });
+
+    private final SimpleCellValueProducerFactory<TestSource, String, Integer, TestParameters> m_producer =
+        new SimpleCellValueProducerFactory<>("INT", Integer.class, (s, p) -> s.m_row[p.m_column]);
+
+    /**
+     * Tests that the consumer by default creates a new converter for each non-missing cell.
+     */
+    @Test
+    public void testConsumerWithStatefulConverter() throws Exception {
+        final CountingToJavaFactory factory = new CountingToJavaFactory();
+        final TestDestination destination = consumeRows(factory, false);
+        assertEquals("Unexpected number of converters", 6, factory.m_created.get());
+        assertArrayEquals(new Object[]{100, 110, null}, destination.m_rows.get(0));
+        assertArrayEquals(new Object[]{101, 111, null}, destination.m_rows.get(1));
+        assertArrayEquals(new Object[]{102, 112, null}, destination.m_rows.get(2));
+    }
+
+    /**
+     * Tests that the consumer, if asked to reuse instances, creates each converter lazily, once per column, and reuses
+     * it for all rows without sharing it between columns.
+     */
+    @Test
+    public void testConsumerReusingStatefulConverter() throws Exception {
+        final CountingToJavaFactory factory = new CountingToJavaFactory();
+        final TestDestination destination = consumeRows(factory, true);
+        // the third column only contains missing cells, hence does not need a converter
+        assertEquals("Unexpected number of converters", 2, factory.m_created.get());
+        assertArrayEquals(new Object[]{100, 110, null}, destination.m_rows.get(0));
+        assertArrayEquals(new Object[]{201, 211, null}, destination.m_rows.get(1));
+        assertArrayEquals(new Object[]{302, 312, null}, destination.m_rows.get(2));
+    }
+
+    private TestDestination consumeRows(final CountingToJavaFactory factory, final boolean reuseInstances)
+        throws Exception {
+        final TestDestination destination = new TestDestination();
+        final DefaultDataRowConsumer<TestDestination, TestParameters> consumer = new DefaultDataRowConsumer<>(
+            destination, new ConsumptionPath[]{new ConsumptionPath(factory, m_consumer),
+                new ConsumptionPath(factory, m_consumer), new ConsumptionPath(factory, m_consumer)},
+            reuseInstances);
+        assertEquals("Converters must not be created before the first row", 0, factory.m_created.get());
+
+        final TestParameters[] params =
+            new TestParameters[]{new TestParameters(0), new TestParameters(1), new TestParameters(2)};
+        for (int i = 0; i < 3; i++) {
+            destination.m_rows.add(new Object[3]);
+            consumer.consumeDataRow(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i), new IntCell(10 + i),
+                new MissingCell(null)), params);
+        }
+        return destination;
+    }
+
+    /**
+     * Tests that the producer by default creates a new converter for each non-missing value.
+     */
+    @Test
+    public void testProducerWithStatefulConverter() throws Exception {
+        final CountingToCellFactory factory = new CountingToCellFactory();
+        final List<DataRow> rows = produceRows(factory, false);
+        assertEquals("Unexpected number of converters", 6, factory.m_created.get());
+        for (int i = 0; i < 3; i++) {
+            final DataRow row = rows.get(i);
+            assertEquals(new IntCell(i + 100), row.getCell(0));
+            assertEquals(new IntCell(10 + i + 100), row.getCell(1));
+            assertTrue("Expected missing cell", row.getCell(2).isMissing());
+        }
+    }
+
+    /**
+     * Tests that the producer, if asked to reuse instances, creates each converter lazily, once per column, and reuses
+     * it for all rows without sharing it between columns.
+     */
+    @Test
+    public void testProducerReusingStatefulConverter() throws Exception {
+        final CountingToCellFactory factory = new CountingToCellFactory();
+        final List<DataRow> rows = produceRows(factory, true);
+        // the third column only contains missing values, hence does not need a converter
+        assertEquals("Unexpected number of converters", 2, factory.m_created.get());
+        for (int i = 0; i < 3; i++) {
+            final DataRow row = rows.get(i);
+            assertEquals(new IntCell(i + 100 * (i + 1)), row.getCell(0));
+            assertEquals(new IntCell(10 + i + 100 * (i + 1)), row.getCell(1));
+            assertTrue("Expected missing cell", row.getCell(2).isMissing());
+        }
+    }
+
+    private List<DataRow> produceRows(final CountingToCellFactory factory, final boolean reuseInstances)
+        throws Exception {
+        final TestSource source = new TestSource();
+        final DefaultDataRowProducer<TestSource, TestParameters> producer =
+            new DefaultDataRowProducer<>(source, new ProductionPath[]{new ProductionPath(m_producer, factory),
+                new ProductionPath(m_producer, factory), new ProductionPath(m_producer, factory)}, null,
+                reuseInstances);
+        assertEquals("Converters must not be created before the first row", 0, factory.m_created.get());
+
+        final TestParameters[] params =
+            new TestParameters[]{new TestParameters(0), new TestParameters(1), new TestParameters(2)};
+        final List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            source.m_row = new Integer[]{i, 10 + i, null};
+            rows.add(producer.produceDataRow(RowKey.createRowKey((long)i), params));
+        }
+        return rows;
+    }
+}
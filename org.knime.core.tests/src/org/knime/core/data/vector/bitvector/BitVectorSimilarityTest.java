@@ -0,0 +1,133 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BitVectorSimilarity}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class BitVectorSimilarityTest {
+
+    private static final Random RANDOM = new Random(37);
+
+    private static DenseBitVectorCell randomDense(final int length) {
+        final DenseBitVector vector = new DenseBitVector(length);
+        for (int i = 0; i < length / 4; i++) {
+            vector.set(RANDOM.nextInt(length));
+        }
+        return new DenseBitVectorCellFactory(vector).createDataCell();
+    }
+
+    private static SparseBitVectorCell toSparse(final DenseBitVectorCell cell) {
+        final long[] ones = new long[(int)cell.cardinality()];
+        int j = 0;
+        for (long i = cell.nextSetBit(0); i >= 0; i = cell.nextSetBit(i + 1)) {
+            ones[j++] = i;
+        }
+        return new SparseBitVectorCellFactory(cell.length(), ones).createDataCell();
+    }
+
+    /** Scores of dense, sparse and mixed pairs must match the pairwise definitions. */
+    @Test
+    public void testScores() {
+        final DenseBitVectorCell query = randomDense(1024);
+        final BitVectorValue[] targets = new BitVectorValue[50];
+        for (int i = 0; i < targets.length; i++) {
+            // different lengths on purpose
+            final DenseBitVectorCell dense = randomDense(512 + RANDOM.nextInt(1024));
+            targets[i] = i % 2 == 0 ? dense : toSparse(dense);
+        }
+        final double[] tanimoto = new double[targets.length];
+        final double[] cosine = new double[targets.length];
+        final double[] euclidean = new double[targets.length];
+        BitVectorSimilarity.tanimoto(query, targets, tanimoto);
+        BitVectorSimilarity.cosine(query, targets, cosine);
+        BitVectorSimilarity.euclidean(query, targets, euclidean);
+        final double[] sparseQueryTanimoto = new double[targets.length];
+        BitVectorSimilarity.tanimoto(toSparse(query), targets, sparseQueryTanimoto);
+
+        final long q = query.cardinality();
+        for (int i = 0; i < targets.length; i++) {
+            final long t = targets[i].cardinality();
+            final long inter = BitVectorUtil.cardinalityOfIntersection(query, targets[i]);
+            assertEquals("Tanimoto " + i, (double)inter / (q + t - inter), tanimoto[i], 1e-12);
+            assertEquals("Tanimoto (sparse query) " + i, tanimoto[i], sparseQueryTanimoto[i], 1e-12);
+            assertEquals("Cosine " + i, inter / Math.sqrt((double)q * t), cosine[i], 1e-12);
+            assertEquals("Euclidean " + i, Math.sqrt(q + t - 2 * inter), euclidean[i], 1e-12);
+        }
+    }
+
+    /** Tests missing targets and empty vectors. */
+    @Test
+    public void testEdgeCases() {
+        final DenseBitVectorCell empty = new DenseBitVectorCellFactory(64).createDataCell();
+        final double[] result = new double[3];
+        BitVectorSimilarity.tanimoto(empty, new BitVectorValue[]{null, empty}, result);
+        assertTrue(Double.isNaN(result[0]));
+        assertEquals(1.0, result[1], 0.0);
+        assertEquals("Result entries beyond the targets must not be touched", 0.0, result[2], 0.0);
+        BitVectorSimilarity.cosine(empty, new BitVectorValue[]{empty}, result);
+        assertEquals(0.0, result[0], 0.0);
+    }
+
+    /** The result array must be large enough. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testResultTooShort() {
+        final DenseBitVectorCell v = randomDense(64);
+        BitVectorSimilarity.tanimoto(v, new BitVectorValue[]{v, v}, new double[1]);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link CompressedBitVector}, using {@link SparseBitVector} as reference.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompressedBitVectorTest {
+
+    private static final Random RANDOM = new Random(38);
+
+    /** Creates indices with sparse blocks, a dense block and long runs. */
+    private static long[] mixedIndices(final long length) {
+        final TreeSet<Long> set = new TreeSet<>();
+        for (int i = 0; i < 500; i++) {
+            set.add((long)RANDOM.nextInt((int)Math.min(length, Integer.MAX_VALUE)));
+        }
+        // dense block
+        for (int i = 0; i < 20000; i++) {
+            set.add(65536L + RANDOM.nextInt(65536));
+        }
+        // runs across a block boundary
+        for (long i = 3 * 65536L - 1000; i < 3 * 65536L + 3000; i++) {
+            set.add(i);
+        }
+        set.add(length - 1);
+        return set.stream().filter(l -> l < length).mapToLong(Long::longValue).toArray();
+    }
+
+    /** Single bit accessors must match the sparse implementation. */
+    @Test
+    public void testAccessors() {
+        final long length = 5 * 65536L + 17;
+        final long[] ones = mixedIndices(length);
+        final CompressedBitVector compressed = new CompressedBitVector(length, ones);
+        final SparseBitVector sparse = new SparseBitVector(length, ones);
+
+        assertEquals(length, compressed.length());
+        assertEquals(sparse.cardinality(), compressed.cardinality());
+        assertArrayEquals(ones, compressed.getAllOneIndices());
+        for (long i = 0; i < length; i += 1 + RANDOM.nextInt(50)) {
+            assertEquals("get(" + i + ")", sparse.get(i), compressed.get(i));
+            assertEquals("nextSetBit(" + i + ")", sparse.nextSetBit(i), compressed.nextSetBit(i));
+            assertEquals("nextClearBit(" + i + ")", sparse.nextClearBit(i), compressed.nextClearBit(i));
+        }
+        assertEquals(-1, compressed.nextSetBit(length));
+        assertEquals(-1, compressed.nextClearBit(length - 1));
+        assertEquals(sparse.toHexString(), compressed.toHexString());
+    }
+
+    /** All bits set in the last, incomplete block. */
+    @Test
+    public void testFullVector() {
+        final long length = 70000;
+        final long[] ones = new long[(int)length];
+        for (int i = 0; i < ones.length; i++) {
+            ones[i] = i;
+        }
+        final CompressedBitVector compressed = new CompressedBitVector(length, ones);
+        assertEquals(length, compressed.cardinality());
+        assertEquals(-1, compressed.nextClearBit(0));
+        assertEquals(69999, compressed.nextSetBit(69999));
+        assertTrue(new CompressedBitVector(length, new long[0]).isEmpty());
+    }
+
+    /** Intersection kernels for all container combinations. */
+    @Test
+    public void testCardinalityOfIntersection() {
+        final long length = 5 * 65536L;
+        for (int r = 0; r < 10; r++) {
+            final long[] ones1 = mixedIndices(length);
+            final long[] ones2 = mixedIndices(length);
+            final CompressedBitVector c1 = new CompressedBitVector(length, ones1);
+            final CompressedBitVector c2 = new CompressedBitVector(length, ones2);
+            final long expected =
+                new SparseBitVector(length, ones1).cardinalityOfIntersection(new SparseBitVector(length, ones2));
+            assertEquals(expected, c1.cardinalityOfIntersection(c2));
+            assertEquals(expected, c2.cardinalityOfIntersection(c1));
+            assertEquals(c1.cardinality(), c1.cardinalityOfIntersection(c1));
+        }
+    }
+
+    /** Serialized vectors must be read back unchanged, unknown versions must be rejected. */
+    @Test
+    public void testSerialization() throws IOException {
+        final long length = 5 * 65536L;
+        final CompressedBitVector vector = new CompressedBitVector(length, mixedIndices(length));
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            vector.serialize(out);
+        }
+        final byte[] data = bytes.toByteArray();
+        final CompressedBitVector read =
+            CompressedBitVector.deserialize(new DataInputStream(new ByteArrayInputStream(data)));
+        assertEquals(vector, read);
+        assertEquals(vector.hashCode(), read.hashCode());
+        assertArrayEquals(vector.getAllOneIndices(), read.getAllOneIndices());
+
+        data[0] = 99;
+        try {
+            CompressedBitVector.deserialize(new DataInputStream(new ByteArrayInputStream(data)));
+            assertTrue("Unknown version not detected", false);
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    /** Conversions from and to the other bit vector implementations keep all bits. */
+    @Test
+    public void testConversion() {
+        final long length = 3 * 65536L + 5;
+        final long[] ones = mixedIndices(length);
+        final CompressedBitVector vector = new CompressedBitVector(length, ones);
+        final DenseBitVector dense = vector.toDenseBitVector();
+        assertEquals(length, dense.length());
+        assertEquals(ones.length, dense.cardinality());
+        for (long i : ones) {
+            assertTrue(dense.get(i));
+        }
+        assertEquals(vector, new CompressedBitVector(new DenseBitVectorCellFactory(dense).createDataCell()));
+        assertEquals(new SparseBitVector(length, ones), vector.toSparseBitVector());
+        assertFalse(vector.equals(new CompressedBitVector(length + 1, ones)));
+    }
+
+    /** Unsorted indices must be rejected. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedIndices() {
+        new CompressedBitVector(100, new long[]{5, 3});
+    }
+
+    /** Out of range access. */
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        new CompressedBitVector(100, new long[]{5}).get(100);
+    }
+}
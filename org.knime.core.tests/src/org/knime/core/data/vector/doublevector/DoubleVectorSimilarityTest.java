@@ -0,0 +1,112 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.vector.doublevector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link DoubleVectorSimilarity}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DoubleVectorSimilarityTest {
+
+    /** Compares the unrolled kernels with straightforward implementations. */
+    @Test
+    public void testScores() {
+        final Random random = new Random(37);
+        final int length = 103;
+        final double[] q = random.doubles(length).toArray();
+        final DoubleVectorValue query = DoubleVectorCellFactory.createCell(q);
+        final DoubleVectorValue[] targets = new DoubleVectorValue[20];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = DoubleVectorCellFactory.createCell(random.doubles(length).toArray());
+        }
+        targets[7] = null;
+        final double[] tanimoto = new double[targets.length];
+        final double[] cosine = new double[targets.length];
+        final double[] euclidean = new double[targets.length];
+        DoubleVectorSimilarity.tanimoto(query, targets, tanimoto);
+        DoubleVectorSimilarity.cosine(query, targets, cosine);
+        DoubleVectorSimilarity.euclidean(query, targets, euclidean);
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] == null) {
+                assertTrue(Double.isNaN(tanimoto[i]) && Double.isNaN(cosine[i]) && Double.isNaN(euclidean[i]));
+                continue;
+            }
+            double dot = 0;
+            double qq = 0;
+            double tt = 0;
+            double dist = 0;
+            for (int j = 0; j < length; j++) {
+                final double t = targets[i].getValue(j);
+                dot += q[j] * t;
+                qq += q[j] * q[j];
+                tt += t * t;
+                dist += (q[j] - t) * (q[j] - t);
+            }
+            assertEquals("Tanimoto " + i, dot / (qq + tt - dot), tanimoto[i], 1e-9);
+            assertEquals("Cosine " + i, dot / Math.sqrt(qq * tt), cosine[i], 1e-9);
+            assertEquals("Euclidean " + i, Math.sqrt(dist), euclidean[i], 1e-9);
+        }
+    }
+
+    /** Vectors of different length cannot be compared. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengthMismatch() {
+        final DoubleVectorValue query = DoubleVectorCellFactory.createCell(new double[3]);
+        DoubleVectorSimilarity.euclidean(query,
+            new DoubleVectorValue[]{DoubleVectorCellFactory.createCell(new double[4])}, new double[1]);
+    }
+}
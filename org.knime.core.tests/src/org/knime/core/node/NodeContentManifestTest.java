@@ -0,0 +1,136 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Test cases for the class <code>NodeContentManifest</code>.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NodeContentManifestTest {
+
+    private File m_workflowDir;
+
+    private File m_nodeDir;
+
+    /** Creates a temporary node directory with two artifacts. */
+    @Before
+    public void setUp() throws IOException {
+        m_workflowDir = Files.createTempDirectory("NodeContentManifestTest").toFile();
+        m_nodeDir = new File(m_workflowDir, "Node (#1)");
+        writeFile("port_1/data.zip", "table content");
+        writeFile("port_1/r0/data.zip", "reference table");
+        writeFile("filestore/000/001/file", "file store content");
+    }
+
+    /** Deletes the temporary directory. */
+    @After
+    public void tearDown() {
+        FileUtil.deleteRecursively(m_workflowDir);
+    }
+
+    private void writeFile(final String relPath, final String content) throws IOException {
+        File f = new File(m_nodeDir, relPath);
+        f.getParentFile().mkdirs();
+        Files.write(f.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Tests that fingerprints are matched and that deleted artifacts are not considered unchanged. */
+    @Test
+    public void testIsUnchanged() {
+        NodeContentManifest manifest = new NodeContentManifest();
+        String fingerprint = NodeContentManifest.createFingerprint("table", 3, "full");
+        manifest.add("port_1", fingerprint);
+        manifest.add("filestore", NodeContentManifest.createFingerprint("filestore", 1));
+        assertEquals("Unexpected artifacts", Arrays.asList("filestore", "port_1"),
+            Arrays.asList(manifest.getArtifactNames().toArray()));
+        assertTrue("Artifact not unchanged", manifest.isUnchanged("port_1", fingerprint, m_nodeDir));
+        assertFalse("Different fingerprint considered unchanged", manifest.isUnchanged("port_1",
+            NodeContentManifest.createFingerprint("table", 4, "full"), m_nodeDir));
+        assertFalse("Unknown artifact considered unchanged", manifest.isUnchanged("port_2", fingerprint, m_nodeDir));
+        FileUtil.deleteRecursively(new File(m_nodeDir, "port_1"));
+        assertFalse("Deleted artifact considered unchanged", manifest.isUnchanged("port_1", fingerprint, m_nodeDir));
+    }
+
+    /** Tests that retained artifacts keep their fingerprint from the previous manifest. */
+    @Test
+    public void testRetain() {
+        NodeContentManifest previous = new NodeContentManifest();
+        String fingerprint = NodeContentManifest.createFingerprint("table", 3, "full");
+        previous.add("port_1", fingerprint);
+
+        NodeContentManifest next = new NodeContentManifest();
+        next.retain("port_1", previous);
+        assertTrue("Retained artifact not unchanged", next.isUnchanged("port_1", fingerprint, m_nodeDir));
+        assertEquals("Unexpected artifacts", Collections.singleton("port_1"), next.getArtifactNames());
+    }
+
+    /** Tests that an artifact that is not in the previous manifest can't be retained. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRetainUnknown() {
+        new NodeContentManifest().retain("port_1", new NodeContentManifest());
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+import org.apache.log4j.varia.LevelRangeFilter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.NodeLogger.LEVEL;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.WorkflowContext;
+import org.knime.core.node.workflow.WorkflowCreationHelper;
+import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Tests the asynchronous appenders, the workflow directory appenders and the lazy messages of {@link NodeLogger}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NodeLoggerTest {
+
+    private static final String LOGGER_NAME = NodeLoggerTest.class.getName();
+
+    private Logger m_log4jLogger;
+
+    /** Enables all levels for the logger of this test. */
+    @Before
+    public void setUp() {
+        m_log4jLogger = Logger.getLogger(LOGGER_NAME);
+        m_log4jLogger.setLevel(Level.DEBUG);
+    }
+
+    /** Resets the level of the logger of this test. */
+    @After
+    public void tearDown() {
+        m_log4jLogger.setLevel(null);
+    }
+
+    /**
+     * Tests that the level range set for an appender that is wrapped in an asynchronous appender is applied to the
+     * wrapped appender and that the events are still filtered.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testAsyncAppenderHonorsLevelRange() throws Exception {
+        final StringWriter writer = new StringWriter();
+        final WriterAppender appender = new WriterAppender(new PatternLayout("%p %m%n"), writer);
+        appender.setName("NodeLoggerTest-writer");
+        final AsyncAppender async = NodeLogger.createAsyncAppender(appender);
+        final Logger root = Logger.getRootLogger();
+        root.addAppender(async);
+        try {
+            NodeLogger.setAppenderLevelRange(appender.getName(), LEVEL.WARN, LEVEL.FATAL);
+            assertNull("Filter added to the wrapper", async.getFilter());
+            assertTrue("Level range not set on the wrapped appender", appender.getFilter() instanceof LevelRangeFilter);
+
+            final NodeLogger logger = NodeLogger.getLogger(LOGGER_NAME);
+            logger.debug("debug message");
+            logger.info("info message");
+            logger.warn("warn message");
+            logger.error("error message");
+        } finally {
+            root.removeAppender(async);
+            // writes the buffered events
+            async.close();
+        }
+        final String log = writer.toString();
+        assertFalse("Debug message not filtered", log.contains("debug message"));
+        assertFalse("Info message not filtered", log.contains("info message"));
+        assertTrue("Warn message missing", log.contains("warn message"));
+        assertTrue("Error message missing", log.contains("error message"));
+    }
+
+    /**
+     * Tests that the workflow directory appender is added to the logger on the first message in the context of a
+     * workflow and removed once the workflow is closed.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testWorkflowDirAppenderRemovedOnClose() throws Exception {
+        final File workflowDir = Files.createTempDirectory("NodeLoggerTest").toFile();
+        NodeLogger.logInWorkflowDir(true);
+        WorkflowManager wfm = null;
+        try {
+            wfm = WorkflowManager.ROOT.createAndAddProject("NodeLoggerTest",
+                new WorkflowCreationHelper().setWorkflowContext(new WorkflowContext.Factory(workflowDir).createContext()));
+            wfm.save(workflowDir, new ExecutionMonitor(), true);
+
+            final NodeLogger logger = NodeLogger.getLogger(LOGGER_NAME);
+            NodeContext.pushContext(wfm);
+            try {
+                logger.info("first message");
+                logger.info("second message");
+            } finally {
+                NodeContext.removeLastContext();
+            }
+            assertNotNull("Workflow directory appender not added", getWorkflowDirAppender(workflowDir));
+
+            WorkflowManager.ROOT.removeProject(wfm.getID());
+            wfm = null;
+            // listeners are notified asynchronously
+            final long end = System.currentTimeMillis() + 10000;
+            while (getWorkflowDirAppender(workflowDir) != null && System.currentTimeMillis() < end) {
+                Thread.sleep(50);
+            }
+            assertNull("Workflow directory appender not removed", getWorkflowDirAppender(workflowDir));
+        } finally {
+            NodeLogger.logInWorkflowDir(false);
+            if (wfm != null) {
+                WorkflowManager.ROOT.removeProject(wfm.getID());
+            }
+            FileUtil.deleteRecursively(workflowDir);
+        }
+    }
+
+    private Appender getWorkflowDirAppender(final File workflowDir) {
+        for (@SuppressWarnings("unchecked")
+        Enumeration<Appender> appenders = m_log4jLogger.getAllAppenders(); appenders.hasMoreElements();) {
+            final Appender appender = appenders.nextElement();
+            // the name carries a suffix if the appender is asynchronous
+            if (appender.getName() != null && appender.getName().startsWith(workflowDir.getPath())) {
+                return appender;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tests that lazy messages are only created if the level is enabled and that <code>null</code> messages are
+     * still logged by the object variants.
+     *
+     * @throws IOException never
+     */
+    @Test
+    public void testLazyMessages() throws IOException {
+        final NodeLogger logger = NodeLogger.getLogger(LOGGER_NAME);
+        final AtomicInteger created = new AtomicInteger();
+        final Supplier<String> supplier = () -> "message " + created.incrementAndGet();
+
+        m_log4jLogger.setLevel(Level.WARN);
+        logger.debugLazy(supplier);
+        logger.debugLazy(supplier, new IOException("not logged"));
+        logger.infoLazy(supplier);
+        assertEquals("Message created for disabled level", 0, created.get());
+        logger.warnLazy(supplier);
+        logger.errorLazy(supplier);
+        assertEquals("Message not created for enabled level", 2, created.get());
+
+        m_log4jLogger.setLevel(Level.DEBUG);
+        logger.debugLazy(supplier);
+        logger.infoLazy(supplier);
+        assertEquals("Message not created for enabled level", 4, created.get());
+
+        // a null supplier is logged as null message, debug(null) still refers to the object variant
+        logger.debugLazy(null);
+        logger.debug(null);
+        logger.info(null);
+    }
+}
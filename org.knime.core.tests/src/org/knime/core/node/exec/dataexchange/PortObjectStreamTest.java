@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.dataexchange;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.flowvariable.FlowVariablePortObject;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests {@link PortObjectStream}, using a pipe as a stand-in for a remote connection.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PortObjectStreamTest {
+
+    /**
+     * Writes port objects on one thread and reads them on another one through a pipe.
+     * @throws Exception if that fails
+     */
+    @Test(timeout = 30000L)
+    public void testTransferThroughPipe() throws Exception {
+        final PortObject[] portObjects = new PortObject[]{FlowVariablePortObject.INSTANCE, null,
+            FlowVariablePortObject.INSTANCE};
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (PipedInputStream in = new PipedInputStream(); PipedOutputStream out = new PipedOutputStream(in)) {
+            Future<?> writer = executor.submit(() -> {
+                PortObjectStream.write(portObjects, out, new ExecutionMonitor());
+                return null;
+            });
+            PortObject[] read = PortObjectStream.read(in, new ExecutionMonitor());
+            writer.get();
+            assertEquals("Number of port objects", portObjects.length, read.length);
+            assertSame(FlowVariablePortObject.INSTANCE, read[0]);
+            assertNull("Unset port object", read[1]);
+            assertSame(FlowVariablePortObject.INSTANCE, read[2]);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Transfers a table together with other port objects through a pipe and compares the received table.
+     * @throws Exception if that fails
+     */
+    @Test(timeout = 30000L)
+    public void testTableTransferThroughPipe() throws Exception {
+        final ExecutionContext exec = createExecutionContext();
+        final BufferedDataTable table = createTable(exec, 1000);
+        final PortObject[] portObjects = new PortObject[]{table, null, FlowVariablePortObject.INSTANCE};
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (PipedInputStream in = new PipedInputStream(); PipedOutputStream out = new PipedOutputStream(in)) {
+            Future<?> writer = executor.submit(() -> {
+                PortObjectStream.write(portObjects, out, new ExecutionMonitor());
+                return null;
+            });
+            PortObject[] read = PortObjectStream.read(in, exec);
+            writer.get();
+            assertEquals("Number of port objects", portObjects.length, read.length);
+            assertTrue("Table expected", read[0] instanceof BufferedDataTable);
+            BufferedDataTable readTable = (BufferedDataTable)read[0];
+            assertEquals("Table spec", table.getDataTableSpec(), readTable.getDataTableSpec());
+            assertEquals("Table size", table.size(), readTable.size());
+            try (CloseableRowIterator expected = table.iterator(); CloseableRowIterator actual = readTable.iterator()) {
+                while (expected.hasNext()) {
+                    DataRow expectedRow = expected.next();
+                    DataRow actualRow = actual.next();
+                    assertEquals("Row key", expectedRow.getKey(), actualRow.getKey());
+                    for (int c = 0; c < expectedRow.getNumCells(); c++) {
+                        assertEquals("Cell " + c + " of row " + expectedRow.getKey(), expectedRow.getCell(c),
+                            actualRow.getCell(c));
+                    }
+                }
+                assertFalse("Too many rows", actual.hasNext());
+            }
+            assertNull("Unset port object", read[1]);
+            assertSame(FlowVariablePortObject.INSTANCE, read[2]);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that a stream containing a table can't be read without an execution context.
+     * @throws Exception if that fails
+     */
+    @Test(expected = IOException.class)
+    public void testTableWithoutContext() throws Exception {
+        final ExecutionContext exec = createExecutionContext();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PortObjectStream.write(new PortObject[]{createTable(exec, 10)}, out, exec);
+        PortObjectStream.read(new ByteArrayInputStream(out.toByteArray()), new ExecutionMonitor());
+    }
+
+    /**
+     * Tests that a truncated stream is reported as such.
+     * @throws Exception if that fails
+     */
+    @Test(expected = IOException.class)
+    public void testTruncatedStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PortObjectStream.write(new PortObject[]{FlowVariablePortObject.INSTANCE}, out, new ExecutionMonitor());
+        byte[] bytes = out.toByteArray();
+        PortObjectStream.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 10)),
+            new ExecutionMonitor());
+    }
+
+    /**
+     * Tests that a stream in a different format is rejected.
+     * @throws Exception if that fails
+     */
+    @Test(expected = IOException.class)
+    public void testInvalidStream() throws Exception {
+        PortObjectStream.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}), new ExecutionMonitor());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static ExecutionContext createExecutionContext() {
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        return new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    private static BufferedDataTable createTable(final ExecutionContext exec, final int rowCount) {
+        DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("string", StringCell.TYPE).createSpec());
+        BufferedDataContainer container = exec.createDataContainer(spec);
+        for (int i = 0; i < rowCount; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i),
+                new StringCell("Row " + i)));
+        }
+        container.close();
+        return container.getTable();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.database.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ConnectionPool} using proxy connections.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ConnectionPoolTest {
+
+    private static Connection createConnection() {
+        return createConnection(new AtomicInteger());
+    }
+
+    /**
+     * @param rollbacks incremented on each rollback
+     * @return a connection proxy that keeps the auto-commit, read-only and isolation settings
+     */
+    private static Connection createConnection(final AtomicInteger rollbacks) {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean autoCommit = new AtomicBoolean(true);
+        final AtomicBoolean readOnly = new AtomicBoolean();
+        final AtomicInteger isolation = new AtomicInteger(Connection.TRANSACTION_READ_COMMITTED);
+        return (Connection)Proxy.newProxyInstance(ConnectionPoolTest.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        closed.set(true);
+                        return null;
+                    case "isClosed":
+                        return closed.get();
+                    case "getAutoCommit":
+                        return autoCommit.get();
+                    case "setAutoCommit":
+                        autoCommit.set((Boolean)args[0]);
+                        return null;
+                    case "isReadOnly":
+                        return readOnly.get();
+                    case "setReadOnly":
+                        readOnly.set((Boolean)args[0]);
+                        return null;
+                    case "getTransactionIsolation":
+                        return isolation.get();
+                    case "setTransactionIsolation":
+                        isolation.set((Integer)args[0]);
+                        return null;
+                    case "rollback":
+                        rollbacks.incrementAndGet();
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    /** Returned connections are reused and the pool size is bounded. */
+    @Test
+    public void testReuseAndBound() throws Exception {
+        final ConnectionPool pool = new ConnectionPool("test", 2, 60000, 60000);
+        final Connection c1 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        final Connection c2 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        assertNotSame(c1, c2);
+        try {
+            pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+            fail("Pool size exceeded");
+        } catch (SQLException ex) {
+            // expected
+        }
+        assertTrue(pool.release(c1));
+        assertSame(c1, pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10));
+        final ConnectionPool.Metrics metrics = pool.getMetrics();
+        assertEquals(2, metrics.getActiveCount());
+        assertEquals(0, metrics.getIdleCount());
+        assertEquals(2, metrics.getCreatedCount());
+        assertEquals(3, metrics.getBorrowCount());
+        assertEquals(1, metrics.getTimeoutCount());
+    }
+
+    /** Idle connections failing validation are closed and replaced. */
+    @Test
+    public void testInvalidConnectionIsReplaced() throws Exception {
+        final ConnectionPool pool = new ConnectionPool("test", 1, 60000, 60000);
+        final Connection c1 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        pool.release(c1);
+        final Connection c2 = pool.borrow(ConnectionPoolTest::createConnection, c -> false, 10);
+        assertNotSame(c1, c2);
+        assertTrue(c1.isClosed());
+        assertEquals(1, pool.getMetrics().getInvalidCount());
+    }
+
+    /** Idle connections are closed after the idle timeout, long borrows are reported once. */
+    @Test
+    public void testIdleEvictionAndLeakDetection() throws Exception {
+        final ConnectionPool pool = new ConnectionPool("test", 2, 0, 0);
+        final Connection c1 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        final Connection c2 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        pool.release(c1);
+        assertTrue(c1.isClosed());
+        pool.maintain();
+        pool.maintain();
+        final ConnectionPool.Metrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.getEvictedCount());
+        assertEquals(0, metrics.getIdleCount());
+        // both connections exceeded the threshold while borrowed, each is reported only once
+        assertEquals(2, metrics.getLeakCount());
+        pool.release(c2);
+    }
+
+    /** Returned connections are rolled back and reset to the settings they were opened with. */
+    @Test
+    public void testStateResetOnRelease() throws Exception {
+        final ConnectionPool pool = new ConnectionPool("test", 1, 60000, 60000);
+        final AtomicInteger rollbacks = new AtomicInteger();
+        final Connection c1 = pool.borrow(() -> createConnection(rollbacks), c -> true, 10);
+        c1.setAutoCommit(false);
+        c1.setReadOnly(true);
+        c1.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        assertTrue(pool.release(c1));
+        assertEquals("Uncommitted changes must be rolled back", 1, rollbacks.get());
+
+        final Connection c2 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        assertSame(c1, c2);
+        assertTrue(c2.getAutoCommit());
+        assertFalse(c2.isReadOnly());
+        assertEquals(Connection.TRANSACTION_READ_COMMITTED, c2.getTransactionIsolation());
+        pool.release(c2);
+        assertEquals("Auto-commit connections are not rolled back", 1, rollbacks.get());
+    }
+
+    /** Idle connections are closed with the pool, borrowed ones once they are returned. */
+    @Test
+    public void testClose() throws Exception {
+        final ConnectionPool pool = new ConnectionPool("test", 2, 60000, 60000);
+        final Connection c1 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        final Connection c2 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        pool.release(c1);
+        pool.close();
+        assertTrue(c1.isClosed());
+        assertFalse(c2.isClosed());
+        assertTrue(pool.release(c2));
+        assertTrue(c2.isClosed());
+        assertEquals(0, pool.getMetrics().getIdleCount());
+    }
+
+    /** A pool is unused once it holds no connections and the idle timeout passed. */
+    @Test
+    public void testIsUnused() throws Exception {
+        final ConnectionPool pool = new ConnectionPool("test", 1, 1000, 60000);
+        final Connection c1 = pool.borrow(ConnectionPoolTest::createConnection, c -> true, 10);
+        final long now = System.currentTimeMillis();
+        assertFalse(pool.isUnused(now + 2000));
+        pool.release(c1);
+        assertFalse("Idle connection still open", pool.isUnused(now + 2000));
+        pool.maintain();
+        pool.close();
+        assertFalse("Idle timeout not yet reached", pool.isUnused(now));
+        assertTrue(pool.isUnused(System.currentTimeMillis() + 2000));
+    }
+}
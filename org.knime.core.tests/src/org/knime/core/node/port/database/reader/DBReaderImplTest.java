@@ -0,0 +1,96 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.database.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+/**
+ * Test cases for the partition range computation of <code>DBReaderImpl</code>.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DBReaderImplTest {
+
+    /** Integral bounds are rounded down, start at the minimum and end at the maximum. */
+    @Test
+    public void testSplitIntegralRange() {
+        final BigDecimal[] bounds = DBReaderImpl.splitRange(BigDecimal.valueOf(-5), BigDecimal.valueOf(5), 3, true);
+        assertEquals(4, bounds.length);
+        assertEquals(-5, bounds[0].longValueExact());
+        assertEquals(-2, bounds[1].longValueExact());
+        assertEquals(1, bounds[2].longValueExact());
+        assertEquals(5, bounds[3].longValueExact());
+    }
+
+    /** More partitions than distinct values result in empty, but still ordered partitions. */
+    @Test
+    public void testSplitNarrowRange() {
+        final BigDecimal[] bounds = DBReaderImpl.splitRange(BigDecimal.ONE, BigDecimal.valueOf(2), 4, true);
+        for (int i = 1; i < bounds.length; i++) {
+            assertTrue(bounds[i - 1].compareTo(bounds[i]) <= 0);
+        }
+        assertEquals(1, bounds[0].longValueExact());
+        assertEquals(2, bounds[4].longValueExact());
+    }
+
+    /** Floating point bounds keep the exact minimum and maximum. */
+    @Test
+    public void testSplitDoubleRange() {
+        final BigDecimal[] bounds = DBReaderImpl.splitRange(new BigDecimal(0.1), new BigDecimal(0.9), 4, false);
+        assertEquals(0.1, bounds[0].doubleValue(), 0);
+        assertEquals(0.3, bounds[1].doubleValue(), 1e-12);
+        assertEquals(0.5, bounds[2].doubleValue(), 1e-12);
+        assertEquals(0.9, bounds[4].doubleValue(), 0);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.database.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.port.database.DatabaseConnectionSettings;
+
+/**
+ * Test cases for the class <code>DBRowIteratorImpl</code>, using an in-memory {@link ResultSet}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class DBRowIteratorImplTest {
+
+    private static final int[] DB_TYPES = {Types.INTEGER, Types.VARCHAR, Types.REAL, Types.BIGINT};
+
+    private static final Object[][] DATA = {
+        {1, "a", 1.5f, 10L},
+        {2, null, 2.5f, 20L},
+        {null, "c", null, null}};
+
+    private final AtomicInteger m_metaDataCalls = new AtomicInteger();
+
+    /** Tests that all values are read with the expected cell type and missing values are retained. */
+    @Test
+    public void testReadRows() {
+        DBRowIteratorImpl it = createIterator();
+        assertTrue("No first row", it.hasNext());
+        DataRow row = it.next();
+        assertEquals("Unexpected row key", "Row0", row.getKey().getString());
+        assertEquals(new IntCell(1), row.getCell(0));
+        assertEquals(new StringCell("a"), row.getCell(1));
+        assertEquals(new DoubleCell(1.5), row.getCell(2));
+        assertEquals(new LongCell(10L), row.getCell(3));
+
+        assertTrue("No second row", it.hasNext());
+        row = it.next();
+        assertEquals(new IntCell(2), row.getCell(0));
+        assertTrue("Expected missing cell", row.getCell(1).isMissing());
+
+        assertTrue("No third row", it.hasNext());
+        row = it.next();
+        assertTrue("Expected missing cell", row.getCell(0).isMissing());
+        assertEquals(new StringCell("c"), row.getCell(1));
+        assertTrue("Expected missing cell", row.getCell(2).isMissing());
+        assertTrue("Expected missing cell", row.getCell(3).isMissing());
+        assertFalse("Unexpected fourth row", it.hasNext());
+    }
+
+    /** Tests that the meta data is only queried once, not per cell. */
+    @Test
+    public void testMetaDataReadOnce() {
+        DBRowIteratorImpl it = createIterator();
+        while (it.hasNext()) {
+            it.next();
+        }
+        assertEquals("Meta data not cached", 1, m_metaDataCalls.get());
+    }
+
+    private DBRowIteratorImpl createIterator() {
+        DataTableSpec spec = new DataTableSpec(new String[]{"int", "string", "real", "long"},
+            new DataType[]{IntCell.TYPE, StringCell.TYPE, DoubleCell.TYPE, LongCell.TYPE});
+        return new DBRowIteratorImpl(spec, new DatabaseConnectionSettings(), null, createResultSet(), false);
+    }
+
+    /** Minimal forward-only result set over {@link #DATA}. */
+    private ResultSet createResultSet() {
+        ResultSetMetaData metaData = (ResultSetMetaData)Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount":
+                        return DB_TYPES.length;
+                    case "getColumnType":
+                        return DB_TYPES[(Integer)args[0] - 1];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        int[] rowIndex = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "next":
+                        rowIndex[0]++;
+                        return rowIndex[0] < DATA.length;
+                    case "close":
+                        return null;
+                    case "getMetaData":
+                        m_metaDataCalls.incrementAndGet();
+                        return metaData;
+                    case "getRow":
+                        return rowIndex[0] + 1;
+                    case "wasNull":
+                        return wasNull[0];
+                    case "getInt":
+                    case "getString":
+                    case "getFloat":
+                    case "getLong":
+                        Object value = DATA[rowIndex[0]][(Integer)args[0] - 1];
+                        wasNull[0] = value == null;
+                        if (value == null) {
+                            return method.getReturnType().equals(String.class) ? null
+                                : method.getReturnType().equals(int.class) ? (Object)0
+                                : method.getReturnType().equals(float.class) ? (Object)0f : (Object)0L;
+                        }
+                        return value;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+}
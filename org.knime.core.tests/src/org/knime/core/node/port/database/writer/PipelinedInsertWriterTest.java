@@ -0,0 +1,277 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.database.writer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.streamable.RowInput;
+
+/**
+ * Test cases for the class {@link PipelinedInsertWriter}, using in-memory {@link Connection} proxies.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PipelinedInsertWriterTest {
+
+    private static final DataTableSpec SPEC = new DataTableSpec(new String[]{"value"}, new DataType[]{IntCell.TYPE});
+
+    /** A connection proxy that collects the inserted rows per transaction. */
+    private static final class TestConnection {
+        private final List<Object> m_committed = Collections.synchronizedList(new ArrayList<>());
+        private final List<Object> m_uncommitted = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger m_commits = new AtomicInteger();
+        private final AtomicInteger m_rollbacks = new AtomicInteger();
+        private final Object m_failingValue;
+
+        TestConnection(final Object failingValue) {
+            m_failingValue = failingValue;
+        }
+
+        Connection create() {
+            final DatabaseMetaData metaData = (DatabaseMetaData)Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("supportsSavepoints")) {
+                        return false;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+            return (Connection)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAutoCommit":
+                            return true;
+                        case "setAutoCommit":
+                        case "close":
+                            return null;
+                        case "getMetaData":
+                            return metaData;
+                        case "prepareStatement":
+                            return createStatement();
+                        case "commit":
+                            m_commits.incrementAndGet();
+                            synchronized (m_uncommitted) {
+                                m_committed.addAll(m_uncommitted);
+                                m_uncommitted.clear();
+                            }
+                            return null;
+                        case "rollback":
+                            m_rollbacks.incrementAndGet();
+                            m_uncommitted.clear();
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        }
+
+        private PreparedStatement createStatement() {
+            final Map<Integer, Object> params = new HashMap<>();
+            final List<Object> batch = new ArrayList<>();
+            return (PreparedStatement)Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "setInt":
+                        case "setBytes":
+                            params.put((Integer)args[0], args[1]);
+                            return null;
+                        case "setBinaryStream":
+                            throw new AssertionError("Stream must not be replayed");
+                        case "addBatch":
+                            batch.add(params.get(1));
+                            params.clear();
+                            return null;
+                        case "executeBatch":
+                            for (final Object value : batch) {
+                                if (value.equals(m_failingValue)) {
+                                    throw new SQLException("Failing value " + value);
+                                }
+                            }
+                            m_uncommitted.addAll(batch);
+                            return new int[batch.size()];
+                        case "clearBatch":
+                            batch.clear();
+                            return null;
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+        }
+    }
+
+    /** Tests that all rows are written and committed when several writers are used. */
+    @Test
+    public void testWriteWithSeveralWriters() throws Exception {
+        final TestConnection conn1 = new TestConnection(null);
+        final TestConnection conn2 = new TestConnection(null);
+        final PipelinedInsertWriter writer = new PipelinedInsertWriter("INSERT", null, 1, 1, 3, 0, 0, false);
+        final String error = writer.write(createInput(10), 10, new ExecutionMonitor(),
+            (stmt, row) -> stmt.setInt(1, ((IntCell)row.getCell(0)).getIntValue()),
+            Arrays.asList(conn1.create(), conn2.create()));
+        assertNull("Unexpected error", error);
+        final List<Object> written = new ArrayList<>(conn1.m_committed);
+        written.addAll(conn2.m_committed);
+        Collections.sort(written, (a, b) -> Integer.compare((Integer)a, (Integer)b));
+        final List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add(i);
+        }
+        assertEquals("Unexpected rows written", expected, written);
+    }
+
+    /**
+     * Tests that a stream set by the filler is not recorded, so the filler falls back to the value that can be replayed.
+     */
+    @Test
+    public void testStreamsAreNotRecorded() throws Exception {
+        final TestConnection conn = new TestConnection(null);
+        final PipelinedInsertWriter writer = new PipelinedInsertWriter("INSERT", null, 1, 1, 2, 0, 0, false);
+        writer.write(createInput(3), 3, new ExecutionMonitor(), (stmt, row) -> {
+            final byte[] bytes = new byte[]{(byte)((IntCell)row.getCell(0)).getIntValue()};
+            try {
+                stmt.setBinaryStream(1, new ByteArrayInputStream(bytes), bytes.length);
+                fail("Stream must be rejected while recording");
+            } catch (SQLException ex) {
+                // same fallback as in DatabaseHelper#fillStatement
+                stmt.setBytes(1, bytes);
+            }
+        }, Collections.singletonList(conn.create()));
+        assertEquals("Unexpected number of rows", 3, conn.m_committed.size());
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals("Unexpected bytes", new byte[]{(byte)i}, (byte[])conn.m_committed.get(i));
+        }
+    }
+
+    /** Tests that with fail on error nothing is committed if a batch fails. */
+    @Test
+    public void testFailOnErrorRollsBackEverything() throws Exception {
+        final TestConnection conn = new TestConnection(7);
+        final PipelinedInsertWriter writer = new PipelinedInsertWriter("INSERT", null, 1, 1, 2, 1, 0, true);
+        try {
+            writer.write(createInput(10), 10, new ExecutionMonitor(),
+                (stmt, row) -> stmt.setInt(1, ((IntCell)row.getCell(0)).getIntValue()),
+                Collections.singletonList(conn.create()));
+            fail("Expected failure for row 7");
+        } catch (PipelinedInsertWriter.BatchException ex) {
+            assertTrue("Unexpected message: " + ex.getMessage(), ex.getMessage().contains("#7 - #8"));
+        }
+        assertEquals("No row must be committed", Collections.emptyList(), conn.m_committed);
+        assertEquals("Unexpected number of commits", 0, conn.m_commits.get());
+        assertTrue("Changes not rolled back", conn.m_rollbacks.get() > 0);
+    }
+
+    /** Tests that fail on error is rejected with several connections since they cannot be committed atomically. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFailOnErrorRequiresSingleConnection() throws Exception {
+        final PipelinedInsertWriter writer = new PipelinedInsertWriter("INSERT", null, 1, 1, 2, 0, 0, true);
+        writer.write(createInput(1), 1, new ExecutionMonitor(), (stmt, row) -> stmt.setInt(1, 0),
+            Arrays.asList(new TestConnection(null).create(), new TestConnection(null).create()));
+    }
+
+    /** Tests that without savepoints the rows before a failing batch are committed and the error is reported. */
+    @Test
+    public void testErrorWithoutSavepointsCommitsPreviousRows() throws Exception {
+        final TestConnection conn = new TestConnection(4);
+        final PipelinedInsertWriter writer = new PipelinedInsertWriter("INSERT", null, 1, 1, 2, 0, 0, false);
+        final String error = writer.write(createInput(6), 6, new ExecutionMonitor(),
+            (stmt, row) -> stmt.setInt(1, ((IntCell)row.getCell(0)).getIntValue()),
+            Collections.singletonList(conn.create()));
+        assertEquals("Unexpected error", "Errors \"1\" writing 6 rows.", error);
+        assertEquals("Unexpected rows written", Arrays.asList(0, 1, 2, 3), conn.m_committed);
+    }
+
+    private static RowInput createInput(final int rowCount) {
+        final List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new DefaultRow("Row" + i, new IntCell(i)));
+        }
+        final int[] index = {0};
+        return new RowInput() {
+            @Override
+            public DataTableSpec getDataTableSpec() {
+                return SPEC;
+            }
+
+            @Override
+            public DataRow poll() {
+                return index[0] < rows.size() ? rows.get(index[0]++) : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
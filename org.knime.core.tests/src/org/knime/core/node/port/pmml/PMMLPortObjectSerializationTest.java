@@ -0,0 +1,229 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.pmml;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.xmlbeans.XmlException;
+import org.dmg.pmml.DATATYPE;
+import org.dmg.pmml.DerivedFieldDocument.DerivedField;
+import org.dmg.pmml.OPTYPE;
+import org.dmg.pmml.PMMLDocument;
+import org.dmg.pmml.TransformationDictionaryDocument.TransformationDictionary;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.port.pmml.preproc.CompiledTransformations;
+
+/**
+ * Tests the serialization of {@link PMMLPortObject}, i.e. that loaded documents keep their serialized form, that it
+ * is shared between copies and that modifying a copy does not affect the original.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class PMMLPortObjectSerializationTest {
+
+    private PMMLPortObjectSpec m_spec;
+
+    /**
+     * Creates the spec shared by all tests.
+     */
+    @Before
+    public void setUp() {
+        final DataTableSpec tableSpec = new DataTableSpec(new DataColumnSpecCreator("a", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("b", StringCell.TYPE).createSpec());
+        m_spec = new PMMLPortObjectSpecCreator(tableSpec).createSpec();
+    }
+
+    /**
+     * Tests that a saved and loaded document equals the original and is saved unchanged again.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        final PMMLPortObject port = new PMMLPortObject(m_spec);
+        final byte[] saved = save(port);
+
+        final PMMLPortObject loaded = load(saved);
+        assertArrayEquals(saved, loaded.getSerializedPMML());
+        assertArrayEquals(saved, save(loaded));
+        assertEquals(port.getSummary(), loaded.getSummary());
+        assertEquals(port, loaded);
+        assertEquals(port.hashCode(), loaded.hashCode());
+        assertEquals(0, loaded.getDerivedFields().length);
+    }
+
+    /**
+     * Tests that a copy shares the serialized document of the port it has been created from.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCopySharesSerializedDocument() throws Exception {
+        final PMMLPortObject loaded = load(save(new PMMLPortObject(m_spec)));
+        final PMMLPortObject copy = new PMMLPortObject(m_spec, loaded);
+        assertSame(loaded.getSerializedPMML(), copy.getSerializedPMML());
+        assertEquals(loaded, copy);
+        assertEquals(loaded.getSummary(), copy.getSummary());
+
+        final PMMLPortObject copyOfCopy = new PMMLPortObject(m_spec, copy);
+        assertSame(loaded.getSerializedPMML(), copyOfCopy.getSerializedPMML());
+    }
+
+    /**
+     * Tests that modifying a copy neither changes the original nor other copies of the same serialized document.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testModifyAfterShare() throws Exception {
+        final PMMLPortObject loaded = load(save(new PMMLPortObject(m_spec)));
+        final byte[] original = loaded.getSerializedPMML().clone();
+        final PMMLPortObject copy = new PMMLPortObject(m_spec, loaded);
+        final PMMLPortObject otherCopy = new PMMLPortObject(m_spec, loaded);
+
+        copy.addGlobalTransformations(createTransformations());
+        assertEquals(1, copy.getDerivedFields().length);
+        assertFalse(Arrays.equals(original, copy.getSerializedPMML()));
+        assertNotEquals(loaded, copy);
+
+        assertArrayEquals(original, save(loaded));
+        assertArrayEquals(original, save(otherCopy));
+        assertEquals(0, loaded.getDerivedFields().length);
+        assertEquals(0, otherCopy.getDerivedFields().length);
+
+        // the modified document survives a round trip, too
+        final PMMLPortObject reloaded = load(save(copy));
+        assertEquals(1, reloaded.getDerivedFields().length);
+        assertEquals(copy, reloaded);
+    }
+
+    /**
+     * Tests that changes to the derived fields of a loaded document are saved and recompiled.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testModifyDerivedFields() throws Exception {
+        final PMMLPortObject port = new PMMLPortObject(m_spec);
+        port.addGlobalTransformations(createTransformations());
+        final PMMLPortObject loaded = load(save(port));
+        final CompiledTransformations compiled = loaded.getCompiledTransformations();
+        assertSame(compiled, loaded.getCompiledTransformations());
+
+        loaded.getDerivedFields()[0].setName("renamed");
+        assertNotSame(compiled, loaded.getCompiledTransformations());
+        assertEquals("renamed", load(save(loaded)).getDerivedFields()[0].getName());
+    }
+
+    /**
+     * Tests that equal port objects have the same hash code whether their document has been parsed or not.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testHashCodeOfParsedAndUnparsedDocument() throws Exception {
+        final byte[] saved = save(new PMMLPortObject(m_spec));
+        final PMMLPortObject unparsed = load(saved);
+        final PMMLPortObject parsed = load(saved);
+        assertEquals(0, parsed.getDerivedFields().length);
+        assertEquals(unparsed, parsed);
+        assertEquals(unparsed.hashCode(), parsed.hashCode());
+    }
+
+    /**
+     * Tests that a document of the current version that is not well-formed is reported when it is loaded and not
+     * when the document is used.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test(expected = XmlException.class)
+    public void testMalformedDocumentFailsOnLoad() throws Exception {
+        final String namespace = PMMLDocument.type.getDocumentElementName().getNamespaceURI();
+        load(("<PMML xmlns=\"" + namespace + "\" version=\"4.2\"><DataDictionary numberOfFields=\"0\">")
+            .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PMMLPortObject load(final byte[] bytes) throws IOException, XmlException {
+        final PMMLPortObject port = new PMMLPortObject();
+        port.loadFrom(m_spec, new ByteArrayInputStream(bytes));
+        return port;
+    }
+
+    private static byte[] save(final PMMLPortObject port) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        port.save(out);
+        return out.toByteArray();
+    }
+
+    private static TransformationDictionary createTransformations() {
+        final TransformationDictionary dictionary = TransformationDictionary.Factory.newInstance();
+        final DerivedField field = dictionary.addNewDerivedField();
+        field.setName("a_copy");
+        field.setOptype(OPTYPE.CONTINUOUS);
+        field.setDataType(DATATYPE.DOUBLE);
+        field.addNewFieldRef().setField("a");
+        return dictionary;
+    }
+}
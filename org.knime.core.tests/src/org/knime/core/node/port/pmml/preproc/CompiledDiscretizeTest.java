@@ -0,0 +1,167 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.pmml.preproc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests {@link CompiledDiscretize}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class CompiledDiscretizeTest {
+
+    private static final DataCell DEFAULT = new StringCell("default");
+
+    private static final DataCell MISSING = new StringCell("missing");
+
+    /**
+     * Tests that the binary search over sorted bins returns the same bin as a scan over all bins, including values on
+     * the margins and outside of all bins.
+     */
+    @Test
+    public void testSortedBinsMatchScan() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            final int nrBins = 1 + random.nextInt(10);
+            final double[] edges = new double[nrBins + 1];
+            for (int i = 0; i < edges.length; i++) {
+                edges[i] = (i == 0 ? -5 : edges[i - 1]) + 1 + random.nextInt(3);
+            }
+            final double[] left = new double[nrBins];
+            final double[] right = new double[nrBins];
+            final boolean[] leftOpen = new boolean[nrBins];
+            final boolean[] rightOpen = new boolean[nrBins];
+            final DataCell[] cells = new DataCell[nrBins];
+            for (int i = 0; i < nrBins; i++) {
+                left[i] = i == 0 && random.nextBoolean() ? Double.NEGATIVE_INFINITY : edges[i];
+                right[i] = i == nrBins - 1 && random.nextBoolean() ? Double.POSITIVE_INFINITY : edges[i + 1];
+                leftOpen[i] = random.nextBoolean();
+                rightOpen[i] = random.nextBoolean();
+                cells[i] = new StringCell("Bin " + i);
+            }
+            final CompiledDiscretize discretize =
+                new CompiledDiscretize(left, leftOpen, right, rightOpen, cells, MISSING, DEFAULT);
+            assertTrue(discretize.isSorted());
+            for (double value = -6; value <= edges[nrBins] + 1; value += 0.5) {
+                assertSame("Value " + value, expected(value, left, leftOpen, right, rightOpen, cells),
+                    discretize.apply(value));
+            }
+        }
+    }
+
+    /**
+     * Tests that the first of several overlapping bins wins.
+     */
+    @Test
+    public void testOverlappingBins() {
+        final DataCell[] cells = {new StringCell("wide"), new StringCell("narrow")};
+        final CompiledDiscretize discretize = new CompiledDiscretize(new double[]{0, 1}, new boolean[]{false, false},
+            new double[]{10, 2}, new boolean[]{false, false}, cells, MISSING, DEFAULT);
+        assertFalse(discretize.isSorted());
+        assertSame(cells[0], discretize.apply(1.5));
+        assertSame(cells[0], discretize.apply(10));
+        assertSame(DEFAULT, discretize.apply(11));
+    }
+
+    /**
+     * Tests that a value on a margin shared by two bins is assigned according to the closures.
+     */
+    @Test
+    public void testSharedMargin() {
+        final DataCell[] cells = {new StringCell("lower"), new StringCell("upper")};
+        CompiledDiscretize discretize = new CompiledDiscretize(new double[]{0, 1}, new boolean[]{false, true},
+            new double[]{1, 2}, new boolean[]{false, false}, cells, MISSING, DEFAULT);
+        assertSame(cells[0], discretize.apply(1));
+        discretize = new CompiledDiscretize(new double[]{0, 1}, new boolean[]{false, false}, new double[]{1, 2},
+            new boolean[]{true, false}, cells, MISSING, DEFAULT);
+        assertSame(cells[1], discretize.apply(1));
+        discretize = new CompiledDiscretize(new double[]{0, 1}, new boolean[]{false, false}, new double[]{1, 2},
+            new boolean[]{false, false}, cells, MISSING, DEFAULT);
+        assertSame(cells[0], discretize.apply(1));
+    }
+
+    /**
+     * Tests missing cells, NaN and values outside of all bins.
+     */
+    @Test
+    public void testMissingAndDefault() {
+        final DataCell[] cells = {new StringCell("only")};
+        final CompiledDiscretize discretize = new CompiledDiscretize(new double[]{0}, new boolean[]{false},
+            new double[]{1}, new boolean[]{false}, cells, MISSING, DEFAULT);
+        assertSame(MISSING, discretize.apply(DataType.getMissingCell()));
+        assertSame(DEFAULT, discretize.apply(new DoubleCell(Double.NaN)));
+        assertSame(DEFAULT, discretize.apply(new StringCell("0.5")));
+        assertSame(DEFAULT, discretize.apply(-1));
+        assertEquals(cells[0], discretize.apply(new DoubleCell(0.5)));
+    }
+
+    private static DataCell expected(final double value, final double[] left, final boolean[] leftOpen,
+        final double[] right, final boolean[] rightOpen, final DataCell[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            if ((left[i] < value && value < right[i]) || (left[i] == value && !leftOpen[i])
+                || (right[i] == value && !rightOpen[i])) {
+                return cells[i];
+            }
+        }
+        return DEFAULT;
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+
+/**
+ * JUnit test for the {@link HiLiteRowIndex} and its index-based key sets.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class HiLiteRowIndexTest {
+
+    private static RowKey[] createKeys(final int count) {
+        RowKey[] keys = new RowKey[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = RowKey.createRowKey((long)i);
+        }
+        return keys;
+    }
+
+    /** Tests the key to index lookup, including keys with colliding hash codes. */
+    @Test
+    public void testLookup() {
+        final RowKey[] keys = createKeys(10000);
+        final HiLiteRowIndex index = new HiLiteRowIndex(keys);
+        assertEquals("Wrong size", keys.length, index.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals("Wrong index", i, index.getIndex(new RowKey(keys[i].getString())));
+            assertEquals("Wrong key", keys[i], index.getKey(i));
+        }
+        assertEquals("Unknown key found", -1, index.getIndex(new RowKey("unknown")));
+        assertEquals("Null key found", -1, index.getIndex(null));
+
+        // "Aa" and "BB" have the same hash code
+        final HiLiteRowIndex collisions = new HiLiteRowIndex(new RowKey("Aa"), new RowKey("BB"), new RowKey("AaBB"),
+            new RowKey("BBAa"), new RowKey("AaAa"), new RowKey("BBBB"));
+        assertEquals("Wrong index", 1, collisions.getIndex(new RowKey("BB")));
+        assertEquals("Wrong index", 5, collisions.getIndex(new RowKey("BBBB")));
+        assertEquals("Wrong index", 4, collisions.getIndex(new RowKey("AaAa")));
+
+        final HiLiteRowIndex empty = new HiLiteRowIndex();
+        assertEquals("Wrong size", 0, empty.size());
+        assertEquals("Key found in empty index", -1, empty.getIndex(keys[0]));
+    }
+
+    /** Tests that invalid key arrays are rejected. */
+    @Test
+    public void testInvalidKeys() {
+        try {
+            new HiLiteRowIndex(new RowKey("a"), new RowKey("b"), new RowKey("a"));
+            fail("Duplicate keys should not be allowed");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new HiLiteRowIndex(new RowKey("a"), null);
+            fail("Null keys should not be allowed");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /** Tests the conversion between keys and indices and the index-based key set. */
+    @Test
+    public void testConversion() {
+        final RowKey[] keys = createKeys(100);
+        final HiLiteRowIndex index = new HiLiteRowIndex(keys);
+        final RowIndexBitmap indices = RowIndexBitmap.of(3, 17, 99);
+        final Set<RowKey> keySet = index.toKeys(indices);
+        indices.add(50); // the set must not be affected
+        assertEquals("Wrong size", 3, keySet.size());
+        assertTrue("Missing key", keySet.contains(keys[17]));
+        assertFalse("Unexpected key", keySet.contains(keys[50]));
+        assertFalse("Unexpected key", keySet.contains(new RowKey("unknown")));
+        assertFalse("Unexpected null", keySet.contains(null));
+        List<RowKey> iterated = new ArrayList<>();
+        for (Iterator<RowKey> it = keySet.iterator(); it.hasNext();) {
+            iterated.add(it.next());
+        }
+        assertEquals("Wrong iteration order", Arrays.asList(keys[3], keys[17], keys[99]), iterated);
+        try {
+            keySet.remove(keys[3]);
+            fail("Key set should be unmodifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        assertEquals("Wrong indices from index-based set", RowIndexBitmap.of(3, 17, 99), index.toIndices(keySet));
+        final HiLiteRowIndex otherIndex = new HiLiteRowIndex(keys[99], keys[3]);
+        assertEquals("Wrong indices from foreign set", RowIndexBitmap.of(0, 1), otherIndex.toIndices(keySet));
+        assertTrue("Key event must keep index-based set",
+            new KeyEvent(this, keySet).keys() instanceof RowIndexKeySet);
+        try {
+            index.toKeys(RowIndexBitmap.of(100));
+            fail("Index out of range should not be allowed");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /** Tests that the handler processes index-based key sets like key-based ones and keeps them index-based. */
+    @Test
+    public void testHandlerWithIndexedKeys() throws Exception {
+        final RowKey[] keys = createKeys(10);
+        final HiLiteRowIndex index = new HiLiteRowIndex(keys);
+        final HiLiteHandler handler = new HiLiteHandler();
+        final List<KeyEvent> events = new ArrayList<>();
+        handler.addHiLiteListener(new HiLiteListener() {
+            @Override
+            public void hiLite(final KeyEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void unHiLite(final KeyEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public void unHiLiteAll(final KeyEvent event) {
+                events.add(event);
+            }
+        });
+        handler.fireHiLiteEvent(keys[1], keys[2]);
+        handler.fireHiLiteEvent(new KeyEvent(this, index.toKeys(RowIndexBitmap.of(2, 3, 4))));
+        assertTrue("Keys not hilit", handler.isHiLit(keys[1], keys[2], keys[3], keys[4]));
+        handler.fireUnHiLiteEvent(new KeyEvent(this, index.toKeys(RowIndexBitmap.of(1, 5))));
+        assertFalse("Key still hilit", handler.isHiLit(keys[1]));
+        assertEquals("Wrong hilit keys", index.toKeys(RowIndexBitmap.of(2, 3, 4)), handler.getHiLitKeys());
+        IndexHiLiteMapperTest.flushEDT();
+        assertEquals("Wrong number of events", 3, events.size());
+        assertEquals("Wrong changed keys", index.toKeys(RowIndexBitmap.of(3, 4)), events.get(1).keys());
+        assertTrue("Changed keys not index-based", events.get(1).keys() instanceof RowIndexKeySet);
+        assertEquals("Wrong changed keys", index.toKeys(RowIndexBitmap.of(1)), events.get(2).keys());
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+
+/**
+ * JUnit test for the {@link IndexHiLiteMapper} and its use in the {@link HiLiteTranslator}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class IndexHiLiteMapperTest {
+
+    /** Aggregated rows "g0".."g2", original rows "r0".."r5", "r5" is not part of any group. */
+    private static final RowKey[] GROUPS = {new RowKey("g0"), new RowKey("g1"), new RowKey("g2")};
+
+    private static final RowKey[] ROWS = {new RowKey("r0"), new RowKey("r1"), new RowKey("r2"), new RowKey("r3"),
+        new RowKey("r4"), new RowKey("r5")};
+
+    private static HiLiteMapper createGroupMapper() {
+        Map<RowKey, Set<RowKey>> map = new HashMap<>();
+        map.put(GROUPS[0], new LinkedHashSet<>(Arrays.asList(ROWS[0], ROWS[1])));
+        map.put(GROUPS[1], new LinkedHashSet<>(Arrays.asList(ROWS[2], ROWS[3], new RowKey("unknown"))));
+        map.put(GROUPS[2], new LinkedHashSet<>(Arrays.asList(ROWS[4])));
+        return new DefaultHiLiteMapper(map);
+    }
+
+    /** Tests creation from a key-based mapper. */
+    @Test
+    public void testCreateFromHiLiteMapper() {
+        final IndexHiLiteMapper mapper =
+            IndexHiLiteMapper.create(createGroupMapper(), new HiLiteRowIndex(GROUPS), new HiLiteRowIndex(ROWS));
+        assertEquals("Wrong source size", 3, mapper.getSourceSize());
+        assertEquals("Wrong target size", 6, mapper.getTargetSize());
+        assertEquals("Wrong translation", RowIndexBitmap.of(0, 1, 4), mapper.translate(RowIndexBitmap.of(0, 2)));
+        assertEquals("Wrong translation", RowIndexBitmap.of(2, 3), mapper.translate(RowIndexBitmap.of(1)));
+        assertEquals("Wrong inverse", RowIndexBitmap.of(1), mapper.inverse().translate(RowIndexBitmap.of(3, 5)));
+        try {
+            IndexHiLiteMapper.create(new int[]{0, 3}, 3);
+            fail("Target index out of range should not be allowed");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /** Tests {@link IndexHiLiteMapper#coveredSources(RowIndexBitmap)}. */
+    @Test
+    public void testCoveredSources() {
+        final IndexHiLiteMapper mapper = IndexHiLiteMapper.create(new int[]{0, 0, 1, 1, 2, -1}, 3).inverse();
+        // target 0 <- sources {0, 1}, target 1 <- {2, 3}, target 2 <- {4}
+        assertEquals("Wrong covered sources", RowIndexBitmap.of(0, 2),
+            mapper.coveredSources(RowIndexBitmap.of(0, 1, 2, 4, 5)));
+        assertTrue("Nothing should be covered", mapper.coveredSources(new RowIndexBitmap()).isEmpty());
+    }
+
+    /** Tests the translator with an index mapper in both directions. */
+    @Test
+    public void testTranslatorWithIndexMapper() throws Exception {
+        final HiLiteRowIndex groupIndex = new HiLiteRowIndex(GROUPS);
+        final HiLiteRowIndex rowIndex = new HiLiteRowIndex(ROWS);
+        final HiLiteHandler groupHandler = new HiLiteHandler();
+        final HiLiteHandler rowHandler = new HiLiteHandler();
+        final HiLiteTranslator translator = new HiLiteTranslator(groupHandler);
+        final IndexHiLiteMapper mapper = IndexHiLiteMapper.create(createGroupMapper(), groupIndex, rowIndex);
+        translator.setIndexMapper(mapper, groupIndex, rowIndex);
+        assertSame("Wrong index mapper", mapper, translator.getIndexMapper());
+        translator.addToHiLiteHandler(rowHandler);
+        try {
+            // aggregated to original rows
+            groupHandler.fireHiLiteEvent(new KeyEvent(this, groupIndex.toKeys(RowIndexBitmap.of(0))));
+            flushEDT();
+            assertTrue("Original rows not hilit", rowHandler.isHiLit(ROWS[0], ROWS[1]));
+            assertFalse("Unrelated row hilit", rowHandler.isHiLit(ROWS[2]));
+
+            // original to aggregated rows, a group is hilit once all its rows are hilit
+            rowHandler.fireHiLiteEvent(ROWS[2]);
+            flushEDT();
+            assertFalse("Partially hilit group hilit", groupHandler.isHiLit(GROUPS[1]));
+            rowHandler.fireHiLiteEvent(new KeyEvent(this, rowIndex.toKeys(RowIndexBitmap.of(3, 4))));
+            flushEDT();
+            assertTrue("Groups not hilit", groupHandler.isHiLit(GROUPS[1], GROUPS[2]));
+
+            // unhiliting an original row unhilites its group
+            rowHandler.fireUnHiLiteEvent(ROWS[1]);
+            flushEDT();
+            assertFalse("Group still hilit", groupHandler.isHiLit(GROUPS[0]));
+            assertTrue("Other group unhilit", groupHandler.isHiLit(GROUPS[1]));
+        } finally {
+            translator.dispose();
+        }
+        assertEquals("Index mapper not cleared", null, translator.getIndexMapper());
+    }
+
+    /** Tests that mappers not matching the row indices are rejected. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTranslatorRejectsMismatchingIndices() {
+        final HiLiteTranslator translator = new HiLiteTranslator();
+        translator.setIndexMapper(IndexHiLiteMapper.create(new int[]{0, 1}, 2), new HiLiteRowIndex(GROUPS),
+            new HiLiteRowIndex(ROWS));
+    }
+
+    /** Processes all events queued in the EDT, including the ones queued while doing so. */
+    static void flushEDT() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            SwingUtilities.invokeAndWait(() -> {
+            });
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+
+/**
+ * JUnit test for the {@link IndexHiLiteModel}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class IndexHiLiteModelTest {
+
+    private RowKey[] m_keys;
+
+    private HiLiteRowIndex m_rowIndex;
+
+    private HiLiteHandler m_handler;
+
+    private IndexHiLiteModel m_model;
+
+    private final List<String> m_events = new ArrayList<>();
+
+    /** Creates a handler with rows 0 and 1 hilit and a model on top of it. */
+    @Before
+    public void setUp() {
+        m_keys = new RowKey[1000];
+        for (int i = 0; i < m_keys.length; i++) {
+            m_keys[i] = RowKey.createRowKey((long)i);
+        }
+        m_rowIndex = new HiLiteRowIndex(m_keys);
+        m_handler = new HiLiteHandler();
+        m_handler.fireHiLiteEvent(m_keys[0], m_keys[1]);
+        m_model = new IndexHiLiteModel(m_handler, m_rowIndex);
+        m_model.addIndexHiLiteListener(new IndexHiLiteListener() {
+            @Override
+            public void hiLite(final IndexKeyEvent event) {
+                m_events.add("hilite " + event.indices());
+            }
+
+            @Override
+            public void unHiLite(final IndexKeyEvent event) {
+                m_events.add("unhilite " + event.indices());
+            }
+
+            @Override
+            public void unHiLiteAll(final IndexKeyEvent event) {
+                m_events.add("clear " + event.indices());
+            }
+        });
+    }
+
+    /** Disposes the model. */
+    @After
+    public void tearDown() {
+        m_model.dispose();
+    }
+
+    /** Tests that the initial status is taken from the handler. */
+    @Test
+    public void testInitialStatus() {
+        assertEquals("Wrong initial status", RowIndexBitmap.of(0, 1), m_model.getHiLitIndices());
+        assertTrue("Row not hilit", m_model.isHiLit(1));
+        assertFalse("Row hilit", m_model.isHiLit(2));
+    }
+
+    /** Tests that changes done via the model reach the handler and the listeners. */
+    @Test
+    public void testFireViaModel() throws Exception {
+        m_model.fireHiLiteEvent(RowIndexBitmap.range(1, 500));
+        assertTrue("Handler not updated", m_handler.isHiLit(m_keys[2], m_keys[499]));
+        IndexHiLiteMapperTest.flushEDT();
+        assertEquals("Wrong model status", RowIndexBitmap.range(0, 500), m_model.getHiLitIndices());
+        assertEquals("Wrong events", "[hilite " + RowIndexBitmap.range(2, 500) + "]", m_events.toString());
+
+        m_events.clear();
+        m_model.fireUnHiLiteEvent(RowIndexBitmap.of(0, 700));
+        IndexHiLiteMapperTest.flushEDT();
+        assertFalse("Handler not updated", m_handler.isHiLit(m_keys[0]));
+        assertEquals("Wrong events", "[unhilite " + RowIndexBitmap.of(0) + "]", m_events.toString());
+
+        m_events.clear();
+        m_model.fireClearHiLiteEvent();
+        IndexHiLiteMapperTest.flushEDT();
+        assertEquals("Wrong model count", 0, m_model.getHiLitCount());
+        assertEquals("Wrong events", "[clear " + RowIndexBitmap.range(1, 500) + "]", m_events.toString());
+    }
+
+    /** Tests that key-based changes of other parties are tracked and coalesced. */
+    @Test
+    public void testChangesViaHandler() throws Exception {
+        // fire within one EDT task so that all changes arrive before the model dispatches
+        SwingUtilities.invokeAndWait(() -> {
+            m_handler.fireHiLiteEvent(m_keys[5], m_keys[6]);
+            m_handler.fireUnHiLiteEvent(m_keys[5], m_keys[0]);
+            m_handler.fireHiLiteEvent(m_keys[0]);
+        });
+        IndexHiLiteMapperTest.flushEDT();
+        assertEquals("Wrong model status", RowIndexBitmap.of(0, 1, 6), m_model.getHiLitIndices());
+        // 5 was hilit and unhilit, 0 unhilit and hilit again: only 6 is a net change
+        assertEquals("Wrong events", "[hilite " + RowIndexBitmap.of(6) + "]", m_events.toString());
+    }
+
+    /** Tests that two models sharing a row index stay in sync. */
+    @Test
+    public void testSharedRowIndex() throws Exception {
+        final IndexHiLiteModel other = new IndexHiLiteModel(m_handler, m_rowIndex);
+        try {
+            other.fireHiLiteEvent(RowIndexBitmap.of(10, 20));
+            IndexHiLiteMapperTest.flushEDT();
+            assertEquals("Models out of sync", other.getHiLitIndices(), m_model.getHiLitIndices());
+            assertTrue("Row not hilit", m_model.isHiLit(20));
+        } finally {
+            other.dispose();
+        }
+    }
+
+    /** Tests that the model does not receive events after disposal. */
+    @Test
+    public void testDispose() throws Exception {
+        m_model.dispose();
+        m_handler.fireHiLiteEvent(m_keys[9]);
+        IndexHiLiteMapperTest.flushEDT();
+        assertFalse("Disposed model updated", m_model.isHiLit(9));
+        assertTrue("Disposed model notified listeners", m_events.isEmpty());
+    }
+}
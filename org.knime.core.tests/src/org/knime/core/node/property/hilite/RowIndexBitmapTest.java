@@ -0,0 +1,136 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * JUnit test for the {@link RowIndexBitmap} and the {@link IndexHiLiteMapper}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public final class RowIndexBitmapTest {
+
+    /** Compares single-index operations against {@link BitSet}. */
+    @Test
+    public void testAddRemoveContains() {
+        final Random random = new Random(42);
+        final RowIndexBitmap bitmap = new RowIndexBitmap();
+        final BitSet reference = new BitSet();
+        for (int i = 0; i < 100000; i++) {
+            int index = random.nextInt(1 << 20);
+            if (random.nextBoolean()) {
+                assertEquals("add " + index, !reference.get(index), bitmap.add(index));
+                reference.set(index);
+            } else {
+                assertEquals("remove " + index, reference.get(index), bitmap.remove(index));
+                reference.clear(index);
+            }
+        }
+        assertEquals("Wrong cardinality", reference.cardinality(), bitmap.cardinality());
+        assertArrayEquals("Wrong content", reference.stream().toArray(), bitmap.toArray());
+        for (int i = reference.nextSetBit(0); i >= 0; i = reference.nextSetBit(i + 1)) {
+            assertTrue("Missing " + i, bitmap.contains(i));
+        }
+        assertEquals("Wrong next set bit", reference.nextSetBit(12345), bitmap.nextSetBit(12345));
+        assertEquals("Wrong next set bit", -1, bitmap.nextSetBit(1 << 21));
+        assertEquals("Wrong last index", reference.length() - 1, bitmap.lastIndex());
+        assertEquals("Wrong last index of empty bitmap", -1, new RowIndexBitmap().lastIndex());
+    }
+
+    /** Tests the bulk operations and their change tracking. */
+    @Test
+    public void testBulkOperations() {
+        final RowIndexBitmap a = RowIndexBitmap.range(0, 100);
+        final RowIndexBitmap b = RowIndexBitmap.range(50, 70000);
+
+        final RowIndexBitmap union = a.copy();
+        final RowIndexBitmap added = new RowIndexBitmap();
+        assertEquals("Wrong number of added indices", 70000 - 100, union.addAll(b, added));
+        assertEquals("Wrong union", RowIndexBitmap.range(0, 70000), union);
+        assertEquals("Wrong added indices", RowIndexBitmap.range(100, 70000), added);
+
+        final RowIndexBitmap difference = a.copy();
+        final RowIndexBitmap removed = new RowIndexBitmap();
+        assertEquals("Wrong number of removed indices", 50, difference.removeAll(b, removed));
+        assertEquals("Wrong difference", RowIndexBitmap.range(0, 50), difference);
+        assertEquals("Wrong removed indices", RowIndexBitmap.range(50, 100), removed);
+
+        final RowIndexBitmap intersection = a.copy();
+        intersection.retainAll(b);
+        assertEquals("Wrong intersection", RowIndexBitmap.range(50, 100), intersection);
+
+        union.removeAll(union.copy(), null);
+        assertTrue("Bitmap not empty", union.isEmpty());
+        assertEquals("Empty bitmaps differ", new RowIndexBitmap(), union);
+        assertFalse("Empty bitmap contains index", union.contains(0));
+    }
+
+    /** Tests translation through an index mapper and its inverse. */
+    @Test
+    public void testIndexHiLiteMapper() {
+        // source rows 0..5 are aggregated into target rows 0..2 (i / 2), row 5 is unmapped
+        final IndexHiLiteMapper mapper = IndexHiLiteMapper.create(new int[]{0, 0, 1, 1, 2, -1}, 3);
+        assertEquals("Wrong translation", RowIndexBitmap.of(0, 2), mapper.translate(RowIndexBitmap.of(1, 4, 5)));
+
+        final IndexHiLiteMapper inverse = mapper.inverse();
+        assertEquals("Wrong source size", 3, inverse.getSourceSize());
+        assertEquals("Wrong target size", 6, inverse.getTargetSize());
+        assertEquals("Wrong inverse translation", RowIndexBitmap.of(0, 1, 4),
+            inverse.translate(RowIndexBitmap.of(0, 2)));
+    }
+}
@@ -62,6 +62,7 @@
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.ZipFile;
 
@@ -72,7 +73,11 @@
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.workflow.BatchExecutor.IllegalOptionException;
 import org.knime.core.util.FileUtil;
+import org.knime.core.util.LockFailedException;
 import org.knime.core.util.MutableInteger;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.FrameworkUtil;
@@ -512,6 +517,127 @@ public void testLoadCredentials() throws Exception {
         // does not need credentials and currently there is no node besides database nodes that uses credentials.
     }
 
+    /**
+     * Test if a workflow that is kept loaded is re-executed for subsequent runs with the workflow variables of each
+     * run.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testKeepLoaded() throws Exception {
+        File[] outputs = createOutputFiles(3);
+        MultiRunBatchExecutor exec = new MultiRunBatchExecutor(
+            runArgs(outputs[0], "-nosave", "-keepLoaded", "-workflow.variable=maxRows,100,int"),
+            runArgs(outputs[1], "-nosave", "-keepLoaded", "-workflow.variable=maxRows,200,int"),
+            runArgs(outputs[2], "-nosave", "-keepLoaded"));
+        assertEquals("Non-zero return value", 0, exec.runAll());
+        assertEquals("Workflow not re-used", 1, exec.m_loadCount.get());
+        assertEquals("Wrong number of lines in written CSV file", 101, countWrittenLines(outputs[0]));
+        assertEquals("Wrong number of lines in written CSV file", 201, countWrittenLines(outputs[1]));
+        // the variable of the previous run must not be retained
+        assertEquals("Wrong number of lines in written CSV file", 1001, countWrittenLines(outputs[2]));
+    }
+
+    /**
+     * Test if a workflow that is kept loaded is only re-executed for runs with the same credentials and output
+     * options.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testKeepLoadedWithDifferentCredentialsAndOutput() throws Exception {
+        File[] outputs = createOutputFiles(4);
+        File destDir = FileUtil.createTempDir("BatchExecutorTest");
+        try {
+            MultiRunBatchExecutor exec = new MultiRunBatchExecutor(
+                runArgs(outputs[0], "-nosave", "-keepLoaded"),
+                runArgs(outputs[1], "-keepLoaded", "-destDir=" + destDir.getAbsolutePath()),
+                runArgs(outputs[2], "-nosave", "-keepLoaded", "-credential=database;thor;test"),
+                runArgs(outputs[3], "-nosave", "-keepLoaded"));
+            assertEquals("Non-zero return value", 0, exec.runAll());
+            assertEquals("Workflow re-used for different credentials or output", 3, exec.m_loadCount.get());
+            assertTrue("No workflow in destination directory",
+                new File(destDir, WorkflowPersistor.WORKFLOW_FILE).isFile());
+            for (File output : outputs) {
+                assertEquals("Wrong number of lines in written CSV file", 1001, countWrittenLines(output));
+            }
+        } finally {
+            FileUtil.deleteRecursively(destDir);
+        }
+    }
+
+    /**
+     * Test if several workflows are run concurrently, with and without keeping them loaded.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testConcurrentRuns() throws Exception {
+        File[] outputs = createOutputFiles(4);
+        MultiRunBatchExecutor exec = new MultiRunBatchExecutor(
+            runArgs(outputs[0], "-nosave", "-concurrency=2", "-workflow.variable=maxRows,10,int"),
+            runArgs(outputs[1], "-nosave", "-workflow.variable=maxRows,20,int"),
+            runArgs(outputs[2], "-nosave", "-workflow.variable=maxRows,30,int"),
+            runArgs(outputs[3], "-nosave", "-workflow.variable=maxRows,40,int"));
+        assertEquals("Non-zero return value", 0, exec.runAll());
+        assertEquals("Wrong number of loaded workflows", 4, exec.m_loadCount.get());
+        for (int i = 0; i < outputs.length; i++) {
+            assertEquals("Wrong number of lines in written CSV file", 10 * (i + 1) + 1, countWrittenLines(outputs[i]));
+        }
+
+        outputs = createOutputFiles(4);
+        exec = new MultiRunBatchExecutor(
+            runArgs(outputs[0], "-nosave", "-keepLoaded", "-concurrency=2", "-workflow.variable=maxRows,10,int"),
+            runArgs(outputs[1], "-nosave", "-keepLoaded", "-workflow.variable=maxRows,20,int"),
+            runArgs(outputs[2], "-nosave", "-keepLoaded", "-workflow.variable=maxRows,30,int"),
+            runArgs(outputs[3], "-nosave", "-keepLoaded", "-workflow.variable=maxRows,40,int"));
+        assertEquals("Non-zero return value", 0, exec.runAll());
+        // each of the two threads loads the workflow at most once
+        assertTrue("Workflow not re-used: " + exec.m_loadCount.get(), exec.m_loadCount.get() <= 2);
+        for (int i = 0; i < outputs.length; i++) {
+            assertEquals("Wrong number of lines in written CSV file", 10 * (i + 1) + 1, countWrittenLines(outputs[i]));
+        }
+        // resident workflows are removed by runAll, see checkDanglingWorkflows
+    }
+
+    private static String[] runArgs(final File output, final String... options) {
+        String[] args = new String[options.length + 3];
+        args[0] = "-workflowFile=" + standardTestWorkflowZip.getAbsolutePath();
+        args[1] = "-reset";
+        args[2] = "-workflow.variable=destinationFile," + output.getAbsolutePath() + ",String";
+        System.arraycopy(options, 0, args, 3, options.length);
+        return args;
+    }
+
+    private static File[] createOutputFiles(final int count) throws IOException {
+        File[] files = new File[count];
+        for (int i = 0; i < count; i++) {
+            files[i] = File.createTempFile("BatchExecutorTest", ".csv");
+            files[i].deleteOnExit();
+            files[i].delete();
+        }
+        return files;
+    }
+
+    /** Runs several workflow configurations and counts how often a workflow is loaded. */
+    private static final class MultiRunBatchExecutor extends BatchExecutor {
+        private final AtomicInteger m_loadCount = new AtomicInteger();
+
+        private MultiRunBatchExecutor(final String[]... runs) throws Exception {
+            for (String[] args : runs) {
+                checkConfiguration(parseConfigFromArguments(args));
+            }
+        }
+
+        @Override
+        protected WorkflowManager loadWorkflow(final WorkflowConfiguration config) throws IOException,
+            InvalidSettingsException, CanceledExecutionException, UnsupportedWorkflowVersionException,
+            LockFailedException, IllegalOptionException {
+            m_loadCount.incrementAndGet();
+            return super.loadWorkflow(config);
+        }
+    }
+
     private int countWrittenLines(final File outputFile) throws IOException {
         BufferedReader in = new BufferedReader(new FileReader(outputFile));
         int count = 0;
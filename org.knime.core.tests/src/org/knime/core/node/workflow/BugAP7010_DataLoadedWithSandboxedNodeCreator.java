@@ -44,6 +44,9 @@
  */
 package org.knime.core.node.workflow;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.knime.core.node.workflow.InternalNodeContainerState.CONFIGURED;
 import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
 
@@ -52,6 +55,8 @@
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.exec.SandboxedNodeCreator;
 import org.knime.core.node.exec.SandboxedNodeCreator.SandboxedNode;
@@ -63,6 +68,7 @@
 /**
  * Create a Sandboxed Node of a node and execute the workflow afterwards.
  * Tests if there are dead data references after the SandboxedNode creation. See AP-7010.
+ * Also tests that input tables can be referenced by the sandbox rather than being copied.
  * @author Benjamin Wilhelm, University of Konstanz
  */
 public class BugAP7010_DataLoadedWithSandboxedNodeCreator extends WorkflowTestCase {
@@ -129,6 +135,51 @@ public void testExecuteAfterSandboxedNodeCreation() throws Exception {
     }
 
 
+    /**
+     * Creates a sandbox that references the input table instead of copying it and checks that the input table of the
+     * sandbox is the original one and that the original table is still usable after the sandbox is closed.
+     * @throws Exception
+     */
+    @Test(timeout = 30000L)
+    public void testReferenceInputTables() throws Exception {
+        executeAndWait(m_tableCreator);
+        NodeContainer tableCreator = findNodeContainer(m_tableCreator);
+        checkState(tableCreator, EXECUTED);
+        BufferedDataTable table = (BufferedDataTable)tableCreator.getOutPort(1).getPortObject();
+
+        assertNotSame("Input table should be copied by default", table, getSandboxInputTable(table, false));
+        assertSame("Input table should be referenced", table, getSandboxInputTable(table, true));
+
+        // the original table survives closing the sandbox
+        long rowCount = 0;
+        try (CloseableRowIterator it = table.iterator()) {
+            for (; it.hasNext(); it.next()) {
+                rowCount++;
+            }
+        }
+        assertEquals("Rows of original table", table.size(), rowCount);
+        executeAllAndWait();
+        checkState(getManager(), EXECUTED);
+    }
+
+    /** Creates a sandbox of the row splitter and returns the table its input node provides, closes the sandbox. */
+    private PortObject getSandboxInputTable(final BufferedDataTable table, final boolean referenceInputTables)
+        throws Exception {
+        NodeContainer rowSplitter = findNodeContainer(m_rowSplitter);
+        PortObject[] inputData = new PortObject[]{null, table};
+        SandboxedNodeCreator nodeCreator = new SandboxedNodeCreator(rowSplitter, inputData, m_sandboxedWM)
+            .setCopyData(true).setReferenceInputTables(referenceInputTables);
+        NodeContext.pushContext(rowSplitter);
+        try (SandboxedNode node = nodeCreator.createSandbox(new ExecutionMonitor())) {
+            NodeContainer sandboxNode = node.getSandboxNode(NodeContainer.class);
+            WorkflowManager sandboxWFM = sandboxNode.getParent();
+            NodeID inputNodeID = sandboxWFM.getIncomingConnectionFor(sandboxNode.getID(), 1).getSource();
+            return sandboxWFM.getNodeContainer(inputNodeID).getOutPort(1).getPortObject();
+        } finally {
+            NodeContext.removeLastContext();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     @After
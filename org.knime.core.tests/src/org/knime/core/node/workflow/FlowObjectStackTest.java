@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+import org.knime.core.node.workflow.FlowVariable.Scope;
+import org.knime.core.node.workflow.FlowVariable.Type;
+
+/**
+ * Tests the persistent {@link FlowObjectStack}, in particular that derived stacks share elements but are independent
+ * and that merging semantics are retained.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class FlowObjectStackTest {
+
+    private static final NodeID ROOT_ID = WorkflowManager.ROOT.getID();
+
+    private static final NodeID ID1 = new NodeID(ROOT_ID, 1);
+
+    private static final NodeID ID2 = new NodeID(ROOT_ID, 2);
+
+    private static final NodeID ID3 = new NodeID(ROOT_ID, 3);
+
+    /** Push, peek and visible variables. */
+    @Test
+    public void testPushAndLookup() {
+        FlowObjectStack stack = new FlowObjectStack(ID1);
+        int sizeBefore = stack.size();
+        stack.push(new FlowVariable("a", 1));
+        stack.push(new FlowVariable("b", "foo"));
+        Map<String, FlowVariable> before = stack.getAvailableFlowVariables();
+        stack.push(new FlowVariable("a", 2));
+
+        assertEquals("Wrong stack size", sizeBefore + 3, stack.size());
+        assertEquals("Top-most variable not returned", 2, stack.peekFlowVariable("a", Type.INTEGER).getIntValue());
+        assertEquals("Top-most variable not returned", 2,
+            stack.getAvailableFlowVariables().get("a").getIntValue());
+        assertEquals("Previously returned map was modified", 1, before.get("a").getIntValue());
+        assertEquals("String variable not found", "foo", stack.peekFlowVariable("b", Type.STRING).getStringValue());
+        try {
+            stack.peekFlowVariable("b", Type.DOUBLE);
+            throw new AssertionError("Variable with wrong type returned");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    /** Peeking a variable without a type is rejected. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPeekWithoutType() {
+        FlowObjectStack stack = new FlowObjectStack(ID1);
+        stack.push(new FlowVariable("a", 1));
+        stack.peekFlowVariable("a", null);
+    }
+
+    /** A stack derived from a single predecessor has the same content; modifications are not visible upstream. */
+    @Test
+    public void testChildStackIsIndependent() {
+        FlowObjectStack parent = new FlowObjectStack(ID1);
+        parent.push(new FlowVariable("a", 1));
+        FlowObjectStack child = new FlowObjectStack(ID2, parent);
+        assertEquals("Child differs", toList(parent), toList(child));
+
+        child.push(new FlowVariable("a", 2));
+        assertEquals("Parent was modified", 1, parent.peekFlowVariable("a", Type.INTEGER).getIntValue());
+        assertEquals("Child not modified", 2, child.peekFlowVariable("a", Type.INTEGER).getIntValue());
+        assertEquals("Unexpected size difference", parent.size() + 1, child.size());
+    }
+
+    /** Local variables are not propagated to successors, equal variables in one scope are merged. */
+    @Test
+    public void testMergeSemanticsRetained() {
+        FlowObjectStack parent = new FlowObjectStack(ID1);
+        parent.push(new FlowVariable("local", 1, Scope.Local));
+        parent.push(new FlowVariable("a", 1));
+        parent.push(new FlowVariable("a", 1));
+        FlowObjectStack child = new FlowObjectStack(ID2, parent);
+        assertFalse("Local variable was propagated",
+            child.getAvailableFlowVariables(Type.values()).containsKey("local"));
+        assertEquals("Duplicates not removed", parent.size() - 2, child.size());
+
+        FlowObjectStack other = new FlowObjectStack(ID3);
+        other.push(new FlowVariable("b", 2));
+        FlowObjectStack merged = new FlowObjectStack(ID3, new FlowObjectStack[]{child, other});
+        assertNotNull("Variable of first input missing", merged.getAvailableFlowVariables().get("a"));
+        assertNotNull("Variable of second input missing", merged.getAvailableFlowVariables().get("b"));
+    }
+
+    /** Scope contexts and pop. */
+    @Test
+    public void testScopeContexts() {
+        FlowObjectStack stack = new FlowObjectStack(ID1);
+        stack.push(new FlowVariable("outer", 1));
+        FlowScopeContext context = new FlowScopeContext();
+        stack.push(context);
+        stack.push(new FlowVariable("inner", 1));
+        assertSame("Wrong scope context", context, stack.peek(FlowScopeContext.class));
+
+        FlowObjectStack child = new FlowObjectStack(ID2, stack);
+        assertSame("Context not propagated", context, child.peek(FlowScopeContext.class));
+
+        assertSame("Wrong context popped", context, stack.pop(FlowScopeContext.class));
+        assertNull("Inner variable not popped", stack.getAvailableFlowVariables().get("inner"));
+        assertNotNull("Outer variable popped", stack.getAvailableFlowVariables().get("outer"));
+        assertNotNull("Child was modified by pop", child.getAvailableFlowVariables().get("inner"));
+        assertTrue("Child lost context", child.peekOptional(FlowScopeContext.class).isPresent());
+    }
+
+    private static List<FlowObject> toList(final FlowObjectStack stack) {
+        List<FlowObject> result = new ArrayList<>();
+        stack.forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.container.DataContainerSettings;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.port.PortObject;
+
+/**
+ * Tests the {@link NodeExecutionProfiler} and its hooks in {@link WorkflowLock} and {@link DataContainer}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class NodeExecutionProfilerTest {
+
+    private WorkflowManager m_wfm;
+
+    /** Creates an empty project that serves as profiled node. */
+    @Before
+    public void setUp() {
+        m_wfm = WorkflowManager.ROOT.createAndAddProject("NodeExecutionProfilerTest", new WorkflowCreationHelper());
+    }
+
+    /** Removes the project and switches profiling off. */
+    @After
+    public void tearDown() {
+        NodeExecutionProfiler.setEnabled(false);
+        WorkflowManager.ROOT.removeProject(m_wfm.getID());
+    }
+
+    /** Tests that nothing is recorded if profiling is disabled. */
+    @Test
+    public void testDisabled() {
+        NodeExecutionProfiler.setEnabled(false);
+        assertNull("Profiler started although disabled", NodeExecutionProfiler.start(m_wfm, new PortObject[0]));
+        assertFalse(NodeExecutionProfiler.isProfilingCurrentThread());
+        // must not fail without profiler
+        NodeExecutionProfiler.recordWriterStall(1000);
+        try (WorkflowLock lock = m_wfm.lock()) {
+            assertTrue(lock.isHeldByCurrentThread());
+        }
+    }
+
+    /**
+     * Tests that the time waited for a workflow lock held by another thread is recorded.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testLockWait() throws Exception {
+        NodeExecutionProfiler.setEnabled(true);
+        final CountDownLatch locked = new CountDownLatch(1);
+        final Thread holder = new Thread(() -> {
+            try (WorkflowLock lock = m_wfm.lock()) {
+                locked.countDown();
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "NodeExecutionProfilerTest-LockHolder");
+
+        final NodeExecutionProfiler profiler = NodeExecutionProfiler.start(m_wfm, new PortObject[0]);
+        assertTrue(NodeExecutionProfiler.isProfilingCurrentThread());
+        holder.start();
+        assertTrue("Lock not acquired by other thread", locked.await(10, TimeUnit.SECONDS));
+        try (WorkflowLock lock = m_wfm.lock()) {
+            // waited for the other thread
+        }
+        profiler.stop();
+        holder.join();
+        assertFalse(NodeExecutionProfiler.isProfilingCurrentThread());
+
+        final NodeExecutionProfile profile = profiler.finish(m_wfm, false);
+        assertTrue("Lock wait not recorded: " + profile.getLockWaitNanos(),
+            profile.getLockWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(profile.getWallTimeNanos() >= profile.getLockWaitNanos());
+        assertEquals("Rows out of failed execution", -1, profile.getRowsOut());
+    }
+
+    /**
+     * Tests that the time the node thread is blocked by a slow asynchronous table writer is recorded.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testWriterStall() throws Exception {
+        NodeExecutionProfiler.setEnabled(true);
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("int", IntCell.TYPE).createSpec());
+        final NodeExecutionProfiler profiler = NodeExecutionProfiler.start(m_wfm, new PortObject[0]);
+        final DataContainer container =
+            new DataContainer(spec, DataContainerSettings.getDefault().withSyncIO(false).withAsyncCacheSize(1));
+        for (int i = 0; i < 5; i++) {
+            container.addRowToTable(new SlowRow(i));
+        }
+        container.close();
+        profiler.stop();
+
+        final NodeExecutionProfile profile = profiler.finish(m_wfm, true);
+        assertTrue("Writer stall not recorded", profile.getWriterStallNanos() > 0);
+        assertEquals(0, profile.getRowsIn());
+        assertEquals(0, profile.getRowsOut());
+    }
+
+    /**
+     * Tests that work done by other threads, e.g. sub-jobs of the node, is neither recorded as CPU time nor via the
+     * hooks of the profiler of the node thread.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testOtherThreadsNotMeasured() throws Exception {
+        NodeExecutionProfiler.setEnabled(true);
+        final NodeExecutionProfiler profiler = NodeExecutionProfiler.start(m_wfm, new PortObject[0]);
+        final boolean[] profiledInOtherThread = new boolean[1];
+        final Thread worker = new Thread(() -> {
+            profiledInOtherThread[0] = NodeExecutionProfiler.isProfilingCurrentThread();
+            NodeExecutionProfiler.recordWriterStall(TimeUnit.SECONDS.toNanos(1));
+            final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+            long spin = 0;
+            while (System.nanoTime() < end) {
+                spin++;
+            }
+            assertTrue(spin > 0);
+        }, "NodeExecutionProfilerTest-Worker");
+        worker.start();
+        worker.join();
+        profiler.stop();
+
+        final NodeExecutionProfile profile = profiler.finish(m_wfm, true);
+        assertFalse("Other thread considered as profiled", profiledInOtherThread[0]);
+        assertEquals("Stall of other thread recorded", 0, profile.getWriterStallNanos());
+        if (profile.getCpuTimeNanos() >= 0) {
+            assertTrue("CPU time of other thread recorded: " + profile.getCpuTimeNanos(),
+                profile.getCpuTimeNanos() < TimeUnit.MILLISECONDS.toNanos(200));
+        }
+    }
+
+    /** A row whose cells are slow to retrieve so that the asynchronous writer falls behind. */
+    private static final class SlowRow implements DataRow {
+
+        private final RowKey m_key;
+
+        private final DataCell m_cell;
+
+        SlowRow(final int index) {
+            m_key = RowKey.createRowKey((long)index);
+            m_cell = new IntCell(index);
+        }
+
+        @Override
+        public int getNumCells() {
+            return 1;
+        }
+
+        @Override
+        public RowKey getKey() {
+            return m_key;
+        }
+
+        @Override
+        public DataCell getCell(final int index) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return m_cell;
+        }
+
+        @Override
+        public Iterator<DataCell> iterator() {
+            return Collections.singletonList(getCell(0)).iterator();
+        }
+    }
+}
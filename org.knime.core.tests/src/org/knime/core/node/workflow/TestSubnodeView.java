@@ -49,8 +49,11 @@
 package org.knime.core.node.workflow;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -160,6 +163,82 @@ public void testExecuteAndCreateSubnodeView() throws Exception {
         assertTrue("Layout should contain test string", layout.contains("testString"));
     }
 
+    /**
+     * Tests that the wizard page is only cached if enabled, that it is invalidated when the layout, a node annotation
+     * or the name of the subnode changes, and that closing the controller drops the cache.
+     * @throws Exception
+     */
+    @Test
+    public void testWizardPageCache() throws Exception {
+        initialExecute();
+        SinglePageWebResourceController uncached = new SinglePageWebResourceController(getManager(), m_subnodeID);
+        WizardPageContent uncachedPage = uncached.getWizardPage();
+        assertFalse("Page should not be cached by default", uncached.isWizardPageCached(m_subnodeID));
+        assertNotSame("Page should be created anew without cache", uncachedPage, uncached.getWizardPage());
+
+        SinglePageWebResourceController spc =
+            new SinglePageWebResourceController(getManager(), m_subnodeID, true);
+        try {
+            WizardPageContent page = spc.getWizardPage();
+            assertTrue("Page should be cached", spc.isWizardPageCached(m_subnodeID));
+            assertSame("Unchanged page should be re-used", page, spc.getWizardPage());
+
+            SubNodeContainer subnode = getManager().getNodeContainer(m_subnodeID, SubNodeContainer.class, true);
+            String layout = subnode.getLayoutJSONString() + " ";
+            subnode.setLayoutJSONString(layout);
+            assertFalse("Layout change should invalidate page", spc.isWizardPageCached(m_subnodeID));
+            page = spc.getWizardPage();
+            assertEquals("Page should have new layout", layout, page.getLayoutInfo());
+
+            NodeContainer stringInput = subnode.getWorkflowManager()
+                .getNodeContainer(new NodeID(new NodeID(m_subnodeID, 0), 4));
+            NodeAnnotationData annotation = stringInput.getNodeAnnotation().getData().clone();
+            annotation.setText("changed annotation");
+            stringInput.getNodeAnnotation().copyFrom(annotation, false);
+            assertFalse("Annotation change should invalidate page", spc.isWizardPageCached(m_subnodeID));
+            page = spc.getWizardPage();
+            assertEquals("Page should have new annotation", "changed annotation",
+                page.getInfoMap().get(m_stringInputID).getNodeAnnotation());
+            assertSame("Unchanged page should be re-used", page, spc.getWizardPage());
+
+            subnode.setName("renamed subnode");
+            assertFalse("Name change should invalidate page", spc.isWizardPageCached(m_subnodeID));
+            assertNotSame("Page should be created anew", page, spc.getWizardPage());
+        } finally {
+            spc.close();
+        }
+        assertFalse("Closing the controller should drop the page", spc.isWizardPageCached(m_subnodeID));
+    }
+
+    /**
+     * Tests that only view values that changed since the previous call are returned.
+     * @throws Exception
+     */
+    @Test
+    public void testChangedWizardPageViewValues() throws Exception {
+        initialExecute();
+        SinglePageWebResourceController spc = new SinglePageWebResourceController(getManager(), m_subnodeID);
+        try {
+            Map<NodeIDSuffix, String> changedValues = spc.getChangedWizardPageViewValues();
+            assertTrue("First call should return string input value", changedValues.containsKey(m_stringInputID));
+            assertTrue("Unchanged values should not be returned", spc.getChangedWizardPageViewValues().isEmpty());
+
+            Map<String, String> valueMap = changeStringInputTo(CHANGED_URL, buildValueMap());
+            try (WorkflowLock lock = getManager().lock()) {
+                m_spm.applyValidatedValuesAndReexecute(valueMap, m_subnodeID, false);
+            }
+            waitWhileNodeInExecution(m_subnodeID);
+
+            changedValues = spc.getChangedWizardPageViewValues();
+            assertTrue("Changed string input value should be returned", changedValues.containsKey(m_stringInputID));
+            JsonNode jsonValue = new ObjectMapper().readTree(changedValues.get(m_stringInputID));
+            assertEquals("Changed value should be returned", CHANGED_URL, jsonValue.get("string").asText());
+            assertTrue("Unchanged values should not be returned", spc.getChangedWizardPageViewValues().isEmpty());
+        } finally {
+            spc.close();
+        }
+    }
+
     /**
      * Simple test if a serializable page object (view) can be created.
      * @throws Exception
@@ -0,0 +1,277 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.ui.node.workflow.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.ui.node.workflow.async.AsyncOperationBatcher.Operation;
+import org.knime.core.ui.node.workflow.async.AsyncOperationBatcher.OperationResult;
+
+/**
+ * Tests the batching, coalescing and error propagation of {@link AsyncOperationBatcher}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class AsyncOperationBatcherTest {
+
+    /** Long enough for a batch to never be sent because of the window while a test runs. */
+    private static final long LONG_WINDOW_MILLIS = 60_000;
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final List<List<Operation>> m_batches = new CopyOnWriteArrayList<>();
+
+    private AsyncOperationBatcher m_batcher;
+
+    /** Closes the batcher of the test. */
+    @After
+    public void tearDown() {
+        if (m_batcher != null) {
+            m_batcher.close();
+        }
+    }
+
+    /** Records the batch and returns the operation names as results, fails operations named "fail". */
+    private List<OperationResult> recordBatch(final List<Operation> operations) {
+        m_batches.add(new ArrayList<>(operations));
+        return operations.stream().map(op -> "fail".equals(op.getName())
+            ? OperationResult.failure(new OperationNotAllowedException("Operation failed"))
+            : OperationResult.success(op.getName())).collect(Collectors.toList());
+    }
+
+    private List<String> getBatchNames(final int index) {
+        return m_batches.get(index).stream().map(Operation::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that operations submitted within the window are sent as one batch once the window closed.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testFlushAfterWindow() throws Exception {
+        m_batcher = new AsyncOperationBatcher(this::recordBatch, 500, Integer.MAX_VALUE);
+        CompletableFuture<String> f1 = m_batcher.submit("op1");
+        CompletableFuture<String> f2 = m_batcher.submit("op2");
+        CompletableFuture<String> f3 = m_batcher.submit("op3");
+        assertTrue("Batch must not be sent before the window closed", m_batches.isEmpty());
+
+        assertEquals("op1", f1.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("op2", f2.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("op3", f3.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("Number of batches", 1, m_batches.size());
+        assertEquals(Arrays.asList("op1", "op2", "op3"), getBatchNames(0));
+    }
+
+    /**
+     * Tests that a batch is sent as soon as it reached its maximum size.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testFlushAtMaxBatchSize() throws Exception {
+        m_batcher = new AsyncOperationBatcher(this::recordBatch, LONG_WINDOW_MILLIS, 2);
+        CompletableFuture<String> f1 = m_batcher.submit("op1");
+        CompletableFuture<String> f2 = m_batcher.submit("op2");
+        CompletableFuture<String> f3 = m_batcher.submit("op3");
+
+        assertEquals("op1", f1.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("op2", f2.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse("Operation of the next batch must wait for the window", f3.isDone());
+        assertEquals("Number of batches", 1, m_batches.size());
+        assertEquals(Arrays.asList("op1", "op2"), getBatchNames(0));
+
+        m_batcher.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue("Explicit flush must resolve the operation", f3.isDone());
+        assertEquals(Arrays.asList("op3"), getBatchNames(1));
+    }
+
+    /**
+     * Tests that refreshes are coalesced into one refresh sent after the mutations of the batch, which is a deep one
+     * if any of the coalesced refreshes was deep.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testRefreshCoalescing() throws Exception {
+        m_batcher = new AsyncOperationBatcher(this::recordBatch, LONG_WINDOW_MILLIS, Integer.MAX_VALUE);
+        CompletableFuture<Void> r1 = m_batcher.refreshAsync(false);
+        m_batcher.submit("op1");
+        CompletableFuture<Void> r2 = m_batcher.refreshAsync(true);
+        CompletableFuture<Void> r3 = m_batcher.refreshAsync(false);
+        assertSame("Coalesced refreshes must share their future", r1, r2);
+        assertSame("Coalesced refreshes must share their future", r1, r3);
+
+        m_batcher.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue("Refresh must be resolved", r1.isDone());
+        assertEquals("Number of batches", 1, m_batches.size());
+        assertEquals(Arrays.asList("op1", AsyncOperationBatcher.OP_REFRESH), getBatchNames(0));
+        assertEquals("Coalesced refresh must be deep", Boolean.TRUE, m_batches.get(0).get(1).getArguments()[0]);
+
+        CompletableFuture<Void> r4 = m_batcher.refreshAsync(false);
+        assertNotSame("Refresh after a sent batch must not share its future", r1, r4);
+        m_batcher.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals("Refresh must not be upgraded", Boolean.FALSE, m_batches.get(1).get(0).getArguments()[0]);
+    }
+
+    /**
+     * Tests that a failed operation only fails its own future.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testOperationFailure() throws Exception {
+        m_batcher = new AsyncOperationBatcher(this::recordBatch, LONG_WINDOW_MILLIS, Integer.MAX_VALUE);
+        CompletableFuture<String> f1 = m_batcher.submit("op1");
+        CompletableFutureEx<Void, OperationNotAllowedException> failed = new CompletableFutureEx<>(
+            m_batcher.submit("fail"), OperationNotAllowedException.class);
+        CompletableFuture<String> f3 = m_batcher.submit("op3");
+        m_batcher.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals("op1", f1.get());
+        assertEquals("op3", f3.get());
+        try {
+            failed.getOrThrow();
+            fail("Failed operation must throw");
+        } catch (OperationNotAllowedException e) {
+            assertEquals("Operation failed", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that all operations of a batch fail if the transport fails.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testTransportFailure() throws Exception {
+        IOException transportError = new IOException("Connection lost");
+        m_batcher = new AsyncOperationBatcher(ops -> {
+            throw transportError;
+        }, LONG_WINDOW_MILLIS, Integer.MAX_VALUE);
+        CompletableFutureEx<Void, OperationNotAllowedException> removed =
+            m_batcher.removeAsync(new NodeID[]{new NodeID(0).createChild(1)}, null, null);
+        CompletableFuture<Void> refreshed = m_batcher.refreshAsync(false);
+        m_batcher.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        for (CompletableFuture<?> f : Arrays.asList(removed.getUnderlyingFuture(), refreshed)) {
+            try {
+                f.get();
+                fail("Operation must fail if the transport fails");
+            } catch (ExecutionException e) {
+                assertSame("Transport error must be propagated", transportError, e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Tests that closing the batcher sends the pending operations and rejects new ones.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCloseDrainsPendingOperations() throws Exception {
+        m_batcher = new AsyncOperationBatcher(this::recordBatch, LONG_WINDOW_MILLIS, Integer.MAX_VALUE);
+        CompletableFuture<String> f1 = m_batcher.submit("op1");
+        CompletableFuture<Void> refreshed = m_batcher.refreshAsync(true);
+        m_batcher.close();
+
+        assertEquals("op1", f1.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        refreshed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals("Number of batches", 1, m_batches.size());
+        assertEquals(Arrays.asList("op1", AsyncOperationBatcher.OP_REFRESH), getBatchNames(0));
+        try {
+            m_batcher.submit("op2");
+            fail("Operation submitted after close must be rejected");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests that the futures are completed on the completion executor and not on the thread sending the batches.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testFuturesCompletedOnCompletionExecutor() throws Exception {
+        ExecutorService completionExecutor =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "AsyncOperationBatcherTest-completion"));
+        try {
+            m_batcher = new AsyncOperationBatcher(this::recordBatch, LONG_WINDOW_MILLIS, Integer.MAX_VALUE,
+                completionExecutor);
+            CompletableFuture<String> threadName =
+                m_batcher.submit("op1").thenApply(v -> Thread.currentThread().getName());
+            m_batcher.flush().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals("AsyncOperationBatcherTest-completion", threadName.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            completionExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.util.tokenizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.util.tokenizer.ParallelFileTokenizer.Split;
+
+/**
+ * Tests {@link ParallelFileTokenizer}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+public class ParallelFileTokenizerTest {
+
+    private Path m_file;
+
+    /**
+     * Creates the temporary file.
+     *
+     * @throws IOException if the file can't be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        m_file = Files.createTempFile("parallel-tokenizer", ".csv");
+    }
+
+    /**
+     * Deletes the temporary file.
+     *
+     * @throws IOException if the file can't be deleted
+     */
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(m_file);
+    }
+
+    private static TokenizerSettings csvSettings(final boolean allowLFinQuotes) {
+        final TokenizerSettings settings = new TokenizerSettings();
+        settings.addDelimiterPattern(",", false, false, false);
+        settings.addDelimiterPattern("\n", false, true, false);
+        settings.addQuotePattern("\"", "\"", '\\');
+        settings.addSingleLineCommentPattern("#", false, false);
+        settings.allowLFinQuotes(allowLFinQuotes);
+        return settings;
+    }
+
+    private void write(final String content) throws IOException {
+        Files.write(m_file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void readAll(final Tokenizer tokenizer, final List<String> tokens) throws TokenizerException {
+        String token;
+        while ((token = tokenizer.nextToken()) != null) {
+            tokens.add(token + "@" + tokenizer.getLineNumber());
+        }
+    }
+
+    private List<String> readSequentially(final TokenizerSettings settings) throws IOException, TokenizerException {
+        final List<String> tokens = new ArrayList<>();
+        final Tokenizer tokenizer =
+            new Tokenizer(Files.newBufferedReader(m_file, StandardCharsets.UTF_8));
+        tokenizer.setSettings(settings);
+        readAll(tokenizer, tokens);
+        return tokens;
+    }
+
+    private static List<String> readInParallel(final ParallelFileTokenizer tokenizer, final List<Split> splits)
+        throws Exception {
+        final List<String> tokens = new ArrayList<>();
+        tokenizer.tokenize(splits, (split, t) -> {
+            final List<String> result = new ArrayList<>();
+            readAll(t, result);
+            return result;
+        }, (split, result) -> tokens.addAll(result), null);
+        return tokens;
+    }
+
+    private static void assertContiguous(final List<Split> splits, final long start, final long end) {
+        long pos = start;
+        for (Split split : splits) {
+            assertEquals("Split start", pos, split.getStart());
+            pos = split.getEnd();
+        }
+        assertEquals("End of last split", end, pos);
+    }
+
+    /**
+     * Tokenizes quoted strings with (escaped) line breaks, comments and empty lines in small splits and compares
+     * tokens and line numbers with those of the sequential tokenizer.
+     *
+     * @throws Exception if it fails
+     */
+    @Test
+    public void testSplitsMatchSequentialTokenizer() throws Exception {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append(i).append(",\"first\nsecond, \\\"quoted\\\"\",").append(i * 7).append('\n');
+            if (i % 7 == 0) {
+                content.append("# comment \" with a quote\n\n\n");
+            }
+            if (i % 11 == 0) {
+                content.append("äöü,\"\\\n\",x\r\n");
+            }
+        }
+        write(content.toString());
+        final TokenizerSettings settings = csvSettings(true);
+        final ParallelFileTokenizer tokenizer = new ParallelFileTokenizer(m_file, StandardCharsets.UTF_8, settings, 4);
+        assertTrue("Settings should be splittable", tokenizer.isSplittable());
+        final List<Split> splits = tokenizer.createSplits(64, null);
+        assertTrue("Expected more than one split: " + splits.size(), splits.size() > 10);
+        assertContiguous(splits, 0, Files.size(m_file));
+        assertEquals(readSequentially(settings), readInParallel(tokenizer, splits));
+    }
+
+    /**
+     * Checks that line numbers in error messages refer to the entire file.
+     *
+     * @throws Exception if it fails
+     */
+    @Test
+    public void testGlobalLineNumberInException() throws Exception {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append(i).append(",\"").append(i).append("\"\n");
+        }
+        content.append("200,\"unclosed\n201,\"201\"\n");
+        write(content.toString());
+        final TokenizerSettings settings = new TokenizerSettings();
+        settings.addDelimiterPattern(",", false, false, false);
+        settings.addDelimiterPattern("\n", false, false, false);
+        settings.addQuotePattern("\"", "\"");
+        final ParallelFileTokenizer tokenizer = new ParallelFileTokenizer(m_file, StandardCharsets.UTF_8, settings, 4);
+        final List<Split> splits = tokenizer.createSplits(100, null);
+        assertTrue("Expected more than one split: " + splits.size(), splits.size() > 1);
+        String expected = null;
+        try {
+            readSequentially(settings);
+            fail("Expected exception for unclosed quote");
+        } catch (TokenizerException e) {
+            expected = e.getMessage();
+        }
+        assertTrue("Unexpected message: " + expected, expected.contains("In line 201."));
+        try {
+            readInParallel(tokenizer, splits);
+            fail("Expected exception for unclosed quote");
+        } catch (TokenizerException e) {
+            assertEquals(expected, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks that the skipped lines are not part of any split and counted in the line numbers.
+     *
+     * @throws Exception if it fails
+     */
+    @Test
+    public void testSkipFirstLines() throws Exception {
+        write("header \"line\n\"second\n\"third\na,b\nc,d\ne,f\n");
+        final TokenizerSettings settings = csvSettings(true);
+        settings.setSkipFirstLines(3);
+        final ParallelFileTokenizer tokenizer = new ParallelFileTokenizer(m_file, StandardCharsets.UTF_8, settings, 2);
+        final List<Split> splits = tokenizer.createSplits(4, null);
+        assertContiguous(splits, 28, Files.size(m_file));
+        assertEquals("Line number of first split", 4, splits.get(0).getLineNumber());
+        assertEquals(2, splits.size());
+        assertEquals(readSequentially(settings), readInParallel(tokenizer, splits));
+    }
+
+    /**
+     * Settings where a line feed doesn't always end a record must not be split.
+     *
+     * @throws Exception if it fails
+     */
+    @Test
+    public void testNotSplittable() throws Exception {
+        write("a,/* comment\nb */c\nd,e\n");
+        final TokenizerSettings settings = csvSettings(false);
+        settings.addBlockCommentPattern("/*", "*/", false, false);
+        final ParallelFileTokenizer tokenizer = new ParallelFileTokenizer(m_file, StandardCharsets.UTF_8, settings, 2);
+        assertFalse("Block comments can span lines", tokenizer.isSplittable());
+        final List<Split> splits = tokenizer.createSplits(2, null);
+        assertEquals(1, splits.size());
+        assertEquals(readSequentially(settings), readInParallel(tokenizer, splits));
+
+        final ParallelFileTokenizer utf16 =
+            new ParallelFileTokenizer(m_file, StandardCharsets.UTF_16, csvSettings(false), 2);
+        assertFalse("Line feeds aren't single bytes in UTF-16", utf16.isSplittable());
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.ui.node.workflow.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.workflow.ConnectionID;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeUIInformation;
+import org.knime.core.node.workflow.WorkflowAnnotationID;
+import org.knime.core.ui.node.workflow.ConnectionContainerUI;
+
+/**
+ * Batching layer for the operations of an {@link AsyncWorkflowManagerUI} whose implementation talks to a remote
+ * workflow. Operations submitted within a short time window are queued and handed to a {@link Transport} as one batch
+ * (i.e. one round trip), which is expected to apply them as one transaction. The futures returned for the individual
+ * operations are resolved from the batch result.
+ *
+ * Refresh requests are coalesced: all refreshes requested within the same window are sent as a single refresh
+ * (a deep one if any of them was deep) at the end of the batch, i.e. after the mutations of the batch.
+ *
+ * Batches are sent one after the other in the order the operations were submitted.
+ *
+ * The batcher sends its batches on a single thread of its own. The futures of the operations are completed on a
+ * separate completion executor (by default the {@link ForkJoinPool#commonPool() common pool}), so that dependent
+ * stages attached to them neither delay the following batches nor deadlock by waiting for another batch. Within a
+ * batch the futures are completed in the order of the operations.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class AsyncOperationBatcher implements AutoCloseable {
+
+    /** Operation name of {@link #createAndAddNodeAsync(NodeFactory, NodeUIInformation)}. */
+    public static final String OP_CREATE_AND_ADD_NODE = "createAndAddNode";
+
+    /** Operation name of {@link #removeAsync(NodeID[], ConnectionID[], WorkflowAnnotationID[])}. */
+    public static final String OP_REMOVE = "remove";
+
+    /** Operation name of {@link #addConnectionAsync(NodeID, int, NodeID, int, int[]...)}. */
+    public static final String OP_ADD_CONNECTION = "addConnection";
+
+    /** Operation name of {@link #refreshAsync(boolean)}, the only argument is the deep-refresh flag. */
+    public static final String OP_REFRESH = "refresh";
+
+    /** Default time window in milliseconds during which operations are collected into one batch. */
+    public static final long DEFAULT_WINDOW_MILLIS = 20;
+
+    /**
+     * Sends a batch of operations, e.g. to the server hosting the workflow.
+     */
+    @FunctionalInterface
+    public interface Transport {
+
+        /**
+         * Executes the given operations, ideally as one transaction.
+         *
+         * @param operations the operations in the order they need to be executed
+         * @return one result per operation, in the same order
+         * @throws Exception if the batch as a whole failed, all operations are failed with that exception then
+         */
+        List<OperationResult> execute(List<Operation> operations) throws Exception;
+    }
+
+    /**
+     * A queued operation consisting of a name and its arguments.
+     */
+    public static final class Operation {
+
+        private final String m_name;
+
+        private final Object[] m_arguments;
+
+        private final CompletableFuture<Object> m_future = new CompletableFuture<>();
+
+        private Operation(final String name, final Object... arguments) {
+            m_name = name;
+            m_arguments = arguments;
+        }
+
+        /**
+         * @return the operation name, e.g. {@link AsyncOperationBatcher#OP_REMOVE}
+         */
+        public String getName() {
+            return m_name;
+        }
+
+        /**
+         * @return the operation's arguments
+         */
+        public Object[] getArguments() {
+            return m_arguments;
+        }
+
+        @Override
+        public String toString() {
+            return m_name + Arrays.deepToString(m_arguments);
+        }
+    }
+
+    /**
+     * The outcome of a single operation within a batch.
+     */
+    public static final class OperationResult {
+
+        private final Object m_value;
+
+        private final Throwable m_error;
+
+        private OperationResult(final Object value, final Throwable error) {
+            m_value = value;
+            m_error = error;
+        }
+
+        /**
+         * @param value the operation's return value, <code>null</code> for void operations
+         * @return a successful result
+         */
+        public static OperationResult success(final Object value) {
+            return new OperationResult(value, null);
+        }
+
+        /**
+         * @param error the reason the operation failed, e.g. an {@link OperationNotAllowedException}
+         * @return a failed result
+         */
+        public static OperationResult failure(final Throwable error) {
+            return new OperationResult(null, error);
+        }
+
+        /**
+         * @return the return value, <code>null</code> if failed
+         */
+        public Object getValue() {
+            return m_value;
+        }
+
+        /**
+         * @return the error or <code>null</code> if successful
+         */
+        public Throwable getError() {
+            return m_error;
+        }
+    }
+
+    private final Transport m_transport;
+
+    private final long m_windowMillis;
+
+    private final int m_maxBatchSize;
+
+    private final ScheduledExecutorService m_executor;
+
+    private final Executor m_completionExecutor;
+
+    private List<Operation> m_pendingOperations = new ArrayList<>();
+
+    private Operation m_pendingRefresh;
+
+    private ScheduledFuture<?> m_scheduledFlush;
+
+    private boolean m_isClosed;
+
+    /**
+     * Creates a batcher with a window of {@value #DEFAULT_WINDOW_MILLIS}ms and no limit on the batch size.
+     *
+     * @param transport sends the batches
+     */
+    public AsyncOperationBatcher(final Transport transport) {
+        this(transport, DEFAULT_WINDOW_MILLIS, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param transport sends the batches
+     * @param windowMillis the time in milliseconds a batch is kept open after its first operation was submitted
+     * @param maxBatchSize the number of operations after which a batch is sent regardless of the window
+     */
+    public AsyncOperationBatcher(final Transport transport, final long windowMillis, final int maxBatchSize) {
+        this(transport, windowMillis, maxBatchSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param transport sends the batches
+     * @param windowMillis the time in milliseconds a batch is kept open after its first operation was submitted
+     * @param maxBatchSize the number of operations after which a batch is sent regardless of the window
+     * @param completionExecutor completes the futures of the operations, must not be the thread sending the batches
+     */
+    public AsyncOperationBatcher(final Transport transport, final long windowMillis, final int maxBatchSize,
+        final Executor completionExecutor) {
+        if (transport == null || completionExecutor == null) {
+            throw new IllegalArgumentException("Transport and completion executor must not be null");
+        }
+        if (windowMillis < 0 || maxBatchSize < 1) {
+            throw new IllegalArgumentException(
+                "Invalid batch window (" + windowMillis + "ms) or maximum batch size (" + maxBatchSize + ")");
+        }
+        m_transport = transport;
+        m_windowMillis = windowMillis;
+        m_maxBatchSize = maxBatchSize;
+        m_completionExecutor = completionExecutor;
+        m_executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "KNIME-Async-Operation-Batcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Batched version of {@link AsyncWorkflowManagerUI#createAndAddNodeAsync(NodeFactory, NodeUIInformation)}.
+     *
+     * @param factory
+     * @param uiInfo
+     * @return the result as a future
+     */
+    public CompletableFuture<NodeID> createAndAddNodeAsync(final NodeFactory<?> factory,
+        final NodeUIInformation uiInfo) {
+        return submit(OP_CREATE_AND_ADD_NODE, factory, uiInfo);
+    }
+
+    /**
+     * Batched version of {@link AsyncWorkflowManagerUI#removeAsync(NodeID[], ConnectionID[], WorkflowAnnotationID[])}.
+     *
+     * @param nodeIDs
+     * @param connectionIDs
+     * @param annotationIDs
+     * @return void as future - throws a {@link OperationNotAllowedException} if operation couldn't be performed on
+     *         {@link CompletableFutureEx#getOrThrow()}
+     */
+    public CompletableFutureEx<Void, OperationNotAllowedException> removeAsync(final NodeID[] nodeIDs,
+        final ConnectionID[] connectionIDs, final WorkflowAnnotationID[] annotationIDs) {
+        return new CompletableFutureEx<>(submit(OP_REMOVE, nodeIDs, connectionIDs, annotationIDs),
+            OperationNotAllowedException.class);
+    }
+
+    /**
+     * Batched version of {@link AsyncWorkflowManagerUI#addConnectionAsync(NodeID, int, NodeID, int, int[]...)}.
+     *
+     * @param source
+     * @param sourcePort
+     * @param dest
+     * @param destPort
+     * @param bendpoints
+     * @return result as future - throws a {@link OperationNotAllowedException} if operation couldn't be performed on
+     *         {@link CompletableFutureEx#getOrThrow()}
+     */
+    public CompletableFutureEx<ConnectionContainerUI, OperationNotAllowedException> addConnectionAsync(
+        final NodeID source, final int sourcePort, final NodeID dest, final int destPort, final int[]... bendpoints) {
+        return new CompletableFutureEx<>(
+            submit(OP_ADD_CONNECTION, source, sourcePort, dest, destPort, bendpoints),
+            OperationNotAllowedException.class);
+    }
+
+    /**
+     * Batched and coalesced version of {@link AsyncWorkflowManagerUI#refreshAsync(boolean)}. All refreshes requested
+     * before the current batch is sent share the same future.
+     *
+     * @param deepRefresh whether to refresh all contained sub-workflows, too
+     * @return a future for async use
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Void> refreshAsync(final boolean deepRefresh) {
+        synchronized (this) {
+            checkNotClosed();
+            if (m_pendingRefresh == null) {
+                m_pendingRefresh = new Operation(OP_REFRESH, deepRefresh);
+                scheduleFlush(1);
+            } else if (deepRefresh && !(Boolean)m_pendingRefresh.getArguments()[0]) {
+                m_pendingRefresh.getArguments()[0] = Boolean.TRUE;
+            }
+            return (CompletableFuture<Void>)(CompletableFuture<?>)m_pendingRefresh.m_future;
+        }
+    }
+
+    /**
+     * Queues an arbitrary operation to be sent with the next batch.
+     *
+     * @param name the operation name as understood by the {@link Transport}
+     * @param arguments the operation's arguments
+     * @return the future that is resolved from the operation's result in the batch
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(final String name, final Object... arguments) {
+        Operation op = new Operation(name, arguments);
+        synchronized (this) {
+            checkNotClosed();
+            m_pendingOperations.add(op);
+            scheduleFlush(m_pendingOperations.size());
+        }
+        return (CompletableFuture<T>)op.m_future;
+    }
+
+    /**
+     * Sends the pending operations right away instead of waiting for the window to close.
+     *
+     * @return a future that completes once the batch has been sent and its operations' futures are resolved
+     */
+    public synchronized CompletableFuture<Void> flush() {
+        if (m_scheduledFlush != null) {
+            m_scheduledFlush.cancel(false);
+            m_scheduledFlush = null;
+        }
+        return CompletableFuture.supplyAsync(this::sendPendingBatch, m_executor).thenCompose(f -> f);
+    }
+
+    /**
+     * Sends the pending operations and releases the batcher's thread. Operations submitted afterwards are rejected.
+     * The futures of the pending operations are still completed, this method does not wait for that.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (m_isClosed) {
+                return;
+            }
+            flush();
+            m_isClosed = true;
+        }
+        m_executor.shutdown();
+    }
+
+    private void checkNotClosed() {
+        if (m_isClosed) {
+            throw new IllegalStateException("Operation batcher has been closed");
+        }
+    }
+
+    /** Called with the monitor held. */
+    private void scheduleFlush(final int pendingCount) {
+        if (pendingCount >= m_maxBatchSize) {
+            flush();
+        } else if (m_scheduledFlush == null) {
+            m_scheduledFlush = m_executor.schedule(this::sendPendingBatch, m_windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs on the batcher's thread only, hence batches are sent in order.
+     *
+     * @return a future that completes once the futures of the sent operations are resolved
+     */
+    private CompletableFuture<Void> sendPendingBatch() {
+        final List<Operation> batch;
+        synchronized (this) {
+            m_scheduledFlush = null;
+            if (m_pendingOperations.isEmpty() && m_pendingRefresh == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            batch = m_pendingOperations;
+            if (m_pendingRefresh != null) {
+                batch.add(m_pendingRefresh);
+                m_pendingRefresh = null;
+            }
+            m_pendingOperations = new ArrayList<>();
+        }
+        List<OperationResult> results;
+        try {
+            results = m_transport.execute(Collections.unmodifiableList(batch));
+        } catch (Throwable t) {
+            return CompletableFuture.runAsync(() -> batch.forEach(op -> op.m_future.completeExceptionally(t)),
+                m_completionExecutor);
+        }
+        if (results == null || results.size() != batch.size()) {
+            IllegalStateException e = new IllegalStateException("Transport returned "
+                + (results == null ? "no" : Integer.toString(results.size())) + " results for a batch of "
+                + batch.size() + " operations");
+            return CompletableFuture.runAsync(() -> batch.forEach(op -> op.m_future.completeExceptionally(e)),
+                m_completionExecutor);
+        }
+        final List<OperationResult> batchResults = results;
+        return CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < batch.size(); i++) {
+                OperationResult result = batchResults.get(i);
+                if (result.getError() != null) {
+                    batch.get(i).m_future.completeExceptionally(result.getError());
+                } else {
+                    batch.get(i).m_future.complete(result.getValue());
+                }
+            }
+        }, m_completionExecutor);
+    }
+}
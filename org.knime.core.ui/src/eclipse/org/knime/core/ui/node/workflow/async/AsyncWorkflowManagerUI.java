@@ -64,6 +64,9 @@
  *
  * The asynchronous workflow manager also adds methods to refresh the workflow, set a workflow disconnected, etc.
  *
+ * Implementations talking to a remote workflow can delegate the asynchronous operations to an
+ * {@link AsyncOperationBatcher} in order to send operations issued in quick succession in one round trip.
+ *
  * @author Martin Horn, KNIME GmbH, Konstanz, Germany
  *
  * @noimplement This interface is not intended to be implemented by clients.
@@ -0,0 +1,189 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.ui.node.workflow.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.workflow.ConnectionID;
+import org.knime.core.node.workflow.NodeID;
+import org.knime.core.node.workflow.NodeUIInformation;
+import org.knime.core.node.workflow.WorkflowAnnotationID;
+import org.knime.core.ui.node.workflow.WorkflowManagerUI;
+import org.knime.core.ui.node.workflow.async.AsyncOperationBatcher.Operation;
+import org.knime.core.ui.node.workflow.async.AsyncOperationBatcher.OperationResult;
+
+/**
+ * A {@link AsyncOperationBatcher.Transport} that executes the operations of a batch in the current JVM, e.g. on a
+ * local {@link WorkflowManagerUI}. Meant as stand-in for a remote transport in tests; it counts the batches and
+ * operations it received. Unlike a remote transport the batch is not applied as a transaction, operations preceding a
+ * failed one are not rolled back.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class LocalBatchTransport implements AsyncOperationBatcher.Transport {
+
+    /**
+     * Executes a single operation.
+     */
+    @FunctionalInterface
+    public interface OperationHandler {
+
+        /**
+         * @param arguments the operation's arguments
+         * @return the operation's result
+         * @throws Exception if the operation failed
+         */
+        Object execute(Object[] arguments) throws Exception;
+    }
+
+    private final Map<String, OperationHandler> m_handlers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger m_batchCount = new AtomicInteger();
+
+    private final AtomicInteger m_operationCount = new AtomicInteger();
+
+    /**
+     * Creates a transport without any handlers, see {@link #register(String, OperationHandler)}.
+     */
+    public LocalBatchTransport() {
+    }
+
+    /**
+     * Creates a transport that executes the standard operations on the given workflow manager using its synchronous
+     * methods. Refreshes are no-ops.
+     *
+     * @param wfm the workflow to operate on
+     * @return a new transport
+     */
+    public static LocalBatchTransport forWorkflow(final WorkflowManagerUI wfm) {
+        LocalBatchTransport transport = new LocalBatchTransport();
+        transport.register(AsyncOperationBatcher.OP_CREATE_AND_ADD_NODE,
+            args -> wfm.createAndAddNode((NodeFactory<?>)args[0], (NodeUIInformation)args[1]));
+        transport.register(AsyncOperationBatcher.OP_REMOVE, args -> {
+            NodeID[] nodeIDs = (NodeID[])args[0];
+            if (nodeIDs != null) {
+                for (NodeID id : nodeIDs) {
+                    if (!wfm.canRemoveNode(id)) {
+                        throw new OperationNotAllowedException("Node " + id + " can't be removed");
+                    }
+                }
+            }
+            wfm.remove(nodeIDs, (ConnectionID[])args[1], (WorkflowAnnotationID[])args[2]);
+            return null;
+        });
+        transport.register(AsyncOperationBatcher.OP_ADD_CONNECTION, args -> {
+            NodeID source = (NodeID)args[0];
+            int sourcePort = (Integer)args[1];
+            NodeID dest = (NodeID)args[2];
+            int destPort = (Integer)args[3];
+            if (!wfm.canAddConnection(source, sourcePort, dest, destPort)) {
+                throw new OperationNotAllowedException("Connection from " + source + ":" + sourcePort + " to "
+                    + dest + ":" + destPort + " can't be added");
+            }
+            return wfm.addConnection(source, sourcePort, dest, destPort, (int[][])args[4]);
+        });
+        transport.register(AsyncOperationBatcher.OP_REFRESH, args -> null);
+        return transport;
+    }
+
+    /**
+     * Registers (or replaces) the handler of the operations with the given name.
+     *
+     * @param name the operation name
+     * @param handler the handler
+     * @return this
+     */
+    public LocalBatchTransport register(final String name, final OperationHandler handler) {
+        m_handlers.put(name, handler);
+        return this;
+    }
+
+    @Override
+    public List<OperationResult> execute(final List<Operation> operations) {
+        m_batchCount.incrementAndGet();
+        m_operationCount.addAndGet(operations.size());
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        for (Operation op : operations) {
+            OperationHandler handler = m_handlers.get(op.getName());
+            if (handler == null) {
+                results.add(OperationResult
+                    .failure(new UnsupportedOperationException("No handler for operation \"" + op.getName() + "\"")));
+                continue;
+            }
+            try {
+                results.add(OperationResult.success(handler.execute(op.getArguments())));
+            } catch (Exception e) {
+                results.add(OperationResult.failure(e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of batches executed so far
+     */
+    public int getBatchCount() {
+        return m_batchCount.get();
+    }
+
+    /**
+     * @return the number of operations executed so far, coalesced refreshes count once
+     */
+    public int getOperationCount() {
+        return m_operationCount.get();
+    }
+}
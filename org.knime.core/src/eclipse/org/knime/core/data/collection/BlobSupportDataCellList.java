@@ -65,6 +65,7 @@
 import org.knime.core.data.container.BlobDataCell;
 import org.knime.core.data.container.BlobSupportDataRow;
 import org.knime.core.data.container.BlobWrapperDataCell;
+import org.knime.core.data.container.DCObjectOutputVersion2;
 import org.knime.core.node.BufferedDataTable;
 
 /**
@@ -78,6 +79,12 @@
 public class BlobSupportDataCellList
     implements Iterable<DataCell>, Serializable {
 
+    /**
+     * Written instead of the size if the list is serialized as {@link PrimitiveDataCellList}. Versions prior to 3.8
+     * cannot read this layout, see {@link #isCompactLayoutSupported(DataCellDataOutput)}.
+     */
+    static final int COMPACT_MARKER = -1;
+
     /* Fields could all be final, they are assigned also in the readObject
      * method, though. */
 
@@ -99,6 +106,16 @@ protected BlobSupportDataCellList(
         init(coll);
     }
 
+    /**
+     * Creates new instance based on a compact list of primitive or string values.
+     *
+     * @param values The underlying values (not copied).
+     */
+    BlobSupportDataCellList(final PrimitiveDataCellList values) {
+        m_cellList = values;
+        m_elementType = values.getElementType();
+    }
+
     private void init(final Collection<? extends DataCell> coll) {
         ArrayList<DataCell> cellList = new ArrayList<DataCell>(coll.size());
         DataType commonType = null;
@@ -135,7 +152,13 @@ private void init(final Collection<? extends DataCell> coll) {
         } else {
             m_elementType = commonType;
         }
-        m_cellList = cellList;
+        final PrimitiveDataCellList compactList =
+            m_containsBlobWrapperCells ? null : PrimitiveDataCellList.create(cellList);
+        if (compactList != null) {
+            m_cellList = compactList;
+        } else {
+            m_cellList = cellList;
+        }
     }
 
     /**
@@ -225,12 +248,30 @@ public int hashCode() {
     }
 
     /**
-     * Write this object to an output.
+     * Whether the compact layout may be written to the given output. The layout is only known to versions that write
+     * tables of container version 12 (KNIME 3.8) or later, hence it is only written into such tables; any other output
+     * gets the cell based layout as it might be read by a previous version.
+     *
+     * @param output the output to write to
+     * @return <code>true</code> if the output writes a table of a version that supports the compact layout
+     */
+    static boolean isCompactLayoutSupported(final DataCellDataOutput output) {
+        return output instanceof DCObjectOutputVersion2.DCLongUTFDataOutputStream;
+    }
+
+    /**
+     * Write this object to an output. Lists of plain double, int, long or string elements are written in bulk if
+     * the output is a table of a version that supports it.
      *
      * @param output To write to.
      * @throws IOException If that fails.
      */
     public void serialize(final DataCellDataOutput output) throws IOException {
+        if (m_cellList instanceof PrimitiveDataCellList && isCompactLayoutSupported(output)) {
+            output.writeInt(COMPACT_MARKER);
+            ((PrimitiveDataCellList)m_cellList).writeValues(output);
+            return;
+        }
         output.writeInt(size());
         for (DataCell c : m_cellList) {
             output.writeDataCell(c);
@@ -248,6 +289,9 @@ public void serialize(final DataCellDataOutput output) throws IOException {
     public static BlobSupportDataCellList deserialize(
             final DataCellDataInput input) throws IOException {
         int size = input.readInt();
+        if (size == COMPACT_MARKER) {
+            return new BlobSupportDataCellList(PrimitiveDataCellList.readValues(input));
+        }
         if (size < 0) {
             throw new IOException("Invalid size: " + size);
         }
@@ -323,6 +367,10 @@ private void readObject(final ObjectInputStream stream)
     /** Write object method (as described in {@link Serializable} interface). */
     private void writeObject(final ObjectOutputStream stream)
         throws IOException {
-        stream.writeObject(m_cellList);
+        if (m_cellList instanceof PrimitiveDataCellList) {
+            stream.writeObject(new ArrayList<DataCell>(m_cellList));
+        } else {
+            stream.writeObject(m_cellList);
+        }
     }
 }
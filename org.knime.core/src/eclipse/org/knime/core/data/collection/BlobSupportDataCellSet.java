@@ -80,8 +80,15 @@
 public class BlobSupportDataCellSet
     implements Iterable<DataCell>, Serializable {
 
+    /** Written instead of the size if the set is serialized as {@link PrimitiveDataCellList}. */
+    private static final int COMPACT_MARKER = BlobSupportDataCellList.COMPACT_MARKER;
+
+    /** The elements, <code>null</code> if they are kept in {@link #m_compactSet}. */
     private Set<Wrapper> m_set;
 
+    /** The distinct elements in insertion order if they are all plain double, int, long or string cells. */
+    private PrimitiveDataCellList m_compactSet;
+
     private boolean m_containsBlobWrapperCells;
 
     private DataType m_elementType;
@@ -139,6 +146,11 @@ public static BlobSupportDataCellSet create(final DataRow row,
         init(cells);
     }
 
+    private BlobSupportDataCellSet(final PrimitiveDataCellList distinctValues) {
+        m_compactSet = distinctValues;
+        m_elementType = distinctValues.getElementType();
+    }
+
     /**
      * @param cells
      */
@@ -184,7 +196,15 @@ private void init(final Collection<? extends DataCell> cells) {
         } else {
             m_elementType = commonType;
         }
-        m_set = Collections.unmodifiableSet(cellSet);
+        m_compactSet = null;
+        if (!m_containsBlobWrapperCells) {
+            final ArrayList<DataCell> distinctCells = new ArrayList<DataCell>(cellSet.size());
+            for (Wrapper w : cellSet) {
+                distinctCells.add(w.getCell());
+            }
+            m_compactSet = PrimitiveDataCellList.create(distinctCells);
+        }
+        m_set = m_compactSet == null ? Collections.unmodifiableSet(cellSet) : null;
     }
 
     /**
@@ -194,6 +214,9 @@ private void init(final Collection<? extends DataCell> cells) {
      * @return true if the set contains the specified cell.
      */
     public boolean contains(final DataCell cell) {
+        if (m_compactSet != null) {
+            return m_compactSet.containsCell(cell);
+        }
         return m_set.contains(new Wrapper(cell));
     }
 
@@ -202,6 +225,9 @@ public boolean contains(final DataCell cell) {
      */
     @Override
     public Iterator<DataCell> iterator() {
+        if (m_compactSet != null) {
+            return m_compactSet.iterator();
+        }
         return new WrapperIterator(m_set.iterator());
     }
 
@@ -227,17 +253,29 @@ public DataType getElementType() {
      * @return the number of currently stored elements
      */
     public int size() {
-        return m_set.size();
+        return m_compactSet != null ? m_compactSet.size() : m_set.size();
     }
 
     /**
-     * Write this object to an output.
+     * Write this object to an output. Sets of plain double, int, long or string elements are written in bulk if the
+     * output is a table of a version that supports it.
      *
      * @param output To write to.
      * @throws IOException If that fails.
      */
     public void serialize(final DataCellDataOutput output) throws IOException {
+        if (m_compactSet != null && BlobSupportDataCellList.isCompactLayoutSupported(output)) {
+            output.writeInt(COMPACT_MARKER);
+            m_compactSet.writeValues(output);
+            return;
+        }
         output.writeInt(size());
+        if (m_compactSet != null) {
+            for (DataCell c : m_compactSet) {
+                output.writeDataCell(c);
+            }
+            return;
+        }
         for (Wrapper w : m_set) {
             DataCell c = w.getCell();
             output.writeDataCell(c);
@@ -255,6 +293,10 @@ public void serialize(final DataCellDataOutput output) throws IOException {
     public static BlobSupportDataCellSet deserialize(
             final DataCellDataInput input) throws IOException {
         int size = input.readInt();
+        if (size == COMPACT_MARKER) {
+            // values were distinct when written
+            return new BlobSupportDataCellSet(PrimitiveDataCellList.readValues(input));
+        }
         if (size < 0) {
             throw new IOException("Invalid size: " + size);
         }
@@ -270,7 +312,7 @@ public static BlobSupportDataCellSet deserialize(
      */
     @Override
     public String toString() {
-        return m_set.toString();
+        return m_compactSet != null ? m_compactSet.toString() : m_set.toString();
     }
 
     /**
@@ -278,6 +320,14 @@ public String toString() {
      */
     @Override
     public int hashCode() {
+        if (m_compactSet != null) {
+            // same as the hash code of the wrapper set
+            int hash = 0;
+            for (DataCell c : m_compactSet) {
+                hash += c.hashCode();
+            }
+            return hash;
+        }
         return m_set.hashCode();
     }
 
@@ -294,8 +344,21 @@ public boolean equals(final Object obj) {
         }
 
         BlobSupportDataCellSet s = (BlobSupportDataCellSet)obj;
-        return s.getElementType().equals(m_elementType)
-                && s.m_set.equals(m_set);
+        if (!s.getElementType().equals(m_elementType)) {
+            return false;
+        }
+        if (m_set != null && s.m_set != null) {
+            return s.m_set.equals(m_set);
+        }
+        if (s.size() != size()) {
+            return false;
+        }
+        for (DataCell c : s) {
+            if (!contains(c)) {
+                return false;
+            }
+        }
+        return true;
     }
     /*
      * ----------- Serialization methods -------------------------------------
@@ -320,8 +383,12 @@ private void readObject(final ObjectInputStream stream)
     private void writeObject(final ObjectOutputStream stream)
         throws IOException {
         Collection<DataCell> coll = new LinkedHashSet<DataCell>();
-        for (Wrapper w : m_set) {
-            coll.add(w.getCell());
+        if (m_compactSet != null) {
+            coll.addAll(m_compactSet);
+        } else {
+            for (Wrapper w : m_set) {
+                coll.add(w.getCell());
+            }
         }
         stream.writeObject(coll);
     }
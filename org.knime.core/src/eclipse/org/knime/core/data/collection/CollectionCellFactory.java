@@ -53,6 +53,10 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.container.BlobSupportDataRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
 import org.knime.core.node.BufferedDataTable;
 
 import java.util.ArrayList;
@@ -107,6 +111,59 @@ public static ListCell createListCell(final DataRow row, final int[] cols) {
         return new ListCell(l);
     }
 
+    /**
+     * Creates a new {@link ListCell} of {@link DoubleCell} elements. The values are kept in a single array rather
+     * than as individual cells, which is also what the other factory methods do for lists consisting only of
+     * (non-missing) double, int, long or string cells.
+     *
+     * @param values The list elements (not copied, must not be modified afterwards).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @since 3.8
+     */
+    public static ListCell createDoubleListCell(final double[] values) {
+        return new ListCell(new BlobSupportDataCellList(PrimitiveDataCellList.ofDoubles(values)));
+    }
+
+    /**
+     * Creates a new {@link ListCell} of {@link IntCell} elements backed by a single array.
+     *
+     * @param values The list elements (not copied, must not be modified afterwards).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @see #createDoubleListCell(double[])
+     * @since 3.8
+     */
+    public static ListCell createIntListCell(final int[] values) {
+        return new ListCell(new BlobSupportDataCellList(PrimitiveDataCellList.ofInts(values)));
+    }
+
+    /**
+     * Creates a new {@link ListCell} of {@link LongCell} elements backed by a single array.
+     *
+     * @param values The list elements (not copied, must not be modified afterwards).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null.
+     * @see #createDoubleListCell(double[])
+     * @since 3.8
+     */
+    public static ListCell createLongListCell(final long[] values) {
+        return new ListCell(new BlobSupportDataCellList(PrimitiveDataCellList.ofLongs(values)));
+    }
+
+    /**
+     * Creates a new {@link ListCell} of {@link StringCell} elements backed by a single array.
+     *
+     * @param values The list elements (not copied, must not be modified afterwards).
+     * @return A newly created {@link ListCell}.
+     * @throws NullPointerException If the argument is null or contains null values.
+     * @see #createDoubleListCell(double[])
+     * @since 3.8
+     */
+    public static ListCell createStringListCell(final String[] values) {
+        return new ListCell(new BlobSupportDataCellList(PrimitiveDataCellList.ofStrings(values)));
+    }
+
     /**
      * Creates a new {@link ListCell} based on selected cells from a
      * {@link DataRow}. This method will check if the row is returned by
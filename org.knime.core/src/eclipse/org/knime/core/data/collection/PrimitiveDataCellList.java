@@ -0,0 +1,511 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.collection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Read-only list of {@link DataCell} that keeps the values of {@link DoubleCell}, {@link IntCell}, {@link LongCell}
+ * or {@link StringCell} elements in a single array rather than as individual cell objects. Cells are created on the
+ * fly when an element is accessed. Used by {@link BlobSupportDataCellList} and {@link BlobSupportDataCellSet} if all
+ * elements are of one of these (exact) cell classes and none is missing.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+abstract class PrimitiveDataCellList extends AbstractList<DataCell> implements RandomAccess {
+
+    private static final byte KIND_DOUBLE = 0;
+
+    private static final byte KIND_INT = 1;
+
+    private static final byte KIND_LONG = 2;
+
+    private static final byte KIND_STRING = 3;
+
+    /** Permutation of the element indices in ascending value order, created lazily by {@link #containsCell(DataCell)}. */
+    private volatile int[] m_sortedIndices;
+
+    /**
+     * Creates a compact copy of the given cells.
+     *
+     * @param cells the cells to copy
+     * @return the compact list or <code>null</code> if the cells are empty, contain missing cells or cells of other
+     *         or mixed classes
+     */
+    static PrimitiveDataCellList create(final List<? extends DataCell> cells) {
+        if (cells.isEmpty()) {
+            return null;
+        }
+        final Class<? extends DataCell> cellClass = cells.get(0).getClass();
+        if (cellClass != DoubleCell.class && cellClass != IntCell.class && cellClass != LongCell.class
+            && cellClass != StringCell.class) {
+            return null;
+        }
+        for (final DataCell c : cells) {
+            if (c.getClass() != cellClass) {
+                return null;
+            }
+        }
+        final int size = cells.size();
+        if (cellClass == DoubleCell.class) {
+            final double[] values = new double[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = ((DoubleCell)cells.get(i)).getDoubleValue();
+            }
+            return new DoubleList(values);
+        } else if (cellClass == IntCell.class) {
+            final int[] values = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = ((IntCell)cells.get(i)).getIntValue();
+            }
+            return new IntList(values);
+        } else if (cellClass == LongCell.class) {
+            final long[] values = new long[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = ((LongCell)cells.get(i)).getLongValue();
+            }
+            return new LongList(values);
+        } else {
+            final String[] values = new String[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = ((StringCell)cells.get(i)).getStringValue();
+            }
+            return new StringList(values);
+        }
+    }
+
+    /**
+     * @param values the values, not copied
+     * @return a list backed by the given array
+     */
+    static PrimitiveDataCellList ofDoubles(final double[] values) {
+        return new DoubleList(values);
+    }
+
+    /**
+     * @param values the values, not copied
+     * @return a list backed by the given array
+     */
+    static PrimitiveDataCellList ofInts(final int[] values) {
+        return new IntList(values);
+    }
+
+    /**
+     * @param values the values, not copied
+     * @return a list backed by the given array
+     */
+    static PrimitiveDataCellList ofLongs(final long[] values) {
+        return new LongList(values);
+    }
+
+    /**
+     * @param values the values, not copied
+     * @return a list backed by the given array
+     * @throws NullPointerException if any of the values is <code>null</code>
+     */
+    static PrimitiveDataCellList ofStrings(final String[] values) {
+        for (final String s : values) {
+            if (s == null) {
+                throw new NullPointerException("List element must not be null");
+            }
+        }
+        return new StringList(values);
+    }
+
+    /**
+     * Reads a list previously written by {@link #writeValues(DataOutput)}.
+     *
+     * @param input to read from
+     * @return the list
+     * @throws IOException if reading fails or the stream is corrupt
+     */
+    static PrimitiveDataCellList readValues(final DataInput input) throws IOException {
+        final byte kind = input.readByte();
+        final int size = input.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid size: " + size);
+        }
+        switch (kind) {
+            case KIND_DOUBLE:
+                final double[] doubles = new double[size];
+                for (int i = 0; i < size; i++) {
+                    doubles[i] = input.readDouble();
+                }
+                return new DoubleList(doubles);
+            case KIND_INT:
+                final int[] ints = new int[size];
+                for (int i = 0; i < size; i++) {
+                    ints[i] = input.readInt();
+                }
+                return new IntList(ints);
+            case KIND_LONG:
+                final long[] longs = new long[size];
+                for (int i = 0; i < size; i++) {
+                    longs[i] = input.readLong();
+                }
+                return new LongList(longs);
+            case KIND_STRING:
+                final String[] strings = new String[size];
+                for (int i = 0; i < size; i++) {
+                    strings[i] = input.readUTF();
+                }
+                return new StringList(strings);
+            default:
+                throw new IOException("Unknown element kind: " + kind);
+        }
+    }
+
+    /**
+     * Writes the element kind, the size and all values of this list.
+     *
+     * @param output to write to
+     * @throws IOException if writing fails
+     */
+    final void writeValues(final DataOutput output) throws IOException {
+        output.writeByte(getKind());
+        output.writeInt(size());
+        writeValuesInternal(output);
+    }
+
+    /** @return the type of all elements in this list */
+    abstract DataType getElementType();
+
+    abstract byte getKind();
+
+    abstract void writeValuesInternal(DataOutput output) throws IOException;
+
+    /** @return the exact class of the cells created by {@link #get(int)} */
+    abstract Class<? extends DataCell> getCellClass();
+
+    /**
+     * Compares two elements of this list, consistent with {@link DataCell#equals(Object)} of the elements.
+     *
+     * @param i index of the first element
+     * @param j index of the second element
+     * @return a negative number, zero, or a positive number
+     */
+    abstract int compareElements(int i, int j);
+
+    /**
+     * Compares an element of this list with a cell of class {@link #getCellClass()}.
+     *
+     * @param i index of the element
+     * @param cell the cell to compare to
+     * @return a negative number, zero, or a positive number
+     */
+    abstract int compareElement(int i, DataCell cell);
+
+    /**
+     * Checks whether the given cell is an element of this list. Uses a binary search on a lazily sorted index for
+     * cells of the element class and compares element by element otherwise. Meant for lists queried repeatedly, such
+     * as the elements of a set.
+     *
+     * @param cell the cell to look for
+     * @return <code>true</code> if an equal element exists
+     */
+    final boolean containsCell(final DataCell cell) {
+        if (cell.getClass() != getCellClass()) {
+            return contains(cell);
+        }
+        final int[] sorted = getSortedIndices();
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = compareElement(sorted[mid], cell);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] getSortedIndices() {
+        int[] sorted = m_sortedIndices;
+        if (sorted == null) {
+            sorted = IntStream.range(0, size()).boxed().sorted(this::compareElements).mapToInt(Integer::intValue)
+                .toArray();
+            m_sortedIndices = sorted;
+        }
+        return sorted;
+    }
+
+    private static int compareDoubles(final double a, final double b) {
+        // like DoubleCell#equalsDataCell: NaN equals NaN and 0.0 equals -0.0
+        if (a < b) {
+            return -1;
+        } else if (a > b) {
+            return 1;
+        } else if (a == b) {
+            return 0;
+        }
+        return Boolean.compare(Double.isNaN(a), Double.isNaN(b));
+    }
+
+    private static final class DoubleList extends PrimitiveDataCellList {
+
+        private final double[] m_values;
+
+        private DoubleList(final double[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return new DoubleCell(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return DoubleCell.TYPE;
+        }
+
+        @Override
+        byte getKind() {
+            return KIND_DOUBLE;
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return DoubleCell.class;
+        }
+
+        @Override
+        void writeValuesInternal(final DataOutput output) throws IOException {
+            for (final double d : m_values) {
+                output.writeDouble(d);
+            }
+        }
+
+        @Override
+        int compareElements(final int i, final int j) {
+            return compareDoubles(m_values[i], m_values[j]);
+        }
+
+        @Override
+        int compareElement(final int i, final DataCell cell) {
+            return compareDoubles(m_values[i], ((DoubleCell)cell).getDoubleValue());
+        }
+    }
+
+    private static final class IntList extends PrimitiveDataCellList {
+
+        private final int[] m_values;
+
+        private IntList(final int[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return new IntCell(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return IntCell.TYPE;
+        }
+
+        @Override
+        byte getKind() {
+            return KIND_INT;
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return IntCell.class;
+        }
+
+        @Override
+        void writeValuesInternal(final DataOutput output) throws IOException {
+            for (final int v : m_values) {
+                output.writeInt(v);
+            }
+        }
+
+        @Override
+        int compareElements(final int i, final int j) {
+            return Integer.compare(m_values[i], m_values[j]);
+        }
+
+        @Override
+        int compareElement(final int i, final DataCell cell) {
+            return Integer.compare(m_values[i], ((IntCell)cell).getIntValue());
+        }
+    }
+
+    private static final class LongList extends PrimitiveDataCellList {
+
+        private final long[] m_values;
+
+        private LongList(final long[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return new LongCell(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return LongCell.TYPE;
+        }
+
+        @Override
+        byte getKind() {
+            return KIND_LONG;
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return LongCell.class;
+        }
+
+        @Override
+        void writeValuesInternal(final DataOutput output) throws IOException {
+            for (final long v : m_values) {
+                output.writeLong(v);
+            }
+        }
+
+        @Override
+        int compareElements(final int i, final int j) {
+            return Long.compare(m_values[i], m_values[j]);
+        }
+
+        @Override
+        int compareElement(final int i, final DataCell cell) {
+            return Long.compare(m_values[i], ((LongCell)cell).getLongValue());
+        }
+    }
+
+    private static final class StringList extends PrimitiveDataCellList {
+
+        private final String[] m_values;
+
+        private StringList(final String[] values) {
+            m_values = values;
+        }
+
+        @Override
+        public DataCell get(final int index) {
+            return new StringCell(m_values[index]);
+        }
+
+        @Override
+        public int size() {
+            return m_values.length;
+        }
+
+        @Override
+        DataType getElementType() {
+            return StringCell.TYPE;
+        }
+
+        @Override
+        byte getKind() {
+            return KIND_STRING;
+        }
+
+        @Override
+        Class<? extends DataCell> getCellClass() {
+            return StringCell.class;
+        }
+
+        @Override
+        void writeValuesInternal(final DataOutput output) throws IOException {
+            for (final String s : m_values) {
+                output.writeUTF(s);
+            }
+        }
+
+        @Override
+        int compareElements(final int i, final int j) {
+            return m_values[i].compareTo(m_values[j]);
+        }
+
+        @Override
+        int compareElement(final int i, final DataCell cell) {
+            return m_values[i].compareTo(((StringCell)cell).getStringValue());
+        }
+    }
+}
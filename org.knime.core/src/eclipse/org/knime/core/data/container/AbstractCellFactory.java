@@ -49,7 +49,9 @@
 
 import java.util.Arrays;
 
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.filestore.FileStoreFactory;
 import org.knime.core.node.BufferedDataTable.KnowsRowCountTable;
@@ -73,6 +75,7 @@ public abstract class AbstractCellFactory implements CellFactory {
 
     private int m_maxParallelWorkers = -1;
     private int m_maxQueueSize = -1;
+    private int m_batchSize = -1;
 
     /** True if the deprecatd {@link #setProgress(int, int, RowKey, ExecutionMonitor)} method is overridden. If so,
      * it will be called by the default implementation of the (new) setProgress method. */
@@ -226,6 +229,42 @@ public final int getMaxQueueSize() {
         return m_maxQueueSize;
     }
 
+    /** Enables or disables batch processing. If enabled, the framework collects chunks of the given number of rows
+     * and calls {@link #getCells(DataRow[])} once per chunk instead of {@link #getCells(DataRow)} once per row. If
+     * parallel processing is enabled as well, entire chunks (rather than individual rows) are handed to the parallel
+     * workers. This reduces the per-row scheduling overhead for factories whose row computation is cheap.
+     * @param batchSize The number of rows per chunk or a value &lt;= 0 to disable batch processing.
+     * @since 3.8
+     */
+    public final void setBatchSize(final int batchSize) {
+        m_batchSize = batchSize > 0 ? batchSize : -1;
+    }
+
+    /** The number of rows per chunk if batch processing is enabled, otherwise -1.
+     * See {@link #setBatchSize(int)}.
+     * @return The chunk size or -1.
+     * @since 3.8 */
+    public final int getBatchSize() {
+        return m_batchSize;
+    }
+
+    /** Computes the new cells for a chunk of consecutive input rows. Only called if batch processing is enabled (see
+     * {@link #setBatchSize(int)}). The default implementation calls {@link #getCells(DataRow)} for each row;
+     * subclasses may override it to, e.g., evaluate a compiled expression on the whole chunk. If parallel processing is
+     * enabled this method is called concurrently for different chunks.
+     * @param rows The input rows of the chunk (in table order), not empty.
+     * @return The new cells for each row, i.e. an array of the same length as the argument whose elements follow the
+     * contract of {@link #getCells(DataRow)}.
+     * @since 3.8
+     */
+    public DataCell[][] getCells(final DataRow[] rows) {
+        DataCell[][] result = new DataCell[rows.length][];
+        for (int i = 0; i < rows.length; i++) {
+            result[i] = getCells(rows[i]);
+        }
+        return result;
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataColumnSpec[] getColumnSpecs() {
@@ -0,0 +1,345 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.knime.core.data.container.BlobDataCell.BlobAddress;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * A process-wide cache for {@link BlobDataCell} that were restored from disk. It replaces the former per-buffer LRU
+ * cache that was limited to 100 soft-referenced entries, irrespective of the size of the blobs.
+ *
+ * <p>
+ * The cache is bounded by the (estimated) number of bytes held, not by the number of entries. The weight of an entry
+ * is the size of the blob file it was read from. Blobs that exceed a fraction of the total capacity are not cached at
+ * all. Entries are strongly referenced, i.e. the memory consumption is predictable and large blobs are not kept alive
+ * until the next full garbage collection. Lookups are lock-free; eviction removes the least recently used entries
+ * until the cache is below its low watermark.
+ *
+ * <p>
+ * Entries are keyed by the {@link BlobAddress} and an identifier of the owning {@link Buffer} (buffer IDs are only
+ * unique within one workflow, so the address alone is ambiguous in a process-wide cache).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class BlobCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(BlobCache.class);
+
+    /** Default capacity in MB, see {@link KNIMEConstants#PROPERTY_BLOB_CACHE_SIZE_IN_MB}. */
+    static final int DEF_BLOB_CACHE_SIZE_IN_MB = 64;
+
+    /** Entries larger than capacity divided by this number are not cached. */
+    private static final int MAX_ENTRY_FRACTION = 4;
+
+    /** Eviction shrinks the cache to this percentage of its capacity (avoids evicting on each put). */
+    private static final int LOW_WATERMARK_PERCENT = 80;
+
+    /** Minimum weight of an entry in bytes, accounts for the object overhead of small blobs. */
+    private static final long MIN_ENTRY_WEIGHT = 1024L;
+
+    /** The time (in seconds) that has to pass at least in between the logging of statistics. */
+    private static final int STATISTICS_OUTPUT_INTERVAL = 300;
+
+    private static final BlobCache INSTANCE = new BlobCache(readCapacityFromProperty());
+
+    private final Map<BlobCacheKey, BlobCacheEntry> m_map = new ConcurrentHashMap<>();
+
+    private final long m_capacityInBytes;
+
+    private final AtomicLong m_weightInBytes = new AtomicLong();
+
+    /** Logical clock used to order entries by recent access. */
+    private final AtomicLong m_accessClock = new AtomicLong();
+
+    /** Only one thread evicts at a time, others continue without waiting. */
+    private final ReentrantLock m_evictionLock = new ReentrantLock();
+
+    /** Counters for instrumentation / statistics. */
+    private final AtomicLong m_nHits = new AtomicLong();
+
+    private final AtomicLong m_nMisses = new AtomicLong();
+
+    private final AtomicLong m_nEvictions = new AtomicLong();
+
+    private final AtomicLong m_nRejected = new AtomicLong();
+
+    private volatile long m_timeOfLastLog = System.currentTimeMillis();
+
+    /**
+     * @param capacityInBytes maximum (estimated) number of bytes held in the cache, 0 to disable the cache.
+     */
+    BlobCache(final long capacityInBytes) {
+        CheckUtils.checkArgument(capacityInBytes >= 0, "Capacity must not be negative: %d", capacityInBytes);
+        m_capacityInBytes = capacityInBytes;
+    }
+
+    /** @return the process-wide instance used by all {@link Buffer} objects. */
+    static BlobCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static long readCapacityFromProperty() {
+        long sizeInMB = DEF_BLOB_CACHE_SIZE_IN_MB;
+        String prop = System.getProperty(KNIMEConstants.PROPERTY_BLOB_CACHE_SIZE_IN_MB);
+        if (prop != null) {
+            try {
+                long newSize = Long.parseLong(prop.trim());
+                if (newSize < 0) {
+                    throw new NumberFormatException("blob cache size < 0: " + newSize);
+                }
+                sizeInMB = newSize;
+                LOGGER.debug("Setting blob cache size to " + sizeInMB + "MB");
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Unable to parse property \"" + KNIMEConstants.PROPERTY_BLOB_CACHE_SIZE_IN_MB
+                    + "\", using default (" + DEF_BLOB_CACHE_SIZE_IN_MB + "MB)", e);
+            }
+        }
+        return sizeInMB * 1024L * 1024L;
+    }
+
+    /**
+     * Get a cached blob.
+     *
+     * @param ownerID the process-wide unique blob cache ID of the {@link Buffer} owning the blob
+     * @param address the address of the blob
+     * @return the cached blob or <code>null</code> if not in the cache
+     */
+    BlobDataCell get(final long ownerID, final BlobAddress address) {
+        final BlobCacheEntry entry = m_map.get(new BlobCacheKey(ownerID, address));
+        if (entry == null) {
+            m_nMisses.incrementAndGet();
+            logStatistics();
+            return null;
+        }
+        entry.m_lastAccess = m_accessClock.incrementAndGet();
+        m_nHits.incrementAndGet();
+        return entry.m_cell;
+    }
+
+    /**
+     * Adds a blob to the cache, possibly evicting least recently used entries.
+     *
+     * @param ownerID the process-wide unique blob cache ID of the {@link Buffer} owning the blob
+     * @param address the address of the blob
+     * @param cell the blob
+     * @param sizeInBytes the estimated size of the blob, e.g. the size of the blob file
+     */
+    void put(final long ownerID, final BlobAddress address, final BlobDataCell cell, final long sizeInBytes) {
+        final long weight = Math.max(sizeInBytes, MIN_ENTRY_WEIGHT);
+        if (weight > m_capacityInBytes / MAX_ENTRY_FRACTION) {
+            m_nRejected.incrementAndGet();
+            return;
+        }
+        final BlobCacheEntry entry = new BlobCacheEntry(cell, weight, m_accessClock.incrementAndGet());
+        final BlobCacheEntry previous = m_map.put(new BlobCacheKey(ownerID, address), entry);
+        long newWeight = m_weightInBytes.addAndGet(weight - (previous != null ? previous.m_weight : 0L));
+        if (newWeight > m_capacityInBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes all blobs owned by a buffer, called when the buffer is cleared.
+     *
+     * @param ownerID the process-wide unique blob cache ID of the {@link Buffer}
+     */
+    void invalidate(final long ownerID) {
+        m_map.entrySet().removeIf(e -> {
+            if (e.getKey().m_ownerID == ownerID) {
+                m_weightInBytes.addAndGet(-e.getValue().m_weight);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /** Removes all entries (statistics are retained). */
+    void clear() {
+        m_map.keySet().forEach(k -> {
+            BlobCacheEntry e = m_map.remove(k);
+            if (e != null) {
+                m_weightInBytes.addAndGet(-e.m_weight);
+            }
+        });
+    }
+
+    private void evict() {
+        if (!m_evictionLock.tryLock()) {
+            return; // some other thread is evicting already
+        }
+        try {
+            final long lowWatermark = m_capacityInBytes * LOW_WATERMARK_PERCENT / 100;
+            if (m_weightInBytes.get() <= m_capacityInBytes) {
+                return;
+            }
+            List<Map.Entry<BlobCacheKey, BlobCacheEntry>> entries = new ArrayList<>(m_map.entrySet());
+            entries.sort(Comparator.comparingLong(e -> e.getValue().m_lastAccess));
+            for (Map.Entry<BlobCacheKey, BlobCacheEntry> e : entries) {
+                if (m_weightInBytes.get() <= lowWatermark) {
+                    break;
+                }
+                if (m_map.remove(e.getKey(), e.getValue())) {
+                    m_weightInBytes.addAndGet(-e.getValue().m_weight);
+                    m_nEvictions.incrementAndGet();
+                }
+            }
+        } finally {
+            m_evictionLock.unlock();
+        }
+    }
+
+    private void logStatistics() {
+        final long time = System.currentTimeMillis();
+        if ((time - m_timeOfLastLog) / 1000 >= STATISTICS_OUTPUT_INTERVAL) {
+            m_timeOfLastLog = time;
+            LOGGER.debug("KNIME blob cache statistics:");
+            LOGGER.debugWithFormat("\t%d blobs currently held in cache (%d of %d bytes)", size(), getWeightInBytes(),
+                m_capacityInBytes);
+            LOGGER.debugWithFormat("\t%d cache hits", getHitCount());
+            LOGGER.debugWithFormat("\t%d cache misses", getMissCount());
+            LOGGER.debugWithFormat("\t%d blobs evicted", getEvictionCount());
+            LOGGER.debugWithFormat("\t%d blobs rejected (too large)", getRejectedCount());
+        }
+    }
+
+    /** @return the maximum (estimated) number of bytes held in the cache. */
+    long getCapacityInBytes() {
+        return m_capacityInBytes;
+    }
+
+    /** @return the (estimated) number of bytes currently held in the cache. */
+    long getWeightInBytes() {
+        return m_weightInBytes.get();
+    }
+
+    /** @return number of blobs currently held in the cache. */
+    int size() {
+        return m_map.size();
+    }
+
+    /** @return number of successful lookups. */
+    long getHitCount() {
+        return m_nHits.get();
+    }
+
+    /** @return number of lookups that did not find a cached blob. */
+    long getMissCount() {
+        return m_nMisses.get();
+    }
+
+    /** @return number of blobs removed to make room for new blobs. */
+    long getEvictionCount() {
+        return m_nEvictions.get();
+    }
+
+    /** @return number of blobs not added to the cache because they were too large. */
+    long getRejectedCount() {
+        return m_nRejected.get();
+    }
+
+    /** Cache key, the blob address plus the identity of the owning buffer. */
+    private static final class BlobCacheKey {
+
+        private final long m_ownerID;
+
+        private final BlobAddress m_address;
+
+        BlobCacheKey(final long ownerID, final BlobAddress address) {
+            m_ownerID = ownerID;
+            m_address = CheckUtils.checkArgumentNotNull(address);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(m_ownerID) + m_address.hashCode();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof BlobCacheKey)) {
+                return false;
+            }
+            BlobCacheKey other = (BlobCacheKey)obj;
+            return other.m_ownerID == m_ownerID && other.m_address.equals(m_address);
+        }
+    }
+
+    /** Cache value, the blob plus its weight and a time stamp of the last access. */
+    private static final class BlobCacheEntry {
+
+        private final BlobDataCell m_cell;
+
+        private final long m_weight;
+
+        private volatile long m_lastAccess;
+
+        BlobCacheEntry(final BlobDataCell cell, final long weight, final long lastAccess) {
+            m_cell = cell;
+            m_weight = weight;
+            m_lastAccess = lastAccess;
+        }
+    }
+
+}
@@ -56,7 +56,6 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.text.NumberFormat;
@@ -66,10 +65,8 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
@@ -83,6 +80,7 @@
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
@@ -263,10 +261,10 @@ public class Buffer implements KNIMEStreamConstants {
     private static final String CFG_SIZE_L = "table.size.long";
 
     /** Current version string. */
-    public static final String VERSION = "container_11";
+    public static final String VERSION = "container_12";
 
     /** The version number corresponding to {@link #VERSION}. */
-    public static final int IVERSION = 11;
+    public static final int IVERSION = 12;
 
     private static final HashMap<String, Integer> COMPATIBILITY_MAP;
 
@@ -282,7 +280,8 @@ public class Buffer implements KNIMEStreamConstants {
         COMPATIBILITY_MAP.put("container_8", 8); // version 2.0.1
         COMPATIBILITY_MAP.put("container_9", 9); // never released - some workflow tests contain it (BW used a nightly)
         COMPATIBILITY_MAP.put("container_10", 10); // version 3.6 (multiple table formats)
-        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.7 - add FileStoreCell support for multiple FileStores
+        COMPATIBILITY_MAP.put("container_11", 11); // version 3.7 - add FileStoreCell support for multiple FileStores
+        COMPATIBILITY_MAP.put(VERSION, IVERSION); // version 3.8 - bulk serialization of primitive collection cells
         // NOTE consider to also
         // - increment the workflow.knime version number when updating this list
         // - update list in NoKeyBuffer
@@ -379,11 +378,23 @@ public Thread newThread(final Runnable r) {
     });
 
     /**
-     * Hash used to reduce the overhead of reading a blob cell over and over again. Useful in cases where a blob is
+     * Cache used to reduce the overhead of reading a blob cell over and over again. Useful in cases where a blob is
      * added multiple times to a table... the iterator will read the blob address, treat it as unseen and then ask the
-     * owning Buffer to restore the blob.
+     * owning Buffer to restore the blob. The cache is shared by all buffers and bounded by bytes.
      */
-    private final BlobLRUCache m_blobLRUCache = new BlobLRUCache();
+    private static final BlobCache BLOB_CACHE = BlobCache.getInstance();
+
+    /** Generator for {@link #m_blobCacheID}. */
+    private static final AtomicLong BLOB_CACHE_ID_GENERATOR = new AtomicLong();
+
+    /** Identifies this buffer in the {@link #BLOB_CACHE} (buffer IDs are not unique across workflows). */
+    private final long m_blobCacheID = BLOB_CACHE_ID_GENERATOR.incrementAndGet();
+
+    /** The size of the temp file is reported to the temp storage account every that many rows (minus 1). */
+    private static final long TEMP_STORAGE_UPDATE_MASK = (1 << 10) - 1;
+
+    /** Accounts the temp file of buffers created for writing, null for buffers read from a file. */
+    private TempStorageManager.Account m_tempStorageAccount;
 
     static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         @SuppressWarnings("unchecked")
@@ -580,6 +591,7 @@ static boolean isUseCompressionForBlobs(final CellClassInfo cellClassInfo) {
         m_dataRepository = dataRepository;
         m_spec = spec;
         m_outputFormat = m_bufferSettings.getOutputFormat(m_spec);
+        m_tempStorageAccount = TempStorageManager.getInstance().createAccount();
         BufferTracker.getInstance().bufferCreated(this);
     }
 
@@ -728,6 +740,9 @@ synchronized void addRow(final DataRow r, final boolean isCopyOfExisting, final
                 flushBuffer();
                 m_outputWriter.writeRow(row);
             }
+            if (m_flushedToDisk && (m_size & TEMP_STORAGE_UPDATE_MASK) == 0) {
+                updateTempStorageUsage();
+            }
         } catch (Exception e) {
             if (!(e instanceof IOException)) {
                 LOGGER.coding("Writing cells to temporary buffer must not throw " + e.getClass().getSimpleName(), e);
@@ -1070,9 +1085,20 @@ private boolean mustBeFlushedPriorSave(final DataCell cell, final boolean isWrap
         return false;
     }
 
+    /** Reports the current size of the temp file to the {@link TempStorageManager}.
+     * @throws IOException If a temp storage quota is exceeded */
+    private void updateTempStorageUsage() throws IOException {
+        if (m_tempStorageAccount != null && m_hasTempFile && m_binFile != null) {
+            m_tempStorageAccount.setBytes(m_binFile.length());
+        }
+    }
+
     /** Creates temp file (m_binFile) and adds this buffer to shutdown hook. */
     private void ensureTempFileExists() throws IOException {
         if (m_binFile == null) {
+            if (m_tempStorageAccount != null) {
+                m_tempStorageAccount.checkQuotas();
+            }
             m_binFile = DataContainer.createTempFile(m_outputFormat.getFilenameSuffix());
             OPENBUFFERS.add(new WeakReference<Buffer>(this));
         }
@@ -1135,9 +1161,9 @@ private void closeWriterAndWriteMeta() {
             m_outputWriter.writeMetaInfoAfterWrite(formatSettings);
             m_formatSettings = formatSettings;
             if (m_hasTempFile) {
-                double sizeInMB = m_binFile.length() / (double)(1 << 20);
-                String size = NumberFormat.getInstance().format(sizeInMB);
-                LOGGER.debug("Buffer file (" + m_binFile.getAbsolutePath() + ") is " + size + "MB in size");
+                updateTempStorageUsage();
+                LOGGER.debugLazy(() -> "Buffer file (" + m_binFile.getAbsolutePath() + ") is "
+                    + NumberFormat.getInstance().format(m_binFile.length() / (double)(1 << 20)) + "MB in size");
                 initOutputReader(formatSettings, IVERSION);
             }
         } catch (IOException ioe) {
@@ -1369,8 +1395,7 @@ BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellClassInfo
             Buffer blobBuffer = cnTbl.getBuffer();
             return blobBuffer.readBlobDataCell(blobAddress, cl);
         }
-        SoftReference<BlobDataCell> softRef = m_blobLRUCache.get(blobAddress);
-        BlobDataCell result = softRef != null ? softRef.get() : null;
+        BlobDataCell result = BLOB_CACHE.get(m_blobCacheID, blobAddress);
         if (result != null) {
             return result;
         }
@@ -1379,7 +1404,10 @@ BlobDataCell readBlobDataCell(final BlobAddress blobAddress, final CellClassInfo
         } else {
             result = BufferFromFileIteratorVersion20.readBlobDataCell(blobAddress, cl, this);
         }
-        m_blobLRUCache.put(blobAddress, new SoftReference<BlobDataCell>(result));
+        // the size of the blob file serves as estimate for the memory footprint of the cell
+        File blobFile = getBlobFile(blobAddress.getIndexOfBlobInColumn(), blobAddress.getColumn(), false,
+            blobAddress.isUseCompression());
+        BLOB_CACHE.put(m_blobCacheID, blobAddress, result, blobFile.length());
         return result;
     }
 
@@ -1756,8 +1784,9 @@ synchronized void clear() {
         if (m_fileStoreHandler instanceof NotInWorkflowWriteFileStoreHandler) {
             m_fileStoreHandler.clearAndDispose();
         }
-        if (m_blobLRUCache != null) {
-            m_blobLRUCache.clear();
+        BLOB_CACHE.invalidate(m_blobCacheID);
+        if (m_tempStorageAccount != null) {
+            m_tempStorageAccount.release();
         }
         m_binFile = null;
         m_blobDir = null;
@@ -1825,35 +1854,6 @@ synchronized void flushBuffer() {
         }
     }
 
-    /** Last recently used cache for blobs. */
-    private static final class BlobLRUCache extends LinkedHashMap<BlobAddress, SoftReference<BlobDataCell>> {
-
-        /** Default constructor, instructs for access order. */
-        BlobLRUCache() {
-            super(16, 0.75f, true); // args copied from HashMap implementation
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        protected synchronized boolean removeEldestEntry(final Entry<BlobAddress, SoftReference<BlobDataCell>> eldest) {
-            return size() >= 100;
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public synchronized SoftReference<BlobDataCell> get(final Object key) {
-            return super.get(key);
-        }
-
-        /** {@inheritDoc} */
-        @Override
-        public synchronized SoftReference<BlobDataCell> put(final BlobAddress key,
-                                                            final SoftReference<BlobDataCell> value) {
-            return super.put(key, value);
-        }
-
-    }
-
     /**
      * The BackIntoMemoryIterator holds lists of datarows read from a file. It is strongly referenced only by the
      * FromListIterators and is only weak-referenced in the outer Buffer class. This way, we make sure that the
@@ -287,8 +287,17 @@ public static ConcatenateTable create(final ExecutionMonitor mon, final Buffered
 
     private static void checkForDuplicates(final ExecutionMonitor mon, final BufferedDataTable[] tables,
         final long rowCount) throws CanceledExecutionException {
+        if (RowKeyDuplicateScan.canCheck(rowCount)) {
+            final long[] sizes = new long[tables.length];
+            for (int i = 0; i < tables.length; i++) {
+                sizes[i] = tables[i].size();
+            }
+            new RowKeyDuplicateScan(mon, tables, sizes).check();
+            return;
+        }
+        // too many rows for in-memory fingerprints, use the disk-based checker
         DuplicateChecker check = new DuplicateChecker();
-        int r = 0;
+        long r = 0;
         for (int i = 0; i < tables.length; i++) {
             for (DataRow row : tables[i]) {
                 RowKey key = row.getKey();
@@ -297,9 +306,9 @@ private static void checkForDuplicates(final ExecutionMonitor mon, final Buffere
                 } catch (DuplicateKeyException | IOException ex) {
                     throw new IllegalArgumentException("Duplicate row key \"" + key + "\" in table with index " + i);
                 }
-                r++;
-                mon.setProgress(r / (double)rowCount,
-                    "Checking tables, row " + r + "/" + rowCount + " (\"" + row.getKey() + "\")");
+                final long currentRow = ++r;
+                mon.setProgress(currentRow / (double)rowCount,
+                    () -> "Checking tables, row " + currentRow + "/" + rowCount + " (\"" + key + "\")");
             }
             mon.checkCanceled();
         }
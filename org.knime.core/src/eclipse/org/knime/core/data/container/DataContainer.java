@@ -94,6 +94,7 @@
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeExecutionProfiler;
 import org.knime.core.node.workflow.WorkflowDataRepository;
 import org.knime.core.util.DuplicateChecker;
 import org.knime.core.util.DuplicateKeyException;
@@ -562,7 +563,7 @@ private void offerToAsynchronousQueue(final Object object) {
                 // check if the write thread has reported an exception
                 checkAsyncWriteThrowable();
                 // put the data row / container close object into the queue and wait 30 seconds for it to be fetched
-                if (m_rowBuffer.offer(object, 30, TimeUnit.SECONDS)) {
+                if (offerAndRecordStall(object)) {
                     return;
                     // if it wasn't fetched, continue / try again unless the container has been closed already
                 } else {
@@ -580,6 +581,28 @@ private void offerToAsynchronousQueue(final Object object) {
         }
     }
 
+    /**
+     * Puts the argument into the data row queue, waiting up to 30 seconds for space to become available. If the
+     * current thread executes a profiled node, the time spent waiting is recorded as writer stall.
+     *
+     * @param object the object to add.
+     * @return whether the object was added.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private boolean offerAndRecordStall(final Object object) throws InterruptedException {
+        if (!NodeExecutionProfiler.isProfilingCurrentThread()) {
+            return m_rowBuffer.offer(object, 30, TimeUnit.SECONDS);
+        } else if (m_rowBuffer.offer(object)) {
+            return true;
+        }
+        final long start = System.nanoTime();
+        try {
+            return m_rowBuffer.offer(object, 30, TimeUnit.SECONDS);
+        } finally {
+            NodeExecutionProfiler.recordWriterStall(System.nanoTime() - start);
+        }
+    }
+
     /**
      * Get the number of rows that have been added so far. (How often has <code>addRowToTable</code> been called.)
      *
@@ -54,8 +54,10 @@
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.CancellationException;
@@ -339,11 +341,15 @@ public static RearrangeColumnsTable create(final ColumnRearranger rearranger, fi
             DataContainer container = context.createDataContainer(new DataTableSpec(newColSpecs));
             container.setBufferCreator(new NoKeyBufferCreator());
             assert newColumnFactoryList.size() == newColCount;
+            final int batchSize = getBatchSize(newColsProducerMapping);
             try {
-                if (workerCount <= 0) {
+                if (workerCount <= 0 && batchSize <= 0) {
                     calcNewColsSynchronously(table, subProgress, newColsProducerMapping, container);
+                } else if (workerCount <= 0) {
+                    calcNewColsSynchronouslyInChunks(table, subProgress, newColsProducerMapping, container,
+                        batchSize);
                 } else {
-                    calcNewColsASynchronously(table, subProgress, newColsProducerMapping, container);
+                    calcNewColsASynchronously(table, subProgress, newColsProducerMapping, container, batchSize);
                 }
             } finally {
                 container.close();
@@ -435,11 +441,29 @@ private static void calcNewColsSynchronously(final BufferedDataTable table, fina
         }
     }
 
+    /** Processes input sequentially in the caller thread, passing chunks of rows to the factories. */
+    private static void calcNewColsSynchronouslyInChunks(final BufferedDataTable table,
+        final ExecutionMonitor subProgress, final NewColumnsProducerMapping newColsProducerMapping,
+        final DataContainer container, final int batchSize) throws CanceledExecutionException {
+        long finalRowCount = table.size();
+        CellFactory facForProgress = newColsProducerMapping.getUniqueCellFactoryMap().keySet().iterator().next();
+        long r = 0;
+        for (DataRow[] chunk : chunks(table, batchSize)) {
+            for (DataRow append : calcNewCellsForChunk(chunk, newColsProducerMapping)) {
+                container.addRowToTable(append);
+            }
+            r += chunk.length;
+            facForProgress.setProgress(r, finalRowCount, chunk[chunk.length - 1].getKey(), subProgress);
+            subProgress.checkCanceled();
+        }
+    }
+
     /**
-     * Processes input concurrently using a {@link ConcurrentNewColCalculator}.
+     * Processes input concurrently using a {@link ConcurrentNewColCalculator} or, if batch processing is enabled, a
+     * {@link ConcurrentNewColChunkCalculator}.
      */
     private static void calcNewColsASynchronously(final BufferedDataTable table, final ExecutionMonitor subProgress,
-        final NewColumnsProducerMapping newColsProducerMapping, final DataContainer container)
+        final NewColumnsProducerMapping newColsProducerMapping, final DataContainer container, final int batchSize)
         throws CanceledExecutionException {
         long finalRowCount = table.size();
         CellFactory facForProgress = null;
@@ -462,11 +486,19 @@ private static void calcNewColsASynchronously(final BufferedDataTable table, fin
         assert facForProgress != null;
         assert workers > 0 : "Nr workers <= 0: " + workers;
         assert queueSize > 0 : "queue size <= 0: " + queueSize;
-        ConcurrentNewColCalculator calculator =
-            new ConcurrentNewColCalculator(queueSize, workers, container, subProgress, finalRowCount,
-                newColsProducerMapping, facForProgress);
         try {
-            calculator.run(table);
+            if (batchSize > 0) {
+                // the queue size counts rows, the chunk calculator queues chunks
+                ConcurrentNewColChunkCalculator calculator = new ConcurrentNewColChunkCalculator(
+                    Math.max(workers, queueSize / batchSize), workers, container, subProgress, finalRowCount,
+                    newColsProducerMapping, facForProgress);
+                calculator.run(chunks(table, batchSize));
+            } else {
+                ConcurrentNewColCalculator calculator =
+                    new ConcurrentNewColCalculator(queueSize, workers, container, subProgress, finalRowCount,
+                        newColsProducerMapping, facForProgress);
+                calculator.run(table);
+            }
         } catch (InterruptedException e) {
             CanceledExecutionException cee = new CanceledExecutionException(e.getMessage());
             cee.initCause(e);
@@ -483,6 +515,46 @@ private static void calcNewColsASynchronously(final BufferedDataTable table, fin
         }
     }
 
+    /**
+     * The number of rows per chunk if all cell factories (not counting type converters) are {@link AbstractCellFactory}
+     * instances with batch processing enabled, otherwise -1.
+     */
+    private static int getBatchSize(final NewColumnsProducerMapping producerMap) {
+        int batchSize = -1;
+        for (CellFactory factory : producerMap.getUniqueCellFactoryMap().keySet()) {
+            if (!(factory instanceof AbstractCellFactory) || ((AbstractCellFactory)factory).getBatchSize() <= 0) {
+                return -1;
+            }
+            int factoryBatchSize = ((AbstractCellFactory)factory).getBatchSize();
+            batchSize = batchSize < 0 ? factoryBatchSize : Math.min(batchSize, factoryBatchSize);
+        }
+        return batchSize;
+    }
+
+    /** Splits the table's rows into consecutive chunks of the given size (the last chunk may be smaller). */
+    private static Iterable<DataRow[]> chunks(final DataTable table, final int chunkSize) {
+        return () -> new Iterator<DataRow[]>() {
+            private final RowIterator m_it = table.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return m_it.hasNext();
+            }
+
+            @Override
+            public DataRow[] next() {
+                if (!m_it.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<DataRow> chunk = new ArrayList<DataRow>(chunkSize);
+                while (chunk.size() < chunkSize && m_it.hasNext()) {
+                    chunk.add(m_it.next());
+                }
+                return chunk.toArray(new DataRow[chunk.size()]);
+            }
+        };
+    }
+
     private static Set<Class<? extends CellFactory>> codingProblemsCellFactoryClasses;
 
     /**
@@ -503,34 +575,78 @@ static DataRow calcNewCellsForRow(final DataRow unconvertedRow, final NewColumns
             CellFactory factory = e.getKey();
             List<Pair<Integer, Integer>> list = e.getValue();
             DataCell[] fromFac = factory.getCells(row);
-            if (fromFac.length != list.size()) {
-                String error = String.format("New cells array length conflict: expected %d, actual %d (class %s)",
-                    list.size(), fromFac.length, factory.getClass().getName());
-                if (fromFac.length < list.size()) {
-                    throw new IndexOutOfBoundsException(error);
-                } else {
-                    // such problems were ignored until 2.6 -- print warning only
-                    if (codingProblemsCellFactoryClasses == null) {
-                        codingProblemsCellFactoryClasses = new HashSet<Class<? extends CellFactory>>();
-                    }
-                    if (codingProblemsCellFactoryClasses.add(factory.getClass())) {
-                        LOGGER.coding(error);
-                    }
-                }
+            copyFactoryCells(factory, list, fromFac, newCells);
+        }
+        DataRow appendix = new DefaultRow(row.getKey(), newCells);
+        return appendix;
+    }
+
+    /**
+     * Chunk variant of {@link #calcNewCellsForRow(DataRow, NewColumnsProducerMapping)}, only used if all factories
+     * are {@link AbstractCellFactory} instances with batch processing enabled.
+     *
+     * @param unconvertedRows The input rows to be processed
+     * @param producerMap For each new (or replaced) column the factory.
+     * @return The output rows.
+     */
+    static DataRow[] calcNewCellsForChunk(final DataRow[] unconvertedRows,
+        final NewColumnsProducerMapping producerMap) {
+        final int newColCount = producerMap.getAllNewColumnsList().size();
+        final int rowCount = unconvertedRows.length;
+        DataCell[][] newCells = new DataCell[rowCount][newColCount];
+        DataRow[] rows = new DataRow[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            rows[r] = applyDataTypeConverters(unconvertedRows[r], producerMap, newCells[r]);
+        }
+        IdentityHashMap<CellFactory, List<Pair<Integer, Integer>>> uniqueCellFactoryMap =
+            producerMap.getUniqueCellFactoryMap();
+        for (Map.Entry<CellFactory, List<Pair<Integer, Integer>>> e : uniqueCellFactoryMap.entrySet()) {
+            AbstractCellFactory factory = (AbstractCellFactory)e.getKey();
+            DataCell[][] fromFac = factory.getCells(rows);
+            if (fromFac.length != rowCount) {
+                throw new IndexOutOfBoundsException(String.format(
+                    "New cells chunk length conflict: expected %d, actual %d (class %s)", rowCount, fromFac.length,
+                    factory.getClass().getName()));
             }
-            final int length = list.size();
-            for (int i = 0; i < length; i++) {
-                Pair<Integer, Integer> indexPair = list.get(i);
-                int indexInNewCellsArray = indexPair.getFirst();
-                int indexInFactory = indexPair.getSecond();
-                assert newCells[indexInNewCellsArray] == null : "New cells array at index expected to be null";
-                newCells[indexInNewCellsArray] = fromFac[indexInFactory];
+            for (int r = 0; r < rowCount; r++) {
+                copyFactoryCells(factory, e.getValue(), fromFac[r], newCells[r]);
             }
         }
-        DataRow appendix = new DefaultRow(row.getKey(), newCells);
+        DataRow[] appendix = new DataRow[rowCount];
+        for (int r = 0; r < rowCount; r++) {
+            appendix[r] = new DefaultRow(rows[r].getKey(), newCells[r]);
+        }
         return appendix;
     }
 
+    /** Copies the cells created by a factory for one row to their positions in the new cells array. */
+    private static void copyFactoryCells(final CellFactory factory, final List<Pair<Integer, Integer>> list,
+        final DataCell[] fromFac, final DataCell[] newCells) {
+        if (fromFac.length != list.size()) {
+            String error = String.format("New cells array length conflict: expected %d, actual %d (class %s)",
+                list.size(), fromFac.length, factory.getClass().getName());
+            if (fromFac.length < list.size()) {
+                throw new IndexOutOfBoundsException(error);
+            } else {
+                // such problems were ignored until 2.6 -- print warning only
+                if (codingProblemsCellFactoryClasses == null) {
+                    codingProblemsCellFactoryClasses = new HashSet<Class<? extends CellFactory>>();
+                }
+                if (codingProblemsCellFactoryClasses.add(factory.getClass())) {
+                    LOGGER.coding(error);
+                }
+            }
+        }
+        final int length = list.size();
+        for (int i = 0; i < length; i++) {
+            Pair<Integer, Integer> indexPair = list.get(i);
+            int indexInNewCellsArray = indexPair.getFirst();
+            int indexInFactory = indexPair.getSecond();
+            assert newCells[indexInNewCellsArray] == null : "New cells array at index expected to be null";
+            newCells[indexInNewCellsArray] = fromFac[indexInFactory];
+        }
+    }
+
     /**
      * Used when {@link ColumnRearranger#ensureColumnIsConverted(DataCellTypeConverter, int)} is called. It
      * preproccesses the row and replaces the column to be converted by the the result of the given converter.
@@ -752,6 +868,62 @@ protected void processFinished(final ComputationTask task) throws ExecutionExcep
 
     }
 
+    /**
+     * The MultiThreadWorker that processes chunks of input rows concurrently. Only used if all cell factories are
+     * {@link AbstractCellFactory} instances with parallel and batch processing enabled (
+     * {@link AbstractCellFactory#setBatchSize(int)}).
+     */
+    private static final class ConcurrentNewColChunkCalculator extends MultiThreadWorker<DataRow[], DataRow[]> {
+
+        private final ExecutionMonitor m_subProgress;
+
+        private final NewColumnsProducerMapping m_reducedList;
+
+        private final DataContainer m_container;
+
+        private final long m_totalRowCount;
+
+        private final CellFactory m_facForProgress;
+
+        /** Number of rows added to the container, only accessed in {@link #processFinished(ComputationTask)}. */
+        private long m_rowCount;
+
+        private ConcurrentNewColChunkCalculator(final int maxQueueSize, final int maxActiveInstanceSize,
+            final DataContainer container, final ExecutionMonitor subProgress, final long totalRowCount,
+            final NewColumnsProducerMapping reducedList, final CellFactory facForProgress) {
+            super(maxQueueSize, maxActiveInstanceSize);
+            m_container = container;
+            m_subProgress = subProgress;
+            m_totalRowCount = totalRowCount;
+            m_reducedList = reducedList;
+            m_facForProgress = facForProgress;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected DataRow[] compute(final DataRow[] in, final long index) throws Exception {
+            return calcNewCellsForChunk(in, m_reducedList);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void processFinished(final ComputationTask task) throws ExecutionException, CancellationException,
+            InterruptedException {
+            DataRow[] in = task.getInput();
+            DataRow[] append = task.get(); // exception falls through
+            for (DataRow row : append) {
+                m_container.addRowToTable(row);
+            }
+            m_rowCount += append.length;
+            m_facForProgress.setProgress(m_rowCount, m_totalRowCount, in[in.length - 1].getKey(), m_subProgress);
+            try {
+                m_subProgress.checkCanceled();
+            } catch (CanceledExecutionException cee) {
+                throw new CancellationException();
+            }
+        }
+    }
+
     /**
      * A class that helps to distinguish SpecAndFactoryObjects. There are three kinds: representing input columns,
      * created with a cell factory, created with a converter (often molecular type adapter)
@@ -0,0 +1,426 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.RowIterator;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Checks the row keys of a set of tables for duplicates before they are concatenated. The tables are scanned in
+ * parallel. Tables whose keys follow a sequential pattern (prefix, consecutive number, suffix, e.g.
+ * <code>Row0, Row1, ...</code> or <code>Row0#3, Row1#3, ...</code> as created by loop ends) are reduced to a number
+ * range; if all tables are of that kind only the ranges are compared. Otherwise 64 bit fingerprints of all keys are
+ * sorted and only keys with equal fingerprints are compared by their string value in a second pass.
+ *
+ * <p>
+ * The fingerprints take 8 bytes per row. Callers fall back to the disk-based {@link org.knime.core.util.DuplicateChecker}
+ * if {@link #canCheck(long)} returns <code>false</code>.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowKeyDuplicateScan {
+
+    /** Number of rows after which progress is reported and cancellation is checked. */
+    private static final int PROGRESS_INTERVAL = 1 << 12;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ExecutionMonitor m_mon;
+
+    private final DataTable[] m_tables;
+
+    private final long[] m_sizes;
+
+    private final long m_rowCount;
+
+    private final AtomicLong m_processedRows = new AtomicLong();
+
+    /**
+     * @param mon for progress and cancellation
+     * @param tables the tables to check
+     * @param sizes the number of rows of each table
+     */
+    RowKeyDuplicateScan(final ExecutionMonitor mon, final DataTable[] tables, final long[] sizes) {
+        m_mon = mon;
+        m_tables = tables;
+        m_sizes = sizes;
+        m_rowCount = Arrays.stream(sizes).sum();
+    }
+
+    /**
+     * @param rowCount the total number of rows
+     * @return whether the fingerprints of that many rows fit into an array and comfortably into memory
+     */
+    static boolean canCheck(final long rowCount) {
+        return rowCount < Integer.MAX_VALUE - 8 && 8 * rowCount < Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    /**
+     * Scans all tables.
+     *
+     * @throws IllegalArgumentException if there are duplicate row keys
+     * @throws CanceledExecutionException if canceled
+     */
+    void check() throws CanceledExecutionException {
+        final long[] fingerprints = new long[(int)m_rowCount];
+        final int[] offsets = new int[m_tables.length];
+        for (int i = 1; i < m_tables.length; i++) {
+            offsets[i] = offsets[i - 1] + (int)m_sizes[i - 1];
+        }
+        final KeyRange[] ranges = scanAll(fingerprints, offsets);
+
+        boolean allRanges = true;
+        for (int i = 0; i < m_tables.length; i++) {
+            allRanges &= ranges[i] != null || m_sizes[i] == 0;
+        }
+        if (allRanges) {
+            checkRanges(ranges);
+            return;
+        }
+        for (int i = 0; i < m_tables.length; i++) {
+            if (ranges[i] != null) {
+                ranges[i].fill(fingerprints, offsets[i]);
+            }
+        }
+        m_mon.setMessage("Sorting row key fingerprints");
+        Arrays.parallelSort(fingerprints);
+        final Set<Long> candidates = new HashSet<>();
+        for (int i = 1; i < fingerprints.length; i++) {
+            if (fingerprints[i] == fingerprints[i - 1]) {
+                candidates.add(fingerprints[i]);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            verifyCandidates(candidates, ranges);
+        }
+    }
+
+    /** Scans the tables in parallel, returns the key range of each table whose keys are sequential. */
+    private KeyRange[] scanAll(final long[] fingerprints, final int[] offsets) throws CanceledExecutionException {
+        final KeyRange[] ranges = new KeyRange[m_tables.length];
+        if (m_tables.length == 1) {
+            ranges[0] = scan(0, fingerprints, offsets[0]);
+            return ranges;
+        }
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL
+            .createSubPool(Math.min(m_tables.length, Runtime.getRuntime().availableProcessors()));
+        final List<Future<KeyRange>> futures = new ArrayList<>(m_tables.length);
+        try {
+            for (int i = 0; i < m_tables.length; i++) {
+                final int table = i;
+                futures.add(pool.enqueue(() -> scan(table, fingerprints, offsets[table])));
+            }
+            for (int i = 0; i < m_tables.length; i++) {
+                ranges[i] = futures.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException("Interrupted while checking for duplicate row keys");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return ranges;
+    }
+
+    /**
+     * Reads the keys of one table. As long as they are sequential only the range is updated, otherwise the
+     * fingerprints are written to the table's section of the array.
+     */
+    private KeyRange scan(final int table, final long[] fingerprints, final int offset)
+        throws CanceledExecutionException {
+        KeyRange range = null;
+        boolean sequential = true;
+        int pos = offset;
+        long rows = 0;
+        long rowsSinceProgress = 0;
+        final RowIterator it = m_tables[table].iterator();
+        try {
+            while (it.hasNext()) {
+                final String key = it.next().getKey().getString();
+                if (++rows > m_sizes[table]) {
+                    throw rowCountMismatch(table);
+                }
+                if (sequential) {
+                    if (range == null) {
+                        range = KeyRange.parse(key);
+                        sequential = range != null;
+                    } else if (!range.extend(key)) {
+                        sequential = false;
+                        pos = range.fill(fingerprints, pos);
+                    }
+                }
+                if (!sequential) {
+                    fingerprints[pos++] = fingerprint(key);
+                }
+                if (++rowsSinceProgress == PROGRESS_INTERVAL) {
+                    reportProgress(rowsSinceProgress);
+                    rowsSinceProgress = 0;
+                }
+            }
+        } finally {
+            if (it instanceof CloseableRowIterator) {
+                ((CloseableRowIterator)it).close();
+            }
+        }
+        if (rows != m_sizes[table]) {
+            throw rowCountMismatch(table);
+        }
+        reportProgress(rowsSinceProgress);
+        return sequential ? range : null;
+    }
+
+    private IllegalStateException rowCountMismatch(final int table) {
+        return new IllegalStateException(
+            "Table with index " + table + " doesn't contain the reported number of rows (" + m_sizes[table] + ")");
+    }
+
+    private void reportProgress(final long rows) throws CanceledExecutionException {
+        final long processed = m_processedRows.addAndGet(rows);
+        m_mon.setProgress(processed / (double)m_rowCount,
+            () -> "Checking tables for duplicate row keys, row " + processed + "/" + m_rowCount);
+        m_mon.checkCanceled();
+    }
+
+    /** All tables have sequential keys: compare the ranges of tables with equal prefix and suffix. */
+    private static void checkRanges(final KeyRange[] ranges) {
+        final List<KeyRange> sorted = new ArrayList<>();
+        for (KeyRange r : ranges) {
+            if (r != null) {
+                sorted.add(r);
+            }
+        }
+        sorted.sort(Comparator.comparing((KeyRange r) -> r.m_prefix).thenComparing(r -> r.m_suffix)
+            .thenComparingLong(r -> r.m_first));
+        KeyRange previous = null;
+        long previousLast = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            final KeyRange r = sorted.get(i);
+            if (previous != null && previous.hasSamePattern(r) && r.m_first <= previousLast) {
+                throw duplicateKey(r.key(r.m_first), Math.max(indexOf(ranges, r), indexOf(ranges, previous)));
+            }
+            if (previous == null || !previous.hasSamePattern(r) || r.m_last > previousLast) {
+                previous = r;
+                previousLast = r.m_last;
+            }
+        }
+    }
+
+    private static int indexOf(final KeyRange[] ranges, final KeyRange range) {
+        for (int i = 0; i < ranges.length; i++) {
+            if (ranges[i] == range) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Compares the string values of all keys whose fingerprint is not unique. */
+    private void verifyCandidates(final Set<Long> candidates, final KeyRange[] ranges)
+        throws CanceledExecutionException {
+        m_mon.setMessage("Verifying potential duplicate row keys");
+        final Map<String, Integer> keys = new HashMap<>();
+        for (int i = 0; i < m_tables.length; i++) {
+            if (ranges[i] != null) {
+                for (long n = ranges[i].m_first; n <= ranges[i].m_last; n++) {
+                    final String key = ranges[i].key(n);
+                    if (candidates.contains(fingerprint(key)) && keys.putIfAbsent(key, i) != null) {
+                        throw duplicateKey(key, i);
+                    }
+                }
+                continue;
+            }
+            for (DataRow row : m_tables[i]) {
+                final String key = row.getKey().getString();
+                if (candidates.contains(fingerprint(key)) && keys.putIfAbsent(key, i) != null) {
+                    throw duplicateKey(key, i);
+                }
+            }
+            m_mon.checkCanceled();
+        }
+    }
+
+    private static IllegalArgumentException duplicateKey(final String key, final int table) {
+        return new IllegalArgumentException("Duplicate row key \"" + key + "\" in table with index " + table);
+    }
+
+    /** 64 bit FNV-1a hash of the characters followed by a final avalanche step. */
+    static long fingerprint(final CharSequence key) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Keys of the form <code>prefix + n + suffix</code> for consecutive n. The prefix contains no digits and the
+     * number is written without leading zeros, so two keys are equal if and only if prefix, number and suffix are.
+     */
+    static final class KeyRange {
+
+        private final String m_prefix;
+
+        private final String m_suffix;
+
+        private final long m_first;
+
+        private long m_last;
+
+        private KeyRange(final String prefix, final String suffix, final long first) {
+            m_prefix = prefix;
+            m_suffix = suffix;
+            m_first = first;
+            m_last = first;
+        }
+
+        /** @return the range of the single key or <code>null</code> if it doesn't match the pattern */
+        static KeyRange parse(final String key) {
+            int start = 0;
+            while (start < key.length() && !isDigit(key.charAt(start))) {
+                start++;
+            }
+            final long n = parseNumber(key, start);
+            if (n < 0) {
+                return null;
+            }
+            return new KeyRange(key.substring(0, start), key.substring(digitsEnd(key, start)), n);
+        }
+
+        /** @return <code>true</code> if the key is the next one in this range (the range is then extended) */
+        boolean extend(final String key) {
+            final int start = m_prefix.length();
+            if (!key.startsWith(m_prefix) || m_last == Long.MAX_VALUE) {
+                return false;
+            }
+            final long n = parseNumber(key, start);
+            final int end = digitsEnd(key, start);
+            if (n != m_last + 1 || key.length() - end != m_suffix.length()
+                || !key.regionMatches(end, m_suffix, 0, m_suffix.length())) {
+                return false;
+            }
+            m_last = n;
+            return true;
+        }
+
+        boolean hasSamePattern(final KeyRange other) {
+            return m_prefix.equals(other.m_prefix) && m_suffix.equals(other.m_suffix);
+        }
+
+        String key(final long n) {
+            return m_prefix + n + m_suffix;
+        }
+
+        /** Writes the fingerprints of all keys in the range, returns the position after the last one. */
+        int fill(final long[] fingerprints, final int offset) {
+            final StringBuilder b = new StringBuilder(m_prefix);
+            int pos = offset;
+            for (long n = m_first; n <= m_last; n++) {
+                b.setLength(m_prefix.length());
+                fingerprints[pos++] = fingerprint(b.append(n).append(m_suffix));
+            }
+            return pos;
+        }
+
+        private static boolean isDigit(final char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private static int digitsEnd(final String key, final int start) {
+            int end = start;
+            while (end < key.length() && isDigit(key.charAt(end))) {
+                end++;
+            }
+            return end;
+        }
+
+        /** @return the number starting at the index or -1 if there is none, it has leading zeros or is too long */
+        private static long parseNumber(final String key, final int start) {
+            final int end = digitsEnd(key, start);
+            final int length = end - start;
+            if (length == 0 || length > 18 || (length > 1 && key.charAt(start) == '0')) {
+                return -1;
+            }
+            long n = 0;
+            for (int i = start; i < end; i++) {
+                n = 10 * n + (key.charAt(i) - '0');
+            }
+            return n;
+        }
+    }
+}
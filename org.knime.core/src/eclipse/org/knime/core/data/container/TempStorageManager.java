@@ -0,0 +1,308 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.container;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.workflow.NodeContainer;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.node.workflow.NodeID;
+
+/**
+ * Keeps track of the bytes written to the temp directory by {@link Buffer}s and file stores, per node, per workflow
+ * project and process-wide, and enforces the quotas set via {@link KNIMEConstants#PROPERTY_TEMP_QUOTA_NODE_IN_MB},
+ * {@link KNIMEConstants#PROPERTY_TEMP_QUOTA_WORKFLOW_IN_MB} and {@link KNIMEConstants#PROPERTY_TEMP_QUOTA_TOTAL_IN_MB}
+ * (all unlimited by default).
+ *
+ * <p>
+ * Writers obtain an {@link Account} when they are created (the owning node is derived from the {@link NodeContext})
+ * and report their current size while writing. An {@link IOException} with a descriptive message is thrown if this
+ * exceeds one of the quotas. The usage is released when the table or file store is cleared.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class TempStorageManager {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(TempStorageManager.class);
+
+    /** Value of a quota if unlimited. */
+    public static final long UNLIMITED = -1L;
+
+    private static final TempStorageManager INSTANCE = new TempStorageManager(
+        readQuotaFromProperty(KNIMEConstants.PROPERTY_TEMP_QUOTA_NODE_IN_MB),
+        readQuotaFromProperty(KNIMEConstants.PROPERTY_TEMP_QUOTA_WORKFLOW_IN_MB),
+        readQuotaFromProperty(KNIMEConstants.PROPERTY_TEMP_QUOTA_TOTAL_IN_MB));
+
+    private final long m_nodeQuota;
+
+    private final long m_workflowQuota;
+
+    private final long m_totalQuota;
+
+    private final Map<NodeID, Long> m_nodeUsage = new ConcurrentHashMap<>();
+
+    private final Map<NodeID, Long> m_workflowUsage = new ConcurrentHashMap<>();
+
+    private final AtomicLong m_totalUsage = new AtomicLong();
+
+    /**
+     * @param nodeQuota quota per node in bytes or {@link #UNLIMITED}
+     * @param workflowQuota quota per workflow project in bytes or {@link #UNLIMITED}
+     * @param totalQuota process-wide quota in bytes or {@link #UNLIMITED}
+     */
+    TempStorageManager(final long nodeQuota, final long workflowQuota, final long totalQuota) {
+        m_nodeQuota = nodeQuota;
+        m_workflowQuota = workflowQuota;
+        m_totalQuota = totalQuota;
+    }
+
+    /** @return the process-wide instance */
+    public static TempStorageManager getInstance() {
+        return INSTANCE;
+    }
+
+    private static long readQuotaFromProperty(final String property) {
+        String prop = System.getProperty(property);
+        if (prop == null) {
+            return UNLIMITED;
+        }
+        try {
+            long quotaInMB = Long.parseLong(prop.trim());
+            if (quotaInMB < 0) {
+                throw new NumberFormatException("quota < 0: " + quotaInMB);
+            }
+            LOGGER.debug("Setting temp storage quota \"" + property + "\" to " + quotaInMB + "MB");
+            return quotaInMB << 20;
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Unable to parse property \"" + property + "\", using no quota", e);
+            return UNLIMITED;
+        }
+    }
+
+    /**
+     * Creates a new account for a writer, which is attributed to the node in the current {@link NodeContext} (if
+     * any).
+     *
+     * @return a new account, not null
+     */
+    public Account createAccount() {
+        NodeContext context = NodeContext.getContext();
+        NodeContainer nc = context == null ? null : context.getNodeContainer();
+        if (nc == null || nc.getParent() == null) {
+            return new Account(null, null, null);
+        }
+        return new Account(nc.getID(), nc.getParent().getProjectWFM().getID(), nc.getNameWithID());
+    }
+
+    /**
+     * Creates a new account for the given owner.
+     *
+     * @param nodeID the owning node or null
+     * @param workflowID the owning workflow project or null
+     * @param ownerName the name of the owner as used in error messages or null
+     * @return a new account
+     */
+    Account createAccount(final NodeID nodeID, final NodeID workflowID, final String ownerName) {
+        return new Account(nodeID, workflowID, ownerName);
+    }
+
+    /** @return bytes currently used in temp by all tables and file stores */
+    public long getTotalUsage() {
+        return m_totalUsage.get();
+    }
+
+    /**
+     * @param nodeID the node
+     * @return bytes currently used in temp by tables and file stores created by the node
+     */
+    public long getNodeUsage(final NodeID nodeID) {
+        return m_nodeUsage.getOrDefault(nodeID, 0L);
+    }
+
+    /**
+     * @param workflowID the ID of the workflow project
+     * @return bytes currently used in temp by tables and file stores created by nodes in the workflow
+     */
+    public long getWorkflowUsage(final NodeID workflowID) {
+        return m_workflowUsage.getOrDefault(workflowID, 0L);
+    }
+
+    /** @return a snapshot of the bytes used in temp per node, only contains nodes that currently use temp space */
+    public Map<NodeID, Long> getNodeUsages() {
+        return Collections.unmodifiableMap(new HashMap<>(m_nodeUsage));
+    }
+
+    /** @return the quota per node in bytes or {@link #UNLIMITED} */
+    public long getNodeQuota() {
+        return m_nodeQuota;
+    }
+
+    /** @return the quota per workflow project in bytes or {@link #UNLIMITED} */
+    public long getWorkflowQuota() {
+        return m_workflowQuota;
+    }
+
+    /** @return the process-wide quota in bytes or {@link #UNLIMITED} */
+    public long getTotalQuota() {
+        return m_totalQuota;
+    }
+
+    private static void add(final Map<NodeID, Long> map, final NodeID id, final long delta) {
+        if (id != null) {
+            // drops entries of nodes that no longer use temp space
+            map.compute(id, (k, v) -> {
+                long newValue = (v == null ? 0L : v) + delta;
+                return newValue == 0L ? null : newValue;
+            });
+        }
+    }
+
+    private static String toMB(final long bytes) {
+        return String.format("%.1fMB", bytes / (double)(1 << 20));
+    }
+
+    /**
+     * The temp space used by a single writer (table or file store). All methods are thread-safe.
+     */
+    public final class Account {
+
+        private final NodeID m_nodeID;
+
+        private final NodeID m_workflowID;
+
+        private final String m_ownerName;
+
+        private long m_bytes;
+
+        private Account(final NodeID nodeID, final NodeID workflowID, final String ownerName) {
+            m_nodeID = nodeID;
+            m_workflowID = workflowID;
+            m_ownerName = ownerName;
+        }
+
+        /** @return the bytes currently accounted to this writer */
+        public synchronized long getBytes() {
+            return m_bytes;
+        }
+
+        /**
+         * Updates the bytes used by the writer.
+         *
+         * @param bytes the current size of all files written
+         * @throws IOException if the size exceeds one of the quotas; the usage is still recorded (the data is on disc
+         *             already)
+         */
+        public synchronized void setBytes(final long bytes) throws IOException {
+            long delta = bytes - m_bytes;
+            if (delta == 0L) {
+                return;
+            }
+            m_bytes = bytes;
+            add(m_nodeUsage, m_nodeID, delta);
+            add(m_workflowUsage, m_workflowID, delta);
+            long total = m_totalUsage.addAndGet(delta);
+            if (delta > 0) {
+                checkQuotas(total);
+            }
+        }
+
+        /**
+         * Checks whether any of the quotas is exceeded already, used before new files are created.
+         *
+         * @throws IOException if so
+         */
+        public void checkQuotas() throws IOException {
+            checkQuotas(m_totalUsage.get());
+        }
+
+        private void checkQuotas(final long total) throws IOException {
+            if (m_nodeID != null && m_nodeQuota != UNLIMITED) {
+                long nodeUsage = getNodeUsage(m_nodeID);
+                if (nodeUsage > m_nodeQuota) {
+                    throw new IOException(String.format("Node \"%s\" exceeds its temp storage quota (uses %s, "
+                        + "limit is %s); the limit can be changed via the \"%s\" java property", m_ownerName,
+                        toMB(nodeUsage), toMB(m_nodeQuota), KNIMEConstants.PROPERTY_TEMP_QUOTA_NODE_IN_MB));
+                }
+            }
+            if (m_workflowID != null && m_workflowQuota != UNLIMITED) {
+                long workflowUsage = getWorkflowUsage(m_workflowID);
+                if (workflowUsage > m_workflowQuota) {
+                    throw new IOException(String.format("Workflow of node \"%s\" exceeds its temp storage quota "
+                        + "(uses %s, limit is %s); the limit can be changed via the \"%s\" java property",
+                        m_ownerName, toMB(workflowUsage), toMB(m_workflowQuota),
+                        KNIMEConstants.PROPERTY_TEMP_QUOTA_WORKFLOW_IN_MB));
+                }
+            }
+            if (m_totalQuota != UNLIMITED && total > m_totalQuota) {
+                throw new IOException(String.format("Temp storage quota of the KNIME instance exceeded (uses %s, "
+                    + "limit is %s)%s; the limit can be changed via the \"%s\" java property", toMB(total),
+                    toMB(m_totalQuota), m_ownerName == null ? "" : " while writing data of node \"" + m_ownerName
+                        + "\"", KNIMEConstants.PROPERTY_TEMP_QUOTA_TOTAL_IN_MB));
+            }
+        }
+
+        /** Releases all bytes accounted to this writer, called when its files are deleted. */
+        public synchronized void release() {
+            try {
+                setBytes(0L);
+            } catch (IOException e) {
+                throw new IllegalStateException("Releasing temp space must not fail", e);
+            }
+        }
+    }
+
+}
@@ -68,7 +68,12 @@
  * {@link ConsumptionPath consumption paths}.
  * <P>
  * Internally, each consumption path is translated to an executable mapper. There are mapper implementations for all
- * Java primitive types (to avoid autoboxing) as well as a common one for all object types.
+ * Java primitive types (to avoid autoboxing) as well as a common one for all object types. By default, a mapper
+ * creates a new consumer and converter for each cell it maps. If the row consumer is created with
+ * {@code reuseInstances} set, the consumer of a mapper is instead created when the first row is consumed, its converter
+ * when the first non-missing cell is converted, and both are reused for all following rows. This is only allowed if
+ * they do not keep state of a previous row that affects the next one. Mappers never share instances, even if their
+ * factories are the same.
  *
  * @param <D> Type of the {@link Destination} to which to write the data rows.
  * @param <CP> Subtype of {@link ConsumerParameters} that can be used to configure the consumers per call to
@@ -83,6 +88,8 @@
 
     private final Mapper<CP, ?, ?>[] m_mappers;
 
+    private final boolean m_reuseInstances;
+
     /**
      * Creates a new data row consumer for the given destination and the given mapping.
      *
@@ -92,7 +99,25 @@
      *            to {@link #consumeDataRow(DataRow, ConsumerParameters[])}.
      */
     public DefaultDataRowConsumer(final D destination, final ConsumptionPath[] mapping) {
+        this(destination, mapping, false);
+    }
+
+    /**
+     * Creates a new data row consumer for the given destination and the given mapping.
+     *
+     * @param destination The destination to which to write data rows.
+     * @param mapping Consumption paths that describe the mapping from {@link DataCell data cells} to destination. The
+     *            number and order of the passed paths must match the ones of the parameters and data cells later passed
+     *            to {@link #consumeDataRow(DataRow, ConsumerParameters[])}.
+     * @param reuseInstances {@code true} if the converters and consumers created for the first row may be reused for
+     *            all following rows, {@code false} to create new ones per row. Only pass {@code true} if none of them
+     *            keeps state of a previous row that affects the next one.
+     * @since 3.8
+     */
+    public DefaultDataRowConsumer(final D destination, final ConsumptionPath[] mapping,
+        final boolean reuseInstances) {
         m_destination = destination;
+        m_reuseInstances = reuseInstances;
         @SuppressWarnings("unchecked")
         final Mapper<CP, ?, ?>[] mappers = new Mapper[mapping.length];
         for (int i = 0; i < mapping.length; i++) {
@@ -194,6 +219,11 @@ private final class DoubleMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToDoubleConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, DoubleCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToDoubleConverter m_converter;
+
+        private DoubleCellValueConsumer<D, CP> m_consumer;
+
         private DoubleMapper(
             final TypedDataCellToJavaConverterFactory<?, ?, DataCellToDoubleConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, DoubleCellValueConsumer<D, CP>> consumerFactory) {
@@ -202,15 +232,18 @@ private DoubleMapper(
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToDoubleConverter converter = m_converterFactory.create();
-            final DoubleCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final double value = converter.convertIntoDouble(cell);
-                consumer.consumeDoubleCellValue(m_destination, value, params);
+                final double value = m_converter.convertIntoDouble(cell);
+                m_consumer.consumeDoubleCellValue(m_destination, value, params);
             }
         }
     }
@@ -219,6 +252,11 @@ private final class IntMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToIntConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, IntCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToIntConverter m_converter;
+
+        private IntCellValueConsumer<D, CP> m_consumer;
+
         private IntMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToIntConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, IntCellValueConsumer<D, CP>> consumerFactory) {
             super(converterFactory, consumerFactory);
@@ -226,15 +264,18 @@ private IntMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToIntC
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToIntConverter converter = m_converterFactory.create();
-            final IntCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final int value = converter.convertIntoInt(cell);
-                consumer.consumeIntCellValue(m_destination, value, params);
+                final int value = m_converter.convertIntoInt(cell);
+                m_consumer.consumeIntCellValue(m_destination, value, params);
             }
         }
     }
@@ -243,6 +284,11 @@ private final class LongMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToLongConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, LongCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToLongConverter m_converter;
+
+        private LongCellValueConsumer<D, CP> m_consumer;
+
         private LongMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToLongConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, LongCellValueConsumer<D, CP>> consumerFactory) {
             super(converterFactory, consumerFactory);
@@ -250,15 +296,18 @@ private LongMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToLon
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToLongConverter converter = m_converterFactory.create();
-            final LongCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final long value = converter.convertIntoLong(cell);
-                consumer.consumeLongCellValue(m_destination, value, params);
+                final long value = m_converter.convertIntoLong(cell);
+                m_consumer.consumeLongCellValue(m_destination, value, params);
             }
         }
     }
@@ -267,6 +316,11 @@ private final class BooleanMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToBooleanConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, BooleanCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToBooleanConverter m_converter;
+
+        private BooleanCellValueConsumer<D, CP> m_consumer;
+
         private BooleanMapper(
             final TypedDataCellToJavaConverterFactory<?, ?, DataCellToBooleanConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, BooleanCellValueConsumer<D, CP>> consumerFactory) {
@@ -275,15 +329,18 @@ private BooleanMapper(
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToBooleanConverter converter = m_converterFactory.create();
-            final BooleanCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final boolean value = converter.convertIntoBoolean(cell);
-                consumer.consumeBooleanCellValue(m_destination, value, params);
+                final boolean value = m_converter.convertIntoBoolean(cell);
+                m_consumer.consumeBooleanCellValue(m_destination, value, params);
             }
         }
     }
@@ -292,6 +349,11 @@ private final class FloatMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToFloatConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, FloatCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToFloatConverter m_converter;
+
+        private FloatCellValueConsumer<D, CP> m_consumer;
+
         private FloatMapper(
             final TypedDataCellToJavaConverterFactory<?, ?, DataCellToFloatConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, FloatCellValueConsumer<D, CP>> consumerFactory) {
@@ -300,15 +362,18 @@ private FloatMapper(
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToFloatConverter converter = m_converterFactory.create();
-            final FloatCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final float value = converter.convertIntoFloat(cell);
-                consumer.consumeFloatCellValue(m_destination, value, params);
+                final float value = m_converter.convertIntoFloat(cell);
+                m_consumer.consumeFloatCellValue(m_destination, value, params);
             }
         }
     }
@@ -317,6 +382,11 @@ private final class ByteMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToByteConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, ByteCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToByteConverter m_converter;
+
+        private ByteCellValueConsumer<D, CP> m_consumer;
+
         private ByteMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToByteConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, ByteCellValueConsumer<D, CP>> consumerFactory) {
             super(converterFactory, consumerFactory);
@@ -324,15 +394,18 @@ private ByteMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToByt
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToByteConverter converter = m_converterFactory.create();
-            final ByteCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final byte value = converter.convertIntoByte(cell);
-                consumer.consumeByteCellValue(m_destination, value, params);
+                final byte value = m_converter.convertIntoByte(cell);
+                m_consumer.consumeByteCellValue(m_destination, value, params);
             }
         }
     }
@@ -341,6 +414,11 @@ private final class ShortMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToShortConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, ShortCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToShortConverter m_converter;
+
+        private ShortCellValueConsumer<D, CP> m_consumer;
+
         private ShortMapper(
             final TypedDataCellToJavaConverterFactory<?, ?, DataCellToShortConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, ShortCellValueConsumer<D, CP>> consumerFactory) {
@@ -349,15 +427,18 @@ private ShortMapper(
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToShortConverter converter = m_converterFactory.create();
-            final ShortCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final short value = converter.convertIntoShort(cell);
-                consumer.consumeShortCellValue(m_destination, value, params);
+                final short value = m_converter.convertIntoShort(cell);
+                m_consumer.consumeShortCellValue(m_destination, value, params);
             }
         }
     }
@@ -366,6 +447,11 @@ private final class CharMapper extends Mapper<CP, //
             TypedDataCellToJavaConverterFactory<?, ?, DataCellToCharConverter<?>>, //
             TypedCellValueConsumerFactory<D, ?, ?, CP, CharCellValueConsumer<D, CP>>> {
 
+        @SuppressWarnings("rawtypes")
+        private DataCellToCharConverter m_converter;
+
+        private CharCellValueConsumer<D, CP> m_consumer;
+
         private CharMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToCharConverter<?>> converterFactory,
             final TypedCellValueConsumerFactory<D, ?, ?, CP, CharCellValueConsumer<D, CP>> consumerFactory) {
             super(converterFactory, consumerFactory);
@@ -373,15 +459,18 @@ private CharMapper(final TypedDataCellToJavaConverterFactory<?, ?, DataCellToCha
 
         @Override
         protected void map(final DataCell cell, final CP params) throws Exception {
-            @SuppressWarnings("rawtypes")
-            final DataCellToCharConverter converter = m_converterFactory.create();
-            final CharCellValueConsumer<D, CP> consumer = m_consumerFactory.create();
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = m_consumerFactory.create();
+            }
             if (cell.isMissing()) {
-                consumer.consumeMissingCellValue(m_destination, params);
+                m_consumer.consumeMissingCellValue(m_destination, params);
             } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
                 @SuppressWarnings("unchecked")
-                final char value = converter.convertIntoChar(cell);
-                consumer.consumeCharCellValue(m_destination, value, params);
+                final char value = m_converter.convertIntoChar(cell);
+                m_consumer.consumeCharCellValue(m_destination, value, params);
             }
         }
     }
@@ -390,19 +479,29 @@ private final class ObjectMapper extends Mapper<CP, //
             DataCellToJavaConverterFactory<?, ?>, //
             CellValueConsumerFactory<D, ?, ?, CP>> {
 
+        private DataCellToJavaConverter<?, ?> m_converter;
+
+        private CellValueConsumer<D, Object, CP> m_consumer;
+
         private ObjectMapper(final DataCellToJavaConverterFactory<?, ?> converterFactory,
             final CellValueConsumerFactory<D, ?, ?, CP> consumerFactory) {
             super(converterFactory, consumerFactory);
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         protected void map(final DataCell cell, final CP params) throws Exception {
-            final DataCellToJavaConverter<?, ?> converter = m_converterFactory.create();
-            @SuppressWarnings("unchecked")
-            final CellValueConsumer<D, Object, CP> consumer =
-                (CellValueConsumer<D, Object, CP>)m_consumerFactory.create();
-            final Object cellValue = cell.isMissing() ? null : converter.convertUnsafe(cell);
-            consumer.consumeCellValue(m_destination, cellValue, params);
+            if (m_consumer == null || !m_reuseInstances) {
+                m_consumer = (CellValueConsumer<D, Object, CP>)m_consumerFactory.create();
+            }
+            if (cell.isMissing()) {
+                m_consumer.consumeCellValue(m_destination, null, params);
+            } else {
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create();
+                }
+                m_consumer.consumeCellValue(m_destination, m_converter.convertUnsafe(cell), params);
+            }
         }
     }
 
@@ -74,7 +74,12 @@
  * {@link ProductionPath production paths}.
  * <P>
  * Internally, each production path is translated to an executable mapper. There are mapper implementations for all Java
- * primitive types (to avoid autoboxing) as well as a common one for all object types.
+ * primitive types (to avoid autoboxing) as well as a common one for all object types. By default, a mapper creates a
+ * new producer and converter for each value it maps. If the row producer is created with {@code reuseInstances} set,
+ * the producer of a mapper is instead created when the first row is produced, its converter when the first
+ * non-missing value is converted, and both are reused for all following rows. This is only allowed if they do not
+ * keep state of a previous row that affects the next one. Mappers never share instances, even if their factories are
+ * the same.
  *
  * @param <S> Type of the {@link Source} from which to create data rows.
  * @param <PP> Subtype of {@link Source.ProducerParameters} that can be used to configure the producers per call to
@@ -93,6 +98,8 @@
 
     private final DataCell[] m_tempCells;
 
+    private final boolean m_reuseInstances;
+
     /**
     * Creates a new data row producer for the given source and the given mapping.
     *
@@ -120,8 +127,27 @@ public DefaultDataRowProducer(final S source, final ProductionPath[] mapping, fi
      */
     public DefaultDataRowProducer(final S source, final ProductionPath[] mapping,
         final FileStoreFactory fileStoreFactory) {
+        this(source, mapping, fileStoreFactory, false);
+    }
+
+    /**
+     * Creates a new data row producer for the given source and the given mapping.
+     *
+     * @param source The source from which to create data rows.
+     * @param mapping Production paths that describe the mapping from source to {@link DataCell data cells}. The number
+     *            and order of the passed paths must match the ones of the parameters later passed to
+     *            {@link #produceDataRow(RowKey, ProducerParameters[])}.
+     * @param fileStoreFactory {@link FileStoreFactory} which may be used for creating {@link CellFactory}s.
+     * @param reuseInstances {@code true} if the producers and converters created for the first row may be reused for
+     *            all following rows, {@code false} to create new ones per row. Only pass {@code true} if none of them
+     *            keeps state of a previous row that affects the next one.
+     * @since 3.8
+     */
+    public DefaultDataRowProducer(final S source, final ProductionPath[] mapping,
+        final FileStoreFactory fileStoreFactory, final boolean reuseInstances) {
         m_source = source;
         m_fileStoreFactory = fileStoreFactory;
+        m_reuseInstances = reuseInstances;
         m_tempCells = new DataCell[mapping.length];
         @SuppressWarnings("unchecked")
         final Mapper<PP, ?, ?>[] mappers = new Mapper[mapping.length];
@@ -227,6 +253,10 @@ private final class DoubleMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, DoubleCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, DoubleToDataCellConverter>> {
 
+        private DoubleCellValueProducer<S, PP> m_producer;
+
+        private DoubleToDataCellConverter m_converter;
+
         private DoubleMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, DoubleCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, DoubleToDataCellConverter> converterFactory) {
@@ -235,12 +265,16 @@ private DoubleMapper(
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final DoubleCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final DoubleToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertDouble(producer.produceDoubleCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertDouble(m_producer.produceDoubleCellValue(m_source, params));
             }
         }
     }
@@ -249,6 +283,10 @@ private final class IntMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, IntCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, IntToDataCellConverter>> {
 
+        private IntCellValueProducer<S, PP> m_producer;
+
+        private IntToDataCellConverter m_converter;
+
         private IntMapper(final TypedCellValueProducerFactory<S, ?, ?, PP, IntCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, IntToDataCellConverter> converterFactory) {
             super(producerFactory, converterFactory);
@@ -256,12 +294,16 @@ private IntMapper(final TypedCellValueProducerFactory<S, ?, ?, PP, IntCellValueP
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final IntCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final IntToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertInt(producer.produceIntCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertInt(m_producer.produceIntCellValue(m_source, params));
             }
         }
     }
@@ -270,6 +312,10 @@ private final class LongMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, LongCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, LongToDataCellConverter>> {
 
+        private LongCellValueProducer<S, PP> m_producer;
+
+        private LongToDataCellConverter m_converter;
+
         private LongMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, LongCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, LongToDataCellConverter> converterFactory) {
@@ -278,12 +324,16 @@ private LongMapper(
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final LongCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final LongToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertLong(producer.produceLongCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertLong(m_producer.produceLongCellValue(m_source, params));
             }
         }
     }
@@ -292,6 +342,10 @@ private final class BooleanMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, BooleanCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, BooleanToDataCellConverter>> {
 
+        private BooleanCellValueProducer<S, PP> m_producer;
+
+        private BooleanToDataCellConverter m_converter;
+
         private BooleanMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, BooleanCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, BooleanToDataCellConverter> converterFactory) {
@@ -300,12 +354,16 @@ private BooleanMapper(
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final BooleanCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final BooleanToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertBoolean(producer.produceBooleanCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertBoolean(m_producer.produceBooleanCellValue(m_source, params));
             }
         }
     }
@@ -314,6 +372,10 @@ private final class FloatMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, FloatCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, FloatToDataCellConverter>> {
 
+        private FloatCellValueProducer<S, PP> m_producer;
+
+        private FloatToDataCellConverter m_converter;
+
         private FloatMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, FloatCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, FloatToDataCellConverter> converterFactory) {
@@ -322,12 +384,16 @@ private FloatMapper(
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final FloatCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final FloatToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertFloat(producer.produceFloatCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertFloat(m_producer.produceFloatCellValue(m_source, params));
             }
         }
     }
@@ -336,6 +402,10 @@ private final class ByteMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, ByteCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, ByteToDataCellConverter>> {
 
+        private ByteCellValueProducer<S, PP> m_producer;
+
+        private ByteToDataCellConverter m_converter;
+
         private ByteMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, ByteCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, ByteToDataCellConverter> converterFactory) {
@@ -344,12 +414,16 @@ private ByteMapper(
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final ByteCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final ByteToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertByte(producer.produceByteCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertByte(m_producer.produceByteCellValue(m_source, params));
             }
         }
     }
@@ -358,6 +432,10 @@ private final class ShortMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, ShortCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, ShortToDataCellConverter>> {
 
+        private ShortCellValueProducer<S, PP> m_producer;
+
+        private ShortToDataCellConverter m_converter;
+
         private ShortMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, ShortCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, ShortToDataCellConverter> converterFactory) {
@@ -366,12 +444,16 @@ private ShortMapper(
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final ShortCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final ShortToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertShort(producer.produceShortCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertShort(m_producer.produceShortCellValue(m_source, params));
             }
         }
     }
@@ -380,6 +462,10 @@ private final class CharMapper extends Mapper<PP, //
             TypedCellValueProducerFactory<S, ?, ?, PP, CharCellValueProducer<S, PP>>, //
             TypedJavaToDataCellConverterFactory<?, CharToDataCellConverter>> {
 
+        private CharCellValueProducer<S, PP> m_producer;
+
+        private CharToDataCellConverter m_converter;
+
         private CharMapper(
             final TypedCellValueProducerFactory<S, ?, ?, PP, CharCellValueProducer<S, PP>> producerFactory,
             final TypedJavaToDataCellConverterFactory<?, CharToDataCellConverter> converterFactory) {
@@ -388,12 +474,16 @@ private CharMapper(
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final CharCellValueProducer<S, PP> producer = m_producerFactory.create();
-            final CharToDataCellConverter converter = m_converterFactory.create(m_fileStoreFactory);
-            if (producer.producesMissingCellValue(m_source, params)) {
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            if (m_producer.producesMissingCellValue(m_source, params)) {
                 return new MissingCell(null);
             } else {
-                return converter.convertChar(producer.produceCharCellValue(m_source, params));
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertChar(m_producer.produceCharCellValue(m_source, params));
             }
         }
     }
@@ -402,6 +492,10 @@ private final class ObjectMapper extends Mapper<PP, //
             CellValueProducerFactory<S, ?, ?, PP>, //
             JavaToDataCellConverterFactory<?>> {
 
+        private CellValueProducer<S, ?, PP> m_producer;
+
+        private JavaToDataCellConverter<?> m_converter;
+
         private ObjectMapper(final CellValueProducerFactory<S, ?, ?, PP> producerFactory,
             final JavaToDataCellConverterFactory<?> converterFactory) {
             super(producerFactory, converterFactory);
@@ -409,13 +503,17 @@ private ObjectMapper(final CellValueProducerFactory<S, ?, ?, PP> producerFactory
 
         @Override
         protected final DataCell map(final PP params) throws Exception {
-            final CellValueProducer<S, ?, PP> producer = m_producerFactory.create();
-            final JavaToDataCellConverter<?> converter = m_converterFactory.create(m_fileStoreFactory);
-            final Object value = producer.produceCellValue(m_source, params);
+            if (m_producer == null || !m_reuseInstances) {
+                m_producer = m_producerFactory.create();
+            }
+            final Object value = m_producer.produceCellValue(m_source, params);
             if (value == null) {
                 return new MissingCell(null);
             } else {
-                return converter.convertUnsafe(value);
+                if (m_converter == null || !m_reuseInstances) {
+                    m_converter = m_converterFactory.create(m_fileStoreFactory);
+                }
+                return m_converter.convertUnsafe(value);
             }
         }
     }
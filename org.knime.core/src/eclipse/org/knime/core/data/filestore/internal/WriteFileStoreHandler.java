@@ -51,7 +51,9 @@
 import java.io.IOException;
 import java.util.UUID;
 
+import org.apache.commons.io.FileUtils;
 import org.knime.core.data.IDataRepository;
+import org.knime.core.data.container.TempStorageManager;
 import org.knime.core.data.filestore.FileStore;
 import org.knime.core.data.filestore.FileStoreKey;
 import org.knime.core.data.filestore.FileStoreUtil;
@@ -90,6 +92,10 @@ public class WriteFileStoreHandler implements IWriteFileStoreHandler {
     private IDataRepository m_dataRepository;
     private LRUCache<FileStoreKey, FileStoreKey> m_createdFileStoreKeys;
     private int m_nextIndex = 0;
+    /** Accounts the files in m_baseDir, created along with the base directory. */
+    private TempStorageManager.Account m_tempStorageAccount;
+    /** Size of all sub folders that are completely filled, see {@link #createFileStoreInternal(String, byte[], int)}. */
+    private long m_completedFoldersSize;
 
 
     /**
@@ -126,6 +132,9 @@ public void clearAndDispose() {
             m_dataRepository.removeFileStoreHandler(this);
             m_dataRepository = null;
         }
+        if (m_tempStorageAccount != null) {
+            m_tempStorageAccount.release();
+        }
         if (m_baseDir != null) {
             StringBuilder b = new StringBuilder("Disposing file store \"");
             b.append(toString()).append("\"");
@@ -284,6 +293,13 @@ FileStore createFileStoreInternal(final String name,
         if (m_nextIndex > MAX_NR_FILES) {
             throw new IOException("Maximum number of files stores reached: " + MAX_NR_FILES);
         }
+        if (m_nextIndex > 0 && m_nextIndex % FILES_PER_FOLDER == 0) {
+            // previous folder is full - account its size (cheap compared to scanning the entire base directory)
+            m_completedFoldersSize += FileUtils.sizeOfDirectory(getParentDir(m_nextIndex - 1, false));
+            m_tempStorageAccount.setBytes(m_completedFoldersSize);
+        } else {
+            m_tempStorageAccount.checkQuotas();
+        }
         getParentDir(m_nextIndex, true);
         m_nextIndex++;
         FileStore fs = FileStoreUtil.createFileStore(this, key);
@@ -330,6 +346,8 @@ private void ensureInitBaseDirectory() throws IOException {
             // this will cut "Create FileStore Column 0-6-4" to "Creat0-6-4" ("0-6-4" is the node id)
             nodeName = nodeName.replaceAll("^(.{5}).*?(\\d+(?:-\\d+)+)", "$1_$2");
             baseDirName.append(nodeName).append("-");
+            m_tempStorageAccount = TempStorageManager.getInstance().createAccount();
+            m_tempStorageAccount.checkQuotas();
             m_baseDir = FileUtil.createTempDir(baseDirName.toString());
             LOGGER.debug("Assigning temp directory to file store \"" + toString() + "\"");
         }
@@ -355,6 +373,19 @@ public void close() {
             m_duplicateChecker.close();
             m_duplicateChecker = null;
         }
+        updateTempStorageUsage();
+    }
+
+    /** Accounts the current size of the base directory (all file stores are written when the handler is closed). */
+    private synchronized void updateTempStorageUsage() {
+        if (m_tempStorageAccount != null && m_baseDir != null && m_baseDir.isDirectory()) {
+            try {
+                m_tempStorageAccount.setBytes(FileUtils.sizeOfDirectory(m_baseDir));
+            } catch (IOException ioe) {
+                // node has finished writing already, fail the next writer instead
+                LOGGER.warn(ioe.getMessage(), ioe);
+            }
+        }
     }
 
     /** {@inheritDoc} */
@@ -368,6 +399,7 @@ public synchronized void ensureOpenAfterLoad() throws IOException {
             File source = m_baseDirInWorkflowFolder;
             m_baseDirInWorkflowFolder = null;
             FileUtil.copyDir(source, m_baseDir);
+            m_tempStorageAccount.setBytes(FileUtils.sizeOfDirectory(m_baseDir));
         }
     }
 
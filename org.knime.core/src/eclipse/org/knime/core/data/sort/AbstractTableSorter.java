@@ -604,7 +604,7 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
             buffer.add(row);
             if ((memObservable.lowMemoryActionRequired() && (rowsInCurrentChunk >= m_maxOpenContainers))
                 || (counter % m_maxRowsPerChunk == 0)) {
-                LOGGER.debug("Writing chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+                logChunk("Writing", chunkStartRow, counter);
                 if (m_rowsInInputTable > 0) {
                     long estimatedIncrements = m_rowsInInputTable - counter + buffer.size();
                     m_incProgress = (0.5 - m_progress) / estimatedIncrements;
@@ -630,7 +630,7 @@ private long createInitialChunks(final ExecutionMonitor exec, final DataTable da
                 buffer.clear();
                 closeChunk();
 
-                LOGGER.debug("Wrote chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+                logChunk("Wrote", chunkStartRow, counter);
                 chunkStartRow = counter + 1;
                 rowsInCurrentChunk = 0;
             }
@@ -679,6 +679,11 @@ void closeChunk() {
         }
     }
 
+    /** Logs the chunk boundaries and the memory usage, which is only determined if debug logging is enabled. */
+    private void logChunk(final String action, final long chunkStartRow, final long counter) {
+        LOGGER.debugLazy(() -> action + " chunk [" + chunkStartRow + ":" + counter + "] - mem usage: " + getMemUsage());
+    }
+
     private String getMemUsage() {
         Runtime runtime = Runtime.getRuntime();
         long free = runtime.freeMemory();
@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Bulk similarity kernels comparing one query bit vector with a batch of target vectors, e.g. the values of a column.
+ * The scores are written into a caller provided array; no result vectors are created. If query and target are both
+ * {@link DenseBitVectorCell}s, the storage words are compared directly and the cardinality of the target and of the
+ * intersection are counted in a single pass. All other combinations use
+ * {@link BitVectorUtil#cardinalityOfIntersection(BitVectorValue, BitVectorValue)}.
+ *
+ * <p>
+ * <code>null</code> targets (e.g. missing cells) result in {@link Double#NaN}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class BitVectorSimilarity {
+
+    private BitVectorSimilarity() {
+        // utility class
+    }
+
+    /**
+     * Computes the Tanimoto (Jaccard) similarity <code>|q &amp; t| / |q | t|</code> between the query and each target.
+     * Two empty vectors have a similarity of 1.
+     *
+     * @param query the query vector
+     * @param targets the vectors to compare with, may contain <code>null</code>
+     * @param result array receiving the score of <code>targets[i]</code> at index <code>i</code>, must be at least as
+     *            long as <code>targets</code>
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @throws IllegalArgumentException if the result array is too short
+     */
+    public static void tanimoto(final BitVectorValue query, final BitVectorValue[] targets, final double[] result) {
+        compute(query, targets, result, Measure.TANIMOTO);
+    }
+
+    /**
+     * Computes the cosine similarity <code>|q &amp; t| / sqrt(|q| * |t|)</code> between the query and each target. The
+     * similarity is 0 if one of the vectors is empty.
+     *
+     * @param query the query vector
+     * @param targets the vectors to compare with, may contain <code>null</code>
+     * @param result array receiving the score of <code>targets[i]</code> at index <code>i</code>, must be at least as
+     *            long as <code>targets</code>
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @throws IllegalArgumentException if the result array is too short
+     */
+    public static void cosine(final BitVectorValue query, final BitVectorValue[] targets, final double[] result) {
+        compute(query, targets, result, Measure.COSINE);
+    }
+
+    /**
+     * Computes the Euclidean distance <code>sqrt(|q ^ t|)</code> between the query and each target.
+     *
+     * @param query the query vector
+     * @param targets the vectors to compare with, may contain <code>null</code>
+     * @param result array receiving the distance of <code>targets[i]</code> at index <code>i</code>, must be at least
+     *            as long as <code>targets</code>
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @throws IllegalArgumentException if the result array is too short
+     */
+    public static void euclidean(final BitVectorValue query, final BitVectorValue[] targets, final double[] result) {
+        compute(query, targets, result, Measure.EUCLIDEAN);
+    }
+
+    private static void compute(final BitVectorValue query, final BitVectorValue[] targets, final double[] result,
+        final Measure measure) {
+        CheckUtils.checkNotNull(query, "Query vector must not be null");
+        CheckUtils.checkNotNull(targets, "Target vectors must not be null");
+        CheckUtils.checkNotNull(result, "Result array must not be null");
+        CheckUtils.checkArgument(result.length >= targets.length,
+            "Result array too short (%d) for %d target vectors", result.length, targets.length);
+        final long queryCardinality = query.cardinality();
+        final long[] queryStorage =
+            query instanceof DenseBitVectorCell ? ((DenseBitVectorCell)query).getBitVector().getStorage() : null;
+        final long[] counts = new long[2];
+        for (int i = 0; i < targets.length; i++) {
+            final BitVectorValue target = targets[i];
+            if (target == null) {
+                result[i] = Double.NaN;
+                continue;
+            }
+            final long targetCardinality;
+            final long intersection;
+            if (queryStorage != null && target instanceof DenseBitVectorCell) {
+                ((DenseBitVectorCell)target).getBitVector().countIntersection(queryStorage, counts);
+                targetCardinality = counts[0];
+                intersection = counts[1];
+            } else {
+                targetCardinality = target.cardinality();
+                intersection = BitVectorUtil.cardinalityOfIntersection(query, target);
+            }
+            result[i] = measure.score(queryCardinality, targetCardinality, intersection);
+        }
+    }
+
+    private enum Measure {
+        TANIMOTO {
+            @Override
+            double score(final long queryCardinality, final long targetCardinality, final long intersection) {
+                final long union = queryCardinality + targetCardinality - intersection;
+                return union == 0 ? 1.0 : (double)intersection / union;
+            }
+        },
+        COSINE {
+            @Override
+            double score(final long queryCardinality, final long targetCardinality, final long intersection) {
+                if (queryCardinality == 0 || targetCardinality == 0) {
+                    return 0.0;
+                }
+                return intersection / Math.sqrt((double)queryCardinality * targetCardinality);
+            }
+        },
+        EUCLIDEAN {
+            @Override
+            double score(final long queryCardinality, final long targetCardinality, final long intersection) {
+                return Math.sqrt(queryCardinality + targetCardinality - 2 * intersection);
+            }
+        };
+
+        abstract double score(long queryCardinality, long targetCardinality, long intersection);
+    }
+}
@@ -169,6 +169,8 @@ public static long cardinalityOfIntersection(final BitVectorValue bv1, final Bit
             return ((DenseBitVectorCell)bv1).cardinalityOfIntersection((DenseBitVectorCell)bv2);
         } else if (bv1 instanceof SparseBitVectorCell && bv2 instanceof SparseBitVectorCell) {
             return ((SparseBitVectorCell)bv1).cardinalityOfIntersection((SparseBitVectorCell)bv2);
+        } else if (bv1 instanceof CompressedBitVectorCell && bv2 instanceof CompressedBitVectorCell) {
+            return ((CompressedBitVectorCell)bv1).cardinalityOfIntersection((CompressedBitVectorCell)bv2);
         }
 
         // we have to go into the loop
@@ -203,6 +205,8 @@ public static long cardinalityOfRelativeComplement(final BitVectorValue bv1, fin
             return ((DenseBitVectorCell)bv1).cardinalityOfRelativeComplement((DenseBitVectorCell)bv2);
         } else if (bv1 instanceof SparseBitVectorCell && bv2 instanceof SparseBitVectorCell) {
             return ((SparseBitVectorCell)bv1).cardinalityOfRelativeComplement((SparseBitVectorCell)bv2);
+        } else if (bv1 instanceof CompressedBitVectorCell && bv2 instanceof CompressedBitVectorCell) {
+            return ((CompressedBitVectorCell)bv1).cardinalityOfRelativeComplement((CompressedBitVectorCell)bv2);
         }
 
         long bv1Idx = bv1.nextSetBit(0);
@@ -0,0 +1,903 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable bit vector that partitions its index space into blocks of 2<sup>16</sup> bits and stores each non-empty
+ * block in the smallest of three container types (similar to "roaring bitmaps"):
+ * <ul>
+ * <li>an array container keeping the sorted low 16 bits of the set indices (for sparse blocks),</li>
+ * <li>a bitmap container with 1024 words (for dense blocks) and</li>
+ * <li>a run container keeping start and length of runs of consecutive ones.</li>
+ * </ul>
+ * This representation is suitable for vectors that are neither purely sparse nor purely dense. It is used by the
+ * {@link CompressedBitVectorCell}; use {@link SparseBitVector} or {@link DenseBitVector} if the vector needs to be
+ * modified.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class CompressedBitVector {
+
+    /** Version of the format written by {@link #serialize(DataOutput)}. */
+    private static final byte SERIAL_VERSION = 1;
+
+    private static final int BLOCK_BITS = 16;
+
+    private static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    /** Maximum cardinality of an array container; larger blocks are stored as bitmaps (unless runs are smaller). */
+    private static final int MAX_ARRAY_CARDINALITY = 4096;
+
+    private final long m_length;
+
+    /** Sorted block keys, i.e. the set bit indices shifted right by {@link #BLOCK_BITS}. */
+    private final long[] m_keys;
+
+    /** The containers of the blocks in {@link #m_keys}, none is empty. */
+    private final Container[] m_containers;
+
+    private final long m_cardinality;
+
+    private CompressedBitVector(final long length, final long[] keys, final Container[] containers) {
+        m_length = length;
+        m_keys = keys;
+        m_containers = containers;
+        long cardinality = 0;
+        for (Container c : containers) {
+            cardinality += c.cardinality();
+        }
+        m_cardinality = cardinality;
+    }
+
+    /**
+     * Creates a new vector with the given set bits.
+     *
+     * @param length the length of the vector
+     * @param oneIndices the indices of the set bits, sorted in ascending order (lowest index first)
+     * @throws IllegalArgumentException if the length is negative or the indices are not sorted, contain duplicates or
+     *             are out of range
+     */
+    public CompressedBitVector(final long length, final long[] oneIndices) {
+        this(build(length, oneIndices));
+    }
+
+    /**
+     * Creates a compressed copy of the given bit vector.
+     *
+     * @param bitVector the vector to copy, e.g. a {@link DenseBitVectorCell} or {@link SparseBitVectorCell}
+     */
+    public CompressedBitVector(final BitVectorValue bitVector) {
+        this(build(bitVector));
+    }
+
+    private CompressedBitVector(final CompressedBitVector built) {
+        this(built.m_length, built.m_keys, built.m_containers);
+    }
+
+    private static CompressedBitVector build(final long length, final long[] oneIndices) {
+        final Builder builder = new Builder(length);
+        for (long index : oneIndices) {
+            builder.add(index);
+        }
+        return builder.build();
+    }
+
+    private static CompressedBitVector build(final BitVectorValue bitVector) {
+        final Builder builder = new Builder(bitVector.length());
+        for (long i = bitVector.nextSetBit(0); i >= 0; i = bitVector.nextSetBit(i + 1)) {
+            builder.add(i);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the length of the vector
+     */
+    public long length() {
+        return m_length;
+    }
+
+    /**
+     * @return the number of set bits
+     */
+    public long cardinality() {
+        return m_cardinality;
+    }
+
+    /**
+     * @return <code>true</code> if no bit is set
+     */
+    public boolean isEmpty() {
+        return m_cardinality == 0;
+    }
+
+    /**
+     * @return the number of blocks storing set bits
+     */
+    int getNrContainers() {
+        return m_containers.length;
+    }
+
+    /**
+     * Returns the value of the bit at the given index.
+     *
+     * @param bitIdx the index of the bit
+     * @return <code>true</code> if the bit is set
+     * @throws ArrayIndexOutOfBoundsException if the index is negative or not smaller than the length
+     */
+    public boolean get(final long bitIdx) {
+        if (bitIdx < 0 || bitIdx >= m_length) {
+            throw new ArrayIndexOutOfBoundsException(
+                "Index ('" + bitIdx + "') out of range for vector of length " + m_length);
+        }
+        final int c = Arrays.binarySearch(m_keys, bitIdx >>> BLOCK_BITS);
+        return c >= 0 && m_containers[c].contains((int)(bitIdx & BLOCK_MASK));
+    }
+
+    /**
+     * Finds the next set bit on or after the given index, see {@link BitVectorValue#nextSetBit(long)}.
+     *
+     * @param startIdx the first index to look at
+     * @return the index of the next set bit or -1 if there is none
+     * @throws ArrayIndexOutOfBoundsException if the index is negative
+     */
+    public long nextSetBit(final long startIdx) {
+        if (startIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException("Starting index can't be negative");
+        }
+        if (startIdx >= m_length) {
+            return -1;
+        }
+        final long key = startIdx >>> BLOCK_BITS;
+        int c = Arrays.binarySearch(m_keys, key);
+        if (c >= 0) {
+            final int low = m_containers[c].nextSetBit((int)(startIdx & BLOCK_MASK));
+            if (low >= 0) {
+                return (key << BLOCK_BITS) | low;
+            }
+            c++;
+        } else {
+            c = -c - 1;
+        }
+        return c < m_keys.length ? (m_keys[c] << BLOCK_BITS) | m_containers[c].nextSetBit(0) : -1;
+    }
+
+    /**
+     * Finds the next clear bit on or after the given index, see {@link BitVectorValue#nextClearBit(long)}.
+     *
+     * @param startIdx the first index to look at
+     * @return the index of the next clear bit or -1 if there is none
+     * @throws ArrayIndexOutOfBoundsException if the index is negative
+     */
+    public long nextClearBit(final long startIdx) {
+        if (startIdx < 0) {
+            throw new ArrayIndexOutOfBoundsException("Starting index can't be negative");
+        }
+        long idx = startIdx;
+        while (idx < m_length) {
+            final long key = idx >>> BLOCK_BITS;
+            final int c = Arrays.binarySearch(m_keys, key);
+            if (c < 0) {
+                return idx;
+            }
+            final int low = m_containers[c].nextClearBit((int)(idx & BLOCK_MASK));
+            if (low < BLOCK_SIZE) {
+                idx = (key << BLOCK_BITS) | low;
+                return idx < m_length ? idx : -1;
+            }
+            idx = (key + 1) << BLOCK_BITS;
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the number of bits set in both vectors without creating the intersection.
+     *
+     * @param other the other vector
+     * @return the cardinality of the intersection
+     */
+    public long cardinalityOfIntersection(final CompressedBitVector other) {
+        long result = 0;
+        int i = 0;
+        int j = 0;
+        while (i < m_keys.length && j < other.m_keys.length) {
+            final long k1 = m_keys[i];
+            final long k2 = other.m_keys[j];
+            if (k1 < k2) {
+                i++;
+            } else if (k1 > k2) {
+                j++;
+            } else {
+                result += Container.intersectionCardinality(m_containers[i++], other.m_containers[j++]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indices of all set bits.
+     *
+     * @return a new array with the indices of all set bits in ascending order
+     * @throws IllegalStateException if more than {@link Integer#MAX_VALUE} bits are set
+     */
+    public long[] getAllOneIndices() {
+        if (m_cardinality > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many bits set (" + m_cardinality + ") to return them as array");
+        }
+        final long[] result = new long[(int)m_cardinality];
+        int offset = 0;
+        for (int c = 0; c < m_keys.length; c++) {
+            offset = m_containers[c].fill(m_keys[c] << BLOCK_BITS, result, offset);
+        }
+        return result;
+    }
+
+    /**
+     * @return a new sparse bit vector with the same bits set
+     */
+    public SparseBitVector toSparseBitVector() {
+        return new SparseBitVector(m_length, getAllOneIndices());
+    }
+
+    /**
+     * @return a new dense bit vector with the same bits set
+     */
+    public DenseBitVector toDenseBitVector() {
+        final DenseBitVector result = new DenseBitVector(m_length);
+        for (long i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * @return the hex representation of the bits, see {@link BitVectorValue#toHexString()}
+     */
+    public String toHexString() {
+        return toSparseBitVector().toHexString();
+    }
+
+    /**
+     * @return the binary representation of the bits, see {@link BitVectorValue#toBinaryString()}
+     */
+    public String toBinaryString() {
+        return toSparseBitVector().toBinaryString();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        final long max = Math.min(m_cardinality, BitVectorValue.MAX_DISPLAY_BITS);
+        final StringBuilder result = new StringBuilder();
+        result.append("{length=").append(m_length).append(", set bits=");
+        long i = nextSetBit(0);
+        for (long n = 0; n < max; n++) {
+            if (n > 0) {
+                result.append(", ");
+            }
+            result.append(i);
+            i = nextSetBit(i + 1);
+        }
+        if (max < m_cardinality) {
+            result.append(", ...");
+        }
+        return result.append('}').toString();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompressedBitVector)) {
+            return false;
+        }
+        final CompressedBitVector o = (CompressedBitVector)obj;
+        if (o.m_length != m_length || o.m_cardinality != m_cardinality || !Arrays.equals(o.m_keys, m_keys)) {
+            return false;
+        }
+        for (int c = 0; c < m_containers.length; c++) {
+            final int cardinality = m_containers[c].cardinality();
+            if (o.m_containers[c].cardinality() != cardinality
+                || Container.intersectionCardinality(m_containers[c], o.m_containers[c]) != cardinality) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        // independent of the container types
+        int hash = Long.hashCode(m_length);
+        hash = 31 * hash + Long.hashCode(m_cardinality);
+        for (int c = 0; c < m_keys.length; c++) {
+            hash = 31 * hash + Long.hashCode(m_keys[c]);
+            hash = 31 * hash + m_containers[c].cardinality();
+        }
+        return hash;
+    }
+
+    /**
+     * Writes this vector to the given output. The format starts with a version byte.
+     *
+     * @param output to write to
+     * @throws IOException if writing fails
+     */
+    public void serialize(final DataOutput output) throws IOException {
+        output.writeByte(SERIAL_VERSION);
+        output.writeLong(m_length);
+        output.writeInt(m_keys.length);
+        for (int c = 0; c < m_keys.length; c++) {
+            output.writeLong(m_keys[c]);
+            m_containers[c].write(output);
+        }
+    }
+
+    /**
+     * Reads a vector written by {@link #serialize(DataOutput)}.
+     *
+     * @param input to read from
+     * @return the vector
+     * @throws IOException if reading fails, the version is not supported or the data is corrupt
+     */
+    public static CompressedBitVector deserialize(final DataInput input) throws IOException {
+        final byte version = input.readByte();
+        if (version != SERIAL_VERSION) {
+            throw new IOException("Unsupported compressed bit vector format version: " + version);
+        }
+        final long length = input.readLong();
+        final int nrContainers = input.readInt();
+        if (length < 0 || nrContainers < 0) {
+            throw new IOException("Invalid compressed bit vector (length " + length + ", " + nrContainers
+                + " containers)");
+        }
+        final long[] keys = new long[nrContainers];
+        final Container[] containers = new Container[nrContainers];
+        for (int c = 0; c < nrContainers; c++) {
+            keys[c] = input.readLong();
+            containers[c] = Container.read(input);
+        }
+        return new CompressedBitVector(length, keys, containers);
+    }
+
+    /** Collects ascending indices block by block. */
+    private static final class Builder {
+
+        private final long m_length;
+
+        private long[] m_keys = new long[4];
+
+        private Container[] m_containers = new Container[4];
+
+        private int m_size;
+
+        private long m_lastIndex = -1;
+
+        private long m_currentKey = -1;
+
+        private char[] m_lows = new char[64];
+
+        private int m_nrLows;
+
+        Builder(final long length) {
+            if (length < 0) {
+                throw new IllegalArgumentException("Length of a bit vector can't be negative");
+            }
+            m_length = length;
+        }
+
+        void add(final long index) {
+            if (index <= m_lastIndex || index >= m_length) {
+                throw new IllegalArgumentException("Bit indices must be sorted, unique and within [0, " + m_length
+                    + "), got " + index + " after " + m_lastIndex);
+            }
+            m_lastIndex = index;
+            final long key = index >>> BLOCK_BITS;
+            if (key != m_currentKey) {
+                flush();
+                m_currentKey = key;
+            }
+            if (m_nrLows == m_lows.length) {
+                m_lows = Arrays.copyOf(m_lows, Math.min(2 * m_lows.length, BLOCK_SIZE));
+            }
+            m_lows[m_nrLows++] = (char)(index & BLOCK_MASK);
+        }
+
+        private void flush() {
+            if (m_nrLows == 0) {
+                return;
+            }
+            if (m_size == m_keys.length) {
+                m_keys = Arrays.copyOf(m_keys, 2 * m_size);
+                m_containers = Arrays.copyOf(m_containers, 2 * m_size);
+            }
+            m_keys[m_size] = m_currentKey;
+            m_containers[m_size] = Container.create(m_lows, m_nrLows);
+            m_size++;
+            m_nrLows = 0;
+        }
+
+        CompressedBitVector build() {
+            flush();
+            return new CompressedBitVector(m_length, Arrays.copyOf(m_keys, m_size),
+                Arrays.copyOf(m_containers, m_size));
+        }
+    }
+
+    /** The set bits of one block of {@link CompressedBitVector#BLOCK_SIZE} bits; indices are the low 16 bits. */
+    private abstract static class Container {
+
+        static final byte ARRAY = 0;
+
+        static final byte BITMAP = 1;
+
+        static final byte RUN = 2;
+
+        /** Creates the smallest container for the given sorted, unique values. */
+        static Container create(final char[] values, final int count) {
+            int nrRuns = 1;
+            for (int i = 1; i < count; i++) {
+                if (values[i] != values[i - 1] + 1) {
+                    nrRuns++;
+                }
+            }
+            // sizes in bytes: runs 4 per run, array 2 per value, bitmap 8192
+            if (4L * nrRuns < Math.min(2L * count, 8192L)) {
+                return RunContainer.create(values, count, nrRuns);
+            } else if (count <= MAX_ARRAY_CARDINALITY) {
+                return new ArrayContainer(Arrays.copyOf(values, count));
+            } else {
+                return BitmapContainer.create(values, count);
+            }
+        }
+
+        static Container read(final DataInput input) throws IOException {
+            final byte kind = input.readByte();
+            final int size = input.readInt();
+            if (size <= 0 || size > BLOCK_SIZE) {
+                throw new IOException("Invalid container size: " + size);
+            }
+            switch (kind) {
+                case ARRAY:
+                    final char[] values = new char[size];
+                    for (int i = 0; i < size; i++) {
+                        values[i] = input.readChar();
+                    }
+                    return new ArrayContainer(values);
+                case BITMAP:
+                    final long[] words = new long[BLOCK_SIZE / Long.SIZE];
+                    for (int i = 0; i < words.length; i++) {
+                        words[i] = input.readLong();
+                    }
+                    return new BitmapContainer(words, size);
+                case RUN:
+                    final char[] runs = new char[2 * size];
+                    for (int i = 0; i < runs.length; i++) {
+                        runs[i] = input.readChar();
+                    }
+                    return new RunContainer(runs);
+                default:
+                    throw new IOException("Unknown container type: " + kind);
+            }
+        }
+
+        static long intersectionCardinality(final Container c1, final Container c2) {
+            if (c1 instanceof ArrayContainer) {
+                return ((ArrayContainer)c1).intersectionCardinality(c2);
+            } else if (c2 instanceof ArrayContainer) {
+                return ((ArrayContainer)c2).intersectionCardinality(c1);
+            } else if (c1 instanceof BitmapContainer) {
+                return ((BitmapContainer)c1).intersectionCardinality(c2);
+            } else if (c2 instanceof BitmapContainer) {
+                return ((BitmapContainer)c2).intersectionCardinality(c1);
+            }
+            return ((RunContainer)c1).intersectionCardinality((RunContainer)c2);
+        }
+
+        abstract int cardinality();
+
+        abstract boolean contains(int low);
+
+        /** @return the next set low index on or after <code>low</code> or -1 */
+        abstract int nextSetBit(int low);
+
+        /** @return the next clear low index on or after <code>low</code> or {@link #BLOCK_SIZE} */
+        abstract int nextClearBit(int low);
+
+        /** Adds all set indices (<code>base | low</code>) to the array, returns the new offset. */
+        abstract int fill(long base, long[] dest, int offset);
+
+        /** Writes the container type, its size and its content. */
+        abstract void write(DataOutput output) throws IOException;
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private final char[] m_values;
+
+        ArrayContainer(final char[] values) {
+            m_values = values;
+        }
+
+        @Override
+        int cardinality() {
+            return m_values.length;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            return Arrays.binarySearch(m_values, (char)low) >= 0;
+        }
+
+        @Override
+        int nextSetBit(final int low) {
+            final int i = Arrays.binarySearch(m_values, (char)low);
+            if (i >= 0) {
+                return low;
+            }
+            final int insertion = -i - 1;
+            return insertion < m_values.length ? m_values[insertion] : -1;
+        }
+
+        @Override
+        int nextClearBit(final int low) {
+            int i = Arrays.binarySearch(m_values, (char)low);
+            if (i < 0) {
+                return low;
+            }
+            int value = low;
+            while (i < m_values.length && m_values[i] == value) {
+                i++;
+                value++;
+            }
+            return value;
+        }
+
+        @Override
+        int fill(final long base, final long[] dest, final int offset) {
+            for (int i = 0; i < m_values.length; i++) {
+                dest[offset + i] = base | m_values[i];
+            }
+            return offset + m_values.length;
+        }
+
+        @Override
+        void write(final DataOutput output) throws IOException {
+            output.writeByte(ARRAY);
+            output.writeInt(m_values.length);
+            for (char v : m_values) {
+                output.writeChar(v);
+            }
+        }
+
+        long intersectionCardinality(final Container other) {
+            if (other instanceof ArrayContainer) {
+                final char[] o = ((ArrayContainer)other).m_values;
+                long result = 0;
+                int i = 0;
+                int j = 0;
+                while (i < m_values.length && j < o.length) {
+                    if (m_values[i] < o[j]) {
+                        i++;
+                    } else if (m_values[i] > o[j]) {
+                        j++;
+                    } else {
+                        result++;
+                        i++;
+                        j++;
+                    }
+                }
+                return result;
+            }
+            long result = 0;
+            for (char v : m_values) {
+                if (other.contains(v)) {
+                    result++;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] m_words;
+
+        private final int m_cardinality;
+
+        BitmapContainer(final long[] words, final int cardinality) {
+            m_words = words;
+            m_cardinality = cardinality;
+        }
+
+        static BitmapContainer create(final char[] values, final int count) {
+            final long[] words = new long[BLOCK_SIZE / Long.SIZE];
+            for (int i = 0; i < count; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, count);
+        }
+
+        @Override
+        int cardinality() {
+            return m_cardinality;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            return (m_words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        int nextSetBit(final int low) {
+            int w = low >>> 6;
+            long word = m_words[w] & (-1L << low);
+            while (word == 0) {
+                if (++w == m_words.length) {
+                    return -1;
+                }
+                word = m_words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        int nextClearBit(final int low) {
+            int w = low >>> 6;
+            long word = ~m_words[w] & (-1L << low);
+            while (word == 0) {
+                if (++w == m_words.length) {
+                    return BLOCK_SIZE;
+                }
+                word = ~m_words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        int fill(final long base, final long[] dest, final int offset) {
+            int pos = offset;
+            for (int w = 0; w < m_words.length; w++) {
+                long word = m_words[w];
+                while (word != 0) {
+                    dest[pos++] = base | ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return pos;
+        }
+
+        @Override
+        void write(final DataOutput output) throws IOException {
+            output.writeByte(BITMAP);
+            output.writeInt(m_cardinality);
+            for (long w : m_words) {
+                output.writeLong(w);
+            }
+        }
+
+        /** @return the number of set bits in [start, end) */
+        int cardinalityInRange(final int start, final int end) {
+            final int firstWord = start >>> 6;
+            final int lastWord = (end - 1) >>> 6;
+            final long firstMask = -1L << start;
+            final long lastMask = -1L >>> -end;
+            if (firstWord == lastWord) {
+                return Long.bitCount(m_words[firstWord] & firstMask & lastMask);
+            }
+            int result = Long.bitCount(m_words[firstWord] & firstMask);
+            for (int w = firstWord + 1; w < lastWord; w++) {
+                result += Long.bitCount(m_words[w]);
+            }
+            return result + Long.bitCount(m_words[lastWord] & lastMask);
+        }
+
+        /** @param other a bitmap or run container */
+        long intersectionCardinality(final Container other) {
+            if (other instanceof BitmapContainer) {
+                final long[] o = ((BitmapContainer)other).m_words;
+                long result = 0;
+                for (int w = 0; w < m_words.length; w++) {
+                    result += Long.bitCount(m_words[w] & o[w]);
+                }
+                return result;
+            }
+            final char[] runs = ((RunContainer)other).m_runs;
+            long result = 0;
+            for (int r = 0; r < runs.length; r += 2) {
+                result += cardinalityInRange(runs[r], runs[r] + runs[r + 1] + 1);
+            }
+            return result;
+        }
+    }
+
+    private static final class RunContainer extends Container {
+
+        /** Pairs of run start and run length minus one. */
+        private final char[] m_runs;
+
+        private final int m_cardinality;
+
+        RunContainer(final char[] runs) {
+            m_runs = runs;
+            int cardinality = 0;
+            for (int r = 0; r < runs.length; r += 2) {
+                cardinality += runs[r + 1] + 1;
+            }
+            m_cardinality = cardinality;
+        }
+
+        static RunContainer create(final char[] values, final int count, final int nrRuns) {
+            final char[] runs = new char[2 * nrRuns];
+            int r = 0;
+            int start = values[0];
+            for (int i = 1; i <= count; i++) {
+                if (i == count || values[i] != values[i - 1] + 1) {
+                    runs[r++] = (char)start;
+                    runs[r++] = (char)(values[i - 1] - start);
+                    if (i < count) {
+                        start = values[i];
+                    }
+                }
+            }
+            return new RunContainer(runs);
+        }
+
+        /** @return the index of the last run starting on or before <code>low</code> or -1 */
+        private int findRun(final int low) {
+            int lo = 0;
+            int hi = m_runs.length / 2 - 1;
+            int result = -1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (m_runs[2 * mid] <= low) {
+                    result = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return result;
+        }
+
+        private int end(final int run) {
+            return m_runs[2 * run] + m_runs[2 * run + 1];
+        }
+
+        @Override
+        int cardinality() {
+            return m_cardinality;
+        }
+
+        @Override
+        boolean contains(final int low) {
+            final int run = findRun(low);
+            return run >= 0 && low <= end(run);
+        }
+
+        @Override
+        int nextSetBit(final int low) {
+            final int run = findRun(low);
+            if (run >= 0 && low <= end(run)) {
+                return low;
+            }
+            final int next = run + 1;
+            return next < m_runs.length / 2 ? m_runs[2 * next] : -1;
+        }
+
+        @Override
+        int nextClearBit(final int low) {
+            int run = findRun(low);
+            if (run < 0 || low > end(run)) {
+                return low;
+            }
+            int candidate = end(run) + 1;
+            // runs written by other versions might be adjacent
+            while (++run < m_runs.length / 2 && m_runs[2 * run] == candidate) {
+                candidate = end(run) + 1;
+            }
+            return candidate;
+        }
+
+        @Override
+        int fill(final long base, final long[] dest, final int offset) {
+            int pos = offset;
+            for (int r = 0; r < m_runs.length; r += 2) {
+                final int end = m_runs[r] + m_runs[r + 1];
+                for (int v = m_runs[r]; v <= end; v++) {
+                    dest[pos++] = base | v;
+                }
+            }
+            return pos;
+        }
+
+        @Override
+        void write(final DataOutput output) throws IOException {
+            output.writeByte(RUN);
+            output.writeInt(m_runs.length / 2);
+            for (char c : m_runs) {
+                output.writeChar(c);
+            }
+        }
+
+        long intersectionCardinality(final RunContainer other) {
+            final char[] o = other.m_runs;
+            long result = 0;
+            int i = 0;
+            int j = 0;
+            while (i < m_runs.length && j < o.length) {
+                final int start1 = m_runs[i];
+                final int end1 = start1 + m_runs[i + 1];
+                final int start2 = o[j];
+                final int end2 = start2 + o[j + 1];
+                final int overlap = Math.min(end1, end2) - Math.max(start1, start2) + 1;
+                if (overlap > 0) {
+                    result += overlap;
+                }
+                if (end1 < end2) {
+                    i += 2;
+                } else {
+                    j += 2;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.vector.bitvector;
+
+/**
+ * Creates {@link CompressedBitVectorCell}s and converts them from and to the other bit vector cell implementations.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class CompressedBitVectorCellFactory {
+
+    private CompressedBitVectorCellFactory() {
+        // utility class
+    }
+
+    /**
+     * Creates a cell with the given set bits.
+     *
+     * @param length the length of the vector
+     * @param oneIndices the indices of the set bits in ascending order
+     * @return a new cell
+     * @throws IllegalArgumentException if the indices are not sorted, not unique or out of range
+     */
+    public static CompressedBitVectorCell createCell(final long length, final long[] oneIndices) {
+        return new CompressedBitVectorCell(new CompressedBitVector(length, oneIndices));
+    }
+
+    /**
+     * Creates a cell containing the given vector.
+     *
+     * @param bitVector the vector to wrap
+     * @return a new cell
+     */
+    public static CompressedBitVectorCell createCell(final CompressedBitVector bitVector) {
+        return new CompressedBitVectorCell(bitVector);
+    }
+
+    /**
+     * Converts any bit vector, e.g. a {@link DenseBitVectorCell} or a {@link SparseBitVectorCell}, into a compressed
+     * cell. Compressed cells are returned as they are.
+     *
+     * @param bitVector the vector to convert
+     * @return a cell with the same bits set
+     */
+    public static CompressedBitVectorCell createCell(final BitVectorValue bitVector) {
+        if (bitVector instanceof CompressedBitVectorCell) {
+            return (CompressedBitVectorCell)bitVector;
+        }
+        return new CompressedBitVectorCell(new CompressedBitVector(bitVector));
+    }
+
+    /**
+     * Converts the cell into a {@link DenseBitVectorCell}.
+     *
+     * @param cell the cell to convert
+     * @return a dense cell with the same bits set
+     */
+    public static DenseBitVectorCell toDenseCell(final CompressedBitVectorCell cell) {
+        return new DenseBitVectorCellFactory(cell.getBitVector().toDenseBitVector()).createDataCell();
+    }
+
+    /**
+     * Converts the cell into a {@link SparseBitVectorCell}.
+     *
+     * @param cell the cell to convert
+     * @return a sparse cell with the same bits set
+     */
+    public static SparseBitVectorCell toSparseCell(final CompressedBitVectorCell cell) {
+        return new SparseBitVectorCellFactory(cell.getBitVector().toSparseBitVector()).createDataCell();
+    }
+}
@@ -1251,6 +1251,41 @@ public String dumpBits() {
         return result.toString();
     }
 
+    /**
+     * Returns the storage words of this vector. Used by the bulk kernels in {@link BitVectorSimilarity}.
+     *
+     * @return the internal storage (not a copy, must not be modified)
+     */
+    long[] getStorage() {
+        return m_storage;
+    }
+
+    /**
+     * Counts the bits set in this vector and in its intersection with the given storage words in a single pass.
+     *
+     * @param otherStorage the storage words of the other operand, see {@link #getStorage()}
+     * @param counts array of at least length 2 receiving the cardinality of this vector (index 0) and the cardinality
+     *            of the intersection (index 1)
+     */
+    void countIntersection(final long[] otherStorage, final long[] counts) {
+        long cardinality = 0;
+        long intersection = 0;
+        if (m_firstAddr != -1) {
+            final int commonEnd = Math.min(m_lastAddr + 1, otherStorage.length);
+            int i = m_firstAddr;
+            for (; i < commonEnd; i++) {
+                final long word = m_storage[i];
+                cardinality += Long.bitCount(word);
+                intersection += Long.bitCount(word & otherStorage[i]);
+            }
+            for (; i <= m_lastAddr; i++) {
+                cardinality += Long.bitCount(m_storage[i]);
+            }
+        }
+        counts[0] = cardinality;
+        counts[1] = intersection;
+    }
+
     /**
      * Computes the cardinality of the intersection with the given bitVector.
      *
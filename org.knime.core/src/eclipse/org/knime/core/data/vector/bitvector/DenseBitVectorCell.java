@@ -206,6 +206,13 @@ public long nextSetBit(final long startIdx) {
     }
 
 
+    /**
+     * @return the internal dense bit vector (not a copy, must not be modified)
+     */
+    DenseBitVector getBitVector() {
+        return m_bitVector;
+    }
+
     /**
      * @see BitVectorUtil#cardinalityOfIntersection(BitVectorValue, BitVectorValue)
      * @param bitVectorCell the other cell containing the operand
@@ -100,6 +100,13 @@ public double getValue(final int index) {
         return m_doubleVector[index];
     }
 
+    /**
+     * @return the underlying array (not a copy, must not be modified)
+     */
+    double[] getValues() {
+        return m_doubleVector;
+    }
+
     /* ########################
      * CollectionDataValue
      * ######################## */
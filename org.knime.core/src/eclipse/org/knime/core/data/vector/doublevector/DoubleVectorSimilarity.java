@@ -0,0 +1,280 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.data.vector.doublevector;
+
+import org.knime.core.node.util.CheckUtils;
+
+/**
+ * Bulk similarity kernels comparing one query double vector with a batch of target vectors, e.g. the values of a
+ * column. The scores are written into a caller provided array; no intermediate objects are created per target. If
+ * query and target are both {@link DenseDoubleVectorCell}s, the backing arrays are processed directly in unrolled
+ * loops with independent accumulators, which the JIT compiles into pipelined (and where supported vectorized) code.
+ * Other {@link DoubleVectorValue} implementations are accessed element by element.
+ *
+ * <p>
+ * <code>null</code> targets (e.g. missing cells) result in {@link Double#NaN}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class DoubleVectorSimilarity {
+
+    private DoubleVectorSimilarity() {
+        // utility class
+    }
+
+    /**
+     * Computes the (continuous) Tanimoto similarity <code>q&middot;t / (|q|&sup2; + |t|&sup2; - q&middot;t)</code>
+     * between the query and each target. Two zero vectors have a similarity of 1.
+     *
+     * @param query the query vector
+     * @param targets the vectors to compare with, may contain <code>null</code>
+     * @param result array receiving the score of <code>targets[i]</code> at index <code>i</code>, must be at least as
+     *            long as <code>targets</code>
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @throws IllegalArgumentException if the result array is too short or a target differs in length from the query
+     */
+    public static void tanimoto(final DoubleVectorValue query, final DoubleVectorValue[] targets,
+        final double[] result) {
+        checkArguments(query, targets, result);
+        final double querySquaredNorm = dot(query, query);
+        final double[] sums = new double[2];
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] == null) {
+                result[i] = Double.NaN;
+            } else {
+                dotAndSquaredNorm(query, targets[i], sums, i);
+                final double denominator = querySquaredNorm + sums[1] - sums[0];
+                result[i] = denominator == 0.0 ? 1.0 : sums[0] / denominator;
+            }
+        }
+    }
+
+    /**
+     * Computes the cosine similarity <code>q&middot;t / (|q| |t|)</code> between the query and each target. The
+     * similarity is 0 if one of the vectors is a zero vector.
+     *
+     * @param query the query vector
+     * @param targets the vectors to compare with, may contain <code>null</code>
+     * @param result array receiving the score of <code>targets[i]</code> at index <code>i</code>, must be at least as
+     *            long as <code>targets</code>
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @throws IllegalArgumentException if the result array is too short or a target differs in length from the query
+     */
+    public static void cosine(final DoubleVectorValue query, final DoubleVectorValue[] targets,
+        final double[] result) {
+        checkArguments(query, targets, result);
+        final double queryNorm = Math.sqrt(dot(query, query));
+        final double[] sums = new double[2];
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] == null) {
+                result[i] = Double.NaN;
+            } else {
+                dotAndSquaredNorm(query, targets[i], sums, i);
+                final double denominator = queryNorm * Math.sqrt(sums[1]);
+                result[i] = denominator == 0.0 ? 0.0 : sums[0] / denominator;
+            }
+        }
+    }
+
+    /**
+     * Computes the Euclidean distance between the query and each target.
+     *
+     * @param query the query vector
+     * @param targets the vectors to compare with, may contain <code>null</code>
+     * @param result array receiving the distance of <code>targets[i]</code> at index <code>i</code>, must be at least
+     *            as long as <code>targets</code>
+     * @throws NullPointerException if any argument is <code>null</code>
+     * @throws IllegalArgumentException if the result array is too short or a target differs in length from the query
+     */
+    public static void euclidean(final DoubleVectorValue query, final DoubleVectorValue[] targets,
+        final double[] result) {
+        checkArguments(query, targets, result);
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] == null) {
+                result[i] = Double.NaN;
+            } else {
+                checkLength(query, targets[i], i);
+                result[i] = Math.sqrt(squaredDistance(query, targets[i]));
+            }
+        }
+    }
+
+    private static void checkArguments(final DoubleVectorValue query, final DoubleVectorValue[] targets,
+        final double[] result) {
+        CheckUtils.checkNotNull(query, "Query vector must not be null");
+        CheckUtils.checkNotNull(targets, "Target vectors must not be null");
+        CheckUtils.checkNotNull(result, "Result array must not be null");
+        CheckUtils.checkArgument(result.length >= targets.length,
+            "Result array too short (%d) for %d target vectors", result.length, targets.length);
+    }
+
+    private static void checkLength(final DoubleVectorValue query, final DoubleVectorValue target, final int index) {
+        CheckUtils.checkArgument(query.getLength() == target.getLength(),
+            "Target vector at index %d has length %d, query has length %d", index, target.getLength(),
+            query.getLength());
+    }
+
+    private static double dot(final DoubleVectorValue a, final DoubleVectorValue b) {
+        if (a instanceof DenseDoubleVectorCell && b instanceof DenseDoubleVectorCell) {
+            return dot(((DenseDoubleVectorCell)a).getValues(), ((DenseDoubleVectorCell)b).getValues());
+        }
+        double sum = 0.0;
+        for (int i = 0, n = a.getLength(); i < n; i++) {
+            sum += a.getValue(i) * b.getValue(i);
+        }
+        return sum;
+    }
+
+    /** Writes the dot product into <code>sums[0]</code> and the squared target norm into <code>sums[1]</code>. */
+    private static void dotAndSquaredNorm(final DoubleVectorValue query, final DoubleVectorValue target,
+        final double[] sums, final int index) {
+        checkLength(query, target, index);
+        if (query instanceof DenseDoubleVectorCell && target instanceof DenseDoubleVectorCell) {
+            dotAndSquaredNorm(((DenseDoubleVectorCell)query).getValues(), ((DenseDoubleVectorCell)target).getValues(),
+                sums);
+            return;
+        }
+        double dot = 0.0;
+        double norm = 0.0;
+        for (int i = 0, n = target.getLength(); i < n; i++) {
+            final double t = target.getValue(i);
+            dot += query.getValue(i) * t;
+            norm += t * t;
+        }
+        sums[0] = dot;
+        sums[1] = norm;
+    }
+
+    private static double squaredDistance(final DoubleVectorValue query, final DoubleVectorValue target) {
+        if (query instanceof DenseDoubleVectorCell && target instanceof DenseDoubleVectorCell) {
+            return squaredDistance(((DenseDoubleVectorCell)query).getValues(),
+                ((DenseDoubleVectorCell)target).getValues());
+        }
+        double sum = 0.0;
+        for (int i = 0, n = target.getLength(); i < n; i++) {
+            final double d = query.getValue(i) - target.getValue(i);
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    /*
+     * ----------- Array kernels ---------------------------------------------
+     * Four independent accumulators break the dependency chain of the sums;
+     * all arrays have the same length (checked by the callers).
+     */
+
+    private static double dot(final double[] a, final double[] b) {
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        final int n = a.length;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static void dotAndSquaredNorm(final double[] query, final double[] target, final double[] sums) {
+        double d0 = 0.0;
+        double d1 = 0.0;
+        double n0 = 0.0;
+        double n1 = 0.0;
+        final int n = target.length;
+        int i = 0;
+        for (; i + 1 < n; i += 2) {
+            final double t0 = target[i];
+            final double t1 = target[i + 1];
+            d0 += query[i] * t0;
+            d1 += query[i + 1] * t1;
+            n0 += t0 * t0;
+            n1 += t1 * t1;
+        }
+        for (; i < n; i++) {
+            final double t = target[i];
+            d0 += query[i] * t;
+            n0 += t * t;
+        }
+        sums[0] = d0 + d1;
+        sums[1] = n0 + n1;
+    }
+
+    private static double squaredDistance(final double[] a, final double[] b) {
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        final int n = a.length;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            final double d0 = a[i] - b[i];
+            final double d1 = a[i + 1] - b[i + 1];
+            final double d2 = a[i + 2] - b[i + 2];
+            final double d3 = a[i + 3] - b[i + 3];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+        for (; i < n; i++) {
+            final double d = a[i] - b[i];
+            s0 += d * d;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
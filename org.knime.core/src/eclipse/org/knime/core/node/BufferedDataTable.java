@@ -594,6 +594,24 @@ void save(final File dir, final Set<Integer> savedTableIDs, final ExecutionMonit
         }
     }
 
+    /** Counterpart to {@link #save(File, Set, ExecutionMonitor)} when the table's directory is retained from a
+     * previous save: adds the ID of this table and of all reference tables that {@link #save(File, Set,
+     * ExecutionMonitor)} would have written along with it, so that subsequent saves of the same tables are written
+     * as references.
+     * @param savedTableIDs Ids of tables that were previously saved (modified in place).
+     */
+    void addSavedTableIDs(final Set<Integer> savedTableIDs) {
+        if (!savedTableIDs.add(getBufferedTableId()) || m_delegate instanceof ContainerTable) {
+            return;
+        }
+        BufferedDataTable[] references = m_delegate.getReferenceTables();
+        for (BufferedDataTable reference : references) {
+            if (reference.getOwner() == getOwner()) {
+                reference.addSavedTableIDs(savedTableIDs);
+            }
+        }
+    }
+
     /**
      * Utility method that is used when the node saves its state. It saves
      * it to a file spec.xml.
@@ -51,6 +51,8 @@
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -61,6 +63,7 @@
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.storage.TableStoreFormatUnknownException;
@@ -1196,8 +1199,16 @@ public static void save(final NativeNodeContainer nnc, final NodeSettingsWO sett
          * table is returned in multiple outputs or if an output table is used
          * as "internal" held table. See bug 2117. */
         final Set<Integer> savedTableIDs = new HashSet<Integer>();
+        // artifacts (port/file store directories) retained from the previous save into this directory, see
+        // FileSingleNodeContainerPersistor#save - those that are not re-used are deleted below. The manifest is only
+        // put back once this save succeeded, so that a failed save causes all artifacts to be rewritten next time
+        final File nodeDir = nodeDirRef.getFile();
+        final NodeContentManifest removedManifest = node.removeContentManifest(nodeDir);
+        final NodeContentManifest previousManifest =
+            removedManifest != null ? removedManifest : new NodeContentManifest();
+        final NodeContentManifest manifest = new NodeContentManifest();
         execMon.setMessage("Ports");
-        savePorts(node, nodeDirRef, settings, savedTableIDs, portMon, isSaveData);
+        savePorts(node, nodeDirRef, settings, savedTableIDs, previousManifest, manifest, portMon, isSaveData);
         portMon.setProgress(1.0);
         execMon.setMessage("Internal Tables");
         saveInternalHeldTables(node, nodeDirRef, settings, savedTableIDs, internalMon, isSaveData);
@@ -1205,13 +1216,20 @@ public static void save(final NativeNodeContainer nnc, final NodeSettingsWO sett
         // save them last as now all tables have been saved (all cells ran through persistor) and all
         // FileStore#getFile() have been called and saved
         execMon.setMessage("File Store Objects");
-        saveFileStoreObjects(node, nodeDirRef, settings, fileStoreMon, isSaveData);
+        saveFileStoreObjects(node, nodeDirRef, settings, previousManifest, manifest, fileStoreMon, isSaveData);
         fileStoreMon.setProgress(1.0);
+        for (String artifact : previousManifest.getArtifactNames()) {
+            if (!manifest.getArtifactNames().contains(artifact)) { // e.g. node was reset
+                FileUtil.deleteRecursively(new File(nodeDir, artifact));
+            }
+        }
+        node.putContentManifest(nodeDir, manifest);
         execMon.setProgress(1.0);
     }
 
     private static void savePorts(final Node node, final ReferencedFile nodeDirRef, final NodeSettingsWO settings,
-        final Set<Integer> savedTableIDs, final ExecutionMonitor exec, final boolean saveData) throws IOException,
+        final Set<Integer> savedTableIDs, final NodeContentManifest previousManifest,
+        final NodeContentManifest manifest, final ExecutionMonitor exec, final boolean saveData) throws IOException,
         CanceledExecutionException {
         if (node.getNrOutPorts() == 0) {
             return;
@@ -1229,6 +1247,16 @@ private static void savePorts(final Node node, final ReferencedFile nodeDirRef,
             String portDirName;
             if (object != null && saveData) {
                 portDirName = portName;
+                String fingerprint = getFingerprint(object, savedTableIDs);
+                if (fingerprint != null
+                    && previousManifest.isUnchanged(portDirName, fingerprint, nodeDirRef.getFile())) {
+                    // same table as in last save - its directory was retained, only write the port settings
+                    saveRetainedPort(node, singlePortSetting, savedTableIDs, i);
+                    manifest.retain(portDirName, previousManifest);
+                    singlePortSetting.addString("port_dir_location", portDirName);
+                    subProgress.setProgress(1.0);
+                    continue;
+                }
                 ReferencedFile portDirRef = new ReferencedFile(nodeDirRef, portDirName);
                 File portDir = portDirRef.getFile();
                 subProgress.setMessage("Cleaning directory " + portDir.getAbsolutePath());
@@ -1244,6 +1272,8 @@ private static void savePorts(final Node node, final ReferencedFile nodeDirRef,
                     throw new IOException("Cannot write to port directory " + portDir.getAbsolutePath());
                 }
                 savePort(node, portDir, singlePortSetting, savedTableIDs, subProgress, i, saveData);
+                manifest.add(portDirName, fingerprint != null ? fingerprint
+                    : NodeContentManifest.createFingerprint("object", UUID.randomUUID()));
             } else {
                 portDirName = null;
             }
@@ -1252,6 +1282,34 @@ private static void savePorts(final Node node, final ReferencedFile nodeDirRef,
         }
     }
 
+    /**
+     * Fingerprint of a port object for the content manifest. Only tables are considered - they are immutable and their
+     * ID is unique within the session. Also reflects whether the table is saved as reference to a table that was
+     * saved before (same table in multiple outputs).
+     * @return the fingerprint or null if the object's directory can't be retained across saves.
+     */
+    private static String getFingerprint(final PortObject object, final Set<Integer> savedTableIDs) {
+        if (!(object instanceof BufferedDataTable)) {
+            return null;
+        }
+        Integer tableID = ((BufferedDataTable)object).getBufferedTableId();
+        // identity hash guards against equal IDs from different workflows (table IDs are unique per workflow only)
+        return NodeContentManifest.createFingerprint("table", tableID, System.identityHashCode(object),
+            savedTableIDs.contains(tableID) ? "reference" : "full");
+    }
+
+    /** Writes the port settings of a table port whose directory was retained from the last save. Mirrors
+     * {@link #savePort(Node, File, NodeSettingsWO, Set, ExecutionMonitor, int, boolean)}. */
+    private static void saveRetainedPort(final Node node, final NodeSettingsWO settings,
+        final Set<Integer> savedTableIDs, final int portIdx) {
+        PortObjectSpec spec = node.getOutputSpec(portIdx);
+        BufferedDataTable table = (BufferedDataTable)node.getOutputObject(portIdx);
+        settings.addString("port_spec_class", spec != null ? spec.getClass().getName() : null);
+        settings.addString("port_object_class", table.getClass().getName());
+        settings.addString("port_object_summary", node.getOutputObjectSummary(portIdx));
+        table.addSavedTableIDs(savedTableIDs);
+    }
+
     private static void saveInternalHeldTables(final Node node, final ReferencedFile nodeDirRef,
         final NodeSettingsWO settings, final Set<Integer> savedTableIDs, final ExecutionMonitor exec,
         final boolean saveData) throws IOException, CanceledExecutionException {
@@ -1404,12 +1462,15 @@ private static void savePortObject(final PortObjectSpec spec, final PortObject o
      * @param node
      * @param nodeDirRef
      * @param settings
+     * @param previousManifest manifest of the previous save into the node directory
+     * @param manifest manifest of the current save
      * @param fileStoreMon
      * @param isSaveData
      * @throws IOException
      */
     private static void saveFileStoreObjects(final Node node, final ReferencedFile nodeDirRef,
-        final NodeSettingsWO settings, final ExecutionMonitor fileStoreMon, final boolean isSaveData) throws IOException {
+        final NodeSettingsWO settings, final NodeContentManifest previousManifest, final NodeContentManifest manifest,
+        final ExecutionMonitor fileStoreMon, final boolean isSaveData) throws IOException {
         NodeSettingsWO fsSettings = settings.addNodeSettings("filestores");
         IFileStoreHandler fileStoreHandler = node.getFileStoreHandler();
         String uuidS;
@@ -1419,8 +1480,17 @@ private static void saveFileStoreObjects(final Node node, final ReferencedFile n
             File baseDir = defFileStoreHandler.getBaseDir();
             dirNameInFlow = baseDir == null ? null : FILESTORE_FOLDER_PREFIX;
             if (dirNameInFlow != null) {
-                File saveLocation = new File(nodeDirRef.getFile(), dirNameInFlow);
-                FileUtil.copyDir(baseDir, saveLocation);
+                // file stores are written lazily, hence the fingerprint also covers the files in the base directory
+                String fingerprint = NodeContentManifest.createFingerprint("filestore",
+                    defFileStoreHandler.getStoreUUID(), getDirectorySummary(baseDir));
+                if (previousManifest.isUnchanged(dirNameInFlow, fingerprint, nodeDirRef.getFile())) {
+                    manifest.retain(dirNameInFlow, previousManifest);
+                } else {
+                    File saveLocation = new File(nodeDirRef.getFile(), dirNameInFlow);
+                    FileUtil.deleteRecursively(saveLocation);
+                    FileUtil.copyDir(baseDir, saveLocation);
+                    manifest.add(dirNameInFlow, fingerprint);
+                }
             }
             uuidS = defFileStoreHandler.getStoreUUID().toString();
         } else {
@@ -1431,6 +1501,19 @@ private static void saveFileStoreObjects(final Node node, final ReferencedFile n
         fsSettings.addString("file_store_id", uuidS);
     }
 
+    /** Number of files, total size and latest modification time of all files in a directory. */
+    private static String getDirectorySummary(final File dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir.toPath())) {
+            long[] summary = new long[3];
+            files.map(Path::toFile).filter(File::isFile).forEach(f -> {
+                summary[0] += 1;
+                summary[1] += f.length();
+                summary[2] = Math.max(summary[2], f.lastModified());
+            });
+            return summary[0] + "/" + summary[1] + "/" + summary[2];
+        }
+    }
+
     private static void saveBufferedDataTable(final BufferedDataTable table, final Set<Integer> savedTableIDs,
         final File directory, final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
         table.save(directory, savedTableIDs, exec);
@@ -169,6 +169,39 @@ public final class KNIMEConstants {
      */
     public static final String PROPERTY_TABLE_CACHE = "knime.table.cache";
 
+    /**
+     * Java property name to specify the size (in MB) of the process-wide cache for blob cells that are read from disk
+     * (for instance images or documents that are accessed repeatedly by a view). Blobs larger than a quarter of this
+     * size are not cached. A value of 0 disables the cache. Default is 64 MB.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_BLOB_CACHE_SIZE_IN_MB = "knime.blob.cache.size";
+
+    /**
+     * Java property name to specify the maximum size (in MB) of temporary table files and file stores that a single
+     * node may create. Exceeding it fails the node's execution. Unlimited by default.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TEMP_QUOTA_NODE_IN_MB = "knime.temp.quota.node";
+
+    /**
+     * Java property name to specify the maximum size (in MB) of temporary table files and file stores that all nodes
+     * of a workflow project may create. Unlimited by default.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TEMP_QUOTA_WORKFLOW_IN_MB = "knime.temp.quota.workflow";
+
+    /**
+     * Java property name to specify the maximum size (in MB) of temporary table files and file stores in this KNIME
+     * instance. Unlimited by default.
+     *
+     * @since 3.8
+     */
+    public static final String PROPERTY_TEMP_QUOTA_TOTAL_IN_MB = "knime.temp.quota.total";
+
     /**
      * Java property to enable/disable table stream compression. Compression results in smaller temp-file sizes but also
      * (sometimes significant) longer runtime. By default {@code Gzip} is used.
@@ -284,6 +317,20 @@ public final class KNIMEConstants {
      * @since 2.8 */
     public static final String PROPERTY_DATABASE_CONCURRENCY = "knime.database.enable.concurrency";
 
+    /** Java property to set the maximum number of pooled connections per database URL and user. The default of 1
+     * keeps a single shared connection; larger values let concurrent statements use separate connections.
+     * @since 3.8 */
+    public static final String PROPERTY_DATABASE_POOL_SIZE = "knime.database.pool.size";
+
+    /** Java property to set the time in seconds after which an unused pooled database connection is closed.
+     * @since 3.8 */
+    public static final String PROPERTY_DATABASE_POOL_IDLE_TIMEOUT = "knime.database.pool.idle_timeout";
+
+    /** Java property to set the time in seconds after which a borrowed pooled database connection that has not been
+     * returned is reported as a potential leak.
+     * @since 3.8 */
+    public static final String PROPERTY_DATABASE_POOL_LEAK_THRESHOLD = "knime.database.pool.leak_threshold";
+
     /** @deprecated Use #PROPERTY_DATABASE_FETCHSIZE instead. */
     @Deprecated
     // obsolete as of v2.3
@@ -322,6 +369,33 @@ public final class KNIMEConstants {
    public static final String PROPERTY_DISABLE_LOG4J_CONFIG =
        "knime.log4j.config.disabled";
 
+   /**
+    * Java property to write the KNIME log file and the workflow directory log files in a background thread. Log
+    * events are put into a bounded buffer so that slow disks do not block the threads that log. The value should be
+    * <code>true</code> or <code>false</code> (which is the default).
+    *
+    * @since 3.8
+    */
+   public static final String PROPERTY_ASYNC_LOGGING = "knime.logging.async";
+
+   /**
+    * Java property for the number of log events that are buffered by each asynchronous log file appender, see
+    * {@link #PROPERTY_ASYNC_LOGGING}. Threads that log wait if the buffer is full. The default is 1024.
+    *
+    * @since 3.8
+    */
+   public static final String PROPERTY_ASYNC_LOGGING_BUFFER_SIZE = "knime.logging.async.buffersize";
+
+   /**
+    * Java property to record a profile for each node execution, containing CPU time, allocated bytes, processed rows,
+    * temp file usage and the time spent waiting for the workflow lock and the table writer. The profile is available
+    * via {@link org.knime.core.node.workflow.NodeTimer#getLastExecutionProfile()}. The value should be
+    * <code>true</code> or <code>false</code> (which is the default).
+    *
+    * @since 3.8
+    */
+   public static final String PROPERTY_NODE_PROFILING = "knime.profiling.enabled";
+
    /**
     * Java property for doing all dialog operations automatically in the
     * AWT event dispatch thread.
@@ -233,6 +233,10 @@ static class Input {
      * Set null on reset. */
     private IFileStoreHandler m_fileStoreHandler;
 
+    /** Content manifests of the last successful saves, by node directory. Kept in memory only as their fingerprints
+     * are bound to this session, see {@link NodeContentManifest}. */
+    private final Map<File, NodeContentManifest> m_contentManifests = new HashMap<>();
+
     // lock that prevents a possible deadlock if a node is currently configuring
     // (e.g. because inportHasNodeModelContent has been called)
     // and the WFM is asking if the node isExecutable(), which it is in most
@@ -1680,6 +1684,40 @@ public boolean isForceSychronousIO() {
         return m_forceSychronousIO;
     }
 
+    /**
+     * Removes and returns the content manifest of the last successful save into the given directory.
+     *
+     * @param nodeDir the node directory
+     * @return the manifest or null if there was no such save in this session
+     */
+    NodeContentManifest removeContentManifest(final File nodeDir) {
+        synchronized (m_contentManifests) {
+            return m_contentManifests.remove(nodeDir);
+        }
+    }
+
+    /**
+     * Remembers the content manifest of a successful save into the given directory.
+     *
+     * @param nodeDir the node directory
+     * @param manifest the manifest of the save
+     */
+    void putContentManifest(final File nodeDir, final NodeContentManifest manifest) {
+        synchronized (m_contentManifests) {
+            m_contentManifests.put(nodeDir, manifest);
+        }
+    }
+
+    /**
+     * @param nodeDir the node directory
+     * @return the content manifest of the last successful save into the given directory or null
+     */
+    NodeContentManifest getContentManifest(final File nodeDir) {
+        synchronized (m_contentManifests) {
+            return m_contentManifests.get(nodeDir);
+        }
+    }
+
     /**
      * Deletes any temporary resources associated with this node.
      */
@@ -0,0 +1,151 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Records, per node directory, a fingerprint of each data artifact (output port table, file store directory) written
+ * during save. It is used to retain an artifact's directory on subsequent saves into the same directory if the saved
+ * object did not change.
+ *
+ * <p>
+ * The fingerprint identifies the in-memory object that was saved (e.g. table ID within the current session). As it
+ * can't be matched after a restart, the manifest is not written to disc but kept with the {@link Node} for the
+ * directories it was saved into. After a restart (or load) all artifacts are rewritten on the first save.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class NodeContentManifest {
+
+    /** Fingerprints by artifact name. */
+    private final Map<String, String> m_entries = new TreeMap<>();
+
+    /** Creates a new empty manifest. */
+    NodeContentManifest() {
+    }
+
+    /**
+     * The names of the artifacts that the given node saved into the given directory during its last successful save
+     * in this session. These are retained or deleted by the next save of the node into that directory.
+     *
+     * @param node the node, not null
+     * @param nodeDir the node directory, not null
+     * @return the artifact names (directories relative to the node directory), possibly empty, never null
+     */
+    public static Set<String> getArtifactNames(final Node node, final File nodeDir) {
+        NodeContentManifest manifest = node.getContentManifest(nodeDir);
+        return manifest == null ? Collections.emptySet() : manifest.getArtifactNames();
+    }
+
+    /**
+     * Creates a fingerprint for an object, which is only valid in the current session.
+     *
+     * @param parts the identifying parts of the object, e.g. its type and ID
+     * @return the fingerprint
+     */
+    static String createFingerprint(final Object... parts) {
+        StringBuilder b = new StringBuilder();
+        for (Object part : parts) {
+            if (b.length() > 0) {
+                b.append(':');
+            }
+            b.append(part);
+        }
+        return b.toString();
+    }
+
+    /** @return the names of all artifacts (directories relative to the node directory) in this manifest */
+    Set<String> getArtifactNames() {
+        return Collections.unmodifiableSet(m_entries.keySet());
+    }
+
+    /**
+     * Whether the artifact was saved from an object with the given fingerprint and its directory still exists.
+     *
+     * @param artifact the artifact name (directory name relative to the node directory)
+     * @param fingerprint the fingerprint of the object to be saved
+     * @param nodeDir the node directory
+     * @return true if the artifact directory can be retained
+     */
+    boolean isUnchanged(final String artifact, final String fingerprint, final File nodeDir) {
+        return fingerprint.equals(m_entries.get(artifact)) && new File(nodeDir, artifact).isDirectory();
+    }
+
+    /**
+     * Adds an entry for a freshly written artifact.
+     *
+     * @param artifact the artifact name (directory name relative to the node directory)
+     * @param fingerprint the fingerprint of the saved object
+     */
+    void add(final String artifact, final String fingerprint) {
+        m_entries.put(artifact, fingerprint);
+    }
+
+    /**
+     * Adds the entry of a retained artifact as recorded in the previous manifest.
+     *
+     * @param artifact the artifact name
+     * @param previous the manifest of the previous save
+     */
+    void retain(final String artifact, final NodeContentManifest previous) {
+        String fingerprint = previous.m_entries.get(artifact);
+        if (fingerprint == null) {
+            throw new IllegalArgumentException("No entry \"" + artifact + "\" in previous manifest");
+        }
+        m_entries.put(artifact, fingerprint);
+    }
+
+}
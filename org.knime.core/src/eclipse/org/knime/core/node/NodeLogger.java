@@ -54,14 +54,19 @@
 import java.io.InputStreamReader;
 import java.io.Writer;
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.apache.log4j.Appender;
+import org.apache.log4j.AsyncAppender;
 import org.apache.log4j.FileAppender;
 import org.apache.log4j.Layout;
 import org.apache.log4j.Level;
@@ -265,7 +270,16 @@ public void workflowChanged(final WorkflowEvent event) {
     private static final Map<Writer, WriterAppender> WRITER =
             new HashMap<Writer, WriterAppender>();
 
-    private static final Map<String, Appender> WF_APPENDER = new HashMap<>();
+    /** Map of workflow directory appenders: workflow directory path -> Appender. Read without locking on every log
+     * call, so it must be a concurrent map; additions and removals are synchronized on the map. */
+    private static final Map<String, Appender> WF_APPENDER = new ConcurrentHashMap<>();
+
+    /** Whether the log file and the workflow directory log files are written by a background thread. */
+    private static final boolean ASYNC_LOGGING = Boolean.getBoolean(KNIMEConstants.PROPERTY_ASYNC_LOGGING);
+
+    /** Number of events buffered by each asynchronous appender. */
+    private static final int ASYNC_BUFFER_SIZE =
+        Math.max(1, Integer.getInteger(KNIMEConstants.PROPERTY_ASYNC_LOGGING_BUFFER_SIZE, 1024));
 
     /**
      * Maximum number of chars (10000) printed on <code>System.out</code> and
@@ -308,6 +322,12 @@ public void workflowChanged(final WorkflowEvent event) {
                 LOG_FILE_APPENDER = a;
                 WF_DIR_LOG_FILE_LAYOUT = a.getLayout();
                 checkLayoutFlags(WF_DIR_LOG_FILE_LAYOUT);
+                if (ASYNC_LOGGING) {
+                    root.removeAppender(a);
+                    root.addAppender(createAsyncAppender(a));
+                    Runtime.getRuntime().addShutdownHook(new Thread(NodeLogger::closeAsyncAppenders,
+                        "KNIME-Logger-Shutdown"));
+                }
             } else {
                 root.warn("Could not find '" + LOGFILE_APPENDER + "' appender");
                 LOG_FILE_APPENDER = new NullAppender();
@@ -319,6 +339,59 @@ public void workflowChanged(final WorkflowEvent event) {
     }
 
 
+    /**
+     * Wraps the given appender so that its events are put into a bounded buffer and written by a background thread.
+     * The filters of the wrapped appender are still evaluated, but only in the background thread. Package scope for
+     * tests.
+     *
+     * @param appender the appender to wrap
+     * @return the asynchronous appender
+     */
+    static AsyncAppender createAsyncAppender(final Appender appender) {
+        final AsyncAppender async = new AsyncAppender();
+        async.setName(appender.getName() + "-async");
+        async.setBufferSize(ASYNC_BUFFER_SIZE);
+        // wait for the writer if the buffer is full rather than dropping events
+        async.setBlocking(true);
+        async.addAppender(appender);
+        return async;
+    }
+
+    /** Writes the remaining buffered events on shutdown, the background threads are daemon threads. */
+    private static void closeAsyncAppenders() {
+        for (Appender a : getRootAppenders(false)) {
+            if (a instanceof AsyncAppender) {
+                a.close();
+            }
+        }
+        synchronized (WF_APPENDER) {
+            for (Appender a : WF_APPENDER.values()) {
+                a.close();
+            }
+        }
+    }
+
+    /**
+     * @param unwrap whether to return the appenders wrapped by asynchronous appenders instead of the wrappers
+     * @return the appenders of the root logger
+     */
+    private static List<Appender> getRootAppenders(final boolean unwrap) {
+        final List<Appender> appenders = new ArrayList<>();
+        for (@SuppressWarnings("unchecked")
+        Enumeration<Appender> appenderEnum = Logger.getRootLogger().getAllAppenders(); appenderEnum.hasMoreElements();) {
+            final Appender next = appenderEnum.nextElement();
+            if (unwrap && next instanceof AsyncAppender) {
+                for (@SuppressWarnings("unchecked")
+                Enumeration<Appender> nested = ((AsyncAppender)next).getAllAppenders(); nested.hasMoreElements();) {
+                    appenders.add(nested.nextElement());
+                }
+            } else {
+                appenders.add(next);
+            }
+        }
+        return appenders;
+    }
+
     private static void initLog4J() throws IOException {
         final String file = System.getProperty("log4j.configuration");
         if (file == null) {
@@ -384,9 +457,7 @@ private static void initLog4J() throws IOException {
     private static void updateLog4JKNIMELoggerLevel() {
         final Logger rootLogger = LogManager.getRootLogger();
         Level minimumLevel = rootLogger.getLevel(); // by default this is 'ERROR' but may be changed in log4j.xml
-        for (@SuppressWarnings("unchecked")
-        Enumeration<Appender> appenderEnum = rootLogger.getAllAppenders(); appenderEnum.hasMoreElements();) {
-            Appender next = appenderEnum.nextElement();
+        for (Appender next : getRootAppenders(true)) {
             for (Filter filter = next.getFilter(); filter != null; filter = filter.getNext()) {
                 Level l = null;
                 if (filter instanceof LevelMatchFilter) {
@@ -531,6 +602,10 @@ private static void copyrightMessage() {
     /**Listens to workflow changes e.g. when a workflow is closed to unregister all related workflow directory logger.*/
     private MyWorkflowListener m_listener;
 
+    /** The workflow directory appender last added to {@link #m_logger}. Adding an appender locks the logger, so it is
+     * only done if the workflow directory changes. */
+    private volatile Appender m_wfAppender;
+
     /**
      * Hidden default constructor, logger created by
      * <code>java.lang.Class</code>.
@@ -605,6 +680,75 @@ public void debug(final Object o) {
     }
 
 
+    /**
+     * Write warning message into this logger. The message is only created if the warning level is enabled.
+     *
+     * @param messageSupplier supplies the message to print
+     * @since 3.8
+     */
+    public void warnLazy(final Supplier<String> messageSupplier) {
+        if (isEnabledFor(LEVEL.WARN)) {
+            warn(getMessage(messageSupplier));
+        }
+    }
+
+    /**
+     * Write debugging message into this logger. The message is only created if the debug level is enabled, which
+     * avoids string concatenation at the call site when debug logging is off. This is not an overload of
+     * {@link #debug(Object)} so that calls like <code>debug(null)</code> keep their meaning.
+     *
+     * @param messageSupplier supplies the message to print
+     * @since 3.8
+     */
+    public void debugLazy(final Supplier<String> messageSupplier) {
+        if (isDebugEnabled()) {
+            debug(getMessage(messageSupplier));
+        }
+    }
+
+    /**
+     * Write debugging message and throwable into this logger. The message is only created if the debug level is
+     * enabled.
+     *
+     * @param messageSupplier supplies the message to print
+     * @param t The exception to log, including its stack trace.
+     * @since 3.8
+     */
+    public void debugLazy(final Supplier<String> messageSupplier, final Throwable t) {
+        if (isDebugEnabled()) {
+            debug(getMessage(messageSupplier), t);
+        }
+    }
+
+    /**
+     * Write info message into this logger. The message is only created if the info level is enabled.
+     *
+     * @param messageSupplier supplies the message to print
+     * @since 3.8
+     */
+    public void infoLazy(final Supplier<String> messageSupplier) {
+        if (isInfoEnabled()) {
+            info(getMessage(messageSupplier));
+        }
+    }
+
+    /**
+     * Write error message into this logger. The message is only created if the error level is enabled.
+     *
+     * @param messageSupplier supplies the message to print
+     * @since 3.8
+     */
+    public void errorLazy(final Supplier<String> messageSupplier) {
+        if (isEnabledFor(LEVEL.ERROR)) {
+            error(getMessage(messageSupplier));
+        }
+    }
+
+    /** A <code>null</code> supplier is treated like a <code>null</code> message. */
+    private static Object getMessage(final Supplier<String> messageSupplier) {
+        return messageSupplier == null ? null : messageSupplier.get();
+    }
+
     /**
      * Write debugging message into this logger. The message is logged without a node context. This method should only
      * be used when you know that there is no node context available.
@@ -714,14 +858,20 @@ private void addWorkflowDirAppender(final File workflowDir) {
         }
         Appender wfAppender = WF_APPENDER.get(workflowDirPath);
         if (wfAppender != null) {
-            logger.addAppender(wfAppender);
+            if (wfAppender != m_wfAppender) {
+                logger.addAppender(wfAppender);
+                m_wfAppender = wfAppender;
+            }
         } else {
             //we do the getAppender twice to prevent the synchronize block on subsequent calls!!!
             synchronized (WF_APPENDER) {
                 //we need a synchronize block otherwise we might create a second appender that opens a file handle
                 //which never get closed and thus the copying of a full log file to the zip file fails
                 wfAppender = WF_APPENDER.get(workflowDirPath);
-                if (wfAppender == null) {
+                if (wfAppender != null) {
+                    logger.addAppender(wfAppender);
+                    m_wfAppender = wfAppender;
+                } else {
                     //use the KNIME specific LogfielAppender that moves larger log files into a separate zip file
                     //and that implements equals and hash code to ensure that two LogfileAppender
                     //with the same name are considered equal to prevent duplicate appender registration
@@ -729,7 +879,11 @@ private void addWorkflowDirAppender(final File workflowDir) {
                     fileAppender.setLayout(WF_DIR_LOG_FILE_LAYOUT);
                     fileAppender.setName(workflowDirPath);
                     final Filter mainFilter = LOG_FILE_APPENDER.getFilter();
-                    fileAppender.addFilter(new Filter() {
+                    //we have to call this function to activate the writer!!!
+                    fileAppender.activateOptions();
+                    //the filter is evaluated before the event is buffered by the asynchronous appender
+                    final Appender appender = ASYNC_LOGGING ? createAsyncAppender(fileAppender) : fileAppender;
+                    appender.addFilter(new Filter() {
                         @Override
                         public int decide(final LoggingEvent event) {
                             final Object msg = event.getMessage();
@@ -748,10 +902,9 @@ public int decide(final LoggingEvent event) {
                             return Filter.DENY;
                         }
                     });
-                    //we have to call this function to activate the writer!!!
-                    fileAppender.activateOptions();
-                    logger.addAppender(fileAppender);
-                    WF_APPENDER.put(workflowDirPath, fileAppender);
+                    logger.addAppender(appender);
+                    m_wfAppender = appender;
+                    WF_APPENDER.put(workflowDirPath, appender);
                     if (m_listener == null) {
                         m_listener = new MyWorkflowListener();
                         WorkflowManager.ROOT.addListener(m_listener);
@@ -782,6 +935,14 @@ private void removeWorkflowDirAppender(final File workflowDir) {
                     while (allLoggers.hasMoreElements()) {
                         allLoggers.nextElement().removeAppender(appender);
                     }
+                    //don't keep the closed appender referenced by the node loggers
+                    synchronized (LOGGERS) {
+                        for (NodeLogger nodeLogger : LOGGERS.values()) {
+                            if (nodeLogger.m_wfAppender == appender) {
+                                nodeLogger.m_wfAppender = null;
+                            }
+                        }
+                    }
                 }
             }
         }
@@ -1259,8 +1420,13 @@ private static String getHostname() {
      */
     public static void setAppenderLevelRange(final String appenderName, final LEVEL min, final LEVEL max)
             throws NoSuchElementException {
-        Logger root = Logger.getRootLogger();
-        Appender appender = root.getAppender(appenderName);
+        Appender appender = null;
+        for (Appender a : getRootAppenders(true)) {
+            if (appenderName.equals(a.getName())) {
+                appender = a;
+                break;
+            }
+        }
         if (appender == null) {
             throw new NoSuchElementException("Appender '" + appenderName + "' does not exist");
         }
@@ -126,6 +126,7 @@ public final class SandboxedNodeCreator {
     private File m_localWorkflowDir;
     private PortObject[] m_inData;
     private boolean m_copyDataIntoNewContext;
+    private boolean m_referenceInputTables;
     private boolean m_forwardConnectionProgressEvents;
 
     /** New creator with base information that can be further customized using the setter methods. None
@@ -167,6 +168,20 @@ public SandboxedNodeCreator setCopyData(final boolean copyDataIntoNewContext) {
         return this;
     }
 
+    /** Set whether input tables are referenced read-only by the sandbox rather than being copied, even if
+     * {@linkplain #setCopyData(boolean) data is copied}. This avoids a full copy of each input table when the sandbox
+     * runs in this JVM; the input nodes of the sandbox then read the files of the original tables. It is ignored if a
+     * {@linkplain #setLocalWorkflowDir(File) local workflow directory} is set as the saved sandbox would contain
+     * dangling references to the original tables. Other port objects are still copied.
+     * @param referenceInputTables that property (default is <code>false</code>).
+     * @return this (method chaining).
+     * @since 3.8
+     */
+    public SandboxedNodeCreator setReferenceInputTables(final boolean referenceInputTables) {
+        m_referenceInputTables = referenceInputTables;
+        return this;
+    }
+
     /** Whether to forward progress events on {@link ConnectionContainer}. This is true for the streaming executor
      * but false otherwise.
      * @param forwardConnectionProgressEvents that property (default is <code>false</code>).
@@ -241,6 +256,10 @@ public SandboxedNode createSandbox(final ExecutionMonitor exec) throws InvalidSe
             .forEach(cs::addFromFlowVariable);
 
         final int inCnt = m_inData.length;
+        final boolean referenceInputTables = m_referenceInputTables && m_localWorkflowDir == null;
+        if (m_referenceInputTables && !referenceInputTables) {
+            LOGGER.debug("Input tables are copied into sandbox as it is saved to " + m_localWorkflowDir);
+        }
         // port object IDs in static port object map, one entry for
         // each connected input (no value for unconnected optional inputs)
         List<Integer> portObjectRepositoryIDs = new ArrayList<Integer>(inCnt);
@@ -262,8 +281,8 @@ public SandboxedNode createSandbox(final ExecutionMonitor exec) throws InvalidSe
                 NodeSettings s = new NodeSettings("temp_data_in");
                 tempWFM.saveNodeSettings(inID, s);
                 List<FlowVariable> flowVars = getFlowVariablesOnPort(i);
-                PortObjectInNodeModel.setInputNodeSettings(s,
-                    portObjectRepositoryID, flowVars, m_copyDataIntoNewContext);
+                PortObjectInNodeModel.setInputNodeSettings(s, portObjectRepositoryID, flowVars,
+                    m_copyDataIntoNewContext && !(isTable && referenceInputTables));
 
                 //update credentials store of the workflow
                 flowVars.stream()
@@ -0,0 +1,241 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.exec.dataexchange;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.container.DataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortUtil;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Transfers the port objects of an execution (for instance the outputs of a sandboxed node) through a stream, e.g. a
+ * socket to a remote executor. Each port object is sent as a separate length-prefixed frame as soon as it has been
+ * serialized so that the receiving side can start reading while the remaining ports are still being written. Unset
+ * (<code>null</code>) port objects are transferred as such.
+ *
+ * <p>
+ * Tables are transferred in their compressed file format ({@link DataContainer#writeToStream(
+ * org.knime.core.data.DataTable, OutputStream, ExecutionMonitor)}) rather than row by row, other port objects use the
+ * format of {@link PortUtil#writeObjectToStream(PortObject, OutputStream, ExecutionMonitor)}. Reading tables requires
+ * an {@link ExecutionContext}, which takes ownership of the received tables.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @noreference This class is not intended to be referenced by clients.
+ * @since 3.8
+ */
+public final class PortObjectStream {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PortObjectStream.class);
+
+    /** "KPOS" - identifies the stream. */
+    private static final int MAGIC = 0x4B504F53;
+
+    private static final int VERSION = 2;
+
+    /** Frame types. */
+    private static final byte FRAME_NULL = 0;
+
+    private static final byte FRAME_PORT_OBJECT = 1;
+
+    private static final byte FRAME_TABLE = 2;
+
+    private PortObjectStream() {
+        // utility class
+    }
+
+    /**
+     * Writes the argument port objects to the stream. The stream is flushed after each port object but not closed.
+     *
+     * @param portObjects the objects to write, individual elements may be <code>null</code>
+     * @param output the stream to write to
+     * @param exec for progress and cancelation
+     * @throws IOException if writing fails
+     * @throws CanceledExecutionException if canceled
+     */
+    public static void write(final PortObject[] portObjects, final OutputStream output, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(portObjects.length);
+        out.flush();
+        for (int i = 0; i < portObjects.length; i++) {
+            exec.checkCanceled();
+            ExecutionMonitor sub = exec.createSubProgress(1.0 / portObjects.length);
+            exec.setMessage("Port " + i);
+            if (portObjects[i] == null) {
+                out.writeByte(FRAME_NULL);
+            } else {
+                // spool to a file first as the length of the frame needs to be known
+                File spool = FileUtil.createTempFile("portobject-" + i + "-", ".zip", true);
+                try {
+                    if (portObjects[i] instanceof BufferedDataTable) {
+                        DataContainer.writeToZip((BufferedDataTable)portObjects[i], spool, sub);
+                        out.writeByte(FRAME_TABLE);
+                    } else {
+                        PortUtil.writeObjectToFile(portObjects[i], spool, sub);
+                        out.writeByte(FRAME_PORT_OBJECT);
+                    }
+                    out.writeLong(spool.length());
+                    try (InputStream in = new FileInputStream(spool)) {
+                        IOUtils.copyLarge(in, out);
+                    }
+                } finally {
+                    deleteSpoolFile(spool);
+                }
+            }
+            out.flush();
+            sub.setProgress(1.0);
+        }
+    }
+
+    /**
+     * Reads port objects previously written by {@link #write(PortObject[], OutputStream, ExecutionMonitor)}. The
+     * stream is not closed. The stream must not contain tables, see {@link #read(InputStream, ExecutionContext)}.
+     *
+     * @param input the stream to read from
+     * @param exec for progress and cancelation
+     * @return the port objects, individual elements may be <code>null</code>
+     * @throws IOException if reading fails, the stream is not in the expected format or contains a table
+     * @throws CanceledExecutionException if canceled
+     */
+    public static PortObject[] read(final InputStream input, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        return read(input, exec, null);
+    }
+
+    /**
+     * Reads port objects previously written by {@link #write(PortObject[], OutputStream, ExecutionMonitor)}. The
+     * stream is not closed. Tables are created in the given context.
+     *
+     * @param input the stream to read from
+     * @param exec for progress and cancelation and to create the received tables in
+     * @return the port objects, individual elements may be <code>null</code>
+     * @throws IOException if reading fails or the stream is not in the expected format
+     * @throws CanceledExecutionException if canceled
+     */
+    public static PortObject[] read(final InputStream input, final ExecutionContext exec)
+        throws IOException, CanceledExecutionException {
+        return read(input, exec, exec);
+    }
+
+    private static PortObject[] read(final InputStream input, final ExecutionMonitor exec,
+        final ExecutionContext tableContext) throws IOException, CanceledExecutionException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Invalid stream, not a port object stream");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported port object stream version " + version);
+        }
+        PortObject[] result = new PortObject[in.readInt()];
+        for (int i = 0; i < result.length; i++) {
+            exec.checkCanceled();
+            ExecutionMonitor sub = exec.createSubProgress(1.0 / result.length);
+            exec.setMessage("Port " + i);
+            byte frame = in.readByte();
+            if (frame == FRAME_TABLE && tableContext == null) {
+                throw new IOException("Port object stream contains a table (port " + i
+                    + "), which can only be read with an execution context");
+            } else if (frame != FRAME_NULL && frame != FRAME_PORT_OBJECT && frame != FRAME_TABLE) {
+                throw new IOException("Invalid frame type " + frame + " (port " + i + ")");
+            }
+            if (frame != FRAME_NULL) {
+                long length = in.readLong();
+                File spool = FileUtil.createTempFile("portobject-" + i + "-", ".zip", true);
+                try {
+                    try (OutputStream out = new FileOutputStream(spool)) {
+                        if (IOUtils.copyLarge(in, out, 0, length) != length) {
+                            throw new EOFException("Port object stream ended unexpectedly (port " + i + ")");
+                        }
+                    }
+                    if (frame == FRAME_TABLE) {
+                        // the table reads the spool file lazily, hence copy it before the file is deleted
+                        ContainerTable table = DataContainer.readFromZip(spool);
+                        try {
+                            result[i] = tableContext.createBufferedDataTable(table, sub);
+                        } finally {
+                            table.clear();
+                        }
+                    } else {
+                        result[i] = PortUtil.readObjectFromFile(spool, sub);
+                    }
+                } finally {
+                    deleteSpoolFile(spool);
+                }
+            }
+            sub.setProgress(1.0);
+        }
+        return result;
+    }
+
+    private static void deleteSpoolFile(final File spool) {
+        if (!spool.delete()) {
+            LOGGER.debug("Could not delete temporary file " + spool.getAbsolutePath());
+        }
+    }
+}
@@ -50,8 +50,12 @@
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 
@@ -68,6 +72,7 @@
 import org.knime.core.node.config.ConfigWO;
 import org.knime.core.node.port.database.connection.CachedConnectionFactory;
 import org.knime.core.node.port.database.connection.CachedConnectionFactory.ConnectionKey;
+import org.knime.core.node.port.database.connection.DBConnectionFactory;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.util.StringHistory;
 import org.knime.core.node.workflow.CredentialsProvider;
@@ -662,6 +667,10 @@ private boolean loadConnection(final ConfigRO settings,
      */
     @SuppressWarnings("resource")
     public <T> T execute(final CredentialsProvider cp, final ExecuteStatement<T> stmt) throws SQLException {
+        final DBConnectionFactory connectionFactory = getUtility().getConnectionFactory();
+        if (connectionFactory.isPooling()) {
+            return executePooled(connectionFactory, cp, stmt);
+        }
         try {
             for (int i = 1; i <= MAX_CONNECTION_TRIES; i++) {
                 final Connection conn = createConnection(cp);
@@ -693,6 +702,48 @@ public <T> T execute(final CredentialsProvider cp, final ExecuteStatement<T> stm
         throw new SQLException("Maximum number of retries to get a valid connection reached. JDBC URL: " + getJDBCUrl());
     }
 
+    /**
+     * Pooled connections currently borrowed by the executing thread, keyed by connection factory, JDBC URL, user and
+     * password. Used to make {@link #executePooled(DBConnectionFactory, CredentialsProvider, ExecuteStatement)}
+     * re-entrant.
+     */
+    private static final ThreadLocal<Map<List<Object>, Connection>> BORROWED_CONNECTIONS =
+        ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Executes the statement on a validated connection borrowed from the pool, concurrent calls do not block.
+     * Nested calls on the same thread (e.g. a statement that itself calls
+     * {@link #execute(CredentialsProvider, ExecuteStatement)}) reuse the connection already borrowed by the outer call
+     * instead of borrowing a second one, which could otherwise block forever on an exhausted pool. The connection is
+     * returned to the pool when the outermost call completes.
+     */
+    private <T> T executePooled(final DBConnectionFactory connectionFactory, final CredentialsProvider cp,
+        final ExecuteStatement<T> stmt) throws SQLException {
+        final Map<List<Object>, Connection> borrowed = BORROWED_CONNECTIONS.get();
+        List<Object> key = null;
+        Connection conn = null;
+        try {
+            CheckUtils.checkSettingNotNull(m_jdbcUrl, "No JDBC URL set.");
+            key = Arrays.asList(connectionFactory, m_jdbcUrl, getUserName(cp), getPassword(cp));
+            final Connection heldConn = borrowed.get(key);
+            if (heldConn != null) {
+                return stmt.apply(heldConn);
+            }
+            conn = connectionFactory.borrowConnection(cp, this);
+            borrowed.put(key, conn);
+            return stmt.apply(conn);
+        } catch (SQLException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new SQLException(ex);
+        } finally {
+            if (conn != null) {
+                borrowed.remove(key);
+                connectionFactory.returnConnection(conn);
+            }
+        }
+    }
+
     /**
      * Execute statement on current database connection.
      * @param statement to be executed
@@ -437,6 +437,37 @@ protected String createUpdateStatement(final String table, final String[] setCol
      */
     protected String createInsertStatment(final String table, final String columnNames, final int[] mapping,
         final boolean insertNullForMissingCols) {
+        // create table meta data with empty column information
+        final String query = "INSERT INTO " + table + " " + columnNames + " VALUES "
+            + createInsertWildcard(mapping, insertNullForMissingCols);
+        return query;
+    }
+
+    /**
+     * Creates an insert statement that inserts several rows at once, i.e.
+     * <code>INSERT INTO table (a, b) VALUES (?, ?), (?, ?)</code>. Only use it if
+     * {@link DatabaseUtility#supportsMultiRowInsert()} returns <code>true</code>.
+     *
+     * @param table the table name
+     * @param columnNames the column names in brackets
+     * @param mapping the mapping from database to input columns
+     * @param insertNullForMissingCols <code>true</code> if <code>null</code> should be inserted for missing columns
+     * @param nrRows the number of rows per statement
+     * @return the insert statement
+     * @since 3.8
+     */
+    protected String createInsertStatement(final String table, final String columnNames, final int[] mapping,
+        final boolean insertNullForMissingCols, final int nrRows) {
+        final String wildcard = createInsertWildcard(mapping, insertNullForMissingCols);
+        final StringBuilder query = new StringBuilder("INSERT INTO ").append(table).append(' ').append(columnNames)
+            .append(" VALUES ").append(wildcard);
+        for (int i = 1; i < nrRows; i++) {
+            query.append(", ").append(wildcard);
+        }
+        return query.toString();
+    }
+
+    private static String createInsertWildcard(final int[] mapping, final boolean insertNullForMissingCols) {
         // // creates the wild card string based on the number of columns
         // this string it used every time an new row is inserted into the db
         final StringBuilder wildcard = new StringBuilder("(");
@@ -454,9 +485,7 @@ protected String createInsertStatment(final String table, final String columnNam
             }
         }
         wildcard.append(")");
-        // create table meta data with empty column information
-        final String query = "INSERT INTO " + table + " " + columnNames + " VALUES " + wildcard;
-        return query;
+        return wildcard.toString();
     }
 
 
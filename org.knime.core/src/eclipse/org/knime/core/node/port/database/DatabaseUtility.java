@@ -296,6 +296,17 @@ public boolean supportsDelete() {
         return true;
     }
 
+    /**
+     * Returns whether the database supports inserting several rows with a single statement, i.e.
+     * <code>INSERT INTO table VALUES (...), (...)</code>. The default is <code>false</code>.
+     *
+     * @return <code>true</code> if multi-row INSERT statements are supported
+     * @since 3.8
+     */
+    public boolean supportsMultiRowInsert() {
+        return false;
+    }
+
     /**
      * @return <code>true</code> if the database supports random sampling
      * @since 3.1
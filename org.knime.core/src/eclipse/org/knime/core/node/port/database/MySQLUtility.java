@@ -201,6 +201,14 @@ public boolean supportsRandomSampling() {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -162,6 +162,43 @@ public String forMetadataOnly(final String sql) {
         return "SELECT * FROM (" + sql + ") " + getTempTableName() + " WHERE (1 = 0)";
     }
 
+    /**
+     * Returns a statement that selects the minimum and maximum value of the given column (in this order) from the
+     * result of the given query. It is used to compute the ranges of a partitioned read.
+     *
+     * @param sql the query
+     * @param column the name of the partition column
+     * @return a query returning a single row with the minimum and maximum value
+     * @since 3.8
+     */
+    public String forPartitionBounds(final String sql, final String column) {
+        final String col = quoteColumn(column);
+        return "SELECT MIN(" + col + "), MAX(" + col + ") FROM (" + sql + ") " + getTempTableName();
+    }
+
+    /**
+     * Returns a statement that selects all rows of the given query whose value in the partition column lies in a
+     * range. The statement has two parameters, the inclusive lower bound and the upper bound, which is exclusive unless
+     * <code>lastPartition</code> is set. The first partition additionally selects all rows with a missing value in
+     * the partition column.
+     *
+     * @param sql the query
+     * @param column the name of the partition column
+     * @param firstPartition <code>true</code> if rows with a <code>NULL</code> value should be selected as well
+     * @param lastPartition <code>true</code> if the upper bound is inclusive
+     * @return a prepared statement query with two parameters
+     * @since 3.8
+     */
+    public String forPartition(final String sql, final String column, final boolean firstPartition,
+        final boolean lastPartition) {
+        final String col = quoteColumn(column);
+        String condition = "(" + col + " >= ? AND " + col + (lastPartition ? " <= ?)" : " < ?)");
+        if (firstPartition) {
+            condition += " OR " + col + " IS NULL";
+        }
+        return "SELECT * FROM (" + sql + ") " + getTempTableName() + " WHERE " + condition;
+    }
+
     /**
      * @param tableName the name of the table to create
      * @param query the select statement
@@ -54,18 +54,23 @@
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.port.database.DatabaseConnectionSettings;
 import org.knime.core.node.port.database.RegisteredDriversConnectionFactory;
@@ -87,8 +92,40 @@ public class CachedConnectionFactory implements DBConnectionFactory {
      * process. */
     private static final Map<ConnectionKey, ConnectionKey> CONNECTION_KEYS = new HashMap<ConnectionKey, ConnectionKey>();
     private static final ExecutorService CONNECTION_CREATOR_EXECUTOR = ThreadUtils.executorServiceWithContext(Executors.newCachedThreadPool());
+    /** Maximum number of pooled connections per key, a value of 1 disables pooling. */
+    private static final int POOL_SIZE = initPoolProperty(KNIMEConstants.PROPERTY_DATABASE_POOL_SIZE, 1);
+    private static final long POOL_IDLE_TIMEOUT_MILLIS =
+        TimeUnit.SECONDS.toMillis(initPoolProperty(KNIMEConstants.PROPERTY_DATABASE_POOL_IDLE_TIMEOUT, 600));
+    private static final long POOL_LEAK_THRESHOLD_MILLIS =
+        TimeUnit.SECONDS.toMillis(initPoolProperty(KNIMEConstants.PROPERTY_DATABASE_POOL_LEAK_THRESHOLD, 1800));
+    /** Connection pools per key, only used if {@link #POOL_SIZE} is larger than 1. */
+    private static final Map<ConnectionKey, ConnectionPool> CONNECTION_POOLS = new ConcurrentHashMap<>();
+    /** The pool of each borrowed connection. */
+    private static final Map<Connection, ConnectionPool> BORROWED_CONNECTIONS =
+        Collections.synchronizedMap(new IdentityHashMap<>());
+    /** Runs {@link #maintainPools()} periodically, created with the first pool; guarded by CONNECTION_POOLS. */
+    private static ScheduledExecutorService poolMaintenanceExecutor;
     private DBDriverFactory m_driverFactory;
 
+    private static int initPoolProperty(final String property, final int defaultValue) {
+        final String value = System.getProperty(property);
+        if (value != null) {
+            try {
+                final int intValue = Integer.parseInt(value.trim());
+                if (intValue > 0) {
+                    LOGGER.debug("Database property " + property + "=" + intValue);
+                    return intValue;
+                }
+                LOGGER.warn("Database property " + property + "=" + intValue + " must be positive, using "
+                    + defaultValue + " as default.");
+            } catch (NumberFormatException nfe) {
+                LOGGER.warn("Database property " + property + " not valid '" + value + "', using " + defaultValue
+                    + " as default.");
+            }
+        }
+        return defaultValue;
+    }
+
     /**
      * Unique key to identify a database connection based on the provided input parameter.
      * @author Tobias Koetter, KNIME GmbH, Konstanz, Germany
@@ -205,44 +242,197 @@ public Connection getConnection(final CredentialsProvider cp, final DatabaseConn
                 CONNECTION_MAP.remove(databaseConnKey);
             }
             LOGGER.debug("Create new connection for key: " + databaseConnKey);
-            final Driver d;
-            try {
-                d = getDriverFactory().getDriver(settings);
-            } catch (Exception ex1) {
-                throw new InvalidSettingsException(ex1);
-            }
-            if (!d.acceptsURL(jdbcUrl)) {
-                throw new InvalidSettingsException("Driver \"" + d + "\" does not accept URL: " + jdbcUrl);
-            }
-            // if a connection is not available
-            Callable<Connection> callable = new Callable<Connection>() {
-                /** {@inheritDoc} */
-                @Override
-                public Connection call() throws Exception {
-                    LOGGER.debug("Opening database connection to \"" + jdbcUrl + "\"...");
-                    return createConnection(settings, jdbcUrl, user, pass, kerberos, d);
+            conn = openConnection(settings, jdbcUrl, user, pass, kerberos);
+            LOGGER.debug("Add connection to map for key: " + databaseConnKey);
+            CONNECTION_MAP.put(databaseConnKey, conn);
+            return conn;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    public Connection createDedicatedConnection(final CredentialsProvider cp,
+        final DatabaseConnectionSettings settings) throws InvalidSettingsException, SQLException, IOException {
+        LOGGER.debug("Create dedicated connection to \"" + settings.getJDBCUrl() + "\"");
+        return openConnection(settings, settings.getJDBCUrl(), settings.getUserName(cp), settings.getPassword(cp),
+            settings.useKerberos());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Pooling is enabled if the system property {@value KNIMEConstants#PROPERTY_DATABASE_POOL_SIZE} is set to a value
+     * larger than 1. Note that subsequent statements might then use different connections, i.e. session state such as
+     * temporary tables is not shared between them.
+     *
+     * @since 3.8
+     */
+    @Override
+    public boolean isPooling() {
+        return POOL_SIZE > 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    public Connection borrowConnection(final CredentialsProvider cp, final DatabaseConnectionSettings settings)
+        throws InvalidSettingsException, SQLException, IOException {
+        if (!isPooling()) {
+            return getConnection(cp, settings);
+        }
+        final ConnectionKey key = createConnectionKey(cp, settings);
+        final ConnectionPool pool = getOrCreatePool(key);
+        final long timeoutMillis = TimeUnit.SECONDS.toMillis(DatabaseConnectionSettings.getDatabaseTimeout());
+        final Connection conn = pool.borrow(
+            () -> openConnection(settings, settings.getJDBCUrl(), settings.getUserName(cp), settings.getPassword(cp),
+                settings.useKerberos()),
+            c -> isOpenAndValid(settings, c, key), timeoutMillis);
+        BORROWED_CONNECTIONS.put(conn, pool);
+        return conn;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @since 3.8
+     */
+    @Override
+    public void returnConnection(final Connection conn) {
+        final ConnectionPool pool = BORROWED_CONNECTIONS.remove(conn);
+        if (pool != null) {
+            pool.release(conn);
+        }
+    }
+
+    /**
+     * Returns the pool of the given key. A new pool replaces and closes the pools of the same URL and users, i.e.
+     * those of outdated passwords, and starts the periodic pool maintenance if not already running.
+     */
+    private static ConnectionPool getOrCreatePool(final ConnectionKey key) {
+        ConnectionPool pool = CONNECTION_POOLS.get(key);
+        if (pool != null) {
+            return pool;
+        }
+        synchronized (CONNECTION_POOLS) {
+            pool = CONNECTION_POOLS.get(key);
+            if (pool == null) {
+                for (ConnectionKey other : CONNECTION_POOLS.keySet()) {
+                    if (Objects.equals(key.m_dn, other.m_dn) && Objects.equals(key.m_un, other.m_un)
+                        && Objects.equals(key.m_wfUser, other.m_wfUser)) {
+                        LOGGER.debug("Closing connection pool with outdated settings: " + other);
+                        CONNECTION_POOLS.remove(other).close();
+                    }
                 }
-            };
-            //TODO:this has to be more robust e.g. the thread should terminate when KNIME terminates and should be
-            //cancelable if the user presses cancel. If no credentials are present for Phoenix the thread keeps KNIME
-            //alive for ages
-            Future<Connection> task = CONNECTION_CREATOR_EXECUTOR.submit(callable);
-            try {
-                conn = task.get(DatabaseConnectionSettings.getDatabaseTimeout() + 1, TimeUnit.SECONDS);
-                LOGGER.debug("Add connection to map for key: " + databaseConnKey);
-                CONNECTION_MAP.put(databaseConnKey, conn);
-                return conn;
-            } catch (ExecutionException ee) {
-                if (ee.getCause() instanceof SQLException) {
-                    throw (SQLException) ee.getCause();
-                } else {
-                    throw new SQLException(ee.getCause());
+                pool = new ConnectionPool(key.toString(), POOL_SIZE, POOL_IDLE_TIMEOUT_MILLIS,
+                    POOL_LEAK_THRESHOLD_MILLIS);
+                CONNECTION_POOLS.put(key, pool);
+                if (poolMaintenanceExecutor == null) {
+                    startPoolMaintenance();
+                }
+            }
+            return pool;
+        }
+    }
+
+    /** Schedules {@link #maintainPools()} and closes all pools on shutdown. Called with CONNECTION_POOLS held. */
+    private static void startPoolMaintenance() {
+        poolMaintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "KNIME-DB-Pool-Maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        // often enough to honor the idle timeout and leak threshold with reasonable precision
+        final long periodMillis = Math.max(1000,
+            Math.min(TimeUnit.MINUTES.toMillis(1), Math.min(POOL_IDLE_TIMEOUT_MILLIS, POOL_LEAK_THRESHOLD_MILLIS) / 2));
+        poolMaintenanceExecutor.scheduleWithFixedDelay(CachedConnectionFactory::maintainPools, periodMillis,
+            periodMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(
+            new Thread(CachedConnectionFactory::closePools, "KNIME-DB-Pool-Shutdown"));
+    }
+
+    /**
+     * Evicts idle connections and reports leaks in all pools. Pools without connections that have not been used for
+     * the idle timeout are removed.
+     */
+    static void maintainPools() {
+        try {
+            final long now = System.currentTimeMillis();
+            synchronized (CONNECTION_POOLS) {
+                for (Iterator<ConnectionPool> it = CONNECTION_POOLS.values().iterator(); it.hasNext();) {
+                    final ConnectionPool pool = it.next();
+                    pool.maintain();
+                    if (pool.isUnused(now)) {
+                        it.remove();
+                        pool.close();
+                    }
                 }
-            } catch (InterruptedException ex) {
-                throw new SQLException("Thread was interrupted while waiting for database to respond");
-            } catch (TimeoutException ex) {
-                throw new IOException("Connection to database '" + jdbcUrl + "' timed out");
             }
+        } catch (RuntimeException ex) {
+            // keep the scheduled task alive
+            LOGGER.error("Error during database connection pool maintenance: " + ex.getMessage(), ex);
+        }
+    }
+
+    /** Closes and removes all pools. Borrowed connections are closed once they are returned. */
+    static void closePools() {
+        synchronized (CONNECTION_POOLS) {
+            CONNECTION_POOLS.values().forEach(ConnectionPool::close);
+            CONNECTION_POOLS.clear();
+        }
+    }
+
+    /**
+     * @return a snapshot of the metrics of all connection pools, empty if pooling is disabled
+     * @since 3.8
+     */
+    public static Map<ConnectionKey, ConnectionPool.Metrics> getPoolMetrics() {
+        final Map<ConnectionKey, ConnectionPool.Metrics> metrics = new HashMap<>();
+        CONNECTION_POOLS.forEach((key, pool) -> metrics.put(key, pool.getMetrics()));
+        return metrics;
+    }
+
+    /** Opens a new connection in a separate thread, waiting at most the database timeout. */
+    private Connection openConnection(final DatabaseConnectionSettings settings, final String jdbcUrl,
+        final String user, final String pass, final boolean kerberos)
+        throws InvalidSettingsException, SQLException, IOException {
+        final Driver d;
+        try {
+            d = getDriverFactory().getDriver(settings);
+        } catch (Exception ex1) {
+            throw new InvalidSettingsException(ex1);
+        }
+        if (!d.acceptsURL(jdbcUrl)) {
+            throw new InvalidSettingsException("Driver \"" + d + "\" does not accept URL: " + jdbcUrl);
+        }
+        // if a connection is not available
+        Callable<Connection> callable = new Callable<Connection>() {
+            /** {@inheritDoc} */
+            @Override
+            public Connection call() throws Exception {
+                LOGGER.debug("Opening database connection to \"" + jdbcUrl + "\"...");
+                return createConnection(settings, jdbcUrl, user, pass, kerberos, d);
+            }
+        };
+        //TODO:this has to be more robust e.g. the thread should terminate when KNIME terminates and should be
+        //cancelable if the user presses cancel. If no credentials are present for Phoenix the thread keeps KNIME
+        //alive for ages
+        Future<Connection> task = CONNECTION_CREATOR_EXECUTOR.submit(callable);
+        try {
+            return task.get(DatabaseConnectionSettings.getDatabaseTimeout() + 1, TimeUnit.SECONDS);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof SQLException) {
+                throw (SQLException) ee.getCause();
+            } else {
+                throw new SQLException(ee.getCause());
+            }
+        } catch (InterruptedException ex) {
+            throw new SQLException("Thread was interrupted while waiting for database to respond");
+        } catch (TimeoutException ex) {
+            throw new IOException("Connection to database '" + jdbcUrl + "' timed out");
         }
     }
 
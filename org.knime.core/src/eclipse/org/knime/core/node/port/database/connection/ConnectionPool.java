@@ -0,0 +1,459 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.database.connection;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * A bounded pool of database connections that share the same URL and credentials. Idle connections are validated
+ * before they are handed out and closed once they have not been used for the idle timeout. Connections that are
+ * borrowed for longer than the leak threshold are reported once in the log. Returned connections are reset to the
+ * auto-commit, read-only and transaction isolation settings they were opened with; uncommitted changes are rolled
+ * back.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class ConnectionPool {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(ConnectionPool.class);
+
+    /** Opens a new physical connection for the pool. */
+    @FunctionalInterface
+    interface ConnectionOpener {
+        /**
+         * @return a new connection
+         * @throws InvalidSettingsException if the connection settings are invalid
+         * @throws SQLException if the connection could not be opened
+         * @throws IOException if the connection timed out
+         */
+        Connection open() throws InvalidSettingsException, SQLException, IOException;
+    }
+
+    /** The session settings of a connection when it was opened, restored when it is returned. */
+    private static final class ConnectionState {
+        private final boolean m_autoCommit;
+        private final boolean m_readOnly;
+        private final int m_isolation;
+
+        private ConnectionState(final Connection conn) throws SQLException {
+            m_autoCommit = conn.getAutoCommit();
+            m_readOnly = conn.isReadOnly();
+            m_isolation = conn.getTransactionIsolation();
+        }
+
+        /** @return the state or <code>null</code> if the driver doesn't report it */
+        static ConnectionState capture(final Connection conn) {
+            try {
+                return new ConnectionState(conn);
+            } catch (SQLException | RuntimeException ex) {
+                LOGGER.debug("Could not read connection state: " + ex.getMessage(), ex);
+                return null;
+            }
+        }
+
+        /** @return whether the connection has been reset and can be reused */
+        boolean restore(final Connection conn) {
+            try {
+                if (!conn.getAutoCommit()) {
+                    conn.rollback();
+                }
+                if (conn.getAutoCommit() != m_autoCommit) {
+                    conn.setAutoCommit(m_autoCommit);
+                }
+                if (conn.isReadOnly() != m_readOnly) {
+                    conn.setReadOnly(m_readOnly);
+                }
+                if (conn.getTransactionIsolation() != m_isolation) {
+                    conn.setTransactionIsolation(m_isolation);
+                }
+                return true;
+            } catch (SQLException | RuntimeException ex) {
+                LOGGER.debug("Could not reset connection state: " + ex.getMessage(), ex);
+                return false;
+            }
+        }
+    }
+
+    private static final class IdleConnection {
+        private final Connection m_conn;
+        private final ConnectionState m_state;
+        private final long m_idleSince;
+
+        IdleConnection(final Connection conn, final ConnectionState state, final long idleSince) {
+            m_conn = conn;
+            m_state = state;
+            m_idleSince = idleSince;
+        }
+    }
+
+    private static final class Borrow {
+        private final ConnectionState m_state;
+        private final long m_borrowedAt;
+        private final String m_threadName;
+        private boolean m_reported;
+
+        Borrow(final ConnectionState state, final long borrowedAt, final String threadName) {
+            m_state = state;
+            m_borrowedAt = borrowedAt;
+            m_threadName = threadName;
+        }
+    }
+
+    private final String m_name;
+    private final int m_maxSize;
+    private final long m_idleTimeoutMillis;
+    private final long m_leakThresholdMillis;
+    private final Semaphore m_permits;
+
+    /** Most recently returned connection first; guarded by this. */
+    private final Deque<IdleConnection> m_idle = new ArrayDeque<>();
+    /** Guarded by this. */
+    private final Map<Connection, Borrow> m_borrowed = new IdentityHashMap<>();
+    /** Time of the last borrow or release; guarded by this. */
+    private long m_lastUsed = System.currentTimeMillis();
+    /** Guarded by this. */
+    private boolean m_isClosed;
+
+    private final AtomicLong m_createdCount = new AtomicLong();
+    private final AtomicLong m_borrowCount = new AtomicLong();
+    private final AtomicLong m_invalidCount = new AtomicLong();
+    private final AtomicLong m_evictedCount = new AtomicLong();
+    private final AtomicLong m_timeoutCount = new AtomicLong();
+    private final AtomicLong m_leakCount = new AtomicLong();
+
+    /**
+     * @param name the name of the pool used in log messages
+     * @param maxSize the maximum number of open connections, at least 1
+     * @param idleTimeoutMillis the time after which an unused connection is closed
+     * @param leakThresholdMillis the time after which a borrowed connection is reported as a potential leak
+     */
+    ConnectionPool(final String name, final int maxSize, final long idleTimeoutMillis,
+        final long leakThresholdMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        m_name = name;
+        m_maxSize = maxSize;
+        m_idleTimeoutMillis = idleTimeoutMillis;
+        m_leakThresholdMillis = leakThresholdMillis;
+        m_permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting at most the given time for a free connection. Idle connections are
+     * reused if the validator accepts them, otherwise a new connection is opened. The connection must be returned via
+     * {@link #release(Connection)}.
+     *
+     * @param opener opens a new connection if no valid idle connection is available
+     * @param validator checks an idle connection before it is handed out
+     * @param timeoutMillis the maximum time to wait for a free connection
+     * @return a valid connection
+     * @throws InvalidSettingsException if the connection settings are invalid
+     * @throws SQLException if no connection could be obtained in time or opening a connection failed
+     * @throws IOException if opening a connection timed out
+     */
+    Connection borrow(final ConnectionOpener opener, final Predicate<Connection> validator,
+        final long timeoutMillis) throws InvalidSettingsException, SQLException, IOException {
+        maintain();
+        try {
+            if (!m_permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                m_timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out waiting for a free database connection in pool " + m_name
+                    + " (size " + m_maxSize + ")");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a free database connection", ex);
+        }
+        boolean success = false;
+        try {
+            IdleConnection idle;
+            while ((idle = pollIdle()) != null && !validator.test(idle.m_conn)) {
+                m_invalidCount.incrementAndGet();
+                closeQuietly(idle.m_conn);
+            }
+            final Connection conn;
+            final ConnectionState state;
+            if (idle != null) {
+                conn = idle.m_conn;
+                state = idle.m_state;
+            } else {
+                conn = opener.open();
+                if (conn == null) {
+                    throw new SQLException("Could not open a database connection for pool " + m_name);
+                }
+                state = ConnectionState.capture(conn);
+                m_createdCount.incrementAndGet();
+                LOGGER.debug("Opened new connection in pool " + m_name);
+            }
+            synchronized (this) {
+                final long now = System.currentTimeMillis();
+                m_borrowed.put(conn, new Borrow(state, now, Thread.currentThread().getName()));
+                m_lastUsed = now;
+            }
+            m_borrowCount.incrementAndGet();
+            success = true;
+            return conn;
+        } finally {
+            if (!success) {
+                m_permits.release();
+            }
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool. The connection is reset to the state it was opened with. Closed
+     * connections, connections that cannot be reset and connections returned to a closed pool are discarded.
+     *
+     * @param conn a connection borrowed from this pool
+     * @return <code>false</code> if the connection was not borrowed from this pool
+     */
+    boolean release(final Connection conn) {
+        final Borrow borrow;
+        synchronized (this) {
+            borrow = m_borrowed.remove(conn);
+            if (borrow == null) {
+                return false;
+            }
+            m_lastUsed = System.currentTimeMillis();
+        }
+        boolean isOpen;
+        try {
+            isOpen = !conn.isClosed();
+        } catch (SQLException ex) {
+            isOpen = false;
+        }
+        boolean isReusable = isOpen && borrow.m_state != null && borrow.m_state.restore(conn);
+        synchronized (this) {
+            isReusable &= !m_isClosed;
+            if (isReusable) {
+                m_idle.addFirst(new IdleConnection(conn, borrow.m_state, System.currentTimeMillis()));
+            }
+        }
+        if (isOpen && !isReusable) {
+            LOGGER.debug("Closing returned connection in pool " + m_name);
+            closeQuietly(conn);
+        }
+        m_permits.release();
+        maintain();
+        return true;
+    }
+
+    /**
+     * Closes idle connections that exceeded the idle timeout and reports borrowed connections that may leak. Called on
+     * borrow and release as well as periodically by the owner of the pool.
+     */
+    void maintain() {
+        final long now = System.currentTimeMillis();
+        final List<Connection> toClose = new ArrayList<>();
+        synchronized (this) {
+            // the oldest idle connections are at the end
+            while (!m_idle.isEmpty() && now - m_idle.peekLast().m_idleSince >= m_idleTimeoutMillis) {
+                toClose.add(m_idle.pollLast().m_conn);
+            }
+            for (final Borrow borrow : m_borrowed.values()) {
+                if (!borrow.m_reported && now - borrow.m_borrowedAt >= m_leakThresholdMillis) {
+                    borrow.m_reported = true;
+                    m_leakCount.incrementAndGet();
+                    LOGGER.warn("Database connection of pool " + m_name + " borrowed by thread \""
+                        + borrow.m_threadName + "\" has not been returned for "
+                        + TimeUnit.MILLISECONDS.toSeconds(now - borrow.m_borrowedAt) + " seconds");
+                }
+            }
+        }
+        for (final Connection conn : toClose) {
+            m_evictedCount.incrementAndGet();
+            LOGGER.debug("Closing idle connection in pool " + m_name);
+            closeQuietly(conn);
+        }
+    }
+
+    /**
+     * @param now the current time in milliseconds
+     * @return whether the pool holds no connections and has not been used for the idle timeout
+     */
+    synchronized boolean isUnused(final long now) {
+        return m_idle.isEmpty() && m_borrowed.isEmpty() && now - m_lastUsed >= m_idleTimeoutMillis;
+    }
+
+    /** Closes all idle connections. Borrowed connections are closed once they are returned. */
+    void close() {
+        final List<Connection> toClose = new ArrayList<>();
+        synchronized (this) {
+            m_isClosed = true;
+            for (final Iterator<IdleConnection> it = m_idle.iterator(); it.hasNext();) {
+                toClose.add(it.next().m_conn);
+                it.remove();
+            }
+        }
+        toClose.forEach(ConnectionPool::closeQuietly);
+    }
+
+    private synchronized IdleConnection pollIdle() {
+        return m_idle.pollFirst();
+    }
+
+    private static void closeQuietly(final Connection conn) {
+        try {
+            conn.close();
+        } catch (Exception ex) {
+            LOGGER.debug("Error closing connection: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * @return a snapshot of the current pool metrics
+     */
+    public synchronized Metrics getMetrics() {
+        return new Metrics(m_maxSize, m_borrowed.size(), m_idle.size(), m_createdCount.get(), m_borrowCount.get(),
+            m_invalidCount.get(), m_evictedCount.get(), m_timeoutCount.get(), m_leakCount.get());
+    }
+
+    /**
+     * Immutable snapshot of the usage of a {@link ConnectionPool}.
+     *
+     * @author KNIME AG, Zurich, Switzerland
+     */
+    public static final class Metrics {
+        private final int m_maxSize;
+        private final int m_active;
+        private final int m_idle;
+        private final long m_created;
+        private final long m_borrowed;
+        private final long m_invalid;
+        private final long m_evicted;
+        private final long m_timeouts;
+        private final long m_leaks;
+
+        private Metrics(final int maxSize, final int active, final int idle, final long created, final long borrowed,
+            final long invalid, final long evicted, final long timeouts, final long leaks) {
+            m_maxSize = maxSize;
+            m_active = active;
+            m_idle = idle;
+            m_created = created;
+            m_borrowed = borrowed;
+            m_invalid = invalid;
+            m_evicted = evicted;
+            m_timeouts = timeouts;
+            m_leaks = leaks;
+        }
+
+        /** @return the maximum number of open connections */
+        public int getMaxSize() {
+            return m_maxSize;
+        }
+
+        /** @return the number of currently borrowed connections */
+        public int getActiveCount() {
+            return m_active;
+        }
+
+        /** @return the number of open connections waiting to be reused */
+        public int getIdleCount() {
+            return m_idle;
+        }
+
+        /** @return the number of connections opened so far */
+        public long getCreatedCount() {
+            return m_created;
+        }
+
+        /** @return the number of successful borrows so far */
+        public long getBorrowCount() {
+            return m_borrowed;
+        }
+
+        /** @return the number of idle connections discarded because they failed validation */
+        public long getInvalidCount() {
+            return m_invalid;
+        }
+
+        /** @return the number of idle connections closed after the idle timeout */
+        public long getEvictedCount() {
+            return m_evicted;
+        }
+
+        /** @return the number of borrows that timed out waiting for a free connection */
+        public long getTimeoutCount() {
+            return m_timeouts;
+        }
+
+        /** @return the number of borrowed connections reported as potential leaks */
+        public long getLeakCount() {
+            return m_leaks;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "active=" + m_active + ", idle=" + m_idle + ", max=" + m_maxSize + ", created=" + m_created
+                + ", borrowed=" + m_borrowed + ", invalid=" + m_invalid + ", evicted=" + m_evicted + ", timeouts="
+                + m_timeouts + ", leaks=" + m_leaks;
+        }
+    }
+}
@@ -79,4 +79,60 @@ Connection getConnection(final CredentialsProvider cp,
      */
     DBDriverFactory getDriverFactory();
 
+    /**
+     * Opens a new connection that is not shared with other callers, e.g. to run several queries in parallel. The
+     * caller is responsible for closing the connection. The default implementation does not support dedicated
+     * connections.
+     *
+     * @param cp {@link CredentialsProvider}
+     * @param settings {@link DatabaseConnectionSettings}
+     * @return a new {@link Connection} that needs to be closed after usage
+     * @throws InvalidSettingsException
+     * @throws SQLException
+     * @throws IOException
+     * @throws UnsupportedOperationException if the factory does not support dedicated connections
+     * @since 3.8
+     */
+    default Connection createDedicatedConnection(final CredentialsProvider cp,
+        final DatabaseConnectionSettings settings) throws InvalidSettingsException, SQLException, IOException {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support dedicated connections");
+    }
+
+    /**
+     * @return <code>true</code> if {@link #borrowConnection(CredentialsProvider, DatabaseConnectionSettings)} hands out
+     * pooled connections that can be used concurrently instead of a single shared connection
+     * @since 3.8
+     */
+    default boolean isPooling() {
+        return false;
+    }
+
+    /**
+     * Borrows a connection from the connection pool. The connection must be returned via
+     * {@link #returnConnection(Connection)} and must not be closed by the caller.
+     *
+     * @param cp {@link CredentialsProvider}
+     * @param settings {@link DatabaseConnectionSettings}
+     * @return a valid {@link Connection}
+     * @throws InvalidSettingsException
+     * @throws SQLException
+     * @throws IOException
+     * @see #isPooling()
+     * @since 3.8
+     */
+    default Connection borrowConnection(final CredentialsProvider cp, final DatabaseConnectionSettings settings)
+        throws InvalidSettingsException, SQLException, IOException {
+        return getConnection(cp, settings);
+    }
+
+    /**
+     * Returns a connection obtained via {@link #borrowConnection(CredentialsProvider, DatabaseConnectionSettings)}.
+     *
+     * @param conn the borrowed {@link Connection}
+     * @since 3.8
+     */
+    default void returnConnection(final Connection conn) {
+        // nothing to do for a single shared connection
+    }
+
 }
@@ -98,6 +98,39 @@ public interface DBReader {
      */
     DatabaseMetaData getDatabaseMetaData(CredentialsProvider cp) throws SQLException;
 
+    /**
+     * Applies the given function to the database meta data while the underlying connection is held. Use this method
+     * rather than {@link #getDatabaseMetaData(CredentialsProvider)} if connections are pooled, since the meta data
+     * (and the result sets it returns) must not be used once the connection is returned to the pool.
+     *
+     * @param cp CredentialsProvider to receive user/password from
+     * @param function the function to apply to the meta data, must not keep references to it
+     * @return the result of the function
+     * @throws SQLException if the connection to the database could not be created or the function failed
+     * @since 3.8
+     */
+    default <T> T executeOnMetaData(final CredentialsProvider cp, final MetaDataFunction<T> function)
+        throws SQLException {
+        return getQueryConnection().execute(cp, conn -> function.apply(conn.getMetaData()));
+    }
+
+    /**
+     * Function applied to the {@link DatabaseMetaData} of a connection, see
+     * {@link DBReader#executeOnMetaData(CredentialsProvider, MetaDataFunction)}.
+     *
+     * @param <T> the result type
+     * @since 3.8
+     */
+    @FunctionalInterface
+    interface MetaDataFunction<T> {
+        /**
+         * @param metaData the meta data of the connection
+         * @return the result
+         * @throws Exception if reading the meta data fails
+         */
+        T apply(DatabaseMetaData metaData) throws Exception;
+    }
+
     /**
      * Returns a data table spec that reflects the meta data form the database
      * result set.
@@ -155,6 +188,23 @@ default BufferedDataTable createTable(final ExecutionContext exec, final Credent
         return exec.createBufferedDataTable(table, exec);
     }
 
+    /**
+     * Read data from database by splitting the query into ranges of the given partition column which are read in
+     * parallel on separate connections. The default implementation reads the data sequentially.
+     * @param exec used for progress info
+     * @param cp {@link CredentialsProvider} providing user/password
+     * @param partitionColumn the name of a numeric or date column used to split the query
+     * @param nrPartitions the number of partitions to read in parallel
+     * @return buffered data table read from database
+     * @throws CanceledExecutionException if canceled in between
+     * @throws SQLException if the connection could not be opened
+     * @since 3.8
+     */
+    default BufferedDataTable createPartitionedTable(final ExecutionContext exec, final CredentialsProvider cp,
+        final String partitionColumn, final int nrPartitions) throws CanceledExecutionException, SQLException {
+        return createTable(exec, cp, false);
+    }
+
     /**
      * Read data from database.
      * @param exec used for progress info
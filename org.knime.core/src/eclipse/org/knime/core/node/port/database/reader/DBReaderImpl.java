@@ -44,27 +44,41 @@
  */
 package org.knime.core.node.port.database.reader;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.knime.core.data.BooleanValue;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.LongValue;
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.append.AppendedColumnRow;
 import org.knime.core.data.blob.BinaryObjectCellFactory;
 import org.knime.core.data.container.DataContainer;
+import org.knime.core.data.date.DateAndTimeValue;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.JoinedRow;
 import org.knime.core.data.def.StringCell;
@@ -73,13 +87,17 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.port.database.DatabaseConnectionSettings;
 import org.knime.core.node.port.database.DatabaseHelper;
 import org.knime.core.node.port.database.DatabaseQueryConnectionSettings;
+import org.knime.core.node.port.database.StatementManipulator;
 import org.knime.core.node.streamable.BufferedDataTableRowOutput;
 import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.workflow.CredentialsProvider;
+import org.knime.core.util.ThreadPool;
 import org.knime.core.util.UniqueNameGenerator;
 
 /**
@@ -123,17 +141,24 @@ public void updateQuery(final String query) {
     }
 
     /**
-     * Returns the database meta data on the connection.
+     * Returns the database meta data on the connection. If connections are pooled, the meta data of the shared
+     * (non-pooled) connection is returned, as a pooled connection may be reused or closed as soon as it is returned
+     * to the pool; prefer {@link #executeOnMetaData(CredentialsProvider, MetaDataFunction)} in that case.
      * @param cp CredentialsProvider to receive user/password from
      * @return DatabaseMetaData on this connection
      * @throws SQLException if the connection to the database or the statement
      *         could not be created
      */
+    @SuppressWarnings("deprecation")
     @Override
     public final DatabaseMetaData getDatabaseMetaData(
             final CredentialsProvider cp) throws SQLException {
         try {
             final DatabaseQueryConnectionSettings dbConn = getQueryConnection();
+            if (dbConn.getUtility().getConnectionFactory().isPooling()) {
+                // the shared connection stays open, unlike a pooled one after the callback returned
+                return dbConn.createConnection(cp).getMetaData();
+            }
             return dbConn.execute(cp, (conn) -> conn.getMetaData());
         } catch (SQLException sql) {
             throw sql;
@@ -256,6 +281,201 @@ public RowIterator iterator() {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The minimum and maximum value of the partition column are queried first and the range in between is split into
+     * <code>nrPartitions</code> ranges of equal width. Each range is read on a dedicated connection into its own
+     * container, rows with a missing value in the partition column are part of the first partition. The partitions
+     * are read by a sub pool of the {@link KNIMEConstants#GLOBAL_THREAD_POOL global thread pool}, i.e. at most as many
+     * partitions as the global pool has threads are read at the same time. The partition column must be an integer,
+     * long, double or date column (boolean columns are not supported). The row keys are
+     * of the form <code>Row&lt;partition&gt;_&lt;index&gt;</code> and the partitions are concatenated in order. Falls
+     * back to a sequential read if the connection factory does not support dedicated connections.
+     *
+     * @since 3.8
+     */
+    @Override
+    public BufferedDataTable createPartitionedTable(final ExecutionContext exec, final CredentialsProvider cp,
+        final String partitionColumn, final int nrPartitions) throws CanceledExecutionException, SQLException {
+        final DataTableSpec spec = getDataTableSpec(cp);
+        final DataColumnSpec colSpec = spec.getColumnSpec(partitionColumn);
+        CheckUtils.checkArgument(colSpec != null, "Partition column \"%s\" does not exist", partitionColumn);
+        final DataType type = colSpec.getType();
+        final boolean isDate = type.isCompatible(DateAndTimeValue.class);
+        // boolean cells are also double compatible but their bounds are meaningless
+        CheckUtils.checkArgument(
+            isDate || (type.isCompatible(DoubleValue.class) && !type.isCompatible(BooleanValue.class)),
+            "Partition column \"%s\" is neither numeric nor a date column", partitionColumn);
+        if (nrPartitions <= 1) {
+            return createTable(exec, cp, false);
+        }
+        final boolean isIntegral = !isDate && type.isCompatible(LongValue.class);
+
+        final DatabaseQueryConnectionSettings dbConn = getQueryConnection();
+        final StatementManipulator manipulator = dbConn.getUtility().getStatementManipulator();
+        final String[] oQueries = dbConn.getQuery().split(SQL_QUERY_SEPARATOR);
+        final String[] preQueries = Arrays.copyOf(oQueries, oQueries.length - 1);
+        String selectQuery = oQueries[oQueries.length - 1].trim();
+        if (selectQuery.endsWith(";")) {
+            selectQuery = selectQuery.substring(0, selectQuery.length() - 1);
+        }
+
+        exec.setMessage("Determining partition bounds...");
+        final String boundsQuery = manipulator.forPartitionBounds(selectQuery, partitionColumn);
+        final BigDecimal[] minMax = dbConn.execute(cp, conn -> {
+            try (Statement stmt = initStatement(cp, conn)) {
+                for (final String preQuery : preQueries) {
+                    LOGGER.debug("Executing SQL statement as execute: " + preQuery);
+                    stmt.execute(preQuery);
+                }
+                LOGGER.debug("Executing SQL statement as executeQuery: " + boundsQuery);
+                try (ResultSet result = stmt.executeQuery(boundsQuery)) {
+                    return result.next() ? new BigDecimal[]{readBound(result, 1, isDate, isIntegral),
+                        readBound(result, 2, isDate, isIntegral)} : null;
+                }
+            } finally {
+                if (!conn.getAutoCommit()) {
+                    conn.commit();
+                }
+            }
+        });
+        if (minMax == null || minMax[0] == null || minMax[1] == null) {
+            LOGGER.debug("Partition column \"" + partitionColumn + "\" has no values, reading data sequentially");
+            return createTable(exec, cp, false);
+        }
+        final BigDecimal[] bounds = splitRange(minMax[0], minMax[1], nrPartitions, isDate || isIntegral);
+        if (isDate) {
+            // timestamps may have a higher precision than milliseconds
+            bounds[nrPartitions] = bounds[nrPartitions].add(BigDecimal.ONE);
+        }
+
+        final int fetchsize =
+            (DatabaseConnectionSettings.FETCH_SIZE != null) ? DatabaseConnectionSettings.FETCH_SIZE : -1;
+        final AtomicLong rowCount = new AtomicLong();
+        // at most as many concurrent reads as the global pool allows, each one holds a database connection
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL
+            .createSubPool(Math.min(nrPartitions, KNIMEConstants.GLOBAL_THREAD_POOL.getMaxThreads()));
+        final List<Future<BufferedDataTable>> futures = new ArrayList<>(nrPartitions);
+        try {
+            for (int i = 0; i < nrPartitions; i++) {
+                final int partition = i;
+                final String query = manipulator.forPartition(selectQuery, partitionColumn, partition == 0,
+                    partition == nrPartitions - 1);
+                futures.add(pool.enqueue(() -> {
+                    try (Connection conn = dbConn.getUtility().getConnectionFactory().createDedicatedConnection(cp,
+                        dbConn); Statement stmt = conn.createStatement()) {
+                        for (final String preQuery : preQueries) {
+                            stmt.execute(preQuery);
+                        }
+                        LOGGER.debug("Executing SQL statement for partition " + partition + ": " + query);
+                        try (PreparedStatement ps = conn.prepareStatement(query)) {
+                            manipulator.setFetchSize(ps, fetchsize);
+                            setBound(ps, 1, bounds[partition], isDate, isIntegral);
+                            setBound(ps, 2, bounds[partition + 1], isDate, isIntegral);
+                            try (ResultSet result = ps.executeQuery()) {
+                                return readPartition(exec, spec, dbConn, result, partition, rowCount);
+                            }
+                        }
+                    }
+                }));
+            }
+            final BufferedDataTable[] tables = new BufferedDataTable[nrPartitions];
+            for (int i = 0; i < nrPartitions; i++) {
+                tables[i] = futures.get(i).get();
+            }
+            exec.setMessage("Concatenating " + nrPartitions + " partitions...");
+            return exec.createConcatenateTable(exec, Optional.empty(), false, tables);
+        } catch (InterruptedException ex) {
+            throw new CanceledExecutionException("Interrupted while reading partitions");
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException) cause;
+            } else if (cause instanceof UnsupportedOperationException) {
+                LOGGER.debug("Dedicated connections not supported, reading data sequentially: "
+                    + cause.getMessage());
+                futures.forEach(f -> f.cancel(true));
+                return createTable(exec, cp, false);
+            } else if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException(cause.getMessage(), cause);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /** Reads all rows of a partition into a new container, the row keys are prefixed with the partition index. */
+    private BufferedDataTable readPartition(final ExecutionContext exec, final DataTableSpec spec,
+        final DatabaseQueryConnectionSettings dbConn, final ResultSet result, final int partition,
+        final AtomicLong rowCount) throws SQLException, CanceledExecutionException {
+        final RowIterator it =
+            createDBRowIterator(spec, dbConn, new BinaryObjectCellFactory(exec), false, result, 0);
+        final BufferedDataContainer container = exec.createDataContainer(spec);
+        long index = 0;
+        while (it.hasNext()) {
+            exec.checkCanceled();
+            final DataRow row = it.next();
+            container.addRowToTable(new DefaultRow(new RowKey("Row" + partition + "_" + index++), row));
+            final long count = rowCount.incrementAndGet();
+            if (count % 1000 == 0) {
+                exec.setMessage(() -> "Read " + count + " rows from database");
+            }
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /**
+     * Splits the closed interval between min and max into partitions of equal width.
+     *
+     * @param min the minimum value
+     * @param max the maximum value
+     * @param nrPartitions the number of partitions
+     * @param integral <code>true</code> if the bounds should be integer values
+     * @return the <code>nrPartitions + 1</code> non-decreasing bounds, starting with min and ending with max
+     */
+    static BigDecimal[] splitRange(final BigDecimal min, final BigDecimal max, final int nrPartitions,
+        final boolean integral) {
+        final BigDecimal[] bounds = new BigDecimal[nrPartitions + 1];
+        final BigDecimal width = max.subtract(min);
+        bounds[0] = min;
+        for (int i = 1; i < nrPartitions; i++) {
+            final BigDecimal bound = min.add(width.multiply(BigDecimal.valueOf(i))
+                .divide(BigDecimal.valueOf(nrPartitions), MathContext.DECIMAL64));
+            bounds[i] = integral ? bound.setScale(0, RoundingMode.FLOOR) : bound;
+        }
+        bounds[nrPartitions] = max;
+        return bounds;
+    }
+
+    private static BigDecimal readBound(final ResultSet result, final int index, final boolean isDate,
+        final boolean isIntegral) throws SQLException {
+        final BigDecimal value;
+        if (isDate) {
+            final Timestamp timestamp = result.getTimestamp(index);
+            value = timestamp == null ? null : BigDecimal.valueOf(timestamp.getTime());
+        } else if (isIntegral) {
+            value = BigDecimal.valueOf(result.getLong(index));
+        } else {
+            // exact conversion so that the maximum is matched again when bound as double
+            value = new BigDecimal(result.getDouble(index));
+        }
+        return result.wasNull() ? null : value;
+    }
+
+    private static void setBound(final PreparedStatement ps, final int index, final BigDecimal value,
+        final boolean isDate, final boolean isIntegral) throws SQLException {
+        if (isDate) {
+            ps.setTimestamp(index, new Timestamp(value.longValue()));
+        } else if (isIntegral) {
+            ps.setLong(index, value.longValue());
+        } else {
+            ps.setDouble(index, value.doubleValue());
+        }
+    }
+
 
 
     /**
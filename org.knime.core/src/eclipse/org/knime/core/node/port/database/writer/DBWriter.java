@@ -126,6 +126,40 @@ String writeData(String table, RowInput input, final long rowCount, boolean appe
         Map<String, String> sqlTypes, CredentialsProvider cp, int batchSize, boolean insertNullForMissingCols,
         boolean failOnError) throws Exception;
 
+    /** Create connection to write into database using a pipeline: the input rows are converted into batches while
+     * several threads write the batches into the database, each on its own connection. Since each connection is
+     * committed separately, the rows are not written atomically unless <code>failOnError</code> is set, in which case
+     * a single connection is used. Without <code>failOnError</code> and if the database does not support savepoints,
+     * the rows written before a failing batch are committed at that point. The default implementation writes the rows
+     * sequentially.
+     * @param table name of table to write
+     * @param input the data table as as row input
+     * @param rowCount number of row of the table to write, -1 if unknown
+     * @param appendData if checked the data is appended to an existing table
+     * @param exec Used the cancel writing.
+     * @param sqlTypes A mapping from column name to SQL-type.
+     * @param cp {@link CredentialsProvider} providing user/password
+     * @param batchSize number of rows written in one batch
+     * @param insertNullForMissingCols <code>true</code> if <code>null</code> should be inserted for missing columns
+     * @param failOnError <code>true</code> if the node should fail with invalid input data otherwise it will
+     * return a warning if an error occurs
+     * @param nrWriters number of connections writing batches in parallel; ignored if <code>failOnError</code> is set
+     * @param commitInterval number of batches after which each writer commits, 0 to commit at the end only; ignored if
+     * <code>failOnError</code> is set since all changes are rolled back on error
+     * @param maxRetries number of times a failed batch is retried if the database supports savepoints
+     * @return error string or null, if non
+     * @throws Exception if connection could not be established
+     * @since 3.8
+     */
+    default String writeDataPipelined(final String table, final RowInput input, final long rowCount,
+        final boolean appendData, final ExecutionMonitor exec, final Map<String, String> sqlTypes,
+        final CredentialsProvider cp, final int batchSize, final boolean insertNullForMissingCols,
+        final boolean failOnError, final int nrWriters, final int commitInterval, final int maxRetries)
+        throws Exception {
+        return writeData(table, input, rowCount, appendData, exec, sqlTypes, cp, batchSize, insertNullForMissingCols,
+            failOnError);
+    }
+
     /** Update rows in the given database table.
      * @param schema optional db schema
      * @param table name of table to write
@@ -44,6 +44,7 @@
  */
 package org.knime.core.node.port.database.writer;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -52,6 +53,7 @@
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 
@@ -66,12 +68,15 @@
 import org.knime.core.data.LongValue;
 import org.knime.core.data.RowIterator;
 import org.knime.core.data.blob.BinaryObjectDataValue;
+import org.knime.core.data.collection.CollectionDataValue;
 import org.knime.core.data.date.DateAndTimeValue;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.port.database.DatabaseConnectionSettings;
 import org.knime.core.node.port.database.DatabaseHelper;
+import org.knime.core.node.port.database.DatabaseUtility;
+import org.knime.core.node.port.database.connection.DBConnectionFactory;
 import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.workflow.CredentialsProvider;
 
@@ -107,10 +112,258 @@ public String writeData(final String table, final RowInput input, final long row
 //        final Connection conn = conSettings.createConnection(cp);
         return conSettings.execute(cp, conn -> {
         exec.setMessage("Waiting for free database connection...");
+            final DataTableSpec spec = input.getDataTableSpec();
+            final InsertTarget target =
+                prepareInsertTarget(conn, table, spec, appendData, exec, sqlTypes, insertNullForMissingCols);
+            final int[] mapping = target.m_mapping;
+            final Map<Integer, Integer> columnTypes = target.m_columnTypes;
+            final String insertStamtement = target.m_insertStatement;
+
+            // problems writing more than 13 columns. the prepare statement
+            // ensures that we can set the columns directly row-by-row, the
+            // database will handle the commit
+            long cnt = 1;
+            long errorCnt = 0;
+            long allErrors = 0;
+
+            // count number of rows added to current batch
+            int curBatchSize = 0;
+
+            LOGGER.debug("Executing SQL statement as prepareStatement: " + insertStamtement);
+            final PreparedStatement stmt = conn.prepareStatement(insertStamtement);
+            // remember auto-commit flag
+            final boolean autoCommit = conn.getAutoCommit();
+            DatabaseConnectionSettings.setAutoCommit(conn, false);
+            try {
+                final TimeZone timezone = conSettings.getTimeZone();
+                DataRow row; //get the first row
+                DataRow nextRow = input.poll();
+                //iterate over all incoming data rows
+                while (nextRow != null) {
+                    row = nextRow;
+                    cnt++;
+                    exec.checkCanceled();
+                        if (rowCount > 0) {
+                            exec.setProgress(1.0 * cnt / rowCount, "Row " + "#" + cnt);
+                        } else {
+                            exec.setProgress("Writing Row#" + cnt);
+                        }
+
+                    fillRow(stmt, row, spec, mapping, insertNullForMissingCols, timezone, columnTypes);
+                    // if batch mode
+                    if (batchSize > 1) {
+                        // a new row will be added
+                        stmt.addBatch();
+                    }
+
+                    //get one more input row to check if 'row' is the last one
+                    nextRow = input.poll();
+
+                    curBatchSize++;
+                    // if batch size equals number of row in batch or input table at end
+                        if ((curBatchSize == batchSize) || nextRow == null) {
+                            curBatchSize = 0;
+                        try {
+                            // write batch
+                            if (batchSize > 1) {
+                                stmt.executeBatch();
+                            } else { // or write single row
+                                stmt.execute();
+                            }
+                        } catch (Throwable t) {
+
+                            final String errorMsg;
+                            if (batchSize > 1) {
+                                errorMsg = "Error while adding rows #" + (cnt - batchSize) + " - #" + cnt
+                                    + ", reason: " + t.getMessage();
+                            } else {
+                                errorMsg = "Error while adding row #" + cnt + " (" + row.getKey() + "), reason: "
+                                    + t.getMessage();
+                            }
+
+                            //introduced in KNIME 3.3.2
+                            if (failOnError) {
+                                try {
+                                    //rollback all changes
+                                    conn.rollback();
+                                    LOGGER.debug("Rollback complete transaction with auto commit=" + autoCommit);
+                                } catch (Throwable ex) {
+                                    LOGGER.info("Failed rollback after db exception with auto commit=" + autoCommit
+                                        + ". Rollback error: " + ex.getMessage(), ex);
+                                }
+                                throw new Exception(errorMsg, t);
+                            }
+
+
+                            // Postgres will refuse any more commands in this transaction after errors
+                            // Therefore we commit the changes that were possible. We commit everything at the end
+                            // anyway.
+                            if (!conn.getAutoCommit()) {
+                                conn.commit();
+                            }
+
+                            allErrors++;
+                            if (errorCnt > -1) {
+                                exec.setMessage(errorMsg);
+                                if (errorCnt++ < 10) {
+                                    LOGGER.warn(errorMsg);
+                                } else {
+                                    errorCnt = -1;
+                                    LOGGER.warn(errorMsg + " - more errors...", t);
+                                }
+                            }
+                        } finally {
+                            // clear batch if in batch mode
+                            if (batchSize > 1) {
+                                stmt.clearBatch();
+                            }
+                        }
+                        }
+                    }
+                if (!conn.getAutoCommit()) {
+                    conn.commit();
+                }
+                if (allErrors == 0) {
+                        return null;
+                    } else {
+                        return "Errors \"" + allErrors + "\" writing " + (cnt - 1) + " rows.";
+                    }
+            } finally {
+                DatabaseConnectionSettings.setAutoCommit(conn, autoCommit);
+                stmt.close();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The calling thread converts the rows while <code>nrWriters</code> threads execute the batches, each on a
+     * dedicated connection. Multi-row INSERT statements are used if the {@link DatabaseUtility} supports them. Input
+     * tables with collection columns are written sequentially since arrays are bound to a single connection. Tables
+     * with binary object columns are written sequentially as well since their values would have to be held in memory
+     * until their batch is written. The same applies if the connection factory does not support dedicated
+     * connections.
+     * <p>
+     * If <code>failOnError</code> is set, a single writer is used regardless of <code>nrWriters</code> so that all
+     * rows are committed or rolled back in one transaction.
+     *
+     * @since 3.8
+     */
+    @Override
+    public String writeDataPipelined(final String table, final RowInput input, final long rowCount,
+        final boolean appendData, final ExecutionMonitor exec, final Map<String, String> sqlTypes,
+        final CredentialsProvider cp, final int batchSize, final boolean insertNullForMissingCols,
+        final boolean failOnError, final int nrWriters, final int commitInterval, final int maxRetries)
+        throws Exception {
+        final DataTableSpec spec = input.getDataTableSpec();
+        for (final DataColumnSpec cspec : spec) {
+            if (cspec.getType().isCompatible(CollectionDataValue.class)
+                || cspec.getType().isCompatible(BinaryObjectDataValue.class)) {
+                LOGGER.debug("Writing rows sequentially since column \"" + cspec.getName()
+                    + "\" is a collection or binary object");
+                return writeData(table, input, rowCount, appendData, exec, sqlTypes, cp, batchSize,
+                    insertNullForMissingCols, failOnError);
+            }
+        }
+        // the connections of several writers cannot be committed atomically
+        final int nrConnections = failOnError ? 1 : Math.max(1, nrWriters);
+        final DatabaseConnectionSettings conSettings = getDatabaseConnectionSettings();
+        final DBConnectionFactory factory = conSettings.getUtility().getConnectionFactory();
+        final List<Connection> connections = new ArrayList<>();
+        try {
+            try {
+                for (int i = 0; i < nrConnections; i++) {
+                    connections.add(factory.createDedicatedConnection(cp, conSettings));
+                }
+            } catch (UnsupportedOperationException ex) {
+                LOGGER.debug("Writing rows sequentially: " + ex.getMessage());
+                return writeData(table, input, rowCount, appendData, exec, sqlTypes, cp, batchSize,
+                    insertNullForMissingCols, failOnError);
+            }
+            exec.setMessage("Waiting for free database connection...");
+            final InsertTarget target = conSettings.execute(cp, conn -> prepareInsertTarget(conn, table, spec,
+                appendData, exec, sqlTypes, insertNullForMissingCols));
+            final int[] mapping = target.m_mapping;
+            int paramsPerRow = 0;
+            for (int i = 0; i < mapping.length; i++) {
+                if (mapping[i] >= 0 || insertNullForMissingCols) {
+                    paramsPerRow++;
+                }
+            }
+            String multiRowStatement = null;
+            int rowsPerStatement = 1;
+            if (batchSize > 1 && paramsPerRow > 0 && conSettings.getUtility().supportsMultiRowInsert()) {
+                rowsPerStatement =
+                    Math.min(batchSize, PipelinedInsertWriter.MAX_PARAMETERS_PER_STATEMENT / paramsPerRow);
+                multiRowStatement = createInsertStatement(table, target.m_columnNames, mapping,
+                    insertNullForMissingCols, rowsPerStatement);
+            }
+            LOGGER.debug("Executing SQL statement as prepareStatement with " + connections.size() + " writers: "
+                + target.m_insertStatement);
+            final TimeZone timezone = conSettings.getTimeZone();
+            final PipelinedInsertWriter writer = new PipelinedInsertWriter(target.m_insertStatement,
+                multiRowStatement, rowsPerStatement, paramsPerRow, batchSize, commitInterval, maxRetries,
+                failOnError);
+            return writer.write(input, rowCount, exec, (stmt, row) -> fillRow(stmt, row, spec, mapping,
+                insertNullForMissingCols, timezone, target.m_columnTypes), connections);
+        } finally {
+            for (final Connection conn : connections) {
+                try {
+                    conn.close();
+                } catch (SQLException ex) {
+                    LOGGER.debug("Error closing connection: " + ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    /** Sets the parameters of the given row on the statement starting at index 1. */
+    private void fillRow(final PreparedStatement stmt, final DataRow row, final DataTableSpec spec,
+        final int[] mapping, final boolean insertNullForMissingCols, final TimeZone timezone,
+        final Map<Integer, Integer> columnTypes) throws SQLException {
+        int dbIdx = 1;
+        for (int i = 0; i < mapping.length; i++) {
+            if (mapping[i] < 0) {
+                if (insertNullForMissingCols) {
+                    //insert only null if the insert null for missing col option is enabled
+                    stmt.setNull(dbIdx++, Types.NULL);
+                }
+            } else {
+                final DataColumnSpec cspec = spec.getColumnSpec(mapping[i]);
+                final DataCell cell = row.getCell(mapping[i]);
+                fillStatement(stmt, dbIdx++, cspec, cell, timezone, columnTypes);
+            }
+        }
+    }
+
+    /** The mapping and insert statement for a table that has been created or checked for compatibility. */
+    static final class InsertTarget {
+        private final int[] m_mapping;
+        private final Map<Integer, Integer> m_columnTypes;
+        private final String m_columnNames;
+        private final String m_insertStatement;
+
+        private InsertTarget(final int[] mapping, final Map<Integer, Integer> columnTypes, final String columnNames,
+            final String insertStatement) {
+            m_mapping = mapping;
+            m_columnTypes = columnTypes;
+            m_columnNames = columnNames;
+            m_insertStatement = insertStatement;
+        }
+    }
+
+    /**
+     * Creates or drops and re-creates the database table if necessary, checks that the input columns are compatible
+     * with the database columns and creates the insert statement.
+     */
+    private InsertTarget prepareInsertTarget(final Connection conn, final String table, final DataTableSpec spec,
+        final boolean appendData, final ExecutionMonitor exec, final Map<String, String> sqlTypes,
+        final boolean insertNullForMissingCols) throws Exception {
+        final DatabaseConnectionSettings conSettings = getDatabaseConnectionSettings();
         final StringBuilder columnNamesForInsertStatement = new StringBuilder("(");
 //        synchronized (conSettings.syncConnection(conn)) {
             exec.setMessage("Start writing rows in database...");
-            DataTableSpec spec = input.getDataTableSpec();
             // mapping from spec columns to database columns
             final int[] mapping;
             // append data to existing table
@@ -310,133 +563,7 @@ public String writeData(final String table, final RowInput input, final long row
 
             final String insertStamtement =
                     createInsertStatment(table, columnNamesForInsertStatement.toString(), mapping, insertNullForMissingCols);
-
-            // problems writing more than 13 columns. the prepare statement
-            // ensures that we can set the columns directly row-by-row, the
-            // database will handle the commit
-            long cnt = 1;
-            long errorCnt = 0;
-            long allErrors = 0;
-
-            // count number of rows added to current batch
-            int curBatchSize = 0;
-
-            LOGGER.debug("Executing SQL statement as prepareStatement: " + insertStamtement);
-            final PreparedStatement stmt = conn.prepareStatement(insertStamtement);
-            // remember auto-commit flag
-            final boolean autoCommit = conn.getAutoCommit();
-            DatabaseConnectionSettings.setAutoCommit(conn, false);
-            try {
-                final TimeZone timezone = conSettings.getTimeZone();
-                DataRow row; //get the first row
-                DataRow nextRow = input.poll();
-                //iterate over all incoming data rows
-                while (nextRow != null) {
-                    row = nextRow;
-                    cnt++;
-                    exec.checkCanceled();
-                        if (rowCount > 0) {
-                            exec.setProgress(1.0 * cnt / rowCount, "Row " + "#" + cnt);
-                        } else {
-                            exec.setProgress("Writing Row#" + cnt);
-                        }
-
-                    int dbIdx = 1;
-                    for (int i = 0; i < mapping.length; i++) {
-                        if (mapping[i] < 0) {
-                            if (insertNullForMissingCols) {
-                                //insert only null if the insert null for missing col option is enabled
-                                stmt.setNull(dbIdx++, Types.NULL);
-                            }
-                        } else {
-                            final DataColumnSpec cspec = spec.getColumnSpec(mapping[i]);
-                            final DataCell cell = row.getCell(mapping[i]);
-                            fillStatement(stmt, dbIdx++, cspec, cell, timezone, columnTypes);
-                        }
-                    }
-                    // if batch mode
-                    if (batchSize > 1) {
-                        // a new row will be added
-                        stmt.addBatch();
-                    }
-
-                    //get one more input row to check if 'row' is the last one
-                    nextRow = input.poll();
-
-                    curBatchSize++;
-                    // if batch size equals number of row in batch or input table at end
-                        if ((curBatchSize == batchSize) || nextRow == null) {
-                            curBatchSize = 0;
-                        try {
-                            // write batch
-                            if (batchSize > 1) {
-                                stmt.executeBatch();
-                            } else { // or write single row
-                                stmt.execute();
-                            }
-                        } catch (Throwable t) {
-
-                            final String errorMsg;
-                            if (batchSize > 1) {
-                                errorMsg = "Error while adding rows #" + (cnt - batchSize) + " - #" + cnt
-                                    + ", reason: " + t.getMessage();
-                            } else {
-                                errorMsg = "Error while adding row #" + cnt + " (" + row.getKey() + "), reason: "
-                                    + t.getMessage();
-                            }
-
-                            //introduced in KNIME 3.3.2
-                            if (failOnError) {
-                                try {
-                                    //rollback all changes
-                                    conn.rollback();
-                                    LOGGER.debug("Rollback complete transaction with auto commit=" + autoCommit);
-                                } catch (Throwable ex) {
-                                    LOGGER.info("Failed rollback after db exception with auto commit=" + autoCommit
-                                        + ". Rollback error: " + ex.getMessage(), ex);
-                                }
-                                throw new Exception(errorMsg, t);
-                            }
-
-
-                            // Postgres will refuse any more commands in this transaction after errors
-                            // Therefore we commit the changes that were possible. We commit everything at the end
-                            // anyway.
-                            if (!conn.getAutoCommit()) {
-                                conn.commit();
-                            }
-
-                            allErrors++;
-                            if (errorCnt > -1) {
-                                exec.setMessage(errorMsg);
-                                if (errorCnt++ < 10) {
-                                    LOGGER.warn(errorMsg);
-                                } else {
-                                    errorCnt = -1;
-                                    LOGGER.warn(errorMsg + " - more errors...", t);
-                                }
-                            }
-                        } finally {
-                            // clear batch if in batch mode
-                            if (batchSize > 1) {
-                                stmt.clearBatch();
-                            }
-                        }
-                        }
-                    }
-                if (!conn.getAutoCommit()) {
-                    conn.commit();
-                }
-                if (allErrors == 0) {
-                        return null;
-                    } else {
-                        return "Errors \"" + allErrors + "\" writing " + (cnt - 1) + " rows.";
-                    }
-            } finally {
-                DatabaseConnectionSettings.setAutoCommit(conn, autoCommit);
-                stmt.close();
-            }
-        });
+            return new InsertTarget(mapping, columnTypes, columnNamesForInsertStatement.toString(), insertStamtement);
     }
 
     /** Create connection to update table in database.
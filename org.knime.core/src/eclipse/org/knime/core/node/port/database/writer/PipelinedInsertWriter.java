@@ -0,0 +1,526 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.database.writer;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.database.DatabaseConnectionSettings;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadUtils;
+
+/**
+ * Writes rows into a database table using a pipeline. The calling thread converts the input rows into batches of
+ * statement parameters while several writer threads execute the batches, each on its own connection. A bounded queue
+ * between the stages limits the number of converted batches held in memory.
+ *
+ * <p>
+ * The parameters of a row are recorded by passing a recording {@link PreparedStatement} to the {@link RowFiller} and
+ * replayed on the statement of the writer, which allows to reuse the type mapping of the sequential writer. Since
+ * the recorded values are used after the row has been converted, possibly more than once if a batch is retried,
+ * streams and readers cannot be recorded; the recording statement rejects them with a
+ * {@link SQLFeatureNotSupportedException}, which makes the filler fall back to setting the value itself.
+ *
+ * <p>
+ * Each writer commits its own connection, hence the changes of several writers are not committed atomically. If
+ * <code>failOnError</code> is set, exactly one connection must be passed so that all rows are committed or rolled
+ * back together. Otherwise a failing batch is rolled back to a savepoint if the database supports them; if it does
+ * not, the writer commits all rows written so far on its connection when a batch fails, regardless of the commit
+ * interval, since some databases refuse any further statement within a failed transaction.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class PipelinedInsertWriter {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PipelinedInsertWriter.class);
+
+    /** Maximum number of parameters in a multi-row statement, PostgreSQL has the lowest limit. */
+    static final int MAX_PARAMETERS_PER_STATEMENT = 32767;
+
+    /** Sets the parameters of a row on a statement starting at index 1. */
+    @FunctionalInterface
+    interface RowFiller {
+        /**
+         * @param stmt the statement to fill
+         * @param row the row to write
+         * @throws SQLException if a parameter could not be set
+         */
+        void fill(PreparedStatement stmt, DataRow row) throws SQLException;
+    }
+
+    /** A recorded call of a parameter setter. */
+    private static final class Parameter {
+        private final Method m_setter;
+        private final Object[] m_args;
+
+        Parameter(final Method setter, final Object[] args) {
+            m_setter = setter;
+            m_args = args;
+        }
+    }
+
+    /** Consecutive rows that are executed together; rows are numbered starting with 1. */
+    private static final class Batch {
+        private final long m_firstRow;
+        private final List<List<Parameter>> m_rows;
+        private final RowKey m_firstKey;
+
+        Batch(final long firstRow, final List<List<Parameter>> rows, final RowKey firstKey) {
+            m_firstRow = firstRow;
+            m_rows = rows;
+            m_firstKey = firstKey;
+        }
+
+        long getLastRow() {
+            return m_firstRow + m_rows.size() - 1;
+        }
+    }
+
+    /** Signals a writer that no more batches will follow. */
+    private static final Batch END = new Batch(0, Collections.emptyList(), null);
+
+    /** A batch that could not be written. */
+    static final class BatchException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final long m_firstRow;
+
+        BatchException(final long firstRow, final String message, final Throwable cause) {
+            super(message, cause);
+            m_firstRow = firstRow;
+        }
+    }
+
+    /** Records the parameter setter calls of a {@link RowFiller}. */
+    private static final class Recorder implements InvocationHandler {
+        private List<Parameter> m_current;
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(this, args);
+            }
+            if (method.getName().startsWith("set") && args != null && args.length >= 2
+                && method.getParameterTypes()[0] == int.class) {
+                if (args[1] instanceof InputStream || args[1] instanceof Reader) {
+                    // a stream can only be read once and must not be held open until the batch is executed
+                    throw new SQLFeatureNotSupportedException(
+                        "Streams are not supported while converting rows, method " + method.getName());
+                }
+                m_current.add(new Parameter(method, args.clone()));
+                return null;
+            }
+            throw new SQLFeatureNotSupportedException(
+                "Method " + method.getName() + " is not supported while converting rows");
+        }
+    }
+
+    private final String m_insertStatement;
+    private final String m_multiRowStatement;
+    private final int m_rowsPerStatement;
+    private final int m_paramsPerRow;
+    private final int m_batchSize;
+    private final int m_commitInterval;
+    private final int m_maxRetries;
+    private final boolean m_failOnError;
+
+    private final Queue<BatchException> m_errors = new ConcurrentLinkedQueue<>();
+    private volatile boolean m_abort;
+
+    /**
+     * @param insertStatement the statement inserting a single row
+     * @param multiRowStatement the statement inserting <code>rowsPerStatement</code> rows at once or
+     *            <code>null</code> if not supported
+     * @param rowsPerStatement the number of rows inserted by the multi-row statement
+     * @param paramsPerRow the number of parameters per row
+     * @param batchSize the number of rows per batch
+     * @param commitInterval the number of batches after which each writer commits, 0 to commit only at the end
+     * @param maxRetries the number of times a failed batch is retried
+     * @param failOnError <code>true</code> if writing should stop and all changes be rolled back on the first error
+     */
+    PipelinedInsertWriter(final String insertStatement, final String multiRowStatement, final int rowsPerStatement,
+        final int paramsPerRow, final int batchSize, final int commitInterval, final int maxRetries,
+        final boolean failOnError) {
+        m_insertStatement = insertStatement;
+        m_multiRowStatement = rowsPerStatement > 1 ? multiRowStatement : null;
+        m_rowsPerStatement = rowsPerStatement;
+        m_paramsPerRow = paramsPerRow;
+        m_batchSize = Math.max(1, batchSize);
+        // intermediate commits would prevent the rollback of all changes
+        m_commitInterval = failOnError ? 0 : Math.max(0, commitInterval);
+        m_maxRetries = Math.max(0, maxRetries);
+        m_failOnError = failOnError;
+    }
+
+    /**
+     * Writes all rows of the input.
+     *
+     * @param input the rows to write
+     * @param rowCount the number of rows or -1 if unknown
+     * @param exec for progress and cancellation
+     * @param filler sets the parameters of a row
+     * @param connections the connections of the writers, one writer per connection; exactly one if
+     *            <code>failOnError</code> is set
+     * @return error string or <code>null</code>, if none
+     * @throws Exception if writing failed and <code>failOnError</code> is set, or if canceled
+     */
+    String write(final RowInput input, final long rowCount, final ExecutionMonitor exec, final RowFiller filler,
+        final List<Connection> connections) throws Exception {
+        CheckUtils.checkArgument(!connections.isEmpty(), "No connections to write to");
+        CheckUtils.checkArgument(!m_failOnError || connections.size() == 1,
+            "Writing with fail on error requires a single connection to commit atomically, got %d",
+            connections.size());
+        final boolean[] autoCommits = new boolean[connections.size()];
+        for (int i = 0; i < autoCommits.length; i++) {
+            autoCommits[i] = connections.get(i).getAutoCommit();
+            DatabaseConnectionSettings.setAutoCommit(connections.get(i), false);
+        }
+        final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(2 * connections.size());
+        final ExecutorService executor =
+            ThreadUtils.executorServiceWithContext(Executors.newFixedThreadPool(connections.size()));
+        final List<Future<Void>> futures = new ArrayList<>(connections.size());
+        boolean success = false;
+        try {
+            for (final Connection conn : connections) {
+                futures.add(executor.submit(() -> {
+                    runWriter(conn, queue);
+                    return null;
+                }));
+            }
+            final long rows = convert(input, rowCount, exec, filler, queue, futures);
+            for (int i = 0; i < futures.size(); i++) {
+                put(queue, END, futures, exec);
+            }
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+            for (final Connection conn : connections) {
+                conn.commit();
+            }
+            success = true;
+            return reportErrors(exec, rows);
+        } catch (ExecutionException ex) {
+            m_abort = true;
+            executor.shutdownNow();
+            executor.awaitTermination(DatabaseConnectionSettings.getDatabaseTimeout(), TimeUnit.SECONDS);
+            throw getFirstFailure(futures, ex);
+        } finally {
+            if (!success) {
+                m_abort = true;
+                executor.shutdownNow();
+                // the writers must not use the connections anymore before rolling back
+                executor.awaitTermination(DatabaseConnectionSettings.getDatabaseTimeout(), TimeUnit.SECONDS);
+                rollback(connections);
+            } else {
+                executor.shutdown();
+            }
+            for (int i = 0; i < autoCommits.length; i++) {
+                DatabaseConnectionSettings.setAutoCommit(connections.get(i), autoCommits[i]);
+            }
+        }
+    }
+
+    /** Returns the failure of the batch with the lowest row number since writers fail in arbitrary order. */
+    private static Exception getFirstFailure(final List<Future<Void>> futures, final ExecutionException ex) {
+        Throwable first = ex.getCause();
+        for (final Future<Void> future : futures) {
+            if (!future.isDone() || future.isCancelled()) {
+                continue;
+            }
+            try {
+                future.get();
+            } catch (ExecutionException | InterruptedException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof BatchException && (!(first instanceof BatchException)
+                    || ((BatchException)cause).m_firstRow < ((BatchException)first).m_firstRow)) {
+                    first = cause;
+                }
+            }
+        }
+        return first instanceof Exception ? (Exception)first : ex;
+    }
+
+    /** Converts the input rows into batches and passes them to the writers, returns the number of rows. */
+    private long convert(final RowInput input, final long rowCount, final ExecutionMonitor exec,
+        final RowFiller filler, final BlockingQueue<Batch> queue, final List<Future<Void>> futures)
+        throws Exception {
+        final Recorder recorder = new Recorder();
+        final PreparedStatement recordingStmt = (PreparedStatement)Proxy.newProxyInstance(
+            PipelinedInsertWriter.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, recorder);
+        long cnt = 0;
+        long firstRow = 1;
+        RowKey firstKey = null;
+        List<List<Parameter>> rows = new ArrayList<>(m_batchSize);
+        DataRow row;
+        while ((row = input.poll()) != null) {
+            exec.checkCanceled();
+            cnt++;
+            if (rowCount > 0) {
+                exec.setProgress(1.0 * cnt / rowCount, "Row " + "#" + cnt);
+            } else {
+                exec.setProgress("Writing Row#" + cnt);
+            }
+            if (rows.isEmpty()) {
+                firstKey = row.getKey();
+            }
+            recorder.m_current = new ArrayList<>(m_paramsPerRow);
+            filler.fill(recordingStmt, row);
+            rows.add(recorder.m_current);
+            if (rows.size() == m_batchSize) {
+                put(queue, new Batch(firstRow, rows, firstKey), futures, exec);
+                firstRow = cnt + 1;
+                rows = new ArrayList<>(m_batchSize);
+            }
+        }
+        if (!rows.isEmpty()) {
+            put(queue, new Batch(firstRow, rows, firstKey), futures, exec);
+        }
+        return cnt;
+    }
+
+    /** Waits for space in the queue, failing early if a writer failed or the execution is canceled. */
+    private static void put(final BlockingQueue<Batch> queue, final Batch batch, final List<Future<Void>> futures,
+        final ExecutionMonitor exec) throws InterruptedException, ExecutionException, CanceledExecutionException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            exec.checkCanceled();
+            for (final Future<Void> future : futures) {
+                if (future.isDone()) {
+                    future.get();
+                }
+            }
+        }
+    }
+
+    private void runWriter(final Connection conn, final BlockingQueue<Batch> queue) throws Exception {
+        final boolean useSavepoints = conn.getMetaData().supportsSavepoints();
+        try (PreparedStatement single = conn.prepareStatement(m_insertStatement);
+                PreparedStatement multi =
+                    m_multiRowStatement == null ? null : conn.prepareStatement(m_multiRowStatement)) {
+            int uncommitted = 0;
+            while (!m_abort) {
+                final Batch batch;
+                try {
+                    batch = queue.take();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                if (batch == END) {
+                    return;
+                }
+                try {
+                    execute(conn, single, multi, batch, useSavepoints);
+                } catch (SQLException | RuntimeException ex) {
+                    final BatchException batchException = new BatchException(batch.m_firstRow,
+                        createErrorMessage(batch, ex), ex);
+                    if (m_failOnError) {
+                        throw batchException;
+                    }
+                    m_errors.add(batchException);
+                    if (!useSavepoints) {
+                        // Postgres will refuse any more commands in this transaction after errors
+                        conn.commit();
+                        uncommitted = 0;
+                    }
+                }
+                if (m_commitInterval > 0 && ++uncommitted >= m_commitInterval) {
+                    conn.commit();
+                    uncommitted = 0;
+                }
+            }
+        }
+    }
+
+    /** Executes a batch, retrying it after rolling back to a savepoint if supported. */
+    private void execute(final Connection conn, final PreparedStatement single, final PreparedStatement multi,
+        final Batch batch, final boolean useSavepoints) throws SQLException {
+        for (int attempt = 0;; attempt++) {
+            final Savepoint savepoint = useSavepoints ? conn.setSavepoint() : null;
+            try {
+                executeBatch(single, multi, batch);
+                if (savepoint != null) {
+                    conn.releaseSavepoint(savepoint);
+                }
+                return;
+            } catch (SQLException | RuntimeException ex) {
+                if (savepoint == null) {
+                    throw ex;
+                }
+                conn.rollback(savepoint);
+                if (attempt >= m_maxRetries) {
+                    throw ex;
+                }
+                LOGGER.debug("Retrying rows #" + batch.m_firstRow + " - #" + batch.getLastRow() + " after error: "
+                    + ex.getMessage());
+            } finally {
+                if (m_batchSize > 1) {
+                    single.clearBatch();
+                    if (multi != null) {
+                        multi.clearBatch();
+                    }
+                }
+            }
+        }
+    }
+
+    private void executeBatch(final PreparedStatement single, final PreparedStatement multi, final Batch batch)
+        throws SQLException {
+        final List<List<Parameter>> rows = batch.m_rows;
+        if (m_batchSize == 1) {
+            for (final List<Parameter> row : rows) {
+                apply(single, row, 0);
+                single.execute();
+            }
+            return;
+        }
+        int r = 0;
+        if (multi != null) {
+            for (; r + m_rowsPerStatement <= rows.size(); r += m_rowsPerStatement) {
+                for (int k = 0; k < m_rowsPerStatement; k++) {
+                    apply(multi, rows.get(r + k), k * m_paramsPerRow);
+                }
+                multi.addBatch();
+            }
+            if (r > 0) {
+                multi.executeBatch();
+            }
+        }
+        if (r < rows.size()) {
+            for (; r < rows.size(); r++) {
+                apply(single, rows.get(r), 0);
+                single.addBatch();
+            }
+            single.executeBatch();
+        }
+    }
+
+    private static void apply(final PreparedStatement stmt, final List<Parameter> row, final int offset)
+        throws SQLException {
+        for (final Parameter param : row) {
+            final Object[] args = param.m_args.clone();
+            args[0] = (Integer)args[0] + offset;
+            try {
+                param.m_setter.invoke(stmt, args);
+            } catch (InvocationTargetException ex) {
+                final Throwable cause = ex.getCause();
+                if (cause instanceof SQLException) {
+                    throw (SQLException)cause;
+                }
+                throw new SQLException(cause.getMessage(), cause);
+            } catch (IllegalAccessException ex) {
+                throw new SQLException(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private String createErrorMessage(final Batch batch, final Exception ex) {
+        if (m_batchSize > 1) {
+            return "Error while adding rows #" + batch.m_firstRow + " - #" + batch.getLastRow() + ", reason: "
+                + ex.getMessage();
+        }
+        return "Error while adding row #" + batch.m_firstRow + " (" + batch.m_firstKey + "), reason: "
+            + ex.getMessage();
+    }
+
+    /** Logs the errors ordered by row and returns the summary. */
+    private String reportErrors(final ExecutionMonitor exec, final long rows) {
+        if (m_errors.isEmpty()) {
+            return null;
+        }
+        final List<BatchException> errors = new ArrayList<>(m_errors);
+        errors.sort(Comparator.comparingLong(e -> e.m_firstRow));
+        exec.setMessage(errors.get(0).getMessage());
+        for (int i = 0; i < errors.size(); i++) {
+            if (i < 10) {
+                LOGGER.warn(errors.get(i).getMessage());
+            } else {
+                LOGGER.warn(errors.get(i).getMessage() + " - more errors...", errors.get(i).getCause());
+                break;
+            }
+        }
+        return "Errors \"" + errors.size() + "\" writing " + rows + " rows.";
+    }
+
+    private static void rollback(final List<Connection> connections) {
+        for (final Connection conn : connections) {
+            try {
+                conn.rollback();
+            } catch (Throwable ex) {
+                LOGGER.info("Failed rollback after db exception. Rollback error: " + ex.getMessage(), ex);
+            }
+        }
+    }
+}
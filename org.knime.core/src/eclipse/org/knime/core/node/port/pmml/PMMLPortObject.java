@@ -44,6 +44,8 @@
  */
 package org.knime.core.node.port.pmml;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -56,10 +58,17 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TreeSet;
 
 import javax.swing.JComponent;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.io.IOUtils;
 
 import org.apache.xmlbeans.SchemaType;
 import org.apache.xmlbeans.XmlCursor;
@@ -92,20 +101,20 @@
 import org.dmg.pmml.TransformationDictionaryDocument.TransformationDictionary;
 import org.dmg.pmml.TreeModelDocument.TreeModel;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.util.LockedSupplier;
 import org.knime.core.data.util.NonClosableInputStream;
 import org.knime.core.data.xml.PMMLCellFactory;
 import org.knime.core.data.xml.PMMLValue;
+import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortTypeRegistry;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.pmml.preproc.CompiledTransformations;
 import org.knime.core.node.port.pmml.preproc.DerivedFieldMapper;
 import org.knime.core.pmml.PMMLFormatter;
 import org.knime.core.pmml.PMMLModelType;
 import org.knime.core.pmml.PMMLUtils;
 import org.knime.core.pmml.PMMLValidator;
-import org.w3c.dom.Document;
 import org.w3c.dom.DocumentFragment;
 import org.xml.sax.SAXException;
 
@@ -199,9 +208,32 @@ public final class PMMLPortObject implements PortObject {
             + "pmml:PPCell[@predictorName='";
     /* ------------------------------------------------------ */
 
+    /** Namespace of the PMML version supported by the xmlbeans schema. */
+    private static final String PMML_NAMESPACE =
+            PMMLDocument.type.getDocumentElementName().getNamespaceURI();
+
+    /** Factory for the readers that scan serialized documents. Only configured once, creating readers is safe. */
+    private static final XMLInputFactory STAX_FACTORY;
+
+    static {
+        STAX_FACTORY = XMLInputFactory.newInstance();
+        STAX_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        STAX_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    }
 
+    /** The xmlbeans document. Materialized lazily from {@link #m_pmmlBytes} if null. */
     private PMMLDocument m_pmmlDoc;
 
+    /** The serialized document, or null if the document has been changed since it was last serialized. The array
+     * is never modified and may be shared between port objects that hold the same document. */
+    private byte[] m_pmmlBytes;
+
+    /** The summary scanned from {@link #m_pmmlBytes}; only valid as long as the bytes are. */
+    private String m_bytesSummary;
+
+    /** The compiled derived fields, created on demand and dropped when the document changes. */
+    private CompiledTransformations m_compiledTransformations;
+
     private PMMLPortObjectSpec m_spec;
 
     /**
@@ -268,8 +300,13 @@ public PMMLPortObject(final PMMLPortObjectSpec spec,
             final PMMLPortObject port, final DataTableSpec inData) {
         m_spec = spec;
         if (port != null) {
-            try (LockedSupplier<Document> supplier = port.getPMMLValue().getDocumentSupplier()) {
-                parse(supplier.get());
+            /* Share the serialized document of the port, it is only parsed
+             * if this object or one of its successors needs the model. */
+            try {
+                m_pmmlBytes = port.getSerializedPMML();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("An error occurred while "
+                        + "serializing the PMML document.", e);
             }
         } else if (inData != null) {
             initializePMMLDocument(inData);
@@ -279,16 +316,139 @@ public PMMLPortObject(final PMMLPortObjectSpec spec,
     }
 
     /**
-     * @param doc
+     * Returns the xmlbeans document, parsing it from the serialized bytes on
+     * first access. The bytes have either been written by this class or been
+     * accepted by {@link #scanSerializedPMML(byte[])} in
+     * {@link #loadFrom(PMMLPortObjectSpec, InputStream)}, hence a failure
+     * here is a programming error and not a problem of the input.
+     * @return the PMML document
+     * @throws IllegalStateException if the serialized document cannot be
+     *      parsed
+     */
+    private synchronized PMMLDocument getPMMLDocument() {
+        if (m_pmmlDoc == null) {
+            try {
+                m_pmmlDoc = PMMLDocument.Factory.parse(
+                        new ByteArrayInputStream(m_pmmlBytes));
+                // no validation needed here as the input is already validated
+            } catch (XmlException | IOException e) {
+                throw new IllegalStateException("An error occurred while "
+                        + "parsing the PMML document.", e);
+            }
+        }
+        return m_pmmlDoc;
+    }
+
+    /**
+     * Returns the xmlbeans document for modification. The serialized bytes
+     * are dropped as they no longer reflect the document.
+     * @return the PMML document
      */
-    private void parse(final Document doc) {
+    private synchronized PMMLDocument getPMMLDocumentForUpdate() {
+        PMMLDocument pmmlDoc = getPMMLDocument();
+        m_pmmlBytes = null;
+        m_bytesSummary = null;
+        m_compiledTransformations = null;
+        return pmmlDoc;
+    }
+
+    /**
+     * Returns the serialized document. The document is only serialized if it
+     * has been changed since the last call, the returned array must not be
+     * modified.
+     * @return the PMML document as written by {@link #save(OutputStream)}
+     * @throws IOException if the document cannot be serialized
+     */
+    synchronized byte[] getSerializedPMML() throws IOException {
+        if (m_pmmlBytes == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            PMMLFormatter.save(m_pmmlDoc, out);
+            m_pmmlBytes = out.toByteArray();
+        }
+        return m_pmmlBytes;
+    }
+
+    /**
+     * Streams over the serialized document without building a tree and
+     * collects the version and the models for the summary.
+     * @param pmmlBytes the serialized document
+     * @return the summary or null if the document is not a well-formed PMML
+     *      document of the version supported by the xmlbeans schema or if it
+     *      contains a DTD or entity references. Documents for which a summary
+     *      is returned are guaranteed to be parsed by xmlbeans later on.
+     */
+    private static String scanSerializedPMML(final byte[] pmmlBytes) {
+        XMLStreamReader reader = null;
         try {
-            m_pmmlDoc = PMMLDocument.Factory.parse(doc);
-            // no validation needed here as the input is already validated
-        } catch (XmlException e) {
-            throw new IllegalArgumentException("An error occurred while "
-                    + "parsing the PMML document.", e);
+            reader = STAX_FACTORY.createXMLStreamReader(
+                    new ByteArrayInputStream(pmmlBytes));
+            while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                if (reader.getEventType() == XMLStreamConstants.DTD) {
+                    // DTDs are resolved by xmlbeans only, parse it eagerly
+                    return null;
+                }
+            }
+            if (!PMML_ELEMENT.equals(reader.getLocalName())
+                    || !PMML_NAMESPACE.equals(reader.getNamespaceURI())) {
+                return null;
+            }
+            String version = reader.getAttributeValue(null, "version");
+            // same order as PMMLUtils#getNumberOfModels
+            Set<String> models = new TreeSet<String>();
+            int depth = 0;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    PMMLModelType type =
+                            PMMLModelType.getType(reader.getLocalName());
+                    if (depth == 1 && type != null
+                            && type != PMMLModelType.None) {
+                        models.add(type.toString());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                } else if (event == XMLStreamConstants.ENTITY_REFERENCE
+                        || event == XMLStreamConstants.DTD) {
+                    return null;
+                }
+            }
+            return createSummary(version, models);
+        } catch (XMLStreamException e) {
+            // not well-formed, leave the error reporting to xmlbeans
+            return null;
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing to do, the stream is in memory
+                }
+            }
+        }
+    }
+
+    /**
+     * @param version the PMML version
+     * @param models the names of the contained model types
+     * @return the summary of a PMML document
+     */
+    private static String createSummary(final String version,
+            final Iterable<?> models) {
+        StringBuffer sb = new StringBuffer();
+        sb.append("PMML document with version ");
+        sb.append(version);
+        sb.append(" and models: ");
+        boolean first = true;
+        for (Object modelType : models) {
+            if (!first) {
+                sb.append(",");
+            } else {
+                first = false;
+            }
+            sb.append(modelType);
         }
+        return sb.toString();
     }
 
     /* Just added temporary for models still using SAX. Will be removed soon.*/
@@ -326,7 +486,7 @@ public void addPMMLModelFromHandler(final PMMLContentHandler handler)
         } catch (Exception e) {
             throw new SAXException(e);
         }
-        PMML pmmlXml = m_pmmlDoc.getPMML();
+        PMML pmmlXml = getPMMLDocumentForUpdate().getPMML();
         XmlCursor pmmlCursor = pmmlXml.newCursor();
         pmmlCursor.toEndToken();
         XmlCursor modelCursor = model.newCursor();
@@ -340,12 +500,14 @@ public void addPMMLModelFromHandler(final PMMLContentHandler handler)
 
     /**
      * Writes the port object to valid PMML. The stream is not closed by this method.
+     * The serialized document is kept, so that saving an unchanged port object again
+     * or copying it into another port object does not serialize it a second time.
      *
      * @param out stream which reads the PMML file
      * @throws IOException if the file cannot be written to the stream
      */
     public final void save(final OutputStream out) throws IOException {
-        PMMLFormatter.save(m_pmmlDoc, out);
+        out.write(getSerializedPMML());
     }
 
    /**
@@ -365,10 +527,10 @@ private void initializePMMLDocument(final DataTableSpec inData) {
     }
 
     /**
-     * @param translator the model translator to be initialized
+     * @param translator the model translator to be initialized, it gets access to the document and may modify it
      */
     public void initializeModelTranslator(final PMMLTranslator translator) {
-        translator.initializeFrom(m_pmmlDoc);
+        translator.initializeFrom(getPMMLDocumentForUpdate());
     }
 
     /**
@@ -377,7 +539,8 @@ public void initializeModelTranslator(final PMMLTranslator translator) {
      *      added
      */
     public void addModelTranslater(final PMMLTranslator modelTranslator) {
-        SchemaType type = modelTranslator.exportTo(m_pmmlDoc, m_spec);
+        PMMLDocument pmmlDoc = getPMMLDocumentForUpdate();
+        SchemaType type = modelTranslator.exportTo(pmmlDoc, m_spec);
         LocalTransformations localTransformations = moveDerivedFields(type);
 
         /* Remove mining fields from mining schema that where created as a
@@ -390,7 +553,7 @@ public void addModelTranslater(final PMMLTranslator modelTranslator) {
         for (DerivedField derivedField : getDerivedFields()) {
             derivedFields.add(derivedField.getName());
         }
-        MiningSchema miningSchema = PMMLUtils.getFirstMiningSchema(m_pmmlDoc,
+        MiningSchema miningSchema = PMMLUtils.getFirstMiningSchema(pmmlDoc,
                 type);
         if (miningSchema == null) {
             LOGGER.info("No mining schema found.");
@@ -449,7 +612,7 @@ public void addModelTranslater(final PMMLTranslator modelTranslator) {
     /** Moves the content of the transformation dictionary to local
      * transformations of the model if a model exists. */
     public void moveGlobalTransformationsToModel() {
-        PMML pmml = m_pmmlDoc.getPMML();
+        PMML pmml = getPMMLDocumentForUpdate().getPMML();
         TransformationDictionary transDict
                 = pmml.getTransformationDictionary();
         if (transDict == null || transDict.getDerivedFieldArray() == null
@@ -522,7 +685,7 @@ public void moveGlobalTransformationsToModel() {
      *      has to be moved
      */
     private LocalTransformations moveDerivedFields(final SchemaType type) {
-        PMML pmml = m_pmmlDoc.getPMML();
+        PMML pmml = getPMMLDocumentForUpdate().getPMML();
 
         TransformationDictionary transDict
                 = pmml.getTransformationDictionary();
@@ -599,21 +762,17 @@ private LocalTransformations moveDerivedFields(final SchemaType type) {
     /** {@inheritDoc} */
     @Override
     public String getSummary() {
-        StringBuffer sb = new StringBuffer();
-        sb.append("PMML document with version ");
-        sb.append(m_pmmlDoc.getPMML().getVersion());
-        sb.append(" and models: ");
-        boolean first = true;
-        for (PMMLModelType modelType
-                : PMMLUtils.getNumberOfModels(m_pmmlDoc).keySet()) {
-            if (!first) {
-                sb.append(",");
-            } else {
-                first = false;
+        synchronized (this) {
+            if (m_pmmlBytes != null && m_bytesSummary == null) {
+                m_bytesSummary = scanSerializedPMML(m_pmmlBytes);
+            }
+            if (m_bytesSummary != null) {
+                return m_bytesSummary;
             }
-            sb.append(modelType);
         }
-        return sb.toString();
+        PMMLDocument pmmlDoc = getPMMLDocument();
+        return createSummary(pmmlDoc.getPMML().getVersion(),
+                PMMLUtils.getNumberOfModels(pmmlDoc).keySet());
     }
 
     /**
@@ -640,6 +799,10 @@ public void loadFrom(final PMMLPortObjectSpec spec, final InputStream in, final
 
     /**
      * Initializes the pmml port object based on the xml input stream.
+     * Well-formed documents of the current PMML version are only scanned
+     * with a streaming parser and the xmlbeans document is built on first
+     * use; all other documents are parsed right away. In both cases input
+     * that xmlbeans cannot parse is reported by this method.
      * @param spec the referring spec of this object
      * @param is the pmml input stream
      * @throws IOException if the file cannot be found
@@ -652,10 +815,28 @@ public void loadFrom(final PMMLPortObjectSpec spec, final InputStream is)
         // the argument input stream is a NonClosableZipInput, which delegates
         // close to closeEntry(), we have to make sure that close is only
         // called once.
-        // TODO: The document is read twice here. Could we "probe" into the file to check the version?
-        XmlObject xmlDoc = XmlObject.Factory.parse(
-                new NonClosableInputStream(is));
+        byte[] pmmlBytes = IOUtils.toByteArray(new NonClosableInputStream(is));
         is.close();
+        m_spec = spec;
+        /* Documents of the current version are only scanned with a streaming
+         * parser, the xmlbeans document is created when it is needed. */
+        String summary = scanSerializedPMML(pmmlBytes);
+        if (summary != null) {
+            synchronized (this) {
+                m_pmmlDoc = null;
+                m_pmmlBytes = pmmlBytes;
+                m_bytesSummary = summary;
+                m_compiledTransformations = null;
+            }
+            return;
+        }
+        synchronized (this) {
+            m_pmmlBytes = null;
+            m_bytesSummary = null;
+            m_compiledTransformations = null;
+        }
+        XmlObject xmlDoc = XmlObject.Factory.parse(
+                new ByteArrayInputStream(pmmlBytes));
         if (xmlDoc instanceof PMMLDocument) {
             m_pmmlDoc = (PMMLDocument)xmlDoc;
         } else {
@@ -680,7 +861,6 @@ public void loadFrom(final PMMLPortObjectSpec spec, final InputStream is)
                         "Parsing of PMML v 3.x/4.0 document failed.");
             }
         }
-        m_spec = spec;
     }
 
     /**
@@ -718,11 +898,12 @@ public void addGlobalTransformations(
                     + "supported so far. Only derived fields are allowed.");
         }
 
+        PMMLDocument pmmlDoc = getPMMLDocumentForUpdate();
         TransformationDictionary dict
-            = m_pmmlDoc.getPMML().getTransformationDictionary();
+            = pmmlDoc.getPMML().getTransformationDictionary();
         if (dict == null) {
-            m_pmmlDoc.getPMML().setTransformationDictionary(dictionary);
-            dict = m_pmmlDoc.getPMML().getTransformationDictionary();
+            pmmlDoc.getPMML().setTransformationDictionary(dictionary);
+            dict = pmmlDoc.getPMML().getTransformationDictionary();
         } else {
             // append the transformations to the existing dictionary
             DerivedField[] existingFields = dict.getDerivedFieldArray();
@@ -752,7 +933,7 @@ public void addGlobalTransformations(
          * results in duplicate entries. Those columns should only appear once
          * as derived field in the transformation dictionary or local
          * transformations. */
-        DataDictionary dataDict = m_pmmlDoc.getPMML().getDataDictionary();
+        DataDictionary dataDict = pmmlDoc.getPMML().getDataDictionary();
         DataField[] dataFieldArray = dataDict.getDataFieldArray();
         List<DataField> dataFields = new ArrayList<DataField>(Arrays.asList(
                 dataFieldArray));
@@ -771,7 +952,7 @@ public void addGlobalTransformations(
         Map<String, String> derivedFieldMap = dfm.getDerivedFieldMap();
         /* Use XPATH to update field names in the model and move the derived
          * fields to local transformations. */
-        PMML pmml = m_pmmlDoc.getPMML();
+        PMML pmml = pmmlDoc.getPMML();
         if (pmml.getTreeModelArray().length > 0) {
             fixAttributeAtPath(pmml, TREE_PATH, FIELD, derivedFieldMap);
         } else if (pmml.getClusteringModelArray().length > 0) {
@@ -857,10 +1038,31 @@ private void fixAttributeAtPath(final PMML pmml, final String xpath,
     /**
      * @return the derived fields defined in the transformation dictionary and
      *          local transformations or an empty array if no derived fields
-     *          are defined.
+     *          are defined. The fields are part of the document, changes to
+     *          them are saved.
      */
     public DerivedField[] getDerivedFields() {
-        return DerivedFieldMapper.getDerivedFields(m_pmmlDoc.getPMML());
+        return DerivedFieldMapper.getDerivedFields(getPMMLDocumentForUpdate().getPMML());
+    }
+
+    /**
+     * Returns the derived fields of the transformation dictionary and the
+     * local transformations compiled for row-wise execution. The compiled
+     * form is cached until the document is changed.
+     *
+     * @return the compiled transformations
+     * @throws InvalidSettingsException if the derived fields contain
+     *      transformations that cannot be compiled
+     * @since 3.8
+     */
+    public synchronized CompiledTransformations getCompiledTransformations()
+            throws InvalidSettingsException {
+        if (m_compiledTransformations == null) {
+            // read-only access, keeps the serialized document
+            m_compiledTransformations = CompiledTransformations.compile(
+                    DerivedFieldMapper.getDerivedFields(getPMMLDocument().getPMML()));
+        }
+        return m_compiledTransformations;
     }
 
     /**
@@ -870,7 +1072,7 @@ public DerivedField[] getDerivedFields() {
      */
     public PMMLValue getPMMLValue() {
         try {
-            return (PMMLValue)PMMLCellFactory.create(PMMLFormatter.xmlText(m_pmmlDoc));
+            return (PMMLValue)PMMLCellFactory.create(new ByteArrayInputStream(getSerializedPMML()));
         } catch (Exception e) {
             throw new RuntimeException("Could not create PMML value.", e);
         }
@@ -882,7 +1084,7 @@ public PMMLValue getPMMLValue() {
      *      valid PMML document
      */
     public void validate() throws IllegalStateException {
-        Map<String, String> errors = PMMLValidator.validatePMML(m_pmmlDoc);
+        Map<String, String> errors = PMMLValidator.validatePMML(getPMMLDocument());
         if (!errors.isEmpty()) {
             StringBuffer sb = new StringBuffer("Invalid PMML document found. "
                     + "Errors: ");
@@ -950,6 +1152,21 @@ private static boolean isOlderThanVersion(final Integer[] version,
         return false;
     }
 
+    /**
+     * @param other another port object
+     * @return true if both port objects hold equal unchanged serialized
+     *      document, in which case the documents are equal without parsing
+     */
+    private boolean sharesSerializedPMML(final PMMLPortObject other) {
+        byte[] bytes;
+        synchronized (this) {
+            bytes = m_pmmlBytes;
+        }
+        synchronized (other) {
+            return bytes != null && Arrays.equals(bytes, other.m_pmmlBytes);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -965,11 +1182,8 @@ public boolean equals(final Object obj) {
             return false;
         }
         PMMLPortObject other = (PMMLPortObject)obj;
-        if (m_pmmlDoc == null) {
-            if (other.m_pmmlDoc != null) {
-                return false;
-            }
-        } else if (!m_pmmlDoc.valueEquals(other.m_pmmlDoc)) {
+        if (!sharesSerializedPMML(other)
+                && !getPMMLDocument().valueEquals(other.getPMMLDocument())) {
             return false;
         }
         if (m_spec == null) {
@@ -984,13 +1198,15 @@ public boolean equals(final Object obj) {
 
     /**
      * {@inheritDoc}
+     *
+     * The hash code is based on the summary (version and models), which is
+     * scanned from the serialized document if it has not been parsed yet.
      */
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result
-                + ((m_pmmlDoc == null) ? 0 : m_pmmlDoc.hashCode());
+        result = prime * result + getSummary().hashCode();
         result = prime * result + ((m_spec == null) ? 0 : m_spec.hashCode());
         return result;
     }
@@ -0,0 +1,183 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.pmml.preproc;
+
+import java.util.Arrays;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DoubleValue;
+
+/**
+ * Compiled form of a PMML <code>Discretize</code> transformation. The bins are kept in primitive arrays in document
+ * order. If they are sorted and disjoint, which is the case for all bins created by the KNIME binners, the bin of a
+ * value is found by binary search, otherwise the bins are scanned in order. In both cases the first bin covering the
+ * value wins as demanded by the PMML specification.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class CompiledDiscretize {
+
+    private final double[] m_leftMargins;
+
+    private final boolean[] m_leftOpen;
+
+    private final double[] m_rightMargins;
+
+    private final boolean[] m_rightOpen;
+
+    private final DataCell[] m_binCells;
+
+    private final DataCell m_missingCell;
+
+    private final DataCell m_defaultCell;
+
+    private final boolean m_sorted;
+
+    /**
+     * @param leftMargins the left margins of the bins, {@link Double#NEGATIVE_INFINITY} if unbounded
+     * @param leftOpen whether the left margins are excluded from the bins
+     * @param rightMargins the right margins of the bins, {@link Double#POSITIVE_INFINITY} if unbounded
+     * @param rightOpen whether the right margins are excluded from the bins
+     * @param binCells the cells returned for the bins
+     * @param missingCell the cell returned for missing values
+     * @param defaultCell the cell returned for values not covered by any bin and for non-numeric values
+     */
+    CompiledDiscretize(final double[] leftMargins, final boolean[] leftOpen, final double[] rightMargins,
+        final boolean[] rightOpen, final DataCell[] binCells, final DataCell missingCell,
+        final DataCell defaultCell) {
+        final int length = binCells.length;
+        if (leftMargins.length != length || leftOpen.length != length || rightMargins.length != length
+            || rightOpen.length != length) {
+            throw new IllegalArgumentException("The number of margins does not match the number of bins.");
+        }
+        m_leftMargins = leftMargins.clone();
+        m_leftOpen = leftOpen.clone();
+        m_rightMargins = rightMargins.clone();
+        m_rightOpen = rightOpen.clone();
+        m_binCells = binCells.clone();
+        m_missingCell = missingCell;
+        m_defaultCell = defaultCell;
+        m_sorted = isSortedAndDisjoint();
+    }
+
+    /**
+     * Strictly increasing margins make the left margins a valid binary search key and guarantee that a value can only
+     * be covered by the bin with the greatest left margin not larger than the value or by its predecessor.
+     */
+    private boolean isSortedAndDisjoint() {
+        for (int i = 0; i < m_leftMargins.length; i++) {
+            if (!(m_leftMargins[i] < m_rightMargins[i])) {
+                return false;
+            }
+            if (i > 0 && !(m_rightMargins[i - 1] <= m_leftMargins[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the bins are looked up by binary search
+     */
+    boolean isSorted() {
+        return m_sorted;
+    }
+
+    /**
+     * @param cell the input cell
+     * @return the cell of the first bin covering the value of the input cell
+     */
+    DataCell apply(final DataCell cell) {
+        if (cell.isMissing()) {
+            return m_missingCell;
+        }
+        if (!(cell instanceof DoubleValue)) {
+            return m_defaultCell;
+        }
+        return apply(((DoubleValue)cell).getDoubleValue());
+    }
+
+    /**
+     * @param value the input value
+     * @return the cell of the first bin covering the value, or the default cell if there is none
+     */
+    DataCell apply(final double value) {
+        final int bin = m_sorted ? findSorted(value) : findLinear(value);
+        return bin < 0 ? m_defaultCell : m_binCells[bin];
+    }
+
+    private int findSorted(final double value) {
+        int index = Arrays.binarySearch(m_leftMargins, value);
+        if (index < 0) {
+            // last bin with a left margin smaller than the value
+            index = -index - 2;
+        }
+        if (index > 0 && covers(index - 1, value)) {
+            return index - 1;
+        }
+        return index >= 0 && covers(index, value) ? index : -1;
+    }
+
+    private int findLinear(final double value) {
+        for (int i = 0; i < m_binCells.length; i++) {
+            if (covers(i, value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean covers(final int bin, final double value) {
+        final double left = m_leftMargins[bin];
+        final double right = m_rightMargins[bin];
+        return (left < value && value < right) || (left == value && !m_leftOpen[bin])
+            || (right == value && !m_rightOpen[bin]);
+    }
+
+}
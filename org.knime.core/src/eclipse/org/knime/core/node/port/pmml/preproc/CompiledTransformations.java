@@ -0,0 +1,325 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.port.pmml.preproc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dmg.pmml.DATATYPE;
+import org.dmg.pmml.DerivedFieldDocument.DerivedField;
+import org.dmg.pmml.DiscretizeBinDocument.DiscretizeBin;
+import org.dmg.pmml.DiscretizeDocument.Discretize;
+import org.dmg.pmml.IntervalDocument.Interval;
+import org.dmg.pmml.IntervalDocument.Interval.Closure;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.AbstractCellFactory;
+import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.pmml.PMMLPortObject;
+
+/**
+ * Derived fields of a PMML document compiled into an executable form. Instead of interpreting the XML for every row,
+ * each transformation is translated once into primitive lookup structures and applied row-wise by a single cell
+ * factory. Supported is the subset written by the KNIME core translators, i.e. <code>Discretize</code>
+ * transformations as exported by the binners, which may be chained by referring to previously derived fields.
+ *
+ * <p>
+ * Use {@link PMMLPortObject#getCompiledTransformations()} to obtain the compiled form that is cached with the port
+ * object.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class CompiledTransformations {
+
+    private final List<CompiledField> m_fields;
+
+    private CompiledTransformations(final List<CompiledField> fields) {
+        m_fields = fields;
+    }
+
+    /**
+     * Compiles the derived fields in the given order.
+     *
+     * @param derivedFields the derived fields, e.g. as returned by {@link PMMLPortObject#getDerivedFields()}
+     * @return the compiled transformations
+     * @throws InvalidSettingsException if a derived field uses a transformation that cannot be compiled
+     */
+    public static CompiledTransformations compile(final DerivedField[] derivedFields)
+        throws InvalidSettingsException {
+        final List<CompiledField> fields = new ArrayList<>(derivedFields.length);
+        for (DerivedField df : derivedFields) {
+            if (!df.isSetDiscretize()) {
+                throw new InvalidSettingsException("Derived field \"" + df.getName()
+                    + "\" cannot be compiled, only Discretize transformations are supported.");
+            }
+            final DataType type = getType(df.getDataType());
+            final Discretize discretize = df.getDiscretize();
+            fields.add(new CompiledField(df.getName(), df.getDisplayName(), discretize.getField(), type,
+                compileDiscretize(df.getName(), discretize, type)));
+        }
+        return new CompiledTransformations(Collections.unmodifiableList(fields));
+    }
+
+    private static CompiledDiscretize compileDiscretize(final String name, final Discretize discretize,
+        final DataType type) throws InvalidSettingsException {
+        @SuppressWarnings("deprecation")
+        final DiscretizeBin[] bins = discretize.getDiscretizeBinArray();
+        final double[] leftMargins = new double[bins.length];
+        final boolean[] leftOpen = new boolean[bins.length];
+        final double[] rightMargins = new double[bins.length];
+        final boolean[] rightOpen = new boolean[bins.length];
+        final DataCell[] binCells = new DataCell[bins.length];
+        for (int i = 0; i < bins.length; i++) {
+            final Interval interval = bins[i].getInterval();
+            leftMargins[i] = interval.isSetLeftMargin() ? interval.getLeftMargin() : Double.NEGATIVE_INFINITY;
+            rightMargins[i] = interval.isSetRightMargin() ? interval.getRightMargin() : Double.POSITIVE_INFINITY;
+            final Closure.Enum closure = interval.getClosure();
+            leftOpen[i] = Closure.OPEN_OPEN == closure || Closure.OPEN_CLOSED == closure;
+            rightOpen[i] = Closure.OPEN_OPEN == closure || Closure.CLOSED_OPEN == closure;
+            binCells[i] = createCell(name, bins[i].getBinValue(), type);
+        }
+        final DataCell missingCell = discretize.isSetMapMissingTo()
+            ? createCell(name, discretize.getMapMissingTo(), type) : DataType.getMissingCell();
+        final DataCell defaultCell = discretize.isSetDefaultValue()
+            ? createCell(name, discretize.getDefaultValue(), type) : DataType.getMissingCell();
+        return new CompiledDiscretize(leftMargins, leftOpen, rightMargins, rightOpen, binCells, missingCell,
+            defaultCell);
+    }
+
+    private static DataType getType(final DATATYPE.Enum dataType) {
+        if (DATATYPE.INTEGER.equals(dataType)) {
+            return IntCell.TYPE;
+        } else if (DATATYPE.DOUBLE.equals(dataType) || DATATYPE.FLOAT.equals(dataType)) {
+            return DoubleCell.TYPE;
+        }
+        return StringCell.TYPE;
+    }
+
+    private static DataCell createCell(final String name, final String value, final DataType type)
+        throws InvalidSettingsException {
+        try {
+            if (IntCell.TYPE.equals(type)) {
+                return new IntCell(Integer.parseInt(value));
+            } else if (DoubleCell.TYPE.equals(type)) {
+                return new DoubleCell(Double.parseDouble(value));
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidSettingsException(
+                "Value \"" + value + "\" of derived field \"" + name + "\" does not match its data type.", e);
+        }
+        return new StringCell(value);
+    }
+
+    /**
+     * @return the number of compiled derived fields
+     */
+    public int getNumberOfFields() {
+        return m_fields.size();
+    }
+
+    /**
+     * Creates a column rearranger that applies the transformations to a table. Derived fields with a display name
+     * replace the column of that name, all others are appended under their field name. If several derived fields
+     * replace the same column, the column holds the result of the last one.
+     *
+     * @param spec the spec of the input table, containing the raw (not yet transformed) columns
+     * @return the column rearranger
+     * @throws InvalidSettingsException if a referenced column is missing or not numeric, or if an appended column
+     *             already exists
+     */
+    public ColumnRearranger createColumnRearranger(final DataTableSpec spec) throws InvalidSettingsException {
+        final int nrFields = m_fields.size();
+        final int[] sourceColumns = new int[nrFields];
+        final int[] sourceFields = new int[nrFields];
+        final Map<String, Integer> fieldIndices = new HashMap<>();
+        final Map<String, Integer> replaced = new LinkedHashMap<>();
+        final Map<String, Integer> appended = new LinkedHashMap<>();
+        for (int i = 0; i < nrFields; i++) {
+            final CompiledField field = m_fields.get(i);
+            final Integer sourceField = fieldIndices.get(field.m_source);
+            if (sourceField != null) {
+                sourceFields[i] = sourceField;
+                sourceColumns[i] = -1;
+            } else {
+                final int col = spec.findColumnIndex(field.m_source);
+                if (col < 0) {
+                    throw new InvalidSettingsException("Column \"" + field.m_source + "\" referenced by derived field \""
+                        + field.m_name + "\" does not exist in the input table.");
+                }
+                if (!spec.getColumnSpec(col).getType().isCompatible(DoubleValue.class)) {
+                    throw new InvalidSettingsException("Column \"" + field.m_source + "\" referenced by derived field \""
+                        + field.m_name + "\" is not numeric.");
+                }
+                sourceFields[i] = -1;
+                sourceColumns[i] = col;
+            }
+            fieldIndices.put(field.m_name, i);
+            if (field.m_displayName != null) {
+                if (!spec.containsName(field.m_displayName)) {
+                    throw new InvalidSettingsException("Column \"" + field.m_displayName
+                        + "\" replaced by derived field \"" + field.m_name + "\" does not exist in the input table.");
+                }
+                replaced.put(field.m_displayName, i);
+            } else {
+                if (spec.containsName(field.m_name) || appended.containsKey(field.m_name)) {
+                    throw new InvalidSettingsException(
+                        "Column \"" + field.m_name + "\" of derived field \"" + field.m_name + "\" already exists.");
+                }
+                appended.put(field.m_name, i);
+            }
+        }
+
+        final int nrOutputs = replaced.size() + appended.size();
+        final DataColumnSpec[] outputSpecs = new DataColumnSpec[nrOutputs];
+        final int[] outputFields = new int[nrOutputs];
+        int out = 0;
+        for (Map<String, Integer> outputs : Arrays.asList(replaced, appended)) {
+            for (Map.Entry<String, Integer> e : outputs.entrySet()) {
+                outputFields[out] = e.getValue();
+                outputSpecs[out] = new DataColumnSpecCreator(e.getKey(), m_fields.get(e.getValue()).m_type)
+                    .createSpec();
+                out++;
+            }
+        }
+
+        final ColumnRearranger rearranger = new ColumnRearranger(spec);
+        if (nrOutputs == 0) {
+            return rearranger;
+        }
+        rearranger.append(new TransformationCellFactory(m_fields, sourceColumns, sourceFields, outputFields,
+            outputSpecs));
+        /* The replacing columns come first in the factory output. Each step removes an original column and moves its
+         * replacement to the free position, so the original columns keep their indices. */
+        final int nrColumns = spec.getNumColumns();
+        for (String colName : replaced.keySet()) {
+            final int col = spec.findColumnIndex(colName);
+            rearranger.remove(col);
+            rearranger.move(nrColumns - 1, col);
+        }
+        return rearranger;
+    }
+
+    /** A single derived field with its compiled transformation. */
+    private static final class CompiledField {
+
+        private final String m_name;
+
+        private final String m_displayName;
+
+        private final String m_source;
+
+        private final DataType m_type;
+
+        private final CompiledDiscretize m_discretize;
+
+        CompiledField(final String name, final String displayName, final String source, final DataType type,
+            final CompiledDiscretize discretize) {
+            m_name = name;
+            m_displayName = displayName;
+            m_source = source;
+            m_type = type;
+            m_discretize = discretize;
+        }
+    }
+
+    /** Evaluates all fields of a row in document order; rows are independent and can be processed concurrently. */
+    private static final class TransformationCellFactory extends AbstractCellFactory {
+
+        private final CompiledDiscretize[] m_discretizes;
+
+        private final int[] m_sourceColumns;
+
+        private final int[] m_sourceFields;
+
+        private final int[] m_outputFields;
+
+        TransformationCellFactory(final List<CompiledField> fields, final int[] sourceColumns,
+            final int[] sourceFields, final int[] outputFields, final DataColumnSpec[] outputSpecs) {
+            super(true, outputSpecs);
+            m_discretizes = new CompiledDiscretize[fields.size()];
+            for (int i = 0; i < m_discretizes.length; i++) {
+                m_discretizes[i] = fields.get(i).m_discretize;
+            }
+            m_sourceColumns = sourceColumns;
+            m_sourceFields = sourceFields;
+            m_outputFields = outputFields;
+        }
+
+        @Override
+        public DataCell[] getCells(final DataRow row) {
+            final DataCell[] values = new DataCell[m_discretizes.length];
+            for (int i = 0; i < values.length; i++) {
+                final DataCell input =
+                    m_sourceColumns[i] >= 0 ? row.getCell(m_sourceColumns[i]) : values[m_sourceFields[i]];
+                values[i] = m_discretizes[i].apply(input);
+            }
+            final DataCell[] result = new DataCell[m_outputFields.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = values[m_outputFields[i]];
+            }
+            return result;
+        }
+    }
+
+}
@@ -371,17 +371,22 @@ public synchronized void fireHiLiteEvent(final KeyEvent event) {
         if (ids.isEmpty()) {
             return;
         }
-        // create list of row keys from input key array
-        final Set<RowKey> changedIDs = new LinkedHashSet<RowKey>();
-        // iterates over all keys and adds them to the changed set
-        for (final RowKey id : ids) {
-            if (id == null) {
-                throw new IllegalArgumentException(
-                        "Key array must not contains null elements.");
-            }
-            // if the key is already hilit, do not add it
-            if (newHilitKeys.add(id)) {
-                changedIDs.add(id);
+        final Set<RowKey> changedIDs;
+        if (ids instanceof RowIndexKeySet) {
+            changedIDs = applyIndexed((RowIndexKeySet)ids, newHilitKeys, true);
+        } else {
+            // create list of row keys from input key array
+            changedIDs = new LinkedHashSet<RowKey>();
+            // iterates over all keys and adds them to the changed set
+            for (final RowKey id : ids) {
+                if (id == null) {
+                    throw new IllegalArgumentException(
+                            "Key array must not contains null elements.");
+                }
+                // if the key is already hilit, do not add it
+                if (newHilitKeys.add(id)) {
+                    changedIDs.add(id);
+                }
             }
         }
 
@@ -442,16 +447,21 @@ public synchronized void fireUnHiLiteEvent(final KeyEvent event) {
 
         Set<RowKey> newHilitKeys = new LinkedHashSet<RowKey>(m_hiLitKeys);
 
-        // create list of row keys from input key array
-        final Set<RowKey> changedIDs = new LinkedHashSet<RowKey>();
-        // iterate over all keys and removes all not hilit ones
-        for (final RowKey id : ids) {
-            if (id == null) {
-                throw new IllegalArgumentException(
-                        "Key array must not contains null elements.");
-            }
-            if (newHilitKeys.remove(id)) {
-                changedIDs.add(id);
+        final Set<RowKey> changedIDs;
+        if (ids instanceof RowIndexKeySet) {
+            changedIDs = applyIndexed((RowIndexKeySet)ids, newHilitKeys, false);
+        } else {
+            // create list of row keys from input key array
+            changedIDs = new LinkedHashSet<RowKey>();
+            // iterate over all keys and removes all not hilit ones
+            for (final RowKey id : ids) {
+                if (id == null) {
+                    throw new IllegalArgumentException(
+                            "Key array must not contains null elements.");
+                }
+                if (newHilitKeys.remove(id)) {
+                    changedIDs.add(id);
+                }
             }
         }
         // if at least on key changed
@@ -520,6 +530,23 @@ public void run() {
         }
     }
 
+    /**
+     * Adds (or removes) the keys of an index-based key set to (from) the argument set. The changed keys are tracked by
+     * row index, so listeners sharing the row index receive an index-based set again.
+     */
+    private static Set<RowKey> applyIndexed(final RowIndexKeySet ids, final Set<RowKey> hilitKeys,
+        final boolean hilite) {
+        final HiLiteRowIndex rowIndex = ids.getRowIndex();
+        final RowIndexBitmap changed = new RowIndexBitmap();
+        ids.getIndices().forEach(i -> {
+            final RowKey key = rowIndex.getKey(i);
+            if (hilite ? hilitKeys.add(key) : hilitKeys.remove(key)) {
+                changed.add(i);
+            }
+        });
+        return new RowIndexKeySet(rowIndex, changed);
+    }
+
     /**
      * Returns a copy of all hilit keys.
      * @return a set of hilit row keys
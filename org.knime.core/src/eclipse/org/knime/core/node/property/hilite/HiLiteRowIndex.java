@@ -0,0 +1,214 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.RowKey;
+import org.knime.core.node.BufferedDataTable;
+
+/**
+ * Bidirectional mapping between the {@link RowKey}s of a table with stable row order and their positions (row
+ * indices). It is used to convert between the key-based {@link HiLiteHandler} and the index-based
+ * {@link IndexHiLiteModel}. The key lookup uses an open addressing table of <code>int</code> positions, i.e. it
+ * does not create any objects besides the two arrays. Instances are immutable.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class HiLiteRowIndex {
+
+    /** Largest power of two that is a valid array length, hence the maximum size of the hash table. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final RowKey[] m_keys;
+
+    /** Open addressing hash table (linear probing) holding row index + 1 per slot, 0 for empty slots. */
+    private final int[] m_table;
+
+    private final int m_tableMask;
+
+    /**
+     * Creates a new index from the row keys in the given order.
+     *
+     * @param keys the row keys, the position in the array defines the row index
+     * @throws IllegalArgumentException if the array is <code>null</code>, contains <code>null</code> or duplicates, or
+     *             has 2^30 or more elements
+     */
+    public HiLiteRowIndex(final RowKey... keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Key array must not be null.");
+        }
+        if (keys.length >= MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                "Too many row keys (" + keys.length + "), at most " + (MAX_CAPACITY - 1) + " are supported.");
+        }
+        m_keys = keys.clone();
+        // power of two with a load factor of at most 0.5 (higher only for more than MAX_CAPACITY / 2 keys)
+        final int capacity =
+            (int)Math.min(Long.highestOneBit(Math.max(2L * m_keys.length, 2L) - 1L) << 1, MAX_CAPACITY);
+        m_table = new int[capacity];
+        m_tableMask = capacity - 1;
+        for (int i = 0; i < m_keys.length; i++) {
+            if (m_keys[i] == null) {
+                throw new IllegalArgumentException("Key array must not contain null elements.");
+            }
+            int slot = findSlot(m_keys[i]);
+            if (m_table[slot] != 0) {
+                throw new IllegalArgumentException("Duplicate row key \"" + m_keys[i] + "\"");
+            }
+            m_table[slot] = i + 1;
+        }
+    }
+
+    /** @return the slot containing the key or the empty slot where it would be inserted */
+    private int findSlot(final RowKey key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & m_tableMask;
+        int entry;
+        while ((entry = m_table[slot]) != 0 && !m_keys[entry - 1].equals(key)) {
+            slot = (slot + 1) & m_tableMask;
+        }
+        return slot;
+    }
+
+    /**
+     * Creates a new index by iterating the argument table once.
+     *
+     * @param table the table, whose iteration order must not change (as for all {@link BufferedDataTable})
+     * @return a new index
+     */
+    public static HiLiteRowIndex create(final DataTable table) {
+        if (table instanceof BufferedDataTable) {
+            long size = ((BufferedDataTable)table).size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Table too large for index-based hiliting: " + size + " rows");
+            }
+            RowKey[] keys = new RowKey[(int)size];
+            int i = 0;
+            for (DataRow row : table) {
+                keys[i++] = row.getKey();
+            }
+            return new HiLiteRowIndex(keys);
+        }
+        List<RowKey> keys = new ArrayList<>();
+        for (DataRow row : table) {
+            keys.add(row.getKey());
+        }
+        return new HiLiteRowIndex(keys.toArray(new RowKey[keys.size()]));
+    }
+
+    /** @return the number of rows */
+    public int size() {
+        return m_keys.length;
+    }
+
+    /**
+     * @param index the row index
+     * @return the key of the row at the given index
+     * @throws ArrayIndexOutOfBoundsException if the index is invalid
+     */
+    public RowKey getKey(final int index) {
+        return m_keys[index];
+    }
+
+    /**
+     * @param key the row key
+     * @return the index of the row or -1 if the key is not part of this index
+     */
+    public int getIndex(final RowKey key) {
+        if (key == null) {
+            return -1;
+        }
+        return m_table[findSlot(key)] - 1;
+    }
+
+    /**
+     * Converts row keys into row indices. Keys not part of this index are ignored.
+     *
+     * @param keys the keys to convert
+     * @return a new bitmap containing the indices of the keys
+     */
+    public RowIndexBitmap toIndices(final Collection<RowKey> keys) {
+        if (keys instanceof RowIndexKeySet && ((RowIndexKeySet)keys).getRowIndex() == this) {
+            // created from this index, no lookup needed
+            return ((RowIndexKeySet)keys).getIndices().copy();
+        }
+        RowIndexBitmap result = new RowIndexBitmap();
+        for (RowKey key : keys) {
+            int index = getIndex(key);
+            if (index >= 0) {
+                result.add(index);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts row indices into row keys. The returned set is an unmodifiable view on a copy of the indices, keys are
+     * only looked up while iterating. {@link KeyEvent}s created with such a set are processed by index by the
+     * {@link HiLiteHandler}, the {@link HiLiteTranslator} and {@link IndexHiLiteModel}s that use this row index.
+     *
+     * @param indices the indices to convert, must be smaller than {@link #size()}
+     * @return an unmodifiable set of keys, ordered by row index
+     * @throws IndexOutOfBoundsException if an index is not smaller than {@link #size()}
+     */
+    public Set<RowKey> toKeys(final RowIndexBitmap indices) {
+        int last = indices.lastIndex();
+        if (last >= m_keys.length) {
+            throw new IndexOutOfBoundsException("Row index " + last + " >= " + m_keys.length);
+        }
+        return new RowIndexKeySet(this, indices.copy());
+    }
+}
@@ -66,6 +66,10 @@
  * then invoke the corresponding handlers on the other side to hilite, unhilite,
  * and clear mapped keys.
  * <p>
+ * Instead of a key-based {@link HiLiteMapper} an {@link IndexHiLiteMapper} can be set, see
+ * {@link #setIndexMapper(IndexHiLiteMapper, HiLiteRowIndex, HiLiteRowIndex)}. Events are then translated by row
+ * index and forwarded as index-based key sets.
+ * <p>
  * <strong>Note:</strong> If you create an instance of a {@link HiLiteTranslator} make sure to {@linkplain #dispose()}
  * it when done, e.g. during reset, setting new input hilite handler or during disposal of the NodeModel.
  *
@@ -82,6 +86,9 @@ public final class HiLiteTranslator {
     /** Contains the mapping between aggregation and single items. */
     private HiLiteMapper m_mapper;
 
+    /** Index-based mapping, takes precedence over m_mapper if set. */
+    private volatile IndexMapping m_indexMapping;
+
     /** Event source used to indicate hilite events fired by this translator. */
     private final Object m_eventSource = this;
 
@@ -98,7 +105,15 @@ public void hiLite(final KeyEvent event) {
             if (event.getSource() == m_eventSource) {
                 return;
             }
-            if (m_mapper != null && m_targetHandlers.size() > 0) {
+            final IndexMapping indexMapping = m_indexMapping;
+            if (indexMapping != null) {
+                final Set<RowKey> fireSet = indexMapping.toTargets(event.keys());
+                if (!fireSet.isEmpty()) {
+                    for (HiLiteHandler h : m_targetHandlers) {
+                        h.fireHiLiteEvent(new KeyEvent(m_eventSource, fireSet));
+                    }
+                }
+            } else if (m_mapper != null && m_targetHandlers.size() > 0) {
                 Set<RowKey> fireSet = new LinkedHashSet<RowKey>();
                 for (RowKey key : event.keys()) {
                     Set<RowKey> s = m_mapper.getKeys(key);
@@ -122,7 +137,15 @@ public void unHiLite(final KeyEvent event) {
             if (event.getSource() == m_eventSource) {
                 return;
             }
-            if (m_mapper != null && m_targetHandlers.size() > 0) {
+            final IndexMapping indexMapping = m_indexMapping;
+            if (indexMapping != null) {
+                final Set<RowKey> fireSet = indexMapping.toTargets(event.keys());
+                if (!fireSet.isEmpty()) {
+                    for (HiLiteHandler h : m_targetHandlers) {
+                        h.fireUnHiLiteEvent(new KeyEvent(m_eventSource, fireSet));
+                    }
+                }
+            } else if (m_mapper != null && m_targetHandlers.size() > 0) {
                 Set<RowKey> fireSet = new LinkedHashSet<RowKey>();
                 for (RowKey key : event.keys()) {
                     Set<RowKey> s = m_mapper.getKeys(key);
@@ -166,7 +189,19 @@ public void hiLite(final KeyEvent event) {
             if (event.getSource() == m_eventSource) {
                 return;
             }
-            if (m_mapper != null) {
+            final IndexMapping indexMapping = m_indexMapping;
+            if (indexMapping != null) {
+                // sources whose targets are all hilit, in the event or in any of the target handlers
+                final RowIndexBitmap hilit = indexMapping.m_targetIndex.toIndices(event.keys());
+                for (HiLiteHandler hdl : m_targetHandlers) {
+                    hilit.addAll(indexMapping.m_targetIndex.toIndices(hdl.getHiLitKeys()), null);
+                }
+                final RowIndexBitmap sources = indexMapping.m_mapper.coveredSources(hilit);
+                if (!sources.isEmpty()) {
+                    m_sourceHandler.fireHiLiteEvent(
+                        new KeyEvent(m_eventSource, indexMapping.m_sourceIndex.toKeys(sources)));
+                }
+            } else if (m_mapper != null) {
                 // add all hilite keys from the event and all hilite keys
                 // from the target hilite handlers
                 final Set<RowKey> all = new LinkedHashSet<RowKey>(
@@ -193,7 +228,16 @@ public void unHiLite(final KeyEvent event) {
             if (event.getSource() == m_eventSource) {
                 return;
             }
-            if (m_mapper != null) {
+            final IndexMapping indexMapping = m_indexMapping;
+            if (indexMapping != null) {
+                // sources with at least one unhilit target
+                final RowIndexBitmap sources = indexMapping.m_inverse
+                    .translate(indexMapping.m_targetIndex.toIndices(event.keys()));
+                if (!sources.isEmpty()) {
+                    m_sourceHandler.fireUnHiLiteEvent(
+                        new KeyEvent(m_eventSource, indexMapping.m_sourceIndex.toKeys(sources)));
+                }
+            } else if (m_mapper != null) {
                 // check all mappings
                 for (RowKey key : m_mapper.keySet()) {
                     final Set<RowKey> keys = m_mapper.getKeys(key);
@@ -270,6 +314,44 @@ public void setMapper(final HiLiteMapper mapper) {
         m_mapper = mapper;
     }
 
+    /**
+     * Sets an index-based mapping which is used instead of the {@link #getMapper() key-based mapper}. Events are
+     * translated by row index; events created from the same {@link HiLiteRowIndex} instances (see
+     * {@link HiLiteRowIndex#toKeys(RowIndexBitmap)}) need no key lookups at all.
+     *
+     * @param mapper the mapping from source (this translator's handler) to target indices, <code>null</code> to
+     *            remove the index-based mapping
+     * @param sourceIndex the row index of the source table
+     * @param targetIndex the row index of the target table(s)
+     * @throws IllegalArgumentException if the sizes of the row indices do not match the mapper
+     * @since 3.8
+     */
+    public void setIndexMapper(final IndexHiLiteMapper mapper, final HiLiteRowIndex sourceIndex,
+        final HiLiteRowIndex targetIndex) {
+        if (mapper == null) {
+            m_indexMapping = null;
+            return;
+        }
+        if (sourceIndex == null || targetIndex == null) {
+            throw new IllegalArgumentException("Row indices must not be null.");
+        }
+        if (mapper.getSourceSize() != sourceIndex.size() || mapper.getTargetSize() != targetIndex.size()) {
+            throw new IllegalArgumentException("Mapper size (" + mapper.getSourceSize() + " -> "
+                + mapper.getTargetSize() + ") does not match row indices (" + sourceIndex.size() + " -> "
+                + targetIndex.size() + ")");
+        }
+        m_indexMapping = new IndexMapping(mapper, sourceIndex, targetIndex);
+    }
+
+    /**
+     * @return the index-based mapper or <code>null</code> if not set
+     * @since 3.8
+     */
+    public IndexHiLiteMapper getIndexMapper() {
+        final IndexMapping indexMapping = m_indexMapping;
+        return indexMapping == null ? null : indexMapping.m_mapper;
+    }
+
     /**
      * @return mapper which contains the mapping, can be null
      */
@@ -360,6 +442,30 @@ public void dispose() {
         }
         removeAllToHiliteHandlers();
         setMapper(null);
+        setIndexMapper(null, null, null);
     }
 
+    /** Index mapper with its inverse and the row indices of both sides. */
+    private static final class IndexMapping {
+
+        private final IndexHiLiteMapper m_mapper;
+
+        private final IndexHiLiteMapper m_inverse;
+
+        private final HiLiteRowIndex m_sourceIndex;
+
+        private final HiLiteRowIndex m_targetIndex;
+
+        IndexMapping(final IndexHiLiteMapper mapper, final HiLiteRowIndex sourceIndex,
+            final HiLiteRowIndex targetIndex) {
+            m_mapper = mapper;
+            m_inverse = mapper.inverse();
+            m_sourceIndex = sourceIndex;
+            m_targetIndex = targetIndex;
+        }
+
+        Set<RowKey> toTargets(final Set<RowKey> sourceKeys) {
+            return m_targetIndex.toKeys(m_mapper.translate(m_sourceIndex.toIndices(sourceKeys)));
+        }
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.knime.core.data.RowKey;
+
+/**
+ * Precomputed, index-based counterpart of a {@link HiLiteMapper}, used by the {@link HiLiteTranslator} if set via
+ * {@link HiLiteTranslator#setIndexMapper(IndexHiLiteMapper, HiLiteRowIndex, HiLiteRowIndex)}. It maps row indices of a source table to sets of
+ * row indices of a target table, e.g. from aggregated rows to the rows they were created from. The mapping is held
+ * in two flat <code>int</code> arrays (offsets and targets), so translating a {@link RowIndexBitmap} neither creates
+ * row keys nor performs hash lookups. Instances are immutable.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class IndexHiLiteMapper {
+
+    /** m_targets[m_offsets[i] .. m_offsets[i + 1]) are the targets of source index i. */
+    private final int[] m_offsets;
+
+    private final int[] m_targets;
+
+    private final int m_targetSize;
+
+    private IndexHiLiteMapper(final int[] offsets, final int[] targets, final int targetSize) {
+        m_offsets = offsets;
+        m_targets = targets;
+        m_targetSize = targetSize;
+    }
+
+    /**
+     * Precomputes the index mapping for a key-based mapper.
+     *
+     * @param mapper the key-based mapper (source key to set of target keys)
+     * @param source the row index of the source table
+     * @param target the row index of the target table
+     * @return a new index mapper; keys unknown to the source or target index are ignored
+     */
+    public static IndexHiLiteMapper create(final HiLiteMapper mapper, final HiLiteRowIndex source,
+        final HiLiteRowIndex target) {
+        final int sourceSize = source.size();
+        final int[] offsets = new int[sourceSize + 1];
+        int[] targets = new int[Math.max(16, sourceSize)];
+        int pos = 0;
+        for (int i = 0; i < sourceSize; i++) {
+            offsets[i] = pos;
+            Set<RowKey> mapped = mapper.getKeys(source.getKey(i));
+            if (mapped == null) {
+                continue;
+            }
+            for (RowKey key : mapped) {
+                int targetIndex = target.getIndex(key);
+                if (targetIndex >= 0) {
+                    if (pos == targets.length) {
+                        targets = Arrays.copyOf(targets, 2 * targets.length);
+                    }
+                    targets[pos++] = targetIndex;
+                }
+            }
+        }
+        offsets[sourceSize] = pos;
+        return new IndexHiLiteMapper(offsets, Arrays.copyOf(targets, pos), target.size());
+    }
+
+    /**
+     * Creates a mapper where each source index is mapped to exactly one target index, e.g. for a filter or sorter.
+     *
+     * @param sourceToTarget the target index for each source index, negative values for unmapped rows
+     * @param targetSize number of rows in the target table
+     * @return a new index mapper
+     */
+    public static IndexHiLiteMapper create(final int[] sourceToTarget, final int targetSize) {
+        final int[] offsets = new int[sourceToTarget.length + 1];
+        final int[] targets = new int[sourceToTarget.length];
+        int pos = 0;
+        for (int i = 0; i < sourceToTarget.length; i++) {
+            offsets[i] = pos;
+            if (sourceToTarget[i] >= 0) {
+                if (sourceToTarget[i] >= targetSize) {
+                    throw new IndexOutOfBoundsException("Target index " + sourceToTarget[i] + " >= " + targetSize);
+                }
+                targets[pos++] = sourceToTarget[i];
+            }
+        }
+        offsets[sourceToTarget.length] = pos;
+        return new IndexHiLiteMapper(offsets, Arrays.copyOf(targets, pos), targetSize);
+    }
+
+    /** @return number of rows in the source table */
+    public int getSourceSize() {
+        return m_offsets.length - 1;
+    }
+
+    /** @return number of rows in the target table */
+    public int getTargetSize() {
+        return m_targetSize;
+    }
+
+    /**
+     * Translates source indices into target indices.
+     *
+     * @param sourceIndices indices of the source table
+     * @return a new bitmap with the union of all mapped target indices
+     */
+    public RowIndexBitmap translate(final RowIndexBitmap sourceIndices) {
+        final RowIndexBitmap result = new RowIndexBitmap();
+        final int sourceSize = getSourceSize();
+        sourceIndices.forEach(i -> {
+            if (i < sourceSize) {
+                for (int p = m_offsets[i], end = m_offsets[i + 1]; p < end; p++) {
+                    result.add(m_targets[p]);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Determines the source indices whose targets are all contained in the argument, e.g. the aggregated rows all of
+     * whose original rows are hilit. Source indices without any target are not part of the result.
+     *
+     * @param targetIndices indices of the target table
+     * @return a new bitmap with the covered source indices
+     */
+    public RowIndexBitmap coveredSources(final RowIndexBitmap targetIndices) {
+        final RowIndexBitmap result = new RowIndexBitmap();
+        final int sourceSize = getSourceSize();
+        for (int s = 0; s < sourceSize; s++) {
+            if (m_offsets[s] < m_offsets[s + 1] && containsAllTargets(s, targetIndices)) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    private boolean containsAllTargets(final int source, final RowIndexBitmap targetIndices) {
+        for (int p = m_offsets[source], end = m_offsets[source + 1]; p < end; p++) {
+            if (!targetIndices.contains(m_targets[p])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the reverse mapper, from target to source indices.
+     *
+     * @return a new mapper
+     */
+    public IndexHiLiteMapper inverse() {
+        final int sourceSize = getSourceSize();
+        final int[] offsets = new int[m_targetSize + 1];
+        for (int t : m_targets) {
+            offsets[t + 1]++;
+        }
+        for (int t = 0; t < m_targetSize; t++) {
+            offsets[t + 1] += offsets[t];
+        }
+        final int[] fill = Arrays.copyOf(offsets, m_targetSize);
+        final int[] targets = new int[m_targets.length];
+        for (int s = 0; s < sourceSize; s++) {
+            for (int p = m_offsets[s], end = m_offsets[s + 1]; p < end; p++) {
+                targets[fill[m_targets[p]]++] = s;
+            }
+        }
+        return new IndexHiLiteMapper(offsets, targets, sourceSize);
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.util.ViewUtils;
+
+/**
+ * Index-based view on a {@link HiLiteHandler} for tables with stable row order. The hilite status is kept as a
+ * {@link RowIndexBitmap} over row positions (as defined by a {@link HiLiteRowIndex}), which makes status queries and
+ * bulk changes cheap also for tables with millions of rows.
+ * <p>
+ * The model registers itself as listener with the hilite handler and stays in sync with changes done by other
+ * parties. Changes are not forwarded one by one; instead, all changes that arrive until the next dispatch are
+ * coalesced into (at most) one unhilite and one hilite event, carrying only the net changes, which are then sent to
+ * the registered {@link IndexHiLiteListener}s in the Event Dispatch Thread.
+ * <p>
+ * Events are exchanged with the handler as index-based key sets (see {@link HiLiteRowIndex#toKeys(RowIndexBitmap)}),
+ * i.e. changes done through models (or translators) that share the same {@link HiLiteRowIndex} instance are neither
+ * converted into row key sets nor looked up again by key.
+ * <p>
+ * <strong>Note:</strong> Make sure to {@linkplain #dispose()} the model when done, e.g. when the view is closed.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class IndexHiLiteModel {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(IndexHiLiteModel.class);
+
+    private final HiLiteHandler m_handler;
+
+    private final HiLiteRowIndex m_rowIndex;
+
+    private final CopyOnWriteArrayList<IndexHiLiteListener> m_listenerList = new CopyOnWriteArrayList<>();
+
+    /** Current hilite status, guarded by 'this'. */
+    private final RowIndexBitmap m_hiLitIndices = new RowIndexBitmap();
+
+    /** Net changes since last dispatch, guarded by 'this'. */
+    private RowIndexBitmap m_pendingHiLite = new RowIndexBitmap();
+
+    private RowIndexBitmap m_pendingUnHiLite = new RowIndexBitmap();
+
+    private boolean m_pendingClear;
+
+    private boolean m_isDispatchScheduled;
+
+    private final HiLiteListener m_handlerListener = new HiLiteListener() {
+        @Override
+        public void hiLite(final KeyEvent event) {
+            onHiLite(m_rowIndex.toIndices(event.keys()));
+        }
+
+        @Override
+        public void unHiLite(final KeyEvent event) {
+            onUnHiLite(m_rowIndex.toIndices(event.keys()), false);
+        }
+
+        @Override
+        public void unHiLiteAll(final KeyEvent event) {
+            RowIndexBitmap all;
+            synchronized (IndexHiLiteModel.this) {
+                all = m_hiLitIndices.copy();
+            }
+            onUnHiLite(all, true);
+        }
+    };
+
+    /**
+     * Creates a new model and registers it with the argument handler. The initial hilite status is taken from the
+     * handler.
+     *
+     * @param handler the hilite handler to synchronize with
+     * @param rowIndex the mapping between row keys and row indices
+     */
+    public IndexHiLiteModel(final HiLiteHandler handler, final HiLiteRowIndex rowIndex) {
+        if (handler == null || rowIndex == null) {
+            throw new NullPointerException("Arguments must not be null");
+        }
+        m_handler = handler;
+        m_rowIndex = rowIndex;
+        // register before taking the snapshot; the handler changes its state only while holding its monitor, so no
+        // change is missed (events queued before the snapshot was taken are replayed, which is a no-op)
+        synchronized (handler) {
+            handler.addHiLiteListener(m_handlerListener);
+            RowIndexBitmap initial = rowIndex.toIndices(handler.getHiLitKeys());
+            synchronized (this) {
+                m_hiLitIndices.addAll(initial, null);
+            }
+        }
+    }
+
+    /** @return the row index used to translate between keys and indices */
+    public HiLiteRowIndex getRowIndex() {
+        return m_rowIndex;
+    }
+
+    /**
+     * Appends a new listener, if not added before. Does not send an event to the new listener.
+     *
+     * @param listener the listener to add
+     */
+    public void addIndexHiLiteListener(final IndexHiLiteListener listener) {
+        m_listenerList.addIfAbsent(listener);
+    }
+
+    /** @param listener the listener to remove */
+    public void removeIndexHiLiteListener(final IndexHiLiteListener listener) {
+        m_listenerList.remove(listener);
+    }
+
+    /**
+     * @param index the row index
+     * @return true if the row at the given position is hilit
+     */
+    public synchronized boolean isHiLit(final int index) {
+        return m_hiLitIndices.contains(index);
+    }
+
+    /** @return the number of hilit rows */
+    public synchronized int getHiLitCount() {
+        return m_hiLitIndices.cardinality();
+    }
+
+    /** @return a copy of the indices of all hilit rows */
+    public synchronized RowIndexBitmap getHiLitIndices() {
+        return m_hiLitIndices.copy();
+    }
+
+    /**
+     * Hilites the rows at the given positions. The request is forwarded to the hilite handler (as index-based key
+     * set), only for rows that are not hilit already.
+     *
+     * @param indices the row indices to hilite
+     */
+    public void fireHiLiteEvent(final RowIndexBitmap indices) {
+        RowIndexBitmap changed = indices.copy();
+        synchronized (this) {
+            changed.removeAll(m_hiLitIndices, null);
+        }
+        if (!changed.isEmpty()) {
+            m_handler.fireHiLiteEvent(new KeyEvent(this, m_rowIndex.toKeys(changed)));
+        }
+    }
+
+    /**
+     * Unhilites the rows at the given positions. The request is forwarded to the hilite handler (as index-based key
+     * set), only for rows that are currently hilit.
+     *
+     * @param indices the row indices to unhilite
+     */
+    public void fireUnHiLiteEvent(final RowIndexBitmap indices) {
+        RowIndexBitmap changed = indices.copy();
+        synchronized (this) {
+            changed.retainAll(m_hiLitIndices);
+        }
+        if (!changed.isEmpty()) {
+            m_handler.fireUnHiLiteEvent(new KeyEvent(this, m_rowIndex.toKeys(changed)));
+        }
+    }
+
+    /** Clears the hilite status, forwarded to the hilite handler. */
+    public void fireClearHiLiteEvent() {
+        m_handler.fireClearHiLiteEvent(new KeyEvent(this));
+    }
+
+    private void onHiLite(final RowIndexBitmap indices) {
+        synchronized (this) {
+            RowIndexBitmap changed = new RowIndexBitmap();
+            m_hiLitIndices.addAll(indices, changed);
+            // rows that were unhilit and hilit again since the last dispatch are no change at all
+            RowIndexBitmap revoked = new RowIndexBitmap();
+            m_pendingUnHiLite.removeAll(changed, revoked);
+            changed.removeAll(revoked, null);
+            m_pendingHiLite.addAll(changed, null);
+        }
+        scheduleDispatch();
+    }
+
+    private void onUnHiLite(final RowIndexBitmap indices, final boolean isClear) {
+        synchronized (this) {
+            RowIndexBitmap changed = new RowIndexBitmap();
+            m_hiLitIndices.removeAll(indices, changed);
+            RowIndexBitmap revoked = new RowIndexBitmap();
+            m_pendingHiLite.removeAll(changed, revoked);
+            changed.removeAll(revoked, null);
+            m_pendingUnHiLite.addAll(changed, null);
+            m_pendingClear |= isClear;
+        }
+        scheduleDispatch();
+    }
+
+    private synchronized void scheduleDispatch() {
+        if (!m_isDispatchScheduled) {
+            m_isDispatchScheduled = true;
+            ViewUtils.invokeLaterInEDT(this::dispatch);
+        }
+    }
+
+    /** Sends the coalesced changes to all listeners, called in the EDT. */
+    private void dispatch() {
+        final RowIndexBitmap hiLite;
+        final RowIndexBitmap unHiLite;
+        final boolean isClearAll;
+        synchronized (this) {
+            m_isDispatchScheduled = false;
+            hiLite = m_pendingHiLite;
+            unHiLite = m_pendingUnHiLite;
+            isClearAll = m_pendingClear && m_hiLitIndices.isEmpty();
+            m_pendingHiLite = new RowIndexBitmap();
+            m_pendingUnHiLite = new RowIndexBitmap();
+            m_pendingClear = false;
+        }
+        if (!unHiLite.isEmpty()) {
+            final IndexKeyEvent event = new IndexKeyEvent(this, unHiLite);
+            for (IndexHiLiteListener l : m_listenerList) {
+                try {
+                    if (isClearAll) {
+                        l.unHiLiteAll(event);
+                    } else {
+                        l.unHiLite(event);
+                    }
+                } catch (Throwable t) {
+                    LOGGER.coding("Exception while notifying listeners, reason: " + t.getMessage(), t);
+                }
+            }
+        }
+        if (!hiLite.isEmpty()) {
+            final IndexKeyEvent event = new IndexKeyEvent(this, hiLite);
+            for (IndexHiLiteListener l : m_listenerList) {
+                try {
+                    l.hiLite(event);
+                } catch (Throwable t) {
+                    LOGGER.coding("Exception while notifying listeners, reason: " + t.getMessage(), t);
+                }
+            }
+        }
+    }
+
+    /** Unregisters from the hilite handler and removes all listeners. */
+    public void dispose() {
+        m_handler.removeHiLiteListener(m_handlerListener);
+        m_listenerList.clear();
+    }
+}
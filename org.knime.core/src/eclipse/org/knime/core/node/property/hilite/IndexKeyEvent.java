@@ -0,0 +1,94 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import java.util.EventObject;
+
+/**
+ * Event object fired by the {@link IndexHiLiteModel} to {@link IndexHiLiteListener}s. In contrast to the
+ * {@link KeyEvent} it carries row indices rather than row keys. Events are coalesced, i.e. one event may summarize
+ * several changes of the underlying {@link HiLiteHandler}.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public class IndexKeyEvent extends EventObject {
+    private static final long serialVersionUID = 6271856403211907124L;
+
+    private final transient RowIndexBitmap m_indices;
+
+    /**
+     * Creates a new event.
+     *
+     * @param src the object on which the event initially occurred
+     * @param indices the row indices for which the event is created (not copied, must not be modified afterwards)
+     */
+    public IndexKeyEvent(final Object src, final RowIndexBitmap indices) {
+        super(src);
+        if (indices == null) {
+            throw new NullPointerException("Indices must not be null");
+        }
+        m_indices = indices;
+    }
+
+    /**
+     * Returns the row indices affected by the event. The returned bitmap must not be modified as it is shared by all
+     * listeners.
+     *
+     * @return the row indices
+     */
+    public RowIndexBitmap indices() {
+        return m_indices;
+    }
+
+    /** @return true, if the event does not contain any index */
+    public boolean isEmpty() {
+        return m_indices.isEmpty();
+    }
+}
@@ -109,7 +109,8 @@ public KeyEvent(final Object src, final Set<RowKey> ids) {
             throw new IllegalArgumentException(
                     "KeyEvent must not contains null elements.");
         }
-        m_keys = Collections.unmodifiableSet(ids);
+        // index-based key sets are unmodifiable already and must stay recognizable for index-aware listeners
+        m_keys = ids instanceof RowIndexKeySet ? ids : Collections.unmodifiableSet(ids);
     }
 
     /**
@@ -0,0 +1,483 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative row indices (positions of rows in a table with stable row order). It is used by
+ * the index-based hilite model ({@link IndexHiLiteModel}) in place of a <code>Set&lt;RowKey&gt;</code>.
+ * <p>
+ * The index range is split into blocks of 2^16 indices; each block is a plain bit set that is only allocated if it
+ * contains at least one index and that is released once it becomes empty again. Hence, memory is proportional to the
+ * number of non-empty blocks rather than the table size, and bulk operations ({@link #addAll(RowIndexBitmap,
+ * RowIndexBitmap)}, {@link #removeAll(RowIndexBitmap, RowIndexBitmap)}) work on 64 indices at a time.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class RowIndexBitmap {
+
+    private static final int BLOCK_SHIFT = 16;
+
+    private static final int WORDS_PER_BLOCK = (1 << BLOCK_SHIFT) >>> 6;
+
+    private static final long[][] EMPTY = new long[0][];
+
+    /** Blocks of bits, <code>null</code> if the block is empty. */
+    private long[][] m_blocks;
+
+    /** Number of set bits in each block. */
+    private int[] m_blockCardinalities;
+
+    private int m_cardinality;
+
+    /** Creates an empty bitmap. */
+    public RowIndexBitmap() {
+        m_blocks = EMPTY;
+        m_blockCardinalities = new int[0];
+    }
+
+    /**
+     * Creates a bitmap containing the argument indices.
+     *
+     * @param indices the indices to add, must not be negative
+     * @return a new bitmap
+     */
+    public static RowIndexBitmap of(final int... indices) {
+        RowIndexBitmap result = new RowIndexBitmap();
+        for (int i : indices) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a bitmap containing all indices in the range [from, to).
+     *
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return a new bitmap
+     */
+    public static RowIndexBitmap range(final int from, final int to) {
+        checkIndex(from);
+        RowIndexBitmap result = new RowIndexBitmap();
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    private static void checkIndex(final int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Row index must not be negative: " + index);
+        }
+    }
+
+    private long[] getOrCreateBlock(final int blockIndex) {
+        if (blockIndex >= m_blocks.length) {
+            int newLength = Math.max(blockIndex + 1, 2 * m_blocks.length);
+            m_blocks = Arrays.copyOf(m_blocks, newLength);
+            m_blockCardinalities = Arrays.copyOf(m_blockCardinalities, newLength);
+        }
+        long[] block = m_blocks[blockIndex];
+        if (block == null) {
+            block = new long[WORDS_PER_BLOCK];
+            m_blocks[blockIndex] = block;
+        }
+        return block;
+    }
+
+    private long[] getBlock(final int blockIndex) {
+        return blockIndex < m_blocks.length ? m_blocks[blockIndex] : null;
+    }
+
+    private void updateCardinality(final int blockIndex, final int delta) {
+        m_cardinality += delta;
+        int newCard = m_blockCardinalities[blockIndex] + delta;
+        m_blockCardinalities[blockIndex] = newCard;
+        if (newCard == 0) {
+            m_blocks[blockIndex] = null;
+        }
+    }
+
+    /** Sets the argument bits in the given word, used to collect changes in bulk operations. */
+    private void addBits(final int blockIndex, final int wordIndex, final long bits) {
+        final long[] block = getOrCreateBlock(blockIndex);
+        final long added = bits & ~block[wordIndex];
+        if (added != 0) {
+            block[wordIndex] |= added;
+            final int count = Long.bitCount(added);
+            m_cardinality += count;
+            m_blockCardinalities[blockIndex] += count;
+        }
+    }
+
+    /**
+     * Adds an index.
+     *
+     * @param index to add, must not be negative
+     * @return true if the index was not contained before
+     */
+    public boolean add(final int index) {
+        checkIndex(index);
+        final int blockIndex = index >>> BLOCK_SHIFT;
+        final long[] block = getOrCreateBlock(blockIndex);
+        final int word = (index & 0xFFFF) >>> 6;
+        final long mask = 1L << index;
+        if ((block[word] & mask) != 0) {
+            return false;
+        }
+        block[word] |= mask;
+        updateCardinality(blockIndex, 1);
+        return true;
+    }
+
+    /**
+     * Removes an index.
+     *
+     * @param index to remove
+     * @return true if the index was contained
+     */
+    public boolean remove(final int index) {
+        if (index < 0) {
+            return false;
+        }
+        final int blockIndex = index >>> BLOCK_SHIFT;
+        final long[] block = getBlock(blockIndex);
+        if (block == null) {
+            return false;
+        }
+        final int word = (index & 0xFFFF) >>> 6;
+        final long mask = 1L << index;
+        if ((block[word] & mask) == 0) {
+            return false;
+        }
+        block[word] &= ~mask;
+        updateCardinality(blockIndex, -1);
+        return true;
+    }
+
+    /**
+     * @param index the index to test
+     * @return true if the index is contained in this bitmap
+     */
+    public boolean contains(final int index) {
+        if (index < 0) {
+            return false;
+        }
+        final long[] block = getBlock(index >>> BLOCK_SHIFT);
+        return block != null && (block[(index & 0xFFFF) >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Adds all indices of the argument bitmap to this bitmap.
+     *
+     * @param other the indices to add
+     * @param changed if not <code>null</code>, all indices that were not contained in this bitmap before are added to
+     *            it
+     * @return the number of indices that were newly added
+     */
+    public int addAll(final RowIndexBitmap other, final RowIndexBitmap changed) {
+        int count = 0;
+        for (int b = 0; b < other.m_blocks.length; b++) {
+            final long[] otherBlock = other.m_blocks[b];
+            if (otherBlock == null) {
+                continue;
+            }
+            final long[] block = getOrCreateBlock(b);
+            int blockCount = 0;
+            for (int w = 0; w < WORDS_PER_BLOCK; w++) {
+                final long newBits = otherBlock[w] & ~block[w];
+                if (newBits != 0) {
+                    block[w] |= newBits;
+                    blockCount += Long.bitCount(newBits);
+                    if (changed != null) {
+                        changed.addBits(b, w, newBits);
+                    }
+                }
+            }
+            m_blockCardinalities[b] += blockCount;
+            m_cardinality += blockCount;
+            if (m_blockCardinalities[b] == 0) {
+                m_blocks[b] = null;
+            }
+            count += blockCount;
+        }
+        return count;
+    }
+
+    /**
+     * Removes all indices of the argument bitmap from this bitmap.
+     *
+     * @param other the indices to remove
+     * @param changed if not <code>null</code>, all indices that were contained in this bitmap before are added to it
+     * @return the number of indices that were removed
+     */
+    public int removeAll(final RowIndexBitmap other, final RowIndexBitmap changed) {
+        int count = 0;
+        final int blockCount = Math.min(m_blocks.length, other.m_blocks.length);
+        for (int b = 0; b < blockCount; b++) {
+            final long[] block = m_blocks[b];
+            final long[] otherBlock = other.m_blocks[b];
+            if (block == null || otherBlock == null) {
+                continue;
+            }
+            int removed = 0;
+            for (int w = 0; w < WORDS_PER_BLOCK; w++) {
+                final long oldBits = otherBlock[w] & block[w];
+                if (oldBits != 0) {
+                    block[w] &= ~oldBits;
+                    removed += Long.bitCount(oldBits);
+                    if (changed != null) {
+                        changed.addBits(b, w, oldBits);
+                    }
+                }
+            }
+            if (removed > 0) {
+                updateCardinality(b, -removed);
+            }
+            count += removed;
+        }
+        return count;
+    }
+
+    /**
+     * Removes all indices from this bitmap that are not contained in the argument bitmap.
+     *
+     * @param other the indices to retain
+     * @return the number of indices that were removed
+     */
+    public int retainAll(final RowIndexBitmap other) {
+        int count = 0;
+        for (int b = 0; b < m_blocks.length; b++) {
+            final long[] block = m_blocks[b];
+            if (block == null) {
+                continue;
+            }
+            final long[] otherBlock = other.getBlock(b);
+            int removed = 0;
+            for (int w = 0; w < WORDS_PER_BLOCK; w++) {
+                final long oldBits = otherBlock == null ? block[w] : block[w] & ~otherBlock[w];
+                if (oldBits != 0) {
+                    block[w] &= ~oldBits;
+                    removed += Long.bitCount(oldBits);
+                }
+            }
+            if (removed > 0) {
+                updateCardinality(b, -removed);
+            }
+            count += removed;
+        }
+        return count;
+    }
+
+    /** Removes all indices. */
+    public void clear() {
+        m_blocks = EMPTY;
+        m_blockCardinalities = new int[0];
+        m_cardinality = 0;
+    }
+
+    /** @return the number of indices in this bitmap */
+    public int cardinality() {
+        return m_cardinality;
+    }
+
+    /** @return true if this bitmap does not contain any index */
+    public boolean isEmpty() {
+        return m_cardinality == 0;
+    }
+
+    /**
+     * Returns the first index that is contained in this bitmap and that is greater or equal to the argument.
+     *
+     * @param fromIndex the index to start from (inclusive)
+     * @return the next contained index or -1 if there is no such index
+     */
+    public int nextSetBit(final int fromIndex) {
+        final int from = Math.max(fromIndex, 0);
+        int w = (from & 0xFFFF) >>> 6;
+        long mask = -1L << from;
+        for (int b = from >>> BLOCK_SHIFT; b < m_blocks.length; b++, w = 0, mask = -1L) {
+            final long[] block = m_blocks[b];
+            if (block == null) {
+                continue;
+            }
+            for (; w < WORDS_PER_BLOCK; w++, mask = -1L) {
+                final long word = block[w] & mask;
+                if (word != 0) {
+                    return (b << BLOCK_SHIFT) + (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the largest index contained in this bitmap or -1 if it is empty
+     */
+    public int lastIndex() {
+        for (int b = m_blocks.length - 1; b >= 0; b--) {
+            final long[] block = m_blocks[b];
+            if (block == null) {
+                continue;
+            }
+            for (int w = WORDS_PER_BLOCK - 1; w >= 0; w--) {
+                if (block[w] != 0) {
+                    return (b << BLOCK_SHIFT) + (w << 6) + 63 - Long.numberOfLeadingZeros(block[w]);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calls the argument consumer for each index in this bitmap, in ascending order.
+     *
+     * @param consumer the consumer
+     */
+    public void forEach(final IntConsumer consumer) {
+        for (int b = 0; b < m_blocks.length; b++) {
+            final long[] block = m_blocks[b];
+            if (block == null) {
+                continue;
+            }
+            final int blockOffset = b << BLOCK_SHIFT;
+            for (int w = 0; w < WORDS_PER_BLOCK; w++) {
+                long word = block[w];
+                while (word != 0) {
+                    consumer.accept(blockOffset + (w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+    /** @return all indices in ascending order */
+    public int[] toArray() {
+        final int[] result = new int[m_cardinality];
+        final int[] pos = new int[1];
+        forEach(i -> result[pos[0]++] = i);
+        return result;
+    }
+
+    /** @return an independent copy of this bitmap */
+    public RowIndexBitmap copy() {
+        RowIndexBitmap result = new RowIndexBitmap();
+        result.m_blocks = new long[m_blocks.length][];
+        for (int b = 0; b < m_blocks.length; b++) {
+            if (m_blocks[b] != null) {
+                result.m_blocks[b] = m_blocks[b].clone();
+            }
+        }
+        result.m_blockCardinalities = m_blockCardinalities.clone();
+        result.m_cardinality = m_cardinality;
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RowIndexBitmap)) {
+            return false;
+        }
+        RowIndexBitmap other = (RowIndexBitmap)obj;
+        if (other.m_cardinality != m_cardinality) {
+            return false;
+        }
+        final int blockCount = Math.max(m_blocks.length, other.m_blocks.length);
+        for (int b = 0; b < blockCount; b++) {
+            final long[] block = getBlock(b);
+            final long[] otherBlock = other.getBlock(b);
+            if (block == null || otherBlock == null) {
+                if (block != otherBlock) {
+                    return false;
+                }
+            } else if (!Arrays.equals(block, otherBlock)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        int hash = m_cardinality;
+        for (int b = 0; b < m_blocks.length; b++) {
+            if (m_blocks[b] != null) {
+                hash = 31 * hash + b;
+                hash = 31 * hash + Arrays.hashCode(m_blocks[b]);
+            }
+        }
+        return hash;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder("{");
+        final int max = 20;
+        int i = nextSetBit(0);
+        for (int count = 0; i >= 0 && count < max; count++, i = nextSetBit(i + 1)) {
+            b.append(count > 0 ? ", " : "").append(i);
+        }
+        if (m_cardinality > max) {
+            b.append(", ... (").append(m_cardinality).append(" in total)");
+        }
+        return b.append('}').toString();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.property.hilite;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.knime.core.data.RowKey;
+
+/**
+ * Unmodifiable set of row keys backed by a {@link RowIndexBitmap} and the {@link HiLiteRowIndex} the indices refer
+ * to. It is used as key set of {@link KeyEvent}s created from row indices so that the {@link HiLiteHandler}, the
+ * {@link HiLiteTranslator} and {@link IndexHiLiteModel}s sharing the row index can operate on the indices directly;
+ * row keys are only looked up when a key-based listener iterates the set. Iteration is in row index order.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ */
+final class RowIndexKeySet extends AbstractSet<RowKey> {
+
+    private final HiLiteRowIndex m_rowIndex;
+
+    private final RowIndexBitmap m_indices;
+
+    private final int m_size;
+
+    /**
+     * @param rowIndex the row index
+     * @param indices the indices, must be smaller than the size of the row index and must not be modified afterwards
+     */
+    RowIndexKeySet(final HiLiteRowIndex rowIndex, final RowIndexBitmap indices) {
+        m_rowIndex = rowIndex;
+        m_indices = indices;
+        m_size = indices.cardinality();
+    }
+
+    /** @return the row index the indices refer to */
+    HiLiteRowIndex getRowIndex() {
+        return m_rowIndex;
+    }
+
+    /** @return the underlying indices, must not be modified */
+    RowIndexBitmap getIndices() {
+        return m_indices;
+    }
+
+    @Override
+    public int size() {
+        return m_size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return m_size == 0;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        if (!(o instanceof RowKey)) {
+            return false;
+        }
+        int index = m_rowIndex.getIndex((RowKey)o);
+        return index >= 0 && m_indices.contains(index);
+    }
+
+    @Override
+    public Iterator<RowKey> iterator() {
+        return new Iterator<RowKey>() {
+            private int m_next = m_indices.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return m_next >= 0;
+            }
+
+            @Override
+            public RowKey next() {
+                if (m_next < 0) {
+                    throw new NoSuchElementException();
+                }
+                RowKey key = m_rowIndex.getKey(m_next);
+                m_next = m_indices.nextSetBit(m_next + 1);
+                return key;
+            }
+        };
+    }
+}
@@ -60,8 +60,18 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -81,6 +91,7 @@
 import org.knime.core.node.Node;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettings;
+import org.knime.core.node.util.ConvenienceMethods;
 import org.knime.core.node.util.StringFormat;
 import org.knime.core.node.workflow.WorkflowPersistor.LoadResultEntry.LoadResultEntryType;
 import org.knime.core.node.workflow.WorkflowPersistor.WorkflowLoadResult;
@@ -235,6 +246,21 @@ public IllegalOptionException(final String message, final Throwable cause) {
      */
     protected boolean m_stopOnError = true;
 
+    /**
+     * The maximum number of workflows that are run at the same time by {@link #runAll()}. The nodes of all workflows
+     * are executed by the shared {@link org.knime.core.node.KNIMEConstants#GLOBAL_THREAD_POOL}, i.e. this does not
+     * increase the number of threads available for node execution.
+     *
+     * @since 3.8
+     */
+    protected int m_concurrency = 1;
+
+    /** Workflows kept loaded for re-execution (see {@link WorkflowConfiguration#keepLoaded}), by input workflow. */
+    private final Map<File, Queue<ResidentWorkflow>> m_residentWorkflows = new ConcurrentHashMap<>();
+
+    /** Locks preventing concurrent runs on the same workflow directory, by input workflow. */
+    private final Map<File, ReentrantLock> m_workflowDirLocks = new ConcurrentHashMap<>();
+
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BatchExecutor.class);
 
     private static class Option {
@@ -367,6 +393,23 @@ protected static class WorkflowConfiguration {
         /** If the execution should fail if the workflow cannot be loaded sucessfully. */
         public boolean failOnLoadError;
 
+        /**
+         * If the resource usage of each node execution should be recorded and logged after execution.
+         *
+         * @since 3.8
+         */
+        public boolean profile;
+
+        /**
+         * If the workflow should be kept loaded after execution so that subsequent configurations with the same input
+         * workflow re-execute it with their flow variables rather than loading it again. Not applied to
+         * configurations with node options. A loaded workflow is only re-executed for configurations with the same
+         * credentials and output options, otherwise the workflow is loaded again.
+         *
+         * @since 3.8
+         */
+        public boolean keepLoaded;
+
         /** The master key. */
         public String masterKey;
 
@@ -390,6 +433,9 @@ protected static class WorkflowConfiguration {
 
         /** The (temporary) workflow location which should be used to load the workflow. */
         File workflowLocation;
+
+        /** The workflow variables as defined in the workflow, i.e. before {@link #flowVariables} were applied. */
+        List<FlowVariable> initialWorkflowVariables;
     }
 
     /**
@@ -490,6 +536,22 @@ protected void handleCommandlineArgument(final String[] parts, final String s, f
             config.noExecute = true;
         } else if ("-failonloaderror".equals(parts[0])) {
             config.failOnLoadError = true;
+        } else if ("-profile".equals(parts[0])) {
+            config.profile = true;
+        } else if ("-keepLoaded".equals(parts[0])) {
+            config.keepLoaded = true;
+        } else if ("-concurrency".equals(parts[0])) {
+            if (parts.length != 2) {
+                throw new IllegalOptionException("Couldn't parse -concurrency argument: " + s);
+            }
+            try {
+                m_concurrency = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException ex) {
+                throw new IllegalOptionException("Couldn't parse -concurrency argument: " + s, ex);
+            }
+            if (m_concurrency < 1) {
+                throw new IllegalOptionException("Concurrency must be at least 1: " + s);
+            }
         } else if ("-masterkey".equals(parts[0])) {
             if (parts.length > 1) {
                 if (parts[1].length() == 0) {
@@ -609,6 +671,13 @@ public static String getOptionsString() {
                 + " -nosave           => do not save the workflow after execution has finished\n"
                 + " -reset            => reset workflow prior to execution\n"
                 + " -failonloaderror  => don't execute if there are errors during workflow loading\n"
+                + " -profile          => log CPU time, allocations, rows and waits of each node\n"
+                + "                      after execution (CPU time and allocations only of the\n"
+                + "                      thread executing the node, not of threads it delegates to)\n"
+                + " -keepLoaded       => keep the workflow loaded and re-execute it for subsequent\n"
+                + "                      runs of the same workflow instead of loading it again\n"
+                + "                      (only for runs with the same credentials and destination)\n"
+                + " -concurrency=n    => run up to n workflows at the same time (default 1)\n"
                 + " -updateLinks      => update metanode links to latest version\n"
                 + " -credential=name[;login[;password]] => for each credential enter credential\n"
                 + "                      name and optional login/password, otherwise its prompted for\n"
@@ -757,6 +826,7 @@ protected WorkflowManager loadWorkflow(final WorkflowConfiguration config) throw
             LOGGER.debug("Checking for metanode link updates... done");
         }
 
+        config.initialWorkflowVariables = new ArrayList<>(wfm.getWorkflowVariables());
         if (!config.flowVariables.isEmpty()) {
             applyWorkflowVariables(wfm, config.reset, config.flowVariables);
         }
@@ -819,6 +889,9 @@ public void run() {
                 }
             };
             KNIMETimer.getInstance().schedule(task, 1000, 1000);
+            if (config.profile) {
+                NodeExecutionProfiler.setEnabled(true);
+            }
             successful = wfm.executeAllAndWaitUntilDone();
             task.cancel();
         }
@@ -882,47 +955,136 @@ protected void saveWorkflow(final WorkflowManager wfm, final WorkflowConfigurati
     public int runAll() {
         int retVal = EXIT_SUCCESS;
 
+        try {
+            if (m_concurrency > 1 && m_workflows.size() > 1) {
+                return runAllConcurrently();
+            }
+            for (WorkflowConfiguration config : m_workflows) {
+                int rv = runLogged(config);
+                if (rv != EXIT_SUCCESS) {
+                    retVal = rv;
+                    if (m_stopOnError) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            removeResidentWorkflows();
+        }
+        return retVal;
+    }
+
+    /**
+     * Runs the workflow configurations using {@link #m_concurrency} threads. If {@link #m_stopOnError} is set,
+     * configurations that have not been started when the first error is encountered are skipped.
+     */
+    private int runAllConcurrently() {
+        LOGGER.info("Executing " + m_workflows.size() + " workflows, up to " + m_concurrency + " at a time");
+        final AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(m_concurrency,
+            r -> new Thread(r, "KNIME-BatchExecutor-" + threadCount.incrementAndGet()));
+        final AtomicBoolean failed = new AtomicBoolean();
+        final AtomicInteger retVal = new AtomicInteger(EXIT_SUCCESS);
+        List<Future<?>> futures = new ArrayList<>();
         for (WorkflowConfiguration config : m_workflows) {
+            futures.add(executor.submit(() -> {
+                if (m_stopOnError && failed.get()) {
+                    LOGGER.info("Skipping workflow " + config.inputWorkflow + " due to previous error");
+                    return;
+                }
+                int rv = runLogged(config);
+                if (rv != EXIT_SUCCESS) {
+                    failed.set(true);
+                    retVal.set(rv);
+                }
+            }));
+        }
+        executor.shutdown();
+        try {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    LOGGER.error("Unexpected error while running workflow: " + ex.getCause().getMessage(),
+                        ex.getCause());
+                    retVal.set(EXIT_ERR_EXECUTION);
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOGGER.warn("Interrupted while waiting for workflows to finish");
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            return EXIT_ERR_EXECUTION;
+        }
+        return retVal.get();
+    }
+
+    private int runLogged(final WorkflowConfiguration config) {
+        // a workflow directory can only be loaded once at a time
+        ReentrantLock dirLock = config.inputWorkflow.isDirectory()
+            ? m_workflowDirLocks.computeIfAbsent(config.inputWorkflow.getAbsoluteFile(), f -> new ReentrantLock())
+            : null;
+        if (dirLock != null) {
+            dirLock.lock();
+        }
+        try {
             LOGGER.info("===== Executing workflow " + config.inputWorkflow + " =====");
             int rv = runOne(config);
             if (rv != EXIT_SUCCESS) {
                 LOGGER.info("========= Workflow did not execute sucessfully ============");
-                retVal = rv;
-                if (m_stopOnError) {
-                    break;
-                }
             } else {
                 LOGGER.info("============= Workflow executed sucessfully ===============");
             }
+            return rv;
+        } finally {
+            if (dirLock != null) {
+                dirLock.unlock();
+            }
         }
-        return retVal;
     }
 
     private int runOne(final WorkflowConfiguration config) {
         long t = System.currentTimeMillis();
+        final boolean keepLoaded = config.keepLoaded && config.nodeOptions.isEmpty();
+        final Queue<ResidentWorkflow> residents = keepLoaded
+            ? m_residentWorkflows.computeIfAbsent(config.inputWorkflow.getAbsoluteFile(),
+                f -> new ConcurrentLinkedQueue<>())
+            : null;
+        ResidentWorkflow resident = keepLoaded ? pollResidentWorkflow(residents, config) : null;
         WorkflowManager wfm;
-        try {
-            wfm = loadWorkflow(config);
-            NodeTimer.GLOBAL_TIMER.incWorkflowOpening();
-        } catch (IOException ex) {
-            LOGGER.error("IO error while loading the workflow: " + ex.getMessage());
-            return EXIT_ERR_LOAD;
-        } catch (InvalidSettingsException ex) {
-            LOGGER.error("Encountered invalid settings while loading the workflow: " + ex.getMessage());
-            return EXIT_ERR_LOAD;
-        } catch (CanceledExecutionException ex) {
-            LOGGER.error("Workflow loading was canceled by user");
-            return EXIT_ERR_LOAD;
-        } catch (UnsupportedWorkflowVersionException ex) {
-            LOGGER.error("Unsupported workflow version: " + ex.getMessage());
-            return EXIT_ERR_LOAD;
-        } catch (LockFailedException ex) {
-            LOGGER.error("Workflow is locked by another KNIME instance");
-            return EXIT_ERR_LOAD;
-        } catch (IllegalOptionException ex) {
-            LOGGER.error("Unknown or wrong option: " + ex.getMessage());
-            return EXIT_ERR_PRESTART;
+        if (resident != null) {
+            LOGGER.debug("Re-using loaded workflow " + resident.m_workflowLocation);
+            wfm = resident.m_wfm;
+            config.workflowLocation = resident.m_workflowLocation;
+            resident.prepareRerun(config);
+        } else {
+            try {
+                wfm = loadWorkflow(config);
+                NodeTimer.GLOBAL_TIMER.incWorkflowOpening();
+            } catch (IOException ex) {
+                LOGGER.error("IO error while loading the workflow: " + ex.getMessage());
+                return EXIT_ERR_LOAD;
+            } catch (InvalidSettingsException ex) {
+                LOGGER.error("Encountered invalid settings while loading the workflow: " + ex.getMessage());
+                return EXIT_ERR_LOAD;
+            } catch (CanceledExecutionException ex) {
+                LOGGER.error("Workflow loading was canceled by user");
+                return EXIT_ERR_LOAD;
+            } catch (UnsupportedWorkflowVersionException ex) {
+                LOGGER.error("Unsupported workflow version: " + ex.getMessage());
+                return EXIT_ERR_LOAD;
+            } catch (LockFailedException ex) {
+                LOGGER.error("Workflow is locked by another KNIME instance");
+                return EXIT_ERR_LOAD;
+            } catch (IllegalOptionException ex) {
+                LOGGER.error("Unknown or wrong option: " + ex.getMessage());
+                return EXIT_ERR_PRESTART;
+            }
+            if (keepLoaded) {
+                resident = new ResidentWorkflow(wfm, config);
+            }
         }
+        boolean keep = false;
         boolean sucessful;
         try {
             try {
@@ -942,6 +1104,9 @@ private int runOne(final WorkflowConfiguration config) {
                 LOGGER.debug("------------------------------------");
                 dumpWorkflowToDebugLog(wfm);
                 LOGGER.debug("------------------------------------");
+                if (config.profile) {
+                    dumpProfileToLog(wfm);
+                }
             }
 
             try {
@@ -956,12 +1121,123 @@ private int runOne(final WorkflowConfiguration config) {
                 LOGGER.error("Failed to lock workflow before saving: " + ex.getMessage(), ex);
                 return EXIT_ERR_EXECUTION;
             }
+            keep = keepLoaded;
         } finally {
-            wfm.getParent().removeProject(wfm.getID());
+            if (keep) {
+                residents.add(resident);
+            } else {
+                wfm.getParent().removeProject(wfm.getID());
+            }
         }
         return sucessful ? EXIT_SUCCESS : EXIT_ERR_EXECUTION;
     }
 
+    /**
+     * Takes a loaded workflow that can be re-executed for the argument configuration out of the queue.
+     *
+     * @return the workflow or <code>null</code> if the workflow needs to be loaded
+     */
+    private static ResidentWorkflow pollResidentWorkflow(final Queue<ResidentWorkflow> residents,
+        final WorkflowConfiguration config) {
+        for (ResidentWorkflow resident : residents) {
+            // another thread may have taken it meanwhile
+            if (resident.isReusableFor(config) && residents.remove(resident)) {
+                return resident;
+            }
+        }
+        return null;
+    }
+
+    /** Removes all workflows that have been kept loaded for re-execution. */
+    private void removeResidentWorkflows() {
+        for (Queue<ResidentWorkflow> residents : m_residentWorkflows.values()) {
+            ResidentWorkflow resident;
+            while ((resident = residents.poll()) != null) {
+                resident.m_wfm.getParent().removeProject(resident.m_wfm.getID());
+            }
+        }
+    }
+
+    /**
+     * A loaded workflow that is re-executed for subsequent configurations of the same input workflow. Credentials are
+     * only set when the workflow is loaded and saving into an output directory or file moves the workflow to that
+     * location, hence it is only re-used for configurations with the same credentials and output options.
+     */
+    private static final class ResidentWorkflow {
+        private final WorkflowManager m_wfm;
+
+        private final File m_workflowLocation;
+
+        private final List<FlowVariable> m_initialVariables;
+
+        private final Map<String, Credentials> m_credentials;
+
+        private final File m_outputFile;
+
+        private final File m_outputDir;
+
+        private final boolean m_noSave;
+
+        private ResidentWorkflow(final WorkflowManager wfm, final WorkflowConfiguration config) {
+            m_wfm = wfm;
+            m_workflowLocation = config.workflowLocation;
+            m_initialVariables = config.initialWorkflowVariables != null ? config.initialWorkflowVariables
+                : new ArrayList<>(wfm.getWorkflowVariables());
+            m_credentials = new HashMap<>(config.credentials);
+            m_outputFile = config.outputFile;
+            m_outputDir = config.outputDir;
+            m_noSave = config.noSave;
+        }
+
+        /**
+         * @return whether the workflow was loaded with the same credentials and is saved to the same location as
+         *         requested by the argument configuration
+         */
+        private boolean isReusableFor(final WorkflowConfiguration config) {
+            if (m_noSave != config.noSave || !ConvenienceMethods.areEqual(m_outputFile, config.outputFile)
+                || !ConvenienceMethods.areEqual(m_outputDir, config.outputDir)
+                || !m_credentials.keySet().equals(config.credentials.keySet())) {
+                return false;
+            }
+            for (Map.Entry<String, Credentials> e : m_credentials.entrySet()) {
+                Credentials other = config.credentials.get(e.getKey());
+                if (e.getValue() == null || other == null) {
+                    if (e.getValue() != other) {
+                        return false;
+                    }
+                } else if (!ConvenienceMethods.areEqual(e.getValue().getLogin(), other.getLogin())
+                    || !ConvenienceMethods.areEqual(e.getValue().getPassword(), other.getPassword())) {
+                    // Credentials#equals ignores the password
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Restores the workflow variables as defined in the workflow, applies the variables of the argument
+         * configuration and resets the workflow.
+         */
+        private void prepareRerun(final WorkflowConfiguration config) {
+            Set<String> initialNames = new HashSet<>();
+            for (FlowVariable v : m_initialVariables) {
+                initialNames.add(v.getName());
+            }
+            for (FlowVariable v : new ArrayList<>(m_wfm.getWorkflowVariables())) {
+                if (!initialNames.contains(v.getName())) {
+                    m_wfm.removeWorkflowVariable(v.getName());
+                }
+            }
+            if (!m_initialVariables.isEmpty()) {
+                m_wfm.addWorkflowVariables(true, m_initialVariables.toArray(new FlowVariable[0]));
+            }
+            if (!config.flowVariables.isEmpty()) {
+                applyWorkflowVariables(m_wfm, false, config.flowVariables);
+            }
+            m_wfm.resetAndConfigureAll();
+        }
+    }
+
     private static void setNodeOptions(final Collection<Option> options, final WorkflowManager wfm)
             throws InvalidSettingsException, IllegalOptionException {
         for (Option o : options) {
@@ -1219,6 +1495,10 @@ private static void applyWorkflowVariables(final WorkflowManager wfm, final bool
     }
 
     private static void dumpWorkflowToDebugLog(final WorkflowManager wfm) {
+        if (!LOGGER.isDebugEnabled()) {
+            // the summary of large workflows is expensive to create
+            return;
+        }
         String str = wfm.printNodeSummary(wfm.getID(), 0);
         BufferedReader reader = new BufferedReader(new StringReader(str));
         String line;
@@ -1232,6 +1512,14 @@ private static void dumpWorkflowToDebugLog(final WorkflowManager wfm) {
         }
     }
 
+    private static void dumpProfileToLog(final WorkflowManager wfm) {
+        LOGGER.info("Node execution profile (slowest first; CPU time, allocations, lock waits and writer stalls "
+            + "are measured for the thread executing the node only, work delegated to other threads is not included):");
+        for (String line : NodeExecutionProfiler.printProfileTable(wfm).split("\n")) {
+            LOGGER.info(line);
+        }
+    }
+
     /**
      * Creates a new workflow configuration object. Subclasses may override this method to create custom workflow
      * configurations.
@@ -64,6 +64,7 @@
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.Node;
+import org.knime.core.node.NodeContentManifest;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodePersistor.LoadNodeModelSettingsFailPolicy;
 import org.knime.core.node.NodeSettings;
@@ -544,7 +545,11 @@ protected static String save(final SingleNodeContainer singleNC, final Reference
         }
         boolean nodeDirDeleted = true;
         if (singleNC instanceof NativeNodeContainer) {
-            nodeDirDeleted = deleteChildren(nodeDir, SingleNodeContainer.DROP_DIR_NAME);
+            // keep data artifacts listed in the content manifest - FileNodePersistor re-uses or deletes them
+            List<String> exclude = new ArrayList<>(
+                NodeContentManifest.getArtifactNames(((NativeNodeContainer)singleNC).getNode(), nodeDir));
+            exclude.add(SingleNodeContainer.DROP_DIR_NAME);
+            nodeDirDeleted = deleteChildren(nodeDir, exclude.toArray(new String[exclude.size()]));
         }
         nodeDir.mkdirs();
         if (!nodeDir.isDirectory() || !nodeDir.canWrite()) {
@@ -48,6 +48,8 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -55,7 +57,8 @@
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Vector;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.knime.core.internal.KNIMEPath;
 import org.knime.core.node.NodeLogger;
@@ -68,6 +71,11 @@
 /**
  * Container for the stack that keeps for an individual node the
  * flow variables and flow loop information.
+ * <p>
+ * The stack is implemented as a persistent (immutable, structurally shared) linked list, whereby this object only
+ * holds a reference to the top-most element. Pushing an element or deriving a stack for a successor node from a single
+ * predecessor does not copy any elements. Variable lookups are answered from an index that is computed once per list
+ * element and cached on it (list elements never change).
  * @author Bernd Wiswedel, University of Konstanz
  */
 public final class FlowObjectStack implements Iterable<FlowObject> {
@@ -75,20 +83,22 @@ public final class FlowObjectStack implements Iterable<FlowObject> {
     private static final NodeLogger LOGGER =
         NodeLogger.getLogger(FlowObjectStack.class);
 
+    /** Types of variables returned by {@link #getAvailableFlowVariables()}. */
+    private static final Type[] DEFAULT_VISIBLE_TYPES = new Type[] {Type.DOUBLE, Type.INTEGER, Type.STRING};
+
     /** Root stack with all constants. */
     private static FlowObjectStack rootStack = new FlowObjectStack();
 
-    /** Stack of FlowObjects, which is shared among nodes along the
-     * workflow. */
-    private final Vector<FlowObject> m_stack;
-    /** Owner of FlowObject object, which are put onto m_stack via this
+    /** Top of the stack of FlowObjects, the elements are shared among nodes along the
+     * workflow. <code>null</code> if the stack is empty. Modifications are synchronized on 'this'. */
+    private volatile StackElement m_top;
+    /** Owner of FlowObject object, which are put onto m_top via this
      * StackWrapper. */
     private final NodeID m_nodeID;
 
     /** Root stack. */
     private FlowObjectStack() {
         m_nodeID = WorkflowManager.ROOT.getID();
-        m_stack = new Vector<FlowObject>();
         File wsDirPath = KNIMEPath.getWorkspaceDirPath();
         if (wsDirPath != null) {
             push(new FlowVariable("knime.workspace",
@@ -161,24 +171,26 @@ private FlowObjectStack() {
      * @throws NullPointerException If <code>id</code> is <code>null</code>.
      * @throws IllegalFlowObjectStackException If the stacks can't be merged.
      */
-    @SuppressWarnings("unchecked")
     private FlowObjectStack(final NodeID id, final FlowObjectStack[] predStacks, final boolean ignoredFlag) {
         if (id == null) {
             throw new NullPointerException("NodeID argument must not be null.");
         }
-        List<Vector<FlowObject>> predecessors =
-            new ArrayList<Vector<FlowObject>>();
+        List<StackElement> predecessors = new ArrayList<StackElement>();
         for (int i = 0; i < predStacks.length; i++) {
             if (predStacks[i] != null) {
-                predecessors.add(predStacks[i].m_stack);
+                predecessors.add(predStacks[i].m_top);
             }
         }
         if (predecessors.isEmpty()) {
-            predecessors.add(rootStack.m_stack);
+            predecessors.add(rootStack.m_top);
+        }
+        if (predecessors.size() == 1 && StackElement.isMergeInvariant(predecessors.get(0))) {
+            // common case, nothing to filter or merge -- share all elements
+            m_top = predecessors.get(0);
+        } else {
+            StackElement[] sos = predecessors.toArray(new StackElement[predecessors.size()]);
+            m_top = merge(resortInputStacks(sos));
         }
-        Vector<FlowObject>[] sos = predecessors.toArray(
-                new Vector[predecessors.size()]);
-        m_stack = merge(resortInputStacks(sos));
         m_nodeID = id;
     }
 
@@ -193,26 +205,24 @@ private FlowObjectStack(final NodeID id, final FlowObjectStack[] predStacks, fin
      *         a copy, whereby the copy will be shifted by one and the last
      *         element is the first element of sos.
      */
-    private static Vector<FlowObject>[] resortInputStacks(
-            final Vector<FlowObject>[] sos) {
+    private static StackElement[] resortInputStacks(final StackElement[] sos) {
         if (sos.length <= 1) {
             return sos;
         }
-        @SuppressWarnings("unchecked")
-        Vector<FlowObject>[] result = new Vector[sos.length];
+        StackElement[] result = new StackElement[sos.length];
         System.arraycopy(sos, 1, result, 0, sos.length - 1);
         result[sos.length - 1] = sos[0];
         return result;
     }
 
-    private static Vector<FlowObject> merge(final Vector<FlowObject>[] sos) {
-        Vector<FlowObject> result = new Vector<FlowObject>();
+    private static StackElement merge(final StackElement[] sos) {
+        StackElement result = null;
         @SuppressWarnings("unchecked") // no generics in array definition
         Iterator<FlowObject>[] its = new Iterator[sos.length];
         FlowObject[] nexts = new FlowObject[sos.length];
         boolean hasMoreElements = false;
         for (int i = 0; i < sos.length; i++) {
-            its[i] = new FilteredScopeIterator(sos[i].iterator(), Scope.Local);
+            its[i] = new FilteredScopeIterator(StackElement.toBottomUpList(sos[i]).iterator(), Scope.Local);
             hasMoreElements = hasMoreElements ||  its[i].hasNext();
         }
         while (hasMoreElements) {
@@ -253,9 +263,11 @@ private static Vector<FlowObject> merge(final Vector<FlowObject>[] sos) {
                     variableSet.add(o);
                 }
             }
-            result.addAll(variableSet);
+            for (FlowObject o : variableSet) {
+                result = new StackElement(o, result);
+            }
             if (commonFlowO != null) {
-                result.add(commonFlowO);
+                result = new StackElement(commonFlowO, result);
                 for (int i = 0; i < nexts.length; i++) {
                     nexts[i] = null;
                 }
@@ -284,15 +296,12 @@ public <T extends FlowObject> T peek(final Class<T> type) {
      * @since 3.4
      */
     public <T extends FlowObject> Optional<T> peekOptional(final Class<T> type) {
-        synchronized (m_stack) {
-            for (int i = m_stack.size() - 1; i >= 0; i--) {
-                FlowObject e = m_stack.get(i);
-                if (type.isInstance(e)) {
-                    return Optional.of(type.cast(e));
-                }
+        for (StackElement e = m_top; e != null; e = e.m_below) {
+            if (type.isInstance(e.m_object)) {
+                return Optional.of(type.cast(e.m_object));
             }
-            return Optional.empty();
         }
+        return Optional.empty();
     }
 
     /**
@@ -306,15 +315,12 @@ public <T extends FlowObject> Optional<T> peekOptional(final Class<T> type) {
      * @since 2.8
      */
     public <T extends FlowScopeContext> T peekScopeContext(final Class<T> type, final boolean isInactiveScope) {
-        synchronized (m_stack) {
-            for (int i = m_stack.size() - 1; i >= 0; i--) {
-                FlowObject e = m_stack.get(i);
-                if (type.isInstance(e) && (type.cast(e).isInactiveScope() == isInactiveScope)) {
-                    return type.cast(e);
-                }
+        for (StackElement e = m_top; e != null; e = e.m_below) {
+            if (type.isInstance(e.m_object) && (type.cast(e.m_object).isInactiveScope() == isInactiveScope)) {
+                return type.cast(e.m_object);
             }
-            return null;
         }
+        return null;
     }
 
     /**
@@ -328,16 +334,14 @@ public <T extends FlowScopeContext> T peekScopeContext(final Class<T> type, fina
      * <code>type</code> or <code>null</code> if no such element is available.
      * @see java.util.Stack#pop()
      */
-    public <T extends FlowObject> T pop(final Class<T> type) {
-        synchronized (m_stack) {
-            for (int i = m_stack.size() - 1; i >= 0; i--) {
-                FlowObject e = m_stack.remove(i);
-                if (type.isInstance(e)) {
-                    return type.cast(e);
-                }
+    public synchronized <T extends FlowObject> T pop(final Class<T> type) {
+        for (StackElement e = m_top; e != null; e = e.m_below) {
+            m_top = e.m_below;
+            if (type.isInstance(e.m_object)) {
+                return type.cast(e.m_object);
             }
-            return null;
         }
+        return null;
     }
 
     /**
@@ -354,40 +358,33 @@ public <T extends FlowObject> T pop(final Class<T> type) {
      * @see java.util.Stack#pop()
      * @since 2.8
      */
-    public <T extends FlowScopeContext> T popScopeContext(final Class<T> type, final boolean isInactiveScope) {
-        synchronized (m_stack) {
-            for (int i = m_stack.size() - 1; i >= 0; i--) {
-                FlowObject e = m_stack.remove(i);
-                if (type.isInstance(e) && (type.cast(e).isInactiveScope() == isInactiveScope)) {
-                    return type.cast(e);
-                }
+    public synchronized <T extends FlowScopeContext> T popScopeContext(final Class<T> type,
+        final boolean isInactiveScope) {
+        for (StackElement e = m_top; e != null; e = e.m_below) {
+            m_top = e.m_below;
+            if (type.isInstance(e.m_object) && (type.cast(e.m_object).isInactiveScope() == isInactiveScope)) {
+                return type.cast(e.m_object);
             }
-            return null;
         }
+        return null;
     }
 
     /** Get the variable with the given name. Throws and exception if
      * no such variable is on the stack.
      * @param name To peek
-     * @param type The type of the variable to seek.
+     * @param type The type of the variable to seek, not null.
      * @return the variable
      * @throws NoSuchElementException if variable does not exist
+     * @throws IllegalArgumentException if the type is null
      */
     public FlowVariable peekFlowVariable(final String name, final Type type) {
-        synchronized (m_stack) {
-            for (int i = m_stack.size() - 1; i >= 0; i--) {
-                FlowObject e = m_stack.get(i);
-                if (!(e instanceof FlowVariable)) {
-                    continue;
-                }
-                FlowVariable v = (FlowVariable)e;
-                if (v.getName().equals(name) && v.getType().equals(type)) {
-                    return v;
-                }
-            }
+        CheckUtils.checkArgument(type != null, "Type of variable \"%s\" must not be null", name);
+        FlowVariable v = StackElement.getVariables(m_top, EnumSet.of(type)).get(name);
+        if (v == null) {
+            throw new NoSuchElementException("No such variable \"" + name + "\" of"
+                    + " type " + type);
         }
-        throw new NoSuchElementException("No such variable \"" + name + "\" of"
-                + " type " + type);
+        return v;
     }
 
     /** Get all (visible!) variables on the stack in a non-modifiable map. This map is filtered for double, string,
@@ -396,7 +393,7 @@ public FlowVariable peekFlowVariable(final String name, final Type type) {
      * @return Such a map.
      */
     public Map<String, FlowVariable> getAvailableFlowVariables() {
-        return getAvailableFlowVariables(Type.DOUBLE, Type.INTEGER, Type.STRING);
+        return getAvailableFlowVariables(DEFAULT_VISIBLE_TYPES);
     }
 
     /** Get all flow variables filtered according to the argument. Not meant for public use.
@@ -405,24 +402,9 @@ public Map<String, FlowVariable> getAvailableFlowVariables() {
      * @since 3.1
      */
     public Map<String, FlowVariable> getAvailableFlowVariables(final FlowVariable.Type... types) {
-        LinkedHashMap<String, FlowVariable> hash = new LinkedHashMap<String, FlowVariable>();
-        List<Type> typesAsList = Arrays.asList(types);
-        synchronized (m_stack) {
-            for (int i = m_stack.size() - 1; i >= 0; i--) {
-                FlowObject e = m_stack.get(i);
-                if (!(e instanceof FlowVariable)) {
-                    continue;
-                }
-                FlowVariable v = (FlowVariable)e;
-                if (!typesAsList.contains(v.getType())) {
-                    continue;
-                }
-                if (!hash.containsKey(v.getName())) {
-                    hash.put(v.getName(), v);
-                }
-            }
-        }
-        return Collections.unmodifiableMap(hash);
+        EnumSet<Type> typeSet = EnumSet.noneOf(Type.class);
+        typeSet.addAll(Arrays.asList(types));
+        return StackElement.getVariables(m_top, typeSet);
     }
 
     /** Get all objects on the stack that are owned by the node with the given
@@ -436,13 +418,12 @@ public Map<String, FlowVariable> getAvailableFlowVariables(final FlowVariable.Ty
     List<FlowObject> getFlowObjectsOwnedBy(final NodeID id,
             final Scope... ignoredScopes) {
         List<FlowObject> result = new ArrayList<FlowObject>();
-        synchronized (m_stack) {
-            FilteredScopeIterator it = new FilteredScopeIterator(m_stack.iterator(), ignoredScopes);
-            while (it.hasNext()) {
-                FlowObject v = it.next();
-                if (v.getOwner().equals(id)) {
-                    result.add(v);
-                }
+        FilteredScopeIterator it = new FilteredScopeIterator(
+            StackElement.toBottomUpList(m_top).iterator(), ignoredScopes);
+        while (it.hasNext()) {
+            FlowObject v = it.next();
+            if (v.getOwner().equals(id)) {
+                result.add(v);
             }
         }
         return result;
@@ -464,33 +445,50 @@ public void push(final FlowObject item) {
      * null for elements pushed by the sub node right after construction.
      * @param item The null item to push.
      */
-    void pushWithOwner(final FlowObject item) {
+    synchronized void pushWithOwner(final FlowObject item) {
         CheckUtils.checkArgument(item.getOwner() != null, "Item should have owner set at this point: %s", item);
-        m_stack.add(item);
+        m_top = new StackElement(item, m_top);
     }
 
     /**
      * @return true if stack is empty
      */
     boolean isEmpty() {
-        return m_stack.isEmpty();
+        return m_top == null;
     }
 
     /** Get number of elements in the stack.
      * @return size of stack. */
     int size() {
-        return m_stack.size();
+        StackElement top = m_top;
+        return top == null ? 0 : top.m_size;
     }
 
     /** Get iterator on elements, top of stack first. The iterator is
      * read only and not affected by potential modifications of the stack
-     * after this method returns (iterator on copy).
+     * after this method returns (the elements are immutable).
      * {@inheritDoc} */
     @Override
     public Iterator<FlowObject> iterator() {
-        Vector<FlowObject> copy = new Vector<FlowObject>(m_stack);
-        Collections.reverse(copy);
-        return Collections.unmodifiableList(copy).iterator();
+        final StackElement top = m_top;
+        return new Iterator<FlowObject>() {
+            private StackElement m_next = top;
+
+            @Override
+            public boolean hasNext() {
+                return m_next != null;
+            }
+
+            @Override
+            public FlowObject next() {
+                if (m_next == null) {
+                    throw new NoSuchElementException("Iterator at end");
+                }
+                FlowObject result = m_next.m_object;
+                m_next = m_next.m_below;
+                return result;
+            }
+        };
     }
 
     /**
@@ -506,10 +504,8 @@ public String toString() {
     public int hashCode() {
         // stacks are not really used in hashs ... but since we implement equals
         int hash = m_nodeID.hashCode();
-        synchronized (m_stack) {
-            for (FlowObject o : m_stack) {
-                hash += o.hashCode();
-            }
+        for (StackElement e = m_top; e != null; e = e.m_below) {
+            hash += e.m_object.hashCode();
         }
         return hash;
     }
@@ -524,10 +520,20 @@ public boolean equals(final Object obj) {
             return false;
         }
         FlowObjectStack o = (FlowObjectStack)obj;
-        synchronized (m_stack) {
-            return o.m_nodeID.equals(m_nodeID)
-                && o.m_stack.equals(m_stack); // deep equals!
+        if (!o.m_nodeID.equals(m_nodeID)) {
+            return false;
         }
+        // deep equals!
+        StackElement e1 = m_top;
+        StackElement e2 = o.m_top;
+        while (e1 != e2) { // identical elements share the remaining list
+            if (e1 == null || e2 == null || e1.m_size != e2.m_size || !e1.m_object.equals(e2.m_object)) {
+                return false;
+            }
+            e1 = e1.m_below;
+            e2 = e2.m_below;
+        }
+        return true;
     }
 
     /**
@@ -539,12 +545,9 @@ public String toDeepString() {
         b.append(m_nodeID);
         b.append("---");
         b.append('\n');
-        synchronized (m_stack) {
-            for (int i = m_stack.size() - 1; i >= 0; --i) {
-                FlowObject o = m_stack.get(i);
-                b.append(o);
-                b.append('\n');
-            }
+        for (StackElement e = m_top; e != null; e = e.m_below) {
+            b.append(e.m_object);
+            b.append('\n');
         }
         b.append("--------");
         return b.toString();
@@ -665,5 +668,101 @@ private FlowObject internalNext() {
 
     }
 
+    /** Immutable element of the (linked) stack. Elements are shared among all stacks that contain them. Derived
+     * information (variable lookup maps and whether a merge would change the stack) is computed lazily and
+     * cached, which is safe as neither the element nor any element below it ever changes. */
+    private static final class StackElement {
+
+        private final FlowObject m_object;
+
+        private final StackElement m_below;
+
+        /** Number of elements in the stack starting at this element. */
+        private final int m_size;
+
+        /** Visible variables per type filter, see {@link #getVariables(StackElement, EnumSet)}. */
+        private volatile Map<Set<Type>, Map<String, FlowVariable>> m_variablesCache;
+
+        /** Cached result of {@link #isMergeInvariant(StackElement)}, null if not computed yet. */
+        private volatile Boolean m_isMergeInvariant;
+
+        StackElement(final FlowObject object, final StackElement below) {
+            m_object = object;
+            m_below = below;
+            m_size = below == null ? 1 : below.m_size + 1;
+        }
+
+        /** All elements of the stack starting at the argument element, bottom first (in insertion order). */
+        static List<FlowObject> toBottomUpList(final StackElement top) {
+            if (top == null) {
+                return Collections.emptyList();
+            }
+            FlowObject[] result = new FlowObject[top.m_size];
+            int i = result.length;
+            for (StackElement e = top; e != null; e = e.m_below) {
+                result[--i] = e.m_object;
+            }
+            return Arrays.asList(result);
+        }
+
+        /** Map of visible variables (top-most per name) of the given types, top-most first. Cached on the element. */
+        static Map<String, FlowVariable> getVariables(final StackElement top, final EnumSet<Type> types) {
+            if (top == null) {
+                return Collections.emptyMap();
+            }
+            Map<Set<Type>, Map<String, FlowVariable>> cache = top.m_variablesCache;
+            if (cache == null) {
+                cache = new ConcurrentHashMap<>(4);
+                top.m_variablesCache = cache; // benign race, worst case computed twice
+            }
+            Map<String, FlowVariable> result = cache.get(types);
+            if (result == null) {
+                LinkedHashMap<String, FlowVariable> hash = new LinkedHashMap<String, FlowVariable>();
+                for (StackElement e = top; e != null; e = e.m_below) {
+                    if (!(e.m_object instanceof FlowVariable)) {
+                        continue;
+                    }
+                    FlowVariable v = (FlowVariable)e.m_object;
+                    if (types.contains(v.getType())) {
+                        hash.putIfAbsent(v.getName(), v);
+                    }
+                }
+                result = Collections.unmodifiableMap(hash);
+                cache.put(types, result);
+            }
+            return result;
+        }
+
+        /** Whether {@link FlowObjectStack#merge(StackElement[])} on the stack starting at the argument element
+         * (as only input) would return an equal stack, i.e. there are no local variables and no duplicates within
+         * the scope(s). Then the elements can be shared. Cached on the element. */
+        static boolean isMergeInvariant(final StackElement top) {
+            if (top == null) {
+                return true;
+            }
+            Boolean cached = top.m_isMergeInvariant;
+            if (cached != null) {
+                return cached;
+            }
+            // check the top-most scope, the elements below the next scope context are independent
+            boolean result = true;
+            Set<FlowObject> scopeObjects = new HashSet<FlowObject>();
+            StackElement e = top;
+            for (; e != null && result; e = e.m_below) {
+                FlowObject o = e.m_object;
+                if (o instanceof FlowScopeContext) {
+                    result = isMergeInvariant(e.m_below);
+                    break;
+                }
+                if (o instanceof FlowVariable && ((FlowVariable)o).getScope() == Scope.Local) {
+                    result = false;
+                } else {
+                    result = scopeObjects.add(o);
+                }
+            }
+            top.m_isMergeInvariant = result;
+            return result;
+        }
+    }
 
 }
@@ -1350,6 +1350,15 @@ public NodeTimer getNodeTimer() {
         return m_nodeTimer;
     }
 
+    /**
+     * @return the resource usage of the last execution of this node or <code>null</code> if it has not been executed
+     *         while profiling was switched on (see {@link NodeExecutionProfiler})
+     * @since 3.8
+     */
+    public NodeExecutionProfile getLastExecutionProfile() {
+        return m_nodeTimer.getLastExecutionProfile();
+    }
+
     /** Is this node a to be locally executed workflow. In contrast to remotely
      * executed workflows, the nodes in the encapsulated workflow will be
      * executed independently (each represented by an own job), whereas remote
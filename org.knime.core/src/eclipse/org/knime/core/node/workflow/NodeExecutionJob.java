@@ -166,17 +166,25 @@ private void internalRun() {
                 }
             }
         }
+        NodeExecutionProfiler profiler = null;
         try {
             if (status == null) {
                 NodeLogger.getLogger(m_nc.getClass());
                 // start message and keep start time
                 final long time = System.currentTimeMillis();
                 m_logger.debug(m_nc.getNameWithID() + " Start execute");
-                if (executeInactive) {
-                    SingleNodeContainer snc = (SingleNodeContainer)m_nc;
-                    status = snc.performExecuteNode(getPortObjects());
-                } else {
-                    status = mainExecute();
+                profiler = NodeExecutionProfiler.start(m_nc, getPortObjects());
+                try {
+                    if (executeInactive) {
+                        SingleNodeContainer snc = (SingleNodeContainer)m_nc;
+                        status = snc.performExecuteNode(getPortObjects());
+                    } else {
+                        status = mainExecute();
+                    }
+                } finally {
+                    if (profiler != null) {
+                        profiler.stop();
+                    }
                 }
                 if (status != null && status.isSuccess()) {
                     String elapsed = StringFormat.formatElapsedTime(System.currentTimeMillis() - time);
@@ -187,7 +195,11 @@ private void internalRun() {
             status = NodeContainerExecutionStatus.FAILURE;
             logError(throwable);
         }
+        final long lockStart = System.nanoTime();
         try (WorkflowLock lock = m_nc.getParent().lock()) {
+            if (profiler != null) {
+                profiler.addLockWaitNanos(System.nanoTime() - lockStart);
+            }
             try {
                 // node might have been canceled meanwhile
                 m_nc.getProgressMonitor().checkCanceled();
@@ -210,6 +222,10 @@ private void internalRun() {
             } catch (Exception e) {
                 logError(e);
             }
+            if (profiler != null) {
+                boolean success = status != null && status.isSuccess();
+                m_nc.getNodeTimer().setLastExecutionProfile(profiler.finish(m_nc, success));
+            }
         }
     }
 
@@ -0,0 +1,193 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataTableSpecCreator;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Resource usage of a single node execution as recorded by the {@link NodeExecutionProfiler}. Values that could not be
+ * determined (for instance because the JVM does not support thread CPU time measurement) are reported as -1.
+ *
+ * <p>
+ * CPU time, allocated bytes, lock waits and table writer stalls are only recorded for the thread that executes the
+ * node; work that a node delegates to other threads is not contained.
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class NodeExecutionProfile {
+
+    private static final String[] COLUMN_NAMES = new String[]{"Node", "Name", "Wall Time (ms)", "CPU Time (ms)",
+        "Allocated Bytes", "Rows In", "Rows Out", "Rows/s", "Temp Bytes", "Lock Wait (ms)", "Writer Stall (ms)"};
+
+    private final long m_wallTimeNanos;
+    private final long m_cpuTimeNanos;
+    private final long m_allocatedBytes;
+    private final long m_rowsIn;
+    private final long m_rowsOut;
+    private final long m_tempBytes;
+    private final long m_lockWaitNanos;
+    private final long m_writerStallNanos;
+
+    NodeExecutionProfile(final long wallTimeNanos, final long cpuTimeNanos, final long allocatedBytes,
+        final long rowsIn, final long rowsOut, final long tempBytes, final long lockWaitNanos,
+        final long writerStallNanos) {
+        m_wallTimeNanos = wallTimeNanos;
+        m_cpuTimeNanos = cpuTimeNanos;
+        m_allocatedBytes = allocatedBytes;
+        m_rowsIn = rowsIn;
+        m_rowsOut = rowsOut;
+        m_tempBytes = tempBytes;
+        m_lockWaitNanos = lockWaitNanos;
+        m_writerStallNanos = writerStallNanos;
+    }
+
+    /** @return the wall clock time of the execution in nanoseconds */
+    public long getWallTimeNanos() {
+        return m_wallTimeNanos;
+    }
+
+    /** @return the CPU time consumed by the executing thread in nanoseconds or -1 if not supported */
+    public long getCpuTimeNanos() {
+        return m_cpuTimeNanos;
+    }
+
+    /** @return the number of bytes allocated by the executing thread or -1 if not supported */
+    public long getAllocatedBytes() {
+        return m_allocatedBytes;
+    }
+
+    /** @return the summed number of rows of all input tables */
+    public long getRowsIn() {
+        return m_rowsIn;
+    }
+
+    /** @return the summed number of rows of all output tables or -1 if the execution failed */
+    public long getRowsOut() {
+        return m_rowsOut;
+    }
+
+    /** @return the number of output rows per second of wall clock time, or -1 if unknown */
+    public double getRowsPerSecond() {
+        if (m_rowsOut < 0 || m_wallTimeNanos <= 0) {
+            return -1;
+        }
+        return m_rowsOut * (double)TimeUnit.SECONDS.toNanos(1) / m_wallTimeNanos;
+    }
+
+    /** @return the number of bytes the node has written to temp files (tables and file stores) during execution */
+    public long getTempBytes() {
+        return m_tempBytes;
+    }
+
+    /** @return the time in nanoseconds the executing thread was blocked waiting for a {@link WorkflowLock} */
+    public long getLockWaitNanos() {
+        return m_lockWaitNanos;
+    }
+
+    /**
+     * @return the time in nanoseconds the executing thread was blocked because the asynchronous table writer did not
+     *         keep up with the rows added to a table
+     */
+    public long getWriterStallNanos() {
+        return m_writerStallNanos;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return String.format("wall=%dms, cpu=%dms, allocated=%d bytes, rows in=%d, rows out=%d, temp=%d bytes, "
+            + "lock wait=%dms, writer stall=%dms", toMillis(m_wallTimeNanos), toMillis(m_cpuTimeNanos),
+            m_allocatedBytes, m_rowsIn, m_rowsOut, m_tempBytes, toMillis(m_lockWaitNanos),
+            toMillis(m_writerStallNanos));
+    }
+
+    /** @return the spec of the table created from {@link #toRow(RowKey, NodeContainer)} */
+    public static DataTableSpec createTableSpec() {
+        DataTableSpecCreator dtsc = new DataTableSpecCreator();
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            DataType type = i < 2 ? StringCell.TYPE : LongCell.TYPE;
+            dtsc.addColumns(new DataColumnSpecCreator(COLUMN_NAMES[i], type).createSpec());
+        }
+        return dtsc.createSpec();
+    }
+
+    /**
+     * @param key the key of the row
+     * @param nc the node this profile belongs to
+     * @return a row describing this profile, see {@link #createTableSpec()}
+     */
+    public DataRow toRow(final RowKey key, final NodeContainer nc) {
+        double rowsPerSecond = getRowsPerSecond();
+        return new DefaultRow(key, new StringCell(nc.getID().toString()), new StringCell(nc.getNameWithID()),
+            new LongCell(toMillis(m_wallTimeNanos)), toCell(toMillis(m_cpuTimeNanos)), toCell(m_allocatedBytes),
+            new LongCell(m_rowsIn), toCell(m_rowsOut), toCell(rowsPerSecond < 0 ? -1 : Math.round(rowsPerSecond)),
+            new LongCell(m_tempBytes), new LongCell(toMillis(m_lockWaitNanos)),
+            new LongCell(toMillis(m_writerStallNanos)));
+    }
+
+    private static DataCell toCell(final long value) {
+        return value < 0 ? DataType.getMissingCell() : new LongCell(value);
+    }
+
+    private static long toMillis(final long nanos) {
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
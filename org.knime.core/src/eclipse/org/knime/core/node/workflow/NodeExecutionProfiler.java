@@ -0,0 +1,357 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.node.workflow;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.TempStorageManager;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.port.PortObject;
+
+/**
+ * Records a {@link NodeExecutionProfile} for node executions if profiling is switched on, either via the
+ * {@value KNIMEConstants#PROPERTY_NODE_PROFILING} system property or {@link #setEnabled(boolean)}. A profiler is
+ * bound to the thread executing the node; the static <code>record...</code> methods are called from the workflow
+ * lock and the table writer and are no-ops unless the current thread executes a profiled node.
+ *
+ * <p>
+ * CPU time, allocated bytes, lock waits and table writer stalls are therefore only measured for the thread that
+ * executes the node. Work that a node hands over to other threads, for instance sub-jobs submitted to the
+ * {@link org.knime.core.util.ThreadPool} or the threads of a streaming executor, is not contained in its profile; the
+ * wall time of the execution includes the time the node thread waited for such work.
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class NodeExecutionProfiler {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(NodeExecutionProfiler.class);
+
+    private static final ThreadLocal<NodeExecutionProfiler> CURRENT = new ThreadLocal<>();
+
+    /** {@code getThreadAllocatedBytes(long)} of the thread bean or <code>null</code> if not available. */
+    private static final Method GET_THREAD_ALLOCATED_BYTES = lookupGetThreadAllocatedBytes();
+
+    private static volatile boolean enabled = Boolean.getBoolean(KNIMEConstants.PROPERTY_NODE_PROFILING);
+
+    private final ThreadMXBean m_threadBean;
+
+    private final long m_threadID;
+
+    private final long m_startWallTime;
+
+    private final long m_startCpuTime;
+
+    private final long m_startAllocatedBytes;
+
+    private final long m_startTempBytes;
+
+    private final long m_rowsIn;
+
+    private long m_wallTime = -1;
+
+    private long m_cpuTime = -1;
+
+    private long m_allocatedBytes = -1;
+
+    private long m_lockWaitNanos;
+
+    private long m_writerStallNanos;
+
+    private NodeExecutionProfiler(final NodeContainer nc, final PortObject[] inputs) {
+        m_threadBean = ManagementFactory.getThreadMXBean();
+        m_threadID = Thread.currentThread().getId();
+        m_startTempBytes = TempStorageManager.getInstance().getNodeUsage(nc.getID());
+        long rowsIn = 0;
+        for (PortObject po : inputs) {
+            if (po instanceof BufferedDataTable) {
+                rowsIn += ((BufferedDataTable)po).size();
+            }
+        }
+        m_rowsIn = rowsIn;
+        m_startAllocatedBytes = getAllocatedBytes();
+        m_startCpuTime = getCpuTime();
+        m_startWallTime = System.nanoTime();
+    }
+
+    /** @return whether node executions are profiled */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches profiling of subsequent node executions on or off. Executions that are already running are not
+     * affected.
+     *
+     * @param enable whether to profile node executions
+     */
+    public static void setEnabled(final boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Starts profiling the execution of the argument node on the current thread.
+     *
+     * @param nc the node to be executed
+     * @param inputs the input objects of the node
+     * @return the profiler or <code>null</code> if profiling is disabled
+     */
+    static NodeExecutionProfiler start(final NodeContainer nc, final PortObject[] inputs) {
+        if (!enabled) {
+            return null;
+        }
+        NodeExecutionProfiler profiler = new NodeExecutionProfiler(nc, inputs);
+        CURRENT.set(profiler);
+        return profiler;
+    }
+
+    /** Stops measuring time and allocations, called on the thread that called {@link #start(NodeContainer,
+     * PortObject[])} after the main execution. */
+    void stop() {
+        m_wallTime = System.nanoTime() - m_startWallTime;
+        long cpuTime = getCpuTime();
+        m_cpuTime = m_startCpuTime < 0 || cpuTime < 0 ? -1 : cpuTime - m_startCpuTime;
+        long allocatedBytes = getAllocatedBytes();
+        m_allocatedBytes = m_startAllocatedBytes < 0 || allocatedBytes < 0 ? -1
+            : allocatedBytes - m_startAllocatedBytes;
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds a lock wait that took place outside of {@link #start(NodeContainer, PortObject[])} and {@link #stop()},
+     * i.e. when finishing the execution.
+     *
+     * @param nanos the time waited
+     */
+    void addLockWaitNanos(final long nanos) {
+        m_lockWaitNanos += nanos;
+    }
+
+    /**
+     * Creates the profile once the node has finished execution (i.e. its output is set).
+     *
+     * @param nc the executed node
+     * @param success whether the execution was successful
+     * @return the profile of this execution
+     */
+    NodeExecutionProfile finish(final NodeContainer nc, final boolean success) {
+        long rowsOut = -1;
+        if (success) {
+            rowsOut = 0;
+            for (int i = 0; i < nc.getNrOutPorts(); i++) {
+                PortObject po = nc.getOutPort(i).getPortObject();
+                if (po instanceof BufferedDataTable) {
+                    rowsOut += ((BufferedDataTable)po).size();
+                }
+            }
+        }
+        long tempBytes = Math.max(0, TempStorageManager.getInstance().getNodeUsage(nc.getID()) - m_startTempBytes);
+        return new NodeExecutionProfile(m_wallTime, m_cpuTime, m_allocatedBytes, m_rowsIn, rowsOut, tempBytes,
+            m_lockWaitNanos, m_writerStallNanos);
+    }
+
+    private long getCpuTime() {
+        try {
+            if (m_threadBean.isCurrentThreadCpuTimeSupported() && m_threadBean.isThreadCpuTimeEnabled()) {
+                return m_threadBean.getCurrentThreadCpuTime();
+            }
+        } catch (UnsupportedOperationException e) {
+            LOGGER.debug("Thread CPU time not available: " + e.getMessage(), e);
+        }
+        return -1;
+    }
+
+    private long getAllocatedBytes() {
+        if (GET_THREAD_ALLOCATED_BYTES != null) {
+            try {
+                return (Long)GET_THREAD_ALLOCATED_BYTES.invoke(m_threadBean, m_threadID);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                LOGGER.debug("Thread allocated memory not available: " + e.getMessage(), e);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks up {@code getThreadAllocatedBytes(long)} of the JVM specific extension of {@link ThreadMXBean}, which is
+     * not part of the platform API.
+     *
+     * @return the method or <code>null</code> if the JVM's thread bean doesn't provide it
+     */
+    private static Method lookupGetThreadAllocatedBytes() {
+        try {
+            Class<?> extendedBeanClass = Class.forName("com.sun.management.ThreadMXBean");
+            if (extendedBeanClass.isInstance(ManagementFactory.getThreadMXBean())) {
+                return extendedBeanClass.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (ClassNotFoundException | NoSuchMethodException | SecurityException e) {
+            LOGGER.debug("Thread allocated memory not available: " + e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /** @return whether the current thread executes a node that is profiled */
+    public static boolean isProfilingCurrentThread() {
+        return enabled && CURRENT.get() != null;
+    }
+
+    /**
+     * Records the time the current thread waited for a {@link WorkflowLock}.
+     *
+     * @param nanos the time waited
+     */
+    static void recordLockWait(final long nanos) {
+        NodeExecutionProfiler profiler = CURRENT.get();
+        if (profiler != null) {
+            profiler.m_lockWaitNanos += nanos;
+        }
+    }
+
+    /**
+     * Records the time the current thread was blocked because the asynchronous table writer did not keep up.
+     *
+     * @param nanos the time blocked
+     */
+    public static void recordWriterStall(final long nanos) {
+        NodeExecutionProfiler profiler = CURRENT.get();
+        if (profiler != null) {
+            profiler.m_writerStallNanos += nanos;
+        }
+    }
+
+    /**
+     * Collects the last execution profiles of all nodes in the argument workflow, including nodes in metanodes and
+     * wrapped metanodes. Nodes without a profile are omitted.
+     *
+     * @param wfm the workflow
+     * @return the profiles, in workflow order
+     */
+    public static Map<NodeContainer, NodeExecutionProfile> collectProfiles(final WorkflowManager wfm) {
+        Map<NodeContainer, NodeExecutionProfile> result = new LinkedHashMap<>();
+        collectProfiles(wfm, result);
+        return result;
+    }
+
+    private static void collectProfiles(final WorkflowManager wfm,
+        final Map<NodeContainer, NodeExecutionProfile> result) {
+        for (NodeContainer nc : wfm.getNodeContainers()) {
+            NodeExecutionProfile profile = nc.getNodeTimer().getLastExecutionProfile();
+            if (profile != null) {
+                result.put(nc, profile);
+            }
+            if (nc instanceof WorkflowManager) {
+                collectProfiles((WorkflowManager)nc, result);
+            } else if (nc instanceof SubNodeContainer) {
+                collectProfiles(((SubNodeContainer)nc).getWorkflowManager(), result);
+            }
+        }
+    }
+
+    /**
+     * Creates a table with the profiles of all nodes in the argument workflow, see
+     * {@link NodeExecutionProfile#createTableSpec()}.
+     *
+     * @param wfm the workflow
+     * @param exec used to create the table
+     * @return the table
+     */
+    public static BufferedDataTable createProfileTable(final WorkflowManager wfm, final ExecutionContext exec) {
+        BufferedDataContainer result = exec.createDataContainer(NodeExecutionProfile.createTableSpec());
+        int rowCount = 0;
+        for (Map.Entry<NodeContainer, NodeExecutionProfile> e : collectProfiles(wfm).entrySet()) {
+            result.addRowToTable(e.getValue().toRow(new RowKey("Row " + rowCount++), e.getKey()));
+        }
+        result.close();
+        return result.getTable();
+    }
+
+    /**
+     * Prints the profiles of all nodes in the argument workflow as a text table, slowest node first.
+     *
+     * @param wfm the workflow
+     * @return the table, one line per node plus a header line
+     */
+    public static String printProfileTable(final WorkflowManager wfm) {
+        List<Map.Entry<NodeContainer, NodeExecutionProfile>> entries = new ArrayList<>(collectProfiles(wfm).entrySet());
+        Collections.sort(entries, Comparator.comparingLong(
+            (final Map.Entry<NodeContainer, NodeExecutionProfile> e) -> e.getValue().getWallTimeNanos()).reversed());
+        DataTableSpec spec = NodeExecutionProfile.createTableSpec();
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < spec.getNumColumns(); i++) {
+            b.append(i > 0 ? "\t" : "").append(spec.getColumnSpec(i).getName());
+        }
+        for (Map.Entry<NodeContainer, NodeExecutionProfile> e : entries) {
+            DataRow row = e.getValue().toRow(RowKey.createRowKey(0L), e.getKey());
+            b.append('\n');
+            for (int i = 0; i < row.getNumCells(); i++) {
+                DataCell cell = row.getCell(i);
+                b.append(i > 0 ? "\t" : "").append(cell.isMissing() ? "?" : cell.toString());
+            }
+        }
+        return b.toString();
+    }
+}
@@ -68,7 +68,10 @@ public enum NodeProperty {
         LockStatus,
         /** Metanode ports have changed.
          * @since 2.6*/
-        MetaNodePorts
+        MetaNodePorts,
+        /** Layout of the wizard page of a wrapped metanode has changed.
+         * @since 3.8*/
+        WizardPageLayout
     }
 
     /** Create new event.
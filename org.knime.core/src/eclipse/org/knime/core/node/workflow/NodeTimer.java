@@ -88,6 +88,7 @@
 import org.knime.core.data.DataTableSpecCreator;
 import org.knime.core.data.DataType;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.TempStorageManager;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.LongCell;
@@ -132,6 +133,7 @@ public final class NodeTimer {
     private long m_executionDurationOverall;
     private int m_numberOfExecutionsSinceReset;
     private int m_numberOfExecutionsOverall;
+    private volatile NodeExecutionProfile m_lastExecutionProfile;
 
     /**
      * Container holding stats for the entire instance and all nodes that have been used/timed.
@@ -726,6 +728,29 @@ public int getNrExecsSinceStart() {
         return m_numberOfExecutionsOverall;
     }
 
+    /**
+     * @return the bytes currently used in the temp directory by tables and file stores of the node
+     * @see TempStorageManager
+     * @since 3.8
+     */
+    public long getTempStorageUsage() {
+        return TempStorageManager.getInstance().getNodeUsage(m_parent.getID());
+    }
+
+    /**
+     * @return the profile of the last execution or <code>null</code> if the node has not been executed while
+     *         profiling was switched on
+     * @see NodeExecutionProfiler
+     * @since 3.8
+     */
+    public NodeExecutionProfile getLastExecutionProfile() {
+        return m_lastExecutionProfile;
+    }
+
+    void setLastExecutionProfile(final NodeExecutionProfile profile) {
+        m_lastExecutionProfile = profile;
+    }
+
     private void initialize() {
         m_startTime = -1;
         m_lastExecutionDuration = -1;
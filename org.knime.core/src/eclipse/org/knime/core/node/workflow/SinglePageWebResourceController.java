@@ -48,6 +48,7 @@
  */
 package org.knime.core.node.workflow;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -77,7 +78,19 @@ public class SinglePageWebResourceController extends WebResourceController {
      * @param nodeID
      */
     public SinglePageWebResourceController(final WorkflowManager manager, final NodeID nodeID) {
-        super(manager);
+        this(manager, nodeID, false);
+    }
+
+    /**
+     * @param manager
+     * @param nodeID
+     * @param enablePageCache whether to cache the wizard page until a node of the subnode changes. If enabled,
+     *            {@link #close()} must be called once the controller is no longer used, e.g. when the view is closed.
+     * @since 3.8
+     */
+    public SinglePageWebResourceController(final WorkflowManager manager, final NodeID nodeID,
+        final boolean enablePageCache) {
+        super(manager, enablePageCache);
         m_nodeID = nodeID;
     }
 
@@ -121,6 +134,37 @@ public Map<NodeIDSuffix, WebViewContent> getWizardPageViewValueMap() {
         }
     }
 
+    /**
+     * Releases the cached page and the listeners it registered on the nodes of the subnode. Must be called when the
+     * view that uses this controller is closed if the page cache is enabled; the controller can still be used
+     * afterwards, the page is then created anew.
+     * @since 3.8
+     */
+    public void close() {
+        try (WorkflowLock lock = m_manager.lock()) {
+            discard();
+        }
+    }
+
+    /**
+     * Retrieves the serialized view values of the wizard nodes that changed since the last call of this method, for
+     * instance after the page has been re-executed. The first call returns the values of all nodes.
+     * @return a map from NodeID to the JSON serialized view value for all changed wizard nodes.
+     * @throws IOException if a view value cannot be serialized
+     * @since 3.8
+     */
+    public Map<NodeIDSuffix, String> getChangedWizardPageViewValues() throws IOException {
+        WorkflowManager manager = m_manager;
+        try (WorkflowLock lock = manager.lock()) {
+            NodeContext.pushContext(manager);
+            try {
+                return getChangedViewValuesInternal(m_nodeID);
+            } finally {
+                NodeContext.removeLastContext();
+            }
+        }
+    }
+
     /**
      * Tries to load a map of view values to all appropriate views contained in the given subnode.
      * @param viewContentMap the values to validate
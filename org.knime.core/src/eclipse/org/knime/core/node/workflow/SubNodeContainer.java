@@ -1927,6 +1927,7 @@ public void setLayoutJSONString(final String layoutJSONString) {
         if (!StringUtils.equals(m_layoutJSONString, layoutJSONString)) {
             m_layoutJSONString = layoutJSONString;
             setDirty();
+            notifyNodePropertyChangedListener(NodeProperty.WizardPageLayout);
         }
     }
 
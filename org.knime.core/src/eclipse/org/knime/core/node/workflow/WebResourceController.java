@@ -49,7 +49,9 @@
 import static org.knime.core.node.workflow.InternalNodeContainerState.EXECUTED;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -62,6 +64,7 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -94,6 +97,7 @@
 import org.knime.core.node.wizard.WizardViewResponse;
 import org.knime.core.node.wizard.util.LayoutUtil;
 import org.knime.core.node.workflow.NodeID.NodeIDSuffix;
+import org.knime.core.node.workflow.NodePropertyChangedEvent.NodeProperty;
 import org.knime.core.node.workflow.WebResourceController.WizardPageContent.WizardPageNodeInfo;
 import org.knime.core.node.workflow.WorkflowManager.NodeModelFilter;
 
@@ -163,6 +167,15 @@ public boolean include(final WizardNode nodeModel) {
     /** Host WFM. */
     protected final WorkflowManager m_manager;
 
+    /** Whether wizard pages are cached, see {@link #WebResourceController(WorkflowManager, boolean)}. */
+    private final boolean m_isPageCacheEnabled;
+
+    /** Wizard pages by subnode, each invalidated when any of the contained nodes changes. */
+    private final Map<NodeID, CachedWizardPage> m_pageCache = new ConcurrentHashMap<>();
+
+    /** Serialized view values as last returned by {@link #getChangedViewValuesInternal(NodeID)}, by subnode. */
+    private final Map<NodeID, Map<NodeIDSuffix, String>> m_lastViewValues = new ConcurrentHashMap<>();
+
     /**
      * @param jsObjectID The JavaScript object ID used for locating the extension point.
      * @return A template object, being used to assamble views.
@@ -359,7 +372,20 @@ public static boolean hasWizardExecution(final WorkflowManager manager) {
      * @param manager ...
      */
     WebResourceController(final WorkflowManager manager) {
+        this(manager, false);
+    }
+
+    /**
+     * Created from workflow.
+     *
+     * @param manager ...
+     * @param enablePageCache whether to cache wizard pages until any node in the subnode changes. The cache registers
+     *            listeners on all nodes of the subnode, which are only removed on change or by {@link #discard()},
+     *            hence it must only be enabled if the controller is discarded once it is no longer used.
+     */
+    WebResourceController(final WorkflowManager manager, final boolean enablePageCache) {
         m_manager = CheckUtils.checkArgumentNotNull(manager);
+        m_isPageCacheEnabled = enablePageCache;
     }
 
     /**
@@ -430,19 +456,37 @@ public static Map<NodeID, SubNodeContainer> getSubnodeContainers(final WorkflowM
     }
 
     /**
-     * Crates the wizard page for a given node id. Throws exception if no wizard page available.
+     * Crates the wizard page for a given node id. Throws exception if no wizard page available. If enabled, the page
+     * is cached until any node in the subnode changes its state or message or nodes are added to or removed from it.
      *
      * @param subnodeID the node id for the subnode to retrieve the wizard page for
      * @return The wizard page for the given node id
      */
-    @SuppressWarnings("rawtypes")
     protected WizardPageContent getWizardPageInternal(final NodeID subnodeID) {
         if (subnodeID == null) {
             LOGGER.error("No node ID supplied for creating wizard page");
             return null;
         }
+        assert m_manager.isLockedByCurrentThread();
+        if (!m_isPageCacheEnabled) {
+            return createWizardPage(subnodeID);
+        }
+        CachedWizardPage cachedPage = m_pageCache.get(subnodeID);
+        if (cachedPage != null && cachedPage.isValid()) {
+            return cachedPage.getPage();
+        }
+        WizardPageContent page = createWizardPage(subnodeID);
+        SubNodeContainer subNC = m_manager.getNodeContainer(subnodeID, SubNodeContainer.class, true);
+        CachedWizardPage oldPage = m_pageCache.put(subnodeID, new CachedWizardPage(subNC, page));
+        if (oldPage != null) {
+            oldPage.invalidate();
+        }
+        return page;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private WizardPageContent createWizardPage(final NodeID subnodeID) {
         final WorkflowManager manager = m_manager;
-        assert manager.isLockedByCurrentThread();
 
         LinkedHashMap<NodeIDSuffix, WizardNode> resultMap = new LinkedHashMap<NodeIDSuffix, WizardNode>();
         LinkedHashMap<NodeIDSuffix, WizardPageNodeInfo> infoMap = new LinkedHashMap<NodeIDSuffix, WizardPageNodeInfo>();
@@ -548,6 +592,45 @@ protected Map<NodeIDSuffix, WebViewContent> getWizardPageViewValueMapInternal(fi
                 e -> e.getValue().getViewValue()));
     }
 
+    /**
+     * Returns the serialized view values of the nodes in the given subnode that changed since the last call of this
+     * method for the same subnode. The first call returns the values of all nodes. Nodes that are no longer part of
+     * the page are not reported; the page itself needs to be reloaded in that case.
+     *
+     * @param subnodeID the id of the subnode
+     * @return the changed view values (JSON), by node
+     * @throws IOException if a view value cannot be serialized
+     * @since 3.8
+     */
+    protected Map<NodeIDSuffix, String> getChangedViewValuesInternal(final NodeID subnodeID) throws IOException {
+        Map<NodeIDSuffix, WebViewContent> viewValues = getWizardPageViewValueMapInternal(subnodeID);
+        if (viewValues == null) {
+            return null;
+        }
+        Map<NodeIDSuffix, String> lastValues = m_lastViewValues.computeIfAbsent(subnodeID, id -> new HashMap<>());
+        Map<NodeIDSuffix, String> changedValues = new LinkedHashMap<>();
+        for (Map.Entry<NodeIDSuffix, WebViewContent> e : viewValues.entrySet()) {
+            if (e.getValue() == null) {
+                // node has no view value
+                continue;
+            }
+            String value = serializeViewContent(e.getValue());
+            if (!value.equals(lastValues.put(e.getKey(), value))) {
+                changedValues.put(e.getKey(), value);
+            }
+        }
+        lastValues.keySet().retainAll(viewValues.keySet());
+        return changedValues;
+    }
+
+    private static String serializeViewContent(final WebViewContent content) throws IOException {
+        OutputStream out = content.saveToStream();
+        if (!(out instanceof ByteArrayOutputStream)) {
+            throw new IOException("Unsupported view content stream: " + (out == null ? null : out.getClass()));
+        }
+        return ((ByteArrayOutputStream)out).toString("UTF-8");
+    }
+
     private void getHiLiteTranslators(final HiLiteHandler handler, final Set<HiLiteHandler> knownHiLiteHandlers,
         final Set<HiLiteTranslator> knownTranslators, final Set<HiLiteManager> knownManagers) {
         if (handler == null || !knownHiLiteHandlers.add(handler)) {
@@ -844,8 +927,116 @@ protected void checkDiscard() {
             WebResourceController.class.getSimpleName());
     }
 
+    /**
+     * @param subnodeID the id of the subnode
+     * @return whether a valid page of the subnode is cached, package scope for tests
+     */
+    boolean isWizardPageCached(final NodeID subnodeID) {
+        CachedWizardPage cachedPage = m_pageCache.get(subnodeID);
+        return cachedPage != null && cachedPage.isValid();
+    }
+
     /** Sets manager to null. Called when new wizard is created on top of workflow. */
     void discard() {
+        m_pageCache.values().forEach(CachedWizardPage::invalidate);
+        m_pageCache.clear();
+        m_lastViewValues.clear();
+    }
+
+    /**
+     * A wizard page together with listeners on all nodes it was created from. Any change of the state, message, name
+     * or annotation of one of the nodes, of the page layout or of the set of nodes invalidates the page and removes
+     * the listeners.
+     */
+    private final class CachedWizardPage implements NodeStateChangeListener, NodeMessageListener, WorkflowListener,
+        NodePropertyChangedListener, NodeUIInformationListener {
+
+        private final NodeID m_subnodeID;
+
+        private final WizardPageContent m_page;
+
+        private final List<NodeContainer> m_observedNodes = new ArrayList<>();
+
+        private final List<WorkflowManager> m_observedWorkflows = new ArrayList<>();
+
+        private volatile boolean m_isValid = true;
+
+        CachedWizardPage(final SubNodeContainer subNC, final WizardPageContent page) {
+            m_subnodeID = subNC.getID();
+            m_page = page;
+            observe(subNC);
+        }
+
+        private void observe(final NodeContainer nc) {
+            nc.addNodeStateChangeListener(this);
+            nc.addNodeMessageListener(this);
+            nc.addNodePropertyChangedListener(this);
+            nc.getNodeAnnotation().addUIInformationListener(this);
+            m_observedNodes.add(nc);
+            WorkflowManager wfm = nc instanceof SubNodeContainer ? ((SubNodeContainer)nc).getWorkflowManager()
+                : nc instanceof WorkflowManager ? (WorkflowManager)nc : null;
+            if (wfm != null) {
+                wfm.addListener(this);
+                m_observedWorkflows.add(wfm);
+                for (NodeContainer child : wfm.getNodeContainers()) {
+                    observe(child);
+                }
+            }
+        }
+
+        WizardPageContent getPage() {
+            return m_page;
+        }
+
+        boolean isValid() {
+            return m_isValid;
+        }
+
+        void invalidate() {
+            if (!m_isValid) {
+                return;
+            }
+            m_isValid = false;
+            m_pageCache.remove(m_subnodeID, this);
+            for (NodeContainer nc : m_observedNodes) {
+                nc.removeNodeStateChangeListener(this);
+                nc.removeNodeMessageListener(this);
+                nc.removeNodePropertyChangedListener(this);
+                nc.getNodeAnnotation().removeUIInformationListener(this);
+            }
+            for (WorkflowManager wfm : m_observedWorkflows) {
+                wfm.removeListener(this);
+            }
+        }
+
+        @Override
+        public void stateChanged(final NodeStateEvent state) {
+            invalidate();
+        }
+
+        @Override
+        public void messageChanged(final NodeMessageEvent messageEvent) {
+            invalidate();
+        }
+
+        @Override
+        public void workflowChanged(final WorkflowEvent event) {
+            invalidate();
+        }
+
+        @Override
+        public void nodePropertyChanged(final NodePropertyChangedEvent e) {
+            // the name and the layout are part of the page
+            if (e.getProperty() == NodeProperty.Name || e.getProperty() == NodeProperty.WizardPageLayout) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public void nodeUIInformationChanged(final NodeUIInformationEvent evt) {
+            // fired by the node annotation, which is part of the page
+            invalidate();
+        }
     }
 
     /**
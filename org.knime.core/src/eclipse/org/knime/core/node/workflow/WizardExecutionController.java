@@ -364,6 +364,7 @@ private void stepBackInternal() {
     /** Sets manager to null. Called when new wizard is created on top of workflow. */
     @Override
     void discard() {
+        super.discard();
     }
 
     void save(final NodeSettingsWO settings) {
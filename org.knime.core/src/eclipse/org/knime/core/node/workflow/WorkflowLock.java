@@ -119,7 +119,14 @@ boolean isHeldByCurrentThread() {
      * @return this.
      */
     public WorkflowLock lock() {
-        m_reentrantLock.lock();
+        if (!NodeExecutionProfiler.isProfilingCurrentThread()) {
+            m_reentrantLock.lock();
+        } else if (!m_reentrantLock.tryLock()) {
+            // contended lock while executing a profiled node - record the time spent waiting
+            long start = System.nanoTime();
+            m_reentrantLock.lock();
+            NodeExecutionProfiler.recordLockWait(System.nanoTime() - start);
+        }
         if (KNIMEConstants.ASSERTIONS_ENABLED) {
             hasNoChildLocked();
         }
@@ -0,0 +1,729 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (KNIME AG): created
+ */
+package org.knime.core.util.tokenizer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.MultiThreadWorker;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tokenizes a file in parallel. The file is cut into byte ranges ({@link Split splits}) that end at record
+ * boundaries, i.e. right after a line feed that separates two records. Each split is read by its own
+ * {@link Tokenizer}; the splits are tokenized concurrently and the results are handed over in file order.
+ * Line numbers reported by the tokenizers (also in the messages of {@link TokenizerException}s) refer to the
+ * entire file.
+ * <p>
+ * A file can only be split if the tokens of each split are the same as if the file was read sequentially. This
+ * requires a character set in which a line feed is always encoded as the byte <code>0x0A</code> (such as UTF-8,
+ * US-ASCII, ISO-8859-x and windows-125x) and settings where a line feed always terminates a record: it must be a
+ * delimiter of its own (not combined with consecutive delimiters), there must be no line continuation character
+ * and no block comments. If line feeds are allowed in quoted strings (or can be escaped in them), the boundaries
+ * are searched quote-aware; in this case all quote patterns, escape characters and comment begin patterns must be
+ * single ASCII characters.
+ * If these conditions aren't met the file is read as a single split (see {@link #isSplittable()}).
+ *
+ * @author KNIME AG, Zurich, Switzerland
+ * @since 3.8
+ */
+public final class ParallelFileTokenizer {
+
+    /** The default size of a split (in bytes), used by {@link #createSplits(ExecutionMonitor)}. */
+    public static final long DEFAULT_SPLIT_SIZE = 64L << 20;
+
+    private static final int LF = '\n';
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    /* automaton state outside of quotes and comments */
+    private static final int OUT = 0;
+
+    /* automaton state inside a single line comment */
+    private static final int COMMENT = 1;
+
+    private final Path m_file;
+
+    private final Charset m_charset;
+
+    private final TokenizerSettings m_settings;
+
+    private final int m_maxThreads;
+
+    /* whether a LF is always encoded as 0x0A and bytes < 0x80 are always ASCII characters */
+    private final boolean m_asciiCompatible;
+
+    private final boolean m_splittable;
+
+    /* number of automaton states - 1 if boundaries are searched without considering quotes */
+    private final int m_stateCount;
+
+    /* the automaton transitions, indexed by (state << 8) | byte */
+    private final int[] m_transitions;
+
+    /* bytes that cause a transition in any state except for the escape states */
+    private final boolean[] m_special = new boolean[256];
+
+    /* states in which the next byte is escaped */
+    private final boolean[] m_escapeStates;
+
+    /**
+     * A byte range of the file, starting at the beginning of a record.
+     *
+     * @since 3.8
+     */
+    public static final class Split {
+
+        private final int m_index;
+
+        private final long m_start;
+
+        private final long m_end;
+
+        private final long m_lineNumber;
+
+        private Split(final int index, final long start, final long end, final long lineNumber) {
+            m_index = index;
+            m_start = start;
+            m_end = end;
+            m_lineNumber = lineNumber;
+        }
+
+        /**
+         * @return the position of the split in the file, starting at 0
+         */
+        public int getIndex() {
+            return m_index;
+        }
+
+        /**
+         * @return the offset of the first byte of the split (inclusive)
+         */
+        public long getStart() {
+            return m_start;
+        }
+
+        /**
+         * @return the offset after the last byte of the split (exclusive)
+         */
+        public long getEnd() {
+            return m_end;
+        }
+
+        /**
+         * @return the number of the line the split starts in (the first line of the file has number 1)
+         */
+        public long getLineNumber() {
+            return m_lineNumber;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return "Split " + m_index + " [" + m_start + ", " + m_end + "), line " + m_lineNumber;
+        }
+    }
+
+    /**
+     * Reads the tokens of one split.
+     *
+     * @param <T> the type of the result
+     * @since 3.8
+     */
+    @FunctionalInterface
+    public interface SplitProcessor<T> {
+
+        /**
+         * Called (concurrently) for each split.
+         *
+         * @param split the split to read
+         * @param tokenizer the tokenizer reading the split, returns <code>null</code> at the end of the split
+         * @return the result, passed to the consumer in file order
+         * @throws TokenizerException if the split can't be tokenized
+         */
+        T process(Split split, Tokenizer tokenizer) throws TokenizerException;
+    }
+
+    /**
+     * Creates a new parallel tokenizer, using all available processors.
+     *
+     * @param file the file to read
+     * @param charset the character set of the file
+     * @param settings the tokenizer settings, a copy is used
+     */
+    public ParallelFileTokenizer(final Path file, final Charset charset, final TokenizerSettings settings) {
+        this(file, charset, settings, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new parallel tokenizer.
+     *
+     * @param file the file to read
+     * @param charset the character set of the file
+     * @param settings the tokenizer settings, a copy is used
+     * @param maxThreads the maximum number of threads used concurrently
+     */
+    public ParallelFileTokenizer(final Path file, final Charset charset, final TokenizerSettings settings,
+        final int maxThreads) {
+        m_file = CheckUtils.checkArgumentNotNull(file, "File must not be null");
+        m_charset = CheckUtils.checkArgumentNotNull(charset, "Charset must not be null");
+        m_settings = new TokenizerSettings(CheckUtils.checkArgumentNotNull(settings, "Settings must not be null"));
+        CheckUtils.checkArgument(maxThreads > 0, "Number of threads must be positive: %d", maxThreads);
+        m_maxThreads = maxThreads;
+        m_asciiCompatible = isAsciiCompatible(charset);
+
+        final List<Quote> quotes = m_settings.getAllQuotes();
+        // escaped line feeds are part of the quoted string, even if line feeds in quotes are not allowed
+        final boolean quoteAware = !quotes.isEmpty()
+            && (m_settings.allowLFinQuotes() || quotes.stream().anyMatch(Quote::hasEscapeChar));
+        m_stateCount = quoteAware ? 2 + 2 * quotes.size() : 1;
+        m_transitions = new int[m_stateCount << 8];
+        m_escapeStates = new boolean[m_stateCount];
+        m_splittable = m_asciiCompatible && isSplittable(m_settings, quoteAware);
+        if (m_splittable && quoteAware) {
+            initAutomaton(quotes);
+        }
+        m_special[LF] = true;
+    }
+
+    /**
+     * @return whether the file can be read in more than one split
+     */
+    public boolean isSplittable() {
+        return m_splittable;
+    }
+
+    /* the charsets in which a byte < 0x80 is never part of a multi-byte character */
+    private static boolean isAsciiCompatible(final Charset charset) {
+        final String name = charset.name();
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+            || name.startsWith("ISO-8859-") || name.startsWith("windows-125");
+    }
+
+    /* checks whether a line feed always terminates a record */
+    private static boolean isSplittable(final TokenizerSettings settings, final boolean quoteAware) {
+        if (settings.getLineContinuationCharacter() != null || settings.getCombineMultipleDelimiters()) {
+            return false;
+        }
+        final StringBuilder specialChars = new StringBuilder();
+        for (Comment comment : settings.getAllComments()) {
+            if (!Tokenizer.LF_STR.equals(comment.getEnd())) {
+                // block comments may contain line feeds
+                return false;
+            }
+            if (quoteAware) {
+                if (!isSingleAscii(comment.getBegin())) {
+                    return false;
+                }
+                specialChars.append(comment.getBegin());
+            }
+        }
+        for (Quote quote : settings.getAllQuotes()) {
+            if (quoteAware) {
+                if (!isSingleAscii(quote.getLeft()) || !isSingleAscii(quote.getRight())
+                    || (quote.hasEscapeChar() && quote.getEscape() >= 0x80)) {
+                    return false;
+                }
+                specialChars.append(quote.getLeft());
+            }
+        }
+        boolean lfDelimiter = false;
+        for (Delimiter delimiter : settings.getAllDelimiters()) {
+            final String delim = delimiter.getDelimiter();
+            if (Tokenizer.LF_STR.equals(delim)) {
+                if (delimiter.combineConsecutiveDelims()) {
+                    return false;
+                }
+                lfDelimiter = true;
+            } else if (delim.indexOf(LF) >= 0) {
+                return false;
+            }
+            for (int i = 0; i < specialChars.length(); i++) {
+                if (delim.indexOf(specialChars.charAt(i)) >= 0) {
+                    // the delimiter would hide a quote or comment begin
+                    return false;
+                }
+            }
+        }
+        return lfDelimiter;
+    }
+
+    private static boolean isSingleAscii(final String pattern) {
+        return pattern.length() == 1 && pattern.charAt(0) < 0x80;
+    }
+
+    /*
+     * Sets up the automaton that tracks whether a byte is inside a quoted string or comment. States are OUT,
+     * COMMENT and for each quote an "in quotes" and an "after the escape character" state.
+     */
+    private void initAutomaton(final List<Quote> quotes) {
+        final int[] t = m_transitions;
+        for (int b = 0; b < 256; b++) {
+            t[(COMMENT << 8) | b] = b == LF ? OUT : COMMENT;
+            t[(OUT << 8) | b] = OUT;
+        }
+        // quotes first, comments are checked first by the tokenizer and therefore override them
+        for (int q = quotes.size() - 1; q >= 0; q--) {
+            final Quote quote = quotes.get(q);
+            final int in = 2 + 2 * q;
+            final int escape = in + 1;
+            final int left = quote.getLeft().charAt(0);
+            final int right = quote.getRight().charAt(0);
+            t[(OUT << 8) | left] = in;
+            m_special[left] = true;
+            for (int b = 0; b < 256; b++) {
+                t[(in << 8) | b] = b == right ? OUT : in;
+                t[(escape << 8) | b] = in;
+            }
+            m_special[right] = true;
+            if (quote.hasEscapeChar()) {
+                t[(in << 8) | quote.getEscape()] = escape;
+                m_special[quote.getEscape()] = true;
+                m_escapeStates[escape] = true;
+            }
+        }
+        for (Comment comment : m_settings.getAllComments()) {
+            final int begin = comment.getBegin().charAt(0);
+            t[(OUT << 8) | begin] = COMMENT;
+            m_special[begin] = true;
+        }
+    }
+
+    /**
+     * Cuts the file into splits of about {@link #DEFAULT_SPLIT_SIZE} bytes.
+     *
+     * @param exec for cancellation, may be <code>null</code>
+     * @return the splits in file order, at least one
+     * @throws IOException if the file can't be read
+     * @throws CanceledExecutionException if canceled
+     * @see #createSplits(long, ExecutionMonitor)
+     */
+    public List<Split> createSplits(final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+        return createSplits(DEFAULT_SPLIT_SIZE, exec);
+    }
+
+    /**
+     * Cuts the file into splits of about the given size, each of which starts at a record boundary. The lines to
+     * skip at the beginning of the file (see {@link TokenizerSettings#getSkipFirstLines()}) are not part of any
+     * split. The boundaries are searched in parallel. If the file is not {@link #isSplittable() splittable} a
+     * single split is returned.
+     *
+     * @param splitSize the approximate size of a split in bytes, must be positive
+     * @param exec for cancellation, may be <code>null</code>
+     * @return the splits in file order, at least one
+     * @throws IOException if the file can't be read
+     * @throws CanceledExecutionException if canceled
+     */
+    public List<Split> createSplits(final long splitSize, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        CheckUtils.checkArgument(splitSize > 0, "Split size must be positive: %d", splitSize);
+        try (FileChannel channel = FileChannel.open(m_file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (!m_asciiCompatible) {
+                // lines are skipped by the tokenizer
+                return Collections.singletonList(new Split(0, 0, size, 1));
+            }
+            final long[] skipped = skipLines(channel, size, exec);
+            final long start = skipped[0];
+            final long firstLine = 1 + skipped[1];
+            if (!m_splittable || size - start <= splitSize) {
+                return Collections.singletonList(new Split(0, start, size, firstLine));
+            }
+
+            final int chunkCount = (int)Math.min(Integer.MAX_VALUE, (size - start + splitSize - 1) / splitSize);
+            final long[] chunkStarts = new long[chunkCount + 1];
+            for (int i = 0; i < chunkCount; i++) {
+                chunkStarts[i] = start + i * splitSize;
+            }
+            chunkStarts[chunkCount] = size;
+
+            // first pass: line feeds and end states of each chunk, then the actual state at each chunk start
+            final List<ChunkScan> scans = runAll(chunkCount, i -> () -> scanChunk(channel, chunkStarts[i],
+                chunkStarts[i + 1], exec));
+            final int[] startStates = new int[chunkCount];
+            for (int i = 1; i < chunkCount; i++) {
+                startStates[i] = scans.get(i - 1).m_endStates[startStates[i - 1]];
+            }
+            // second pass: the first record boundary in each chunk (except the first one)
+            final List<Boundary> boundaries = runAll(chunkCount - 1, i -> () -> findBoundary(channel,
+                chunkStarts[i + 1], chunkStarts[i + 2], size, startStates[i + 1], exec));
+
+            final List<Split> splits = new ArrayList<>();
+            long splitStart = start;
+            long splitLine = firstLine;
+            long lines = firstLine;
+            for (int i = 0; i < chunkCount - 1; i++) {
+                // lines at the start of chunk i + 1
+                lines += scans.get(i).m_lineFeeds;
+                final Boundary boundary = boundaries.get(i);
+                if (boundary.m_offset > splitStart && boundary.m_offset < size) {
+                    splits.add(new Split(splits.size(), splitStart, boundary.m_offset, splitLine));
+                    splitStart = boundary.m_offset;
+                    splitLine = lines + boundary.m_lineFeeds;
+                }
+            }
+            splits.add(new Split(splits.size(), splitStart, size, splitLine));
+            return splits;
+        }
+    }
+
+    /* Returns the offset after the lines to skip and the number of skipped lines. */
+    private long[] skipLines(final FileChannel channel, final long size, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final long toSkip = m_settings.getSkipFirstLines();
+        long skipped = 0;
+        long pos = 0;
+        if (toSkip <= 0) {
+            return new long[]{0, 0};
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (pos < size) {
+            final int length = read(channel, buffer, pos, size, exec);
+            final byte[] bytes = buffer.array();
+            for (int i = 0; i < length; i++) {
+                if (bytes[i] == LF && ++skipped == toSkip) {
+                    return new long[]{pos + i + 1, skipped};
+                }
+            }
+            pos += length;
+        }
+        return new long[]{size, skipped};
+    }
+
+    /* The result of scanning an entire chunk. */
+    private static final class ChunkScan {
+
+        /* the number of line feeds in the chunk */
+        private long m_lineFeeds;
+
+        /* the state at the end of the chunk for each state at the beginning */
+        private int[] m_endStates;
+    }
+
+    /* The first record boundary in a chunk. */
+    private static final class Boundary {
+
+        /* the offset after the line feed or -1 if the chunk contains no boundary */
+        private long m_offset = -1;
+
+        /* the number of line feeds between the start of the chunk and the boundary */
+        private long m_lineFeeds;
+    }
+
+    /* Counts the line feeds in a chunk and determines its end state for all possible start states at once. */
+    private ChunkScan scanChunk(final FileChannel channel, final long start, final long end,
+        final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+        final int[] states = new int[m_stateCount];
+        for (int s = 0; s < states.length; s++) {
+            states[s] = s;
+        }
+        final boolean track = m_stateCount > 1;
+        final int[] transitions = m_transitions;
+        final boolean[] special = m_special;
+        final boolean[] escapeStates = m_escapeStates;
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        final byte[] bytes = buffer.array();
+        long lineFeeds = 0;
+        // the chunk might start right after an escape character
+        boolean escaped = track;
+        for (long pos = start; pos < end;) {
+            final int length = read(channel, buffer, pos, end, exec);
+            for (int i = 0; i < length; i++) {
+                final int b = bytes[i] & 0xFF;
+                if (b == LF) {
+                    lineFeeds++;
+                }
+                if (track && (special[b] || escaped)) {
+                    escaped = false;
+                    for (int s = 0; s < states.length; s++) {
+                        final int next = transitions[(states[s] << 8) | b];
+                        states[s] = next;
+                        escaped |= escapeStates[next];
+                    }
+                }
+            }
+            pos += length;
+        }
+        final ChunkScan scan = new ChunkScan();
+        scan.m_lineFeeds = lineFeeds;
+        scan.m_endStates = states;
+        return scan;
+    }
+
+    /*
+     * Finds the first record boundary in the chunk, given the automaton state at its start. A boundary is placed
+     * after a line feed outside of quotes that is not followed by another (possibly CR+LF) line feed: the
+     * tokenizer swallows empty lines after a comment, they must not start a split. If the boundary is pending at
+     * the end of the chunk, the search continues up to the file size.
+     */
+    private Boundary findBoundary(final FileChannel channel, final long start, final long end, final long size,
+        final int state, final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+        final int[] transitions = m_transitions;
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        final byte[] bytes = buffer.array();
+        final Boundary boundary = new Boundary();
+        long candidate = -1;
+        long lineFeeds = 0;
+        boolean carriageReturn = false;
+        int s = state;
+        for (long pos = start; pos < end || (candidate >= 0 && pos < size);) {
+            final int length = read(channel, buffer, pos, candidate >= 0 ? size : end, exec);
+            for (int i = 0; i < length; i++) {
+                final int b = bytes[i] & 0xFF;
+                if (b == LF) {
+                    lineFeeds++;
+                    carriageReturn = false;
+                    if (s == OUT || s == COMMENT) {
+                        candidate = pos + i + 1;
+                        boundary.m_lineFeeds = lineFeeds;
+                    }
+                } else if (candidate >= 0) {
+                    if (b == '\r' && !carriageReturn) {
+                        carriageReturn = true;
+                    } else {
+                        boundary.m_offset = candidate;
+                        return boundary;
+                    }
+                }
+                s = transitions[(s << 8) | b];
+            }
+            pos += length;
+        }
+        boundary.m_offset = candidate;
+        return boundary;
+    }
+
+    /* Reads the bytes at the position into the buffer, at most up to the end offset. Returns the number read. */
+    private static int read(final FileChannel channel, final ByteBuffer buffer, final long pos, final long end,
+        final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+        if (exec != null) {
+            exec.checkCanceled();
+        }
+        buffer.clear();
+        buffer.limit((int)Math.min(buffer.capacity(), end - pos));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, pos + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file \"" + channel + "\" at offset " + pos);
+            }
+        }
+        return buffer.position();
+    }
+
+    /* A task that reads (part of) the file. */
+    @FunctionalInterface
+    private interface ScanTask<T> {
+        T call() throws IOException, CanceledExecutionException;
+    }
+
+    /* Runs the tasks created by the factory for the indices 0..count-1 concurrently, returns the results in order. */
+    private <T> List<T> runAll(final int count, final IntFunction<ScanTask<T>> factory)
+        throws IOException, CanceledExecutionException {
+        final List<T> results = new ArrayList<>(count);
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(Math.min(count, m_maxThreads));
+        final List<Future<T>> futures = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                final ScanTask<T> task = factory.apply(i);
+                futures.add(pool.enqueue((Callable<T>)task::call));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException("Interrupted while splitting \"" + m_file + "\"");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+        return results;
+    }
+
+    /**
+     * Creates a tokenizer that reads the given split. Its line numbers refer to the entire file. The caller is
+     * responsible for closing it ({@link Tokenizer#closeSourceStream()}) if it is not read until the end.
+     *
+     * @param split the split to read
+     * @return a new tokenizer
+     * @throws IOException if the file can't be opened
+     */
+    public Tokenizer createTokenizer(final Split split) throws IOException {
+        final FileChannel channel = FileChannel.open(m_file, StandardOpenOption.READ);
+        try {
+            channel.position(split.getStart());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        final Tokenizer tokenizer = new Tokenizer(new InputStreamReader(
+            new BoundedInputStream(Channels.newInputStream(channel), split.getEnd() - split.getStart()), m_charset));
+        final TokenizerSettings settings = new TokenizerSettings(m_settings);
+        if (m_asciiCompatible) {
+            // the lines are skipped by the splits
+            settings.setSkipFirstLines(0);
+        }
+        tokenizer.setSettings(settings);
+        tokenizer.setLineNumber((int)Math.min(Integer.MAX_VALUE, split.getLineNumber()));
+        return tokenizer;
+    }
+
+    /**
+     * Tokenizes the splits concurrently. The processor is called for each split (in different threads), the
+     * consumer gets the results in the order of the splits (it is never called concurrently).
+     *
+     * @param <T> the result type of the processor
+     * @param splits the splits, as returned by {@link #createSplits(long, ExecutionMonitor)}
+     * @param processor reads the tokens of a split
+     * @param consumer gets the results in order
+     * @param exec for progress and cancellation, may be <code>null</code>
+     * @throws IOException if the file can't be read
+     * @throws TokenizerException if thrown by the processor
+     * @throws CanceledExecutionException if canceled
+     */
+    public <T> void tokenize(final List<Split> splits, final SplitProcessor<T> processor,
+        final BiConsumer<Split, T> consumer, final ExecutionMonitor exec)
+        throws IOException, TokenizerException, CanceledExecutionException {
+        if (splits.isEmpty()) {
+            return;
+        }
+        final Split last = splits.get(splits.size() - 1);
+        final double totalBytes = Math.max(1, last.getEnd() - splits.get(0).getStart());
+        if (splits.size() == 1 || m_maxThreads == 1) {
+            for (Split split : splits) {
+                consumer.accept(split, process(split, processor));
+                if (exec != null) {
+                    exec.setProgress((split.getEnd() - splits.get(0).getStart()) / totalBytes);
+                    exec.checkCanceled();
+                }
+            }
+            return;
+        }
+        final MultiThreadWorker<Split, T> worker = new MultiThreadWorker<Split, T>(2 * m_maxThreads, m_maxThreads) {
+            @Override
+            protected T compute(final Split in, final long index) throws Exception {
+                return process(in, processor);
+            }
+
+            @Override
+            protected void processFinished(final ComputationTask task)
+                throws ExecutionException, CancellationException, InterruptedException {
+                final Split split = task.getInput();
+                consumer.accept(split, task.get()); // exception falls through
+                if (exec != null) {
+                    exec.setProgress((split.getEnd() - splits.get(0).getStart()) / totalBytes);
+                    try {
+                        exec.checkCanceled();
+                    } catch (CanceledExecutionException cee) {
+                        throw new CancellationException();
+                    }
+                }
+            }
+        };
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_maxThreads);
+        worker.setExecutor(pool::enqueue);
+        try {
+            worker.run(splits);
+        } catch (InterruptedException | CancellationException e) {
+            throw new CanceledExecutionException("Canceled while reading \"" + m_file + "\"");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            while (cause instanceof ExecutionException && cause.getCause() != null) {
+                // the worker might wrap the exception of the task
+                cause = cause.getCause();
+            }
+            if (cause instanceof TokenizerException) {
+                throw (TokenizerException)cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private <T> T process(final Split split, final SplitProcessor<T> processor)
+        throws IOException, TokenizerException {
+        final Tokenizer tokenizer = createTokenizer(split);
+        try {
+            return processor.process(split, tokenizer);
+        } finally {
+            tokenizer.closeSourceStream();
+        }
+    }
+}
@@ -46,6 +46,7 @@
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.Arrays;
 import java.util.Vector;
 
 /**
@@ -164,8 +165,33 @@ public class Tokenizer {
     /* end-of-buffer: the last index in the read (ring) buffer */
     private int m_eobIdx;
 
+    /* the size of the blocks read from the source */
+    private static final int SOURCE_BUFFER_LENGTH = 1 << 16;
+
+    /* block of characters read from the source but not yet consumed */
+    private final char[] m_sourceBuffer;
+
+    /* the index of the next unconsumed character in the source buffer */
+    private int m_sourcePos;
+
+    /* the number of valid characters in the source buffer */
+    private int m_sourceEnd;
+
+    /* set once the source returned EOF */
+    private boolean m_sourceEOF;
+
+    /* set once the source was closed, i.e. no further character is read */
+    private boolean m_sourceClosed;
+
+    /* the compiled begin patterns, created when the settings get locked */
+    private PatternMatcher m_commentMatcher;
+
+    private PatternMatcher m_delimMatcher;
+
+    private PatternMatcher m_quoteMatcher;
+
     /* we build the token in here */
-    private StringBuffer m_newToken;
+    private StringBuilder m_newToken;
 
     /* the token returned by the last call to next() */
     private String m_lastToken;
@@ -219,6 +245,11 @@ public Tokenizer(final Reader source) {
         m_readBuffer = new int[BUFFER_LENGTH];
         m_currIdx = 0;
         m_eobIdx = 0;
+        m_sourceBuffer = new char[SOURCE_BUFFER_LENGTH];
+        m_sourcePos = 0;
+        m_sourceEnd = 0;
+        m_sourceEOF = false;
+        m_sourceClosed = false;
 
         m_lineNo = 1;
         m_readBytes = 0;
@@ -235,7 +266,7 @@ public Tokenizer(final Reader source) {
         m_linesSkipped = 0;
         m_allowLFinQuotes = false;
 
-        m_newToken = new StringBuffer();
+        m_newToken = new StringBuilder();
         m_lastToken = null;
         m_pushedBack = false;
         m_lastQuotes = null;
@@ -271,6 +302,7 @@ public void resetToDefault() {
         m_quotePatterns.clear();
         m_commentPatterns.clear();
         m_whiteSpaces.clear();
+        clearMatchers();
 
         m_combineMultipleDelimiters = false;
         m_linesToSkip = 0;
@@ -302,7 +334,10 @@ public boolean lastTokenWasDelimited() {
      */
     public String nextToken() throws TokenizerException {
 
-        m_settingsLocked = true;
+        if (!m_settingsLocked) {
+            m_settingsLocked = true;
+            compileMatchers();
+        }
 
         if (m_pushedBack) {
             // if the last token got pushed back just return it again.
@@ -346,6 +381,7 @@ public String nextToken() throws TokenizerException {
             if (ctype == 0) {
                 // it's an ordinary character - just add it to the result
                 m_newToken.append((char)c);
+                appendOrdinaryChars();
                 c = getNextChar();
                 continue;
             }
@@ -455,6 +491,7 @@ public String nextToken() throws TokenizerException {
         } // end of while (c != EOF)
 
         if (c == EOF) {
+            m_sourceClosed = true;
             try {
                 m_source.close();
             } catch (IOException ioe) {
@@ -484,15 +521,19 @@ private int getNextChar() {
             // m_currIdx points to the last char read from the buffer
             if (m_eobIdx == m_currIdx) {
                 // we need to read a new character from the stream
-                if ((m_readBuffer[m_currIdx] = m_source.read()) == -1) {
-                    // seen the EOF. Any further read will cause IOException.
+                if (m_sourceClosed) {
+                    return -1;
+                }
+                if ((m_readBuffer[m_currIdx] = readSourceChar()) == -1) {
+                    // seen the EOF. Any further read returns EOF.
+                    m_sourceClosed = true;
                     m_source.close();
                 }
                 m_readBytes++;
                 if (m_readBuffer[m_currIdx] == CR) {
                     // read the next char to see if we need to swallow the CR
                     m_eobIdx = (m_eobIdx + 1) % BUFFER_LENGTH;
-                    if ((m_readBuffer[m_eobIdx] = m_source.read()) == LF) {
+                    if ((m_readBuffer[m_eobIdx] = readSourceChar()) == LF) {
                         m_currIdx = m_eobIdx;
                         // incr currIdx as well, which makes them equal again...
                     }
@@ -511,6 +552,56 @@ private int getNextChar() {
         }
     }
 
+    /*
+     * Returns the next character from the source, reading it in blocks of
+     * SOURCE_BUFFER_LENGTH characters. Returns -1 at the end of the stream.
+     */
+    private int readSourceChar() throws IOException {
+        if (m_sourcePos == m_sourceEnd) {
+            if (m_sourceEOF) {
+                return -1;
+            }
+            int count;
+            do {
+                count = m_source.read(m_sourceBuffer, 0, SOURCE_BUFFER_LENGTH);
+            } while (count == 0);
+            if (count < 0) {
+                m_sourceEOF = true;
+                return -1;
+            }
+            m_sourcePos = 0;
+            m_sourceEnd = count;
+        }
+        return m_sourceBuffer[m_sourcePos++];
+    }
+
+    /*
+     * Appends all ordinary characters directly following in the source buffer
+     * to the current token, without passing them through getNextChar one by
+     * one. Stops at the first character that could have a special meaning
+     * (including CR and LF, which are handled by getNextChar). Does nothing if
+     * characters were pushed back into the read buffer.
+     */
+    private void appendOrdinaryChars() {
+        if (m_currIdx != m_eobIdx) {
+            return;
+        }
+        final int start = m_sourcePos;
+        int pos = start;
+        while (pos < m_sourceEnd) {
+            final char c = m_sourceBuffer[pos];
+            if (c == CR || c == LF || m_charType[c & MAX_CHAR] != 0) {
+                break;
+            }
+            pos++;
+        }
+        if (pos > start) {
+            m_newToken.append(m_sourceBuffer, start, pos - start);
+            m_readBytes += pos - start;
+            m_sourcePos = pos;
+        }
+    }
+
     /*
      * Stores the character in c in the read buffer. The next call to <code>
      * getNextChar() </code> will return it then. Can be called several times -
@@ -569,12 +660,8 @@ private int readWhiteSpaces() {
      *         of whitespaces.
      */
     public boolean isWhiteSpace(final char c) {
-        for (int w = 0; w < m_whiteSpaces.size(); w++) {
-            if (m_whiteSpaces.get(w).charAt(0) == c) {
-                return true;
-            }
-        }
-        return false;
+        // the WSCHAR flag is set for exactly the user defined whitespaces
+        return c <= MAX_CHAR && (m_charType[c] & WSCHAR) != 0;
     }
 
     /**
@@ -585,7 +672,7 @@ public boolean isWhiteSpace(final char c) {
      * @param str the stringbuffer to modify
      * @param index the lowest index we may modify
      */
-    private void cutOffWhiteSpaces(final StringBuffer str, final int index) {
+    private void cutOffWhiteSpaces(final StringBuilder str, final int index) {
 
         if (str.length() == 0) {
             return;
@@ -619,12 +706,7 @@ private void cutOffWhiteSpaces(final StringBuffer str, final int index) {
      * </code> if no matching pattern exists.
      */
     private Comment isCommentPattern() {
-        String[] patterns = new String[m_commentPatterns.size()];
-        for (int i = 0; i < patterns.length; i++) {
-            patterns[i] = m_commentPatterns.get(i).getBegin();
-        }
-
-        int index = matchPattern(patterns);
+        int index = matchPattern(m_commentMatcher);
         if (index >= 0) {
             return m_commentPatterns.get(index);
         } else {
@@ -636,12 +718,7 @@ private Comment isCommentPattern() {
      * @see #isCommentPattern
      */
     private Delimiter isDelimiterPattern() {
-        String[] patterns = new String[m_delimPatterns.size()];
-        for (int i = 0; i < patterns.length; i++) {
-            patterns[i] = m_delimPatterns.get(i).getDelimiter();
-        }
-
-        int index = matchPattern(patterns);
+        int index = matchPattern(m_delimMatcher);
         if (index >= 0) {
             return m_delimPatterns.get(index);
         } else {
@@ -654,12 +731,7 @@ private Delimiter isDelimiterPattern() {
      * @see #isCommentPattern
      */
     private Quote isQuotePattern() {
-        String[] patterns = new String[m_quotePatterns.size()];
-        for (int i = 0; i < patterns.length; i++) {
-            patterns[i] = m_quotePatterns.get(i).getLeft();
-        }
-
-        int index = matchPattern(patterns);
+        int index = matchPattern(m_quoteMatcher);
         if (index >= 0) {
             return m_quotePatterns.get(index);
         } else {
@@ -668,70 +740,64 @@ private Quote isQuotePattern() {
     }
 
     /*
-     * Given an array of Strings it trys to read from the stream until it can
-     * match one of the patterns in the array. It returns the index of the match
-     * in the array, or -1 if it didn't find a match. It pushes back all
-     * characters it reads from the stream. @param patterns An array with
-     * strings to match against. @return The index of the match, or -1 if the
-     * next characters in the stream do not match any of the patterns in the
-     * array. NOTE: for the sake of performance the function modifies the
-     * contents of the array.
+     * Reads from the stream along the paths of the given matcher until one of
+     * its patterns is complete. It returns the index of that pattern (if two
+     * patterns are equal the lower index), or -1 if the next characters in the
+     * stream do not match any of the patterns. It pushes back all characters
+     * it reads from the stream. @param matcher The compiled patterns.
+     * @return The index of the match, or -1.
      */
-    private int matchPattern(final String[] patterns) {
-        int possibleMatches = patterns.length;
-        int charPos;
-        int nextChar;
-        StringBuffer buffer = new StringBuffer();
-        int result;
-        /*
-         * Here is what we do: We read one char after each other. With each new
-         * character we loop through all patterns and compare it with the
-         * character at that position in the pattern. If the chars dont match
-         * there is no need to compare that string with any new characters - we
-         * set the reference in the array to null. If all references are null
-         * (which we count in 'possibleMatches'), we can stop. Also, if we
-         * successfully compared the last character in a pattern we can safely
-         * assume that we found a match and return the index of that pattern.
-         */
-        charPos = 0;
-        result = -1;
-        while ((possibleMatches > 0) && (result == -1)) {
-
-            nextChar = getNextChar();
+    private int matchPattern(final PatternMatcher matcher) {
+        final char[] readChars = matcher.m_readChars;
+        int count = 0;
+        int result = -1;
+        PatternMatcher node = matcher;
+        while (node != null && node.m_childChars.length > 0) {
+            int nextChar = getNextChar();
             if (nextChar == EOF) {
                 break;
             }
-
             // store it, to write it back at the end.
-            buffer.append((char)nextChar);
-
-            for (int index = 0; index < patterns.length; index++) {
-                if (patterns[index] != null) {
-                    if (patterns[index].charAt(charPos) == nextChar) {
-                        if (patterns[index].length() == (charPos + 1)) {
-                            result = index;
-                            break;
-                        }
-                    } else {
-                        // this char in the pattern doesn't match. Remove it
-                        // from the list of possible matches
-                        patterns[index] = null;
-                        possibleMatches--;
-                    }
-                }
-            } // end of for
-
-            charPos++;
-
-        } // end of while
+            readChars[count++] = (char)nextChar;
+            node = node.getChild((char)nextChar);
+            if (node != null && node.m_patternIndex >= 0) {
+                result = node.m_patternIndex;
+                break;
+            }
+        }
 
         // we are supposed to not read any characters from stream: push'em back.
-        for (int i = buffer.length(); i > 0;) {
-            putBackChar(buffer.charAt(--i));
+        for (int i = count; i > 0;) {
+            putBackChar(readChars[--i]);
         }
 
         return result;
-    } // matchPattern(String[])
+    } // matchPattern(PatternMatcher)
+
+    /* Creates the matchers for the current comment, delimiter and quote patterns. */
+    private void compileMatchers() {
+        String[] patterns = new String[m_commentPatterns.size()];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = m_commentPatterns.get(i).getBegin();
+        }
+        m_commentMatcher = PatternMatcher.compile(patterns);
+        patterns = new String[m_delimPatterns.size()];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = m_delimPatterns.get(i).getDelimiter();
+        }
+        m_delimMatcher = PatternMatcher.compile(patterns);
+        patterns = new String[m_quotePatterns.size()];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = m_quotePatterns.get(i).getLeft();
+        }
+        m_quoteMatcher = PatternMatcher.compile(patterns);
+    }
+
+    private void clearMatchers() {
+        m_commentMatcher = null;
+        m_delimMatcher = null;
+        m_quoteMatcher = null;
+    }
 
     /*
      * Reads the comment from the stream (or buffer) and returns it - including
@@ -744,7 +810,7 @@ private int matchPattern(final String[] patterns) {
      * comment begin pattern. Otherwise an assertion will go off. <br>
      */
     private String readComment(final Comment comment) {
-        StringBuffer result = new StringBuffer();
+        StringBuilder result = new StringBuilder();
         String endPattern = comment.getEnd();
         int nextChar;
         int patternLength;
@@ -837,7 +903,7 @@ private String readDelimiter(final Delimiter delim) {
             // if we are not supposed to combine different delims - we still
             // need to check if we should combine delims of this kind
             if (delim.combineConsecutiveDelims()) {
-                StringBuffer buffer = new StringBuffer();
+                StringBuilder buffer = new StringBuilder();
                 int index = 0;
                 while ((nextChar = getNextChar()) != EOF) {
 
@@ -1113,6 +1179,17 @@ public int getLineNumber() {
         return m_lineNo;
     }
 
+    /**
+     * Sets the number of the line the tokenizer is currently in. Used if the
+     * source is only a part of a larger file, so that line numbers (also in
+     * error messages) refer to the entire file.
+     *
+     * @param lineNo the line number of the next character read
+     */
+    void setLineNumber(final int lineNo) {
+        m_lineNo = lineNo;
+    }
+
     /**
      * Returns the number of bytes returned so far. Due to the buffering the
      * number of bytes read from the disk and the number of bytes returned by
@@ -1134,6 +1211,8 @@ public long getReadBytes() {
     public void closeSourceStream() {
         // discard any characters pushed back.
         clearReadBuffer();
+        m_sourcePos = m_sourceEnd;
+        m_sourceClosed = true;
         try {
             m_source.close();
         } catch (IOException ioe) {
@@ -1166,6 +1245,7 @@ public void setSettings(final TokenizerSettings ftSettings) {
         m_quotePatterns.clear();
         m_commentPatterns.clear();
         m_whiteSpaces.clear();
+        clearMatchers();
 
         // Fill our own data structures for comment, quotes, delimiters and
         // line contin. char. Don't forget to set the character type
@@ -1248,4 +1328,70 @@ private int getLineContChar() {
         return -1;
     }
 
+    /*
+     * A trie over begin patterns (of comments, delimiters or quotes). Each node
+     * stores the characters leading to its children and the index of the
+     * pattern ending at this node (or -1). The root is the matcher itself.
+     */
+    private static final class PatternMatcher {
+
+        private static final char[] NO_CHARS = new char[0];
+
+        private static final PatternMatcher[] NO_CHILDREN = new PatternMatcher[0];
+
+        private char[] m_childChars = NO_CHARS;
+
+        private PatternMatcher[] m_children = NO_CHILDREN;
+
+        private int m_patternIndex = -1;
+
+        /* scratch space for the characters read while matching (root only) */
+        private char[] m_readChars = NO_CHARS;
+
+        static PatternMatcher compile(final String[] patterns) {
+            final PatternMatcher root = new PatternMatcher();
+            int maxLength = 0;
+            for (int p = 0; p < patterns.length; p++) {
+                final String pattern = patterns[p];
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+                maxLength = Math.max(maxLength, pattern.length());
+                PatternMatcher node = root;
+                for (int i = 0; i < pattern.length(); i++) {
+                    PatternMatcher child = node.getChild(pattern.charAt(i));
+                    if (child == null) {
+                        child = node.addChild(pattern.charAt(i));
+                    }
+                    node = child;
+                }
+                if (node.m_patternIndex < 0) {
+                    // equal patterns: the first one wins
+                    node.m_patternIndex = p;
+                }
+            }
+            root.m_readChars = new char[Math.max(1, maxLength)];
+            return root;
+        }
+
+        PatternMatcher getChild(final char c) {
+            final char[] chars = m_childChars;
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] == c) {
+                    return m_children[i];
+                }
+            }
+            return null;
+        }
+
+        private PatternMatcher addChild(final char c) {
+            final int length = m_childChars.length;
+            m_childChars = Arrays.copyOf(m_childChars, length + 1);
+            m_children = Arrays.copyOf(m_children, length + 1);
+            m_childChars[length] = c;
+            m_children[length] = new PatternMatcher();
+            return m_children[length];
+        }
+    }
+
 } // FileTokenizer